@@ -0,0 +1,120 @@
+package com.abcbs.crrs.utilities;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.item.file.mapping.DefaultLineMapper;
+import org.springframework.batch.item.file.transform.BeanWrapperFieldExtractor;
+import org.springframework.batch.item.file.transform.FixedLengthTokenizer;
+import org.springframework.batch.item.file.transform.FormatterLineAggregator;
+import org.springframework.batch.item.file.transform.Range;
+
+import com.abcbs.crrs.jobs.P09340.GeneralLedgerReader;
+import com.abcbs.crrs.jobs.P09340.P09340GlRecord;
+
+/**
+ * FixedWidthLayout against the Spring Batch pieces it replaced, on the P09DEDS
+ * general ledger record as production reads it ({@link GeneralLedgerReader#GL_RECORD}):
+ * <ul>
+ * <li>read: FixedLengthTokenizer + BeanWrapperFieldSetMapper vs mapLine;</li>
+ * <li>write: BeanWrapperFieldExtractor + FormatterLineAggregator vs aggregate.</li>
+ * </ul>
+ * The Spring Batch side is built from the same layout's fields, so a column
+ * change in production is benchmarked (and cross-checked) as it ships.
+ *
+ * Run with {@code mvn -Pjmh test-compile exec:exec} (JMH options in -Djmh.args, e.g. "-f 1 -wi 3 -i 3").
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FixedWidthLayoutBenchmark {
+
+	private static final String LINE = String.format("%-206s",
+			"24123123456700000GLRET2024-01-150042CK123456789012345678901234567890123451000200300ACC"
+					+ "0000001234562024-01-170124SMITH          JOHN       M00012345678XC0000000000000012345"
+					+ "2024-01-18000000000000AR");
+
+	private final FixedWidthLayout<P09340GlRecord> layout = GeneralLedgerReader.GL_RECORD;
+
+	private DefaultLineMapper<P09340GlRecord> tokenizerMapper;
+	private FormatterLineAggregator<P09340GlRecord> formatterAggregator;
+	private P09340GlRecord record;
+
+	@Setup
+	public void setUp() throws Exception {
+		List<FixedWidthLayout.Field<P09340GlRecord>> fields = layout.fields();
+		String[] names = new String[fields.size()];
+		Range[] ranges = new Range[fields.size()];
+		StringBuilder format = new StringBuilder();
+		int column = 1;
+		for (int i = 0; i < fields.size(); i++) {
+			FixedWidthLayout.Field<P09340GlRecord> f = fields.get(i);
+			if (f.from() < column) {
+				throw new IllegalStateException("Benchmark needs the layout's fields in column order: " + layout);
+			}
+			names[i] = f.name();
+			ranges[i] = new Range(f.from(), f.to());
+			format.append(" ".repeat(f.from() - column)).append("%-").append(f.to() - f.from() + 1).append('.')
+					.append(f.to() - f.from() + 1).append('s');
+			column = f.to() + 1;
+		}
+		format.append(" ".repeat(layout.length() - column + 1));
+
+		FixedLengthTokenizer tokenizer = new FixedLengthTokenizer();
+		tokenizer.setNames(names);
+		tokenizer.setColumns(ranges);
+		tokenizer.setStrict(false);
+		BeanWrapperFieldSetMapper<P09340GlRecord> fieldSetMapper = new BeanWrapperFieldSetMapper<>();
+		fieldSetMapper.setTargetType(P09340GlRecord.class);
+		tokenizerMapper = new DefaultLineMapper<>();
+		tokenizerMapper.setLineTokenizer(tokenizer);
+		tokenizerMapper.setFieldSetMapper(fieldSetMapper);
+
+		BeanWrapperFieldExtractor<P09340GlRecord> extractor = new BeanWrapperFieldExtractor<>();
+		extractor.setNames(names);
+		formatterAggregator = new FormatterLineAggregator<>();
+		formatterAggregator.setFormat(format.toString());
+		formatterAggregator.setFieldExtractor(extractor);
+
+		record = layout.mapLine(LINE, 1);
+		P09340GlRecord viaTokenizer = tokenizerMapper.mapLine(LINE, 1);
+		String viaFormatter = formatterAggregator.aggregate(record);
+		if (!record.equals(viaTokenizer) || !layout.aggregate(record).equals(viaFormatter)) {
+			throw new IllegalStateException("FixedWidthLayout and the Spring Batch mapping disagree on " + LINE);
+		}
+	}
+
+	@Benchmark
+	public P09340GlRecord readTokenizerBeanWrapper() throws Exception {
+		return tokenizerMapper.mapLine(LINE, 1);
+	}
+
+	@Benchmark
+	public P09340GlRecord readFixedWidthLayout() {
+		return layout.mapLine(LINE, 1);
+	}
+
+	@Benchmark
+	public String writeFormatterAggregator() {
+		return formatterAggregator.aggregate(record);
+	}
+
+	@Benchmark
+	public String writeFixedWidthLayout() {
+		return layout.aggregate(record);
+	}
+}
@@ -4,12 +4,22 @@ import org.springframework.batch.core.configuration.annotation.EnableBatchProces
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import com.abcbs.crrs.launch.JobContextLauncher;
+import com.abcbs.crrs.launch.JobServer;
+import com.abcbs.crrs.launch.JobServerClient;
+import com.abcbs.crrs.launch.LaunchMode;
+
 @SpringBootApplication
 @EnableBatchProcessing
 public class CrrsBatchApplication {
 
-	public static void main(String[] args) {
-		SpringApplication.run(CrrsBatchApplication.class, args);
+	public static void main(String[] args) throws Exception {
+		switch (LaunchMode.current()) {
+		case JOB -> JobContextLauncher.launch(args);
+		case SERVER -> JobServer.serve(args);
+		case SUBMIT -> System.exit(JobServerClient.submit(args));
+		default -> SpringApplication.run(CrrsBatchApplication.class, args);
+		}
 	}
 
 }
@@ -0,0 +1,147 @@
+package com.abcbs.crrs.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.batch.core.configuration.annotation.JobScope;
+import org.springframework.stereotype.Component;
+
+import com.abcbs.crrs.entity.P09Option;
+import com.abcbs.crrs.repository.IOptionRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Read-through cache of V_P09_OPTION, one instance per job execution.
+ *
+ * P09_OPTION is a small reference table that does not change while a job runs,
+ * so each OPT_RECORD_TYPE is read once (on first use) and kept in a TreeMap
+ * keyed by OPT_FIELD_NARR. A {@code LIKE 'prefix%'} lookup is then a subMap
+ * range scan; results come back in OPT_SEQ_NBR order, same as the SQL, so
+ * callers keep taking get(0) as the COBOL SELECT INTO row.
+ *
+ * Only trailing-% patterns are answered from memory. Anything else ('_' or an
+ * inner '%') goes to the repository. Matching ignores case, as LIKE does under
+ * the database's default (case-insensitive) SQL Server collation.
+ *
+ * Hit/miss counts are written to the job log when the job scope ends.
+ */
+@Component
+@JobScope
+public class P09OptionCache {
+
+	private static final Logger log = LogManager.getLogger(P09OptionCache.class);
+
+	private static final Comparator<P09Option> BY_SEQ_NBR = Comparator
+			.comparingInt(o -> o.getOptId().getOptSeqNbr());
+
+	private final IOptionRepository optionRepository;
+
+	/** OPT_RECORD_TYPE -> (OPT_FIELD_NARR, ignoring case -> rows in OPT_SEQ_NBR order) */
+	private final Map<Short, NavigableMap<String, List<P09Option>>> byRecordType = new ConcurrentHashMap<>();
+
+	/** answered lookups, per record type and upper-cased LIKE prefix */
+	private final Map<Short, Map<String, List<P09Option>>> answered = new ConcurrentHashMap<>();
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong rowsLoaded = new AtomicLong();
+
+	public P09OptionCache(IOptionRepository optionRepository) {
+		this.optionRepository = optionRepository;
+	}
+
+	/**
+	 * Same rows as {@code OPT_RECORD_TYPE = :recordType AND OPT_FIELD_NARR LIKE :likeValue
+	 * ORDER BY OPT_SEQ_NBR}. Never null.
+	 */
+	public List<P09Option> findLike(short recordType, String likeValue) {
+		String prefix = prefixOf(likeValue);
+		if (prefix == null) {
+			misses.incrementAndGet();
+			List<P09Option> rows = optionRepository.findP09175Option(recordType, likeValue);
+			return (rows == null) ? List.of() : rows;
+		}
+
+		Map<String, List<P09Option>> memo = answered.computeIfAbsent(recordType, k -> new ConcurrentHashMap<>());
+		String memoKey = prefix.toUpperCase(Locale.ROOT);
+		List<P09Option> cached = memo.get(memoKey);
+		if (cached != null) {
+			hits.incrementAndGet();
+			return cached;
+		}
+
+		NavigableMap<String, List<P09Option>> narrs = byRecordType.get(recordType);
+		if (narrs == null) {
+			misses.incrementAndGet();
+			narrs = byRecordType.computeIfAbsent(recordType, this::load);
+		} else {
+			hits.incrementAndGet();
+		}
+
+		List<P09Option> rows = new ArrayList<>();
+		for (List<P09Option> l : narrs.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+			rows.addAll(l);
+		}
+		rows.sort(BY_SEQ_NBR);
+		List<P09Option> result = List.copyOf(rows);
+		memo.put(memoKey, result);
+		return result;
+	}
+
+	public long getHits() {
+		return hits.get();
+	}
+
+	public long getMisses() {
+		return misses.get();
+	}
+
+	public String stats() {
+		return "P09OptionCache[recordTypes=" + byRecordType.keySet() + ", rows=" + rowsLoaded.get() + ", hits="
+				+ hits.get() + ", misses=" + misses.get() + "]";
+	}
+
+	@PreDestroy
+	void logStats() {
+		if (hits.get() + misses.get() > 0) {
+			log.info("{}", stats());
+		}
+	}
+
+	private NavigableMap<String, List<P09Option>> load(Short recordType) {
+		List<P09Option> rows = optionRepository.findByRecordType(recordType);
+		NavigableMap<String, List<P09Option>> narrs = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		if (rows != null) {
+			// rows arrive in OPT_SEQ_NBR order, so each narrative's list keeps it
+			for (P09Option o : rows) {
+				String narr = (o.getOptFieldNarr() == null) ? "" : o.getOptFieldNarr();
+				narrs.computeIfAbsent(narr, k -> new ArrayList<>(1)).add(o);
+			}
+			rowsLoaded.addAndGet(rows.size());
+		}
+		log.info("P09OptionCache: loaded recordType={} rows={}", recordType, (rows == null) ? 0 : rows.size());
+		return narrs;
+	}
+
+	/** 'abc%' -> "abc"; null when the pattern has any other wildcard. */
+	private static String prefixOf(String likeValue) {
+		if (likeValue == null || !likeValue.endsWith("%")) {
+			return null;
+		}
+		String prefix = likeValue.substring(0, likeValue.length() - 1);
+		if (prefix.indexOf('%') >= 0 || prefix.indexOf('_') >= 0) {
+			return null;
+		}
+		return prefix;
+	}
+}
@@ -14,14 +14,21 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import com.abcbs.crrs.cache.P09OptionCache;
 import com.abcbs.crrs.jobs.P09175.P09175FileWriter;
+import com.abcbs.crrs.launch.JobParameterSpec;
 import com.abcbs.crrs.repository.IP09BatchRepository;
 import com.abcbs.crrs.repository.IP09SuspenseRepository;
-import com.abcbs.crrs.repository.IOptionRepository;   // ✅ ADD
 
 @Configuration
 public class P09175Config {
 
+    public static final JobParameterSpec PARAMETERS = JobParameterSpec.builder()
+            .required("P09175_ReportOutput")
+            .required("P09175_CcmOutput")
+            .required("P09175_ControlTotal")
+            .build();
+
     private static final Logger log =
             LogManager.getLogger(P09175Config.class);
 
@@ -59,7 +66,7 @@ public class P09175Config {
             @Value("#{jobParameters['P09175_ControlTotal']}")  String totalPath,
             IP09BatchRepository batchRepository,
             IP09SuspenseRepository suspenseRepository,
-            IOptionRepository optionRepository) {              // ✅ ADD
+            P09OptionCache optionCache) {
 
         log.info("Instantiating P09175FileWriter");
 
@@ -69,7 +76,7 @@ public class P09175Config {
                 totalPath,
                 batchRepository,
                 suspenseRepository,
-                optionRepository                                   // ✅ ADD
+                optionCache
         );
     }
 }
\ No newline at end of file
@@ -2,21 +2,22 @@ package com.abcbs.crrs.config;
 
 import com.abcbs.crrs.jobs.P09180.CCMInputRecord;
 import com.abcbs.crrs.jobs.P09180.P09180FileWriter;
+import com.abcbs.crrs.launch.JobParameterSpec;
+import com.abcbs.crrs.utilities.BinaryRecordReader;
+import com.abcbs.crrs.utilities.FixedWidthLayout;
+
+import java.nio.charset.Charset;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
-import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.batch.item.file.FlatFileItemReader;
-import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
-import org.springframework.batch.item.file.mapping.DefaultLineMapper;
-import org.springframework.batch.item.file.transform.FixedLengthTokenizer;
-import org.springframework.batch.item.file.transform.Range;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -24,9 +25,62 @@ import org.springframework.core.io.FileSystemResource;
 import org.springframework.transaction.PlatformTransactionManager;
 
 @Configuration
-@EnableBatchProcessing
 public class P09180Config {
+
+	public static final JobParameterSpec PARAMETERS = JobParameterSpec.builder()
+			.input("ccmFile")
+			.input("ccmTotals")
+			.required("ccmXmlFile")
+			.build();
 	private static final Logger log = LogManager.getLogger(P09180Config.class);
+
+    /** CCM-FILE record, 467 bytes. */
+    private static final FixedWidthLayout<CCMInputRecord> CCM_LAYOUT = FixedWidthLayout.of(CCMInputRecord::new)
+            .strict()
+            .field("cInfo",               1,  27, CCMInputRecord::setCInfo)
+            .field("cTilde2",            28,  28, CCMInputRecord::setCTilde2)
+            .field("cMemberId",          29,  48, CCMInputRecord::setCMemberId)
+            .field("cTilde3",            49,  49, CCMInputRecord::setCTilde3)
+            .field("cCcmType",           50,  52, CCMInputRecord::setCCcmType)
+            .field("cTilde4",            53,  53, CCMInputRecord::setCTilde4)
+            .field("cBarcodeLob",        54,  57, CCMInputRecord::setCBarcodeLob)
+            .field("cTilde5",            58,  58, CCMInputRecord::setCTilde5)
+            .field("cBarcodeLocNbr",     59,  61, CCMInputRecord::setCBarcodeLocNbr)
+            .field("cAsterisk2",         62,  62, CCMInputRecord::setCAsterisk2)
+            .field("cBusLocation",       63,  82, CCMInputRecord::setCBusLocation)
+            .field("cLocationNbr",       83,  90, CCMInputRecord::setCLocationNbr)
+            .field("cOtisNbr",           91, 103, CCMInputRecord::setCOtisNbr)
+            .field("cSectionCode",      104, 105, CCMInputRecord::setCSectionCode)
+            .field("cRefundType",       106, 108, CCMInputRecord::setCRefundType)
+            .field("cControlDate",      109, 118, CCMInputRecord::setCControlDate)
+            .field("cControlNbr",       119, 122, CCMInputRecord::setCControlNbr)
+            .field("cStatus",           123, 128, CCMInputRecord::setCStatus)
+            .field("cStatusDate",       129, 138, CCMInputRecord::setCStatusDate)
+            .field("cEobInd",           139, 139, CCMInputRecord::setCEobInd)
+            .field("cReceiptType",      140, 141, CCMInputRecord::setCReceiptType)
+            .field("cRemittorName",     142, 177, CCMInputRecord::setCRemittorName)
+            .field("cRemittorTitle",    178, 181, CCMInputRecord::setCRemittorTitle)
+            .field("cRemittorType",     182, 182, CCMInputRecord::setCRemittorType)
+            .field("cClaimType",        183, 186, CCMInputRecord::setCClaimType)
+            .field("cOplInd",           187, 187, CCMInputRecord::setCOplInd)
+            .field("cLetterDate",       188, 197, CCMInputRecord::setCLetterDate)
+            .field("cReasonCode",       198, 201, CCMInputRecord::setCReasonCode)
+            .field("cOtherCorr",        202, 222, CCMInputRecord::setCOtherCorr)
+            .field("cComments",         223, 287, CCMInputRecord::setCComments)
+            .field("cPatientFname",     288, 298, CCMInputRecord::setCPatientFname)
+            .field("cPatientLname",     299, 313, CCMInputRecord::setCPatientLname)
+            .field("cAddr1",            314, 349, CCMInputRecord::setCAddr1)
+            .field("cAddr2",            350, 385, CCMInputRecord::setCAddr2)
+            .field("cCity",             386, 400, CCMInputRecord::setCCity)
+            .field("cState",            401, 402, CCMInputRecord::setCState)
+            .field("cZip",              403, 412, CCMInputRecord::setCZip)
+            .field("cCheckDate",        413, 422, CCMInputRecord::setCCheckDate)
+            .field("cCheckNbr",         423, 430, CCMInputRecord::setCCheckNbr)
+            .field("cCheckAmount",      431, 445, CCMInputRecord::setCCheckAmount)
+            .field("cControlledAmount", 446, 460, CCMInputRecord::setCControlledAmount)
+            .field("cLocationCode",     461, 467, CCMInputRecord::setCLocationCode)
+            .build();
+
     // =========================================================
     // JOB
     // =========================================================
@@ -47,7 +101,7 @@ public class P09180Config {
     @Bean
     public Step p09180Step(JobRepository jobRepository,
                            PlatformTransactionManager txManager,
-                           FlatFileItemReader<CCMInputRecord> ccmReader,
+                           ItemStreamReader<CCMInputRecord> ccmReader,
                            P09180FileWriter writer) {
     	log.info("Creating step: P09186Step");
         return new StepBuilder("P09180Step", jobRepository)
@@ -62,52 +116,20 @@ public class P09180Config {
     // =========================================================
     @Bean
     @StepScope
-    public FlatFileItemReader<CCMInputRecord> ccmReader(
-            @Value("#{jobParameters['ccmFile']}") String inputFile) {
+    public ItemStreamReader<CCMInputRecord> ccmReader(
+            @Value("#{jobParameters['ccmFile']}") String inputFile,
+            @Value("${crrs.feed.ccm.codepage:}") String codePage) {
     	  log.info("Initializing reader for file: {}", inputFile);
-        FixedLengthTokenizer t = new FixedLengthTokenizer();
-        t.setColumns(new Range[]{
-            new Range(1,27),   new Range(28,28),  new Range(29,48),  new Range(49,49),
-            new Range(50,52),  new Range(53,53),  new Range(54,57),  new Range(58,58),
-            new Range(59,61),  new Range(62,62),  new Range(63,82),
-            new Range(83,90),  new Range(91,103), new Range(104,105),
-            new Range(106,108),new Range(109,118),new Range(119,122),
-            new Range(123,128),new Range(129,138),new Range(139,139),
-            new Range(140,141),new Range(142,177),new Range(178,181),
-            new Range(182,182),new Range(183,186),new Range(187,187),
-            new Range(188,197),new Range(198,201),new Range(202,222),
-            new Range(223,287),new Range(288,298),new Range(299,313),
-            new Range(314,349),new Range(350,385),new Range(386,400),
-            new Range(401,402),new Range(403,412),new Range(413,422),
-            new Range(423,430),new Range(431,445),new Range(446,460),
-            new Range(461,467)
-        });
-
-        t.setNames(
-            "cInfo","cTilde2","cMemberId","cTilde3","cCcmType","cTilde4",
-            "cBarcodeLob","cTilde5","cBarcodeLocNbr","cAsterisk2",
-            "cBusLocation","cLocationNbr","cOtisNbr","cSectionCode",
-            "cRefundType","cControlDate","cControlNbr","cStatus",
-            "cStatusDate","cEobInd","cReceiptType","cRemittorName",
-            "cRemittorTitle","cRemittorType","cClaimType","cOplInd",
-            "cLetterDate","cReasonCode","cOtherCorr","cComments",
-            "cPatientFname","cPatientLname","cAddr1","cAddr2","cCity",
-            "cState","cZip","cCheckDate","cCheckNbr","cCheckAmount",
-            "cControlledAmount","cLocationCode"
-        );
-
-        DefaultLineMapper<CCMInputRecord> lm = new DefaultLineMapper<>();
-        BeanWrapperFieldSetMapper<CCMInputRecord> fm =
-                new BeanWrapperFieldSetMapper<>();
-        fm.setTargetType(CCMInputRecord.class);
-
-        lm.setLineTokenizer(t);
-        lm.setFieldSetMapper(fm);
-
+        if (!codePage.isBlank()) {
+            // CCM-FILE is all DISPLAY: decode the record and map it as the text line
+            log.info("Reading {} as binary {}-byte records, code page {}", inputFile, CCM_LAYOUT.length(), codePage);
+            return new BinaryRecordReader<>(inputFile, CCM_LAYOUT.length(), Charset.forName(codePage),
+                    r -> CCM_LAYOUT.mapLine(r.text(), r.number()));
+        }
         FlatFileItemReader<CCMInputRecord> reader =
                 new FlatFileItemReader<>();
         reader.setResource(new FileSystemResource(inputFile));
-        reader.setLineMapper(lm);
+        reader.setLineMapper(CCM_LAYOUT);
 
         return reader;
     }
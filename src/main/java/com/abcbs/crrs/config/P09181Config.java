@@ -28,8 +28,16 @@ import org.springframework.core.io.Resource;
 import org.springframework.core.io.WritableResource;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import com.abcbs.crrs.launch.JobParameterSpec;
+
 @Configuration
 public class P09181Config {
+
+    // inputFile is a classpath resource, so it is not checked as a file
+    public static final JobParameterSpec PARAMETERS = JobParameterSpec.builder()
+            .required("inputFile")
+            .required("outputFile")
+            .build();
 	
 	@Autowired
     private com.abcbs.crrs.listener.JobLoggingListener jobLoggingListener;
@@ -20,10 +20,16 @@ import org.springframework.transaction.PlatformTransactionManager;
 
 import com.abcbs.crrs.jobs.P09182.P09182InputRecord;
 import com.abcbs.crrs.jobs.P09182.P09182Writer;
+import com.abcbs.crrs.launch.JobParameterSpec;
 import com.abcbs.crrs.listener.JobLoggingListener;
 
 @Configuration
 public class P09182Config {
+
+	public static final JobParameterSpec PARAMETERS = JobParameterSpec.builder()
+			.input("inputFile")
+			.required("outputFile")
+			.build();
 	
 	@Autowired
 	private JobLoggingListener jobListener;
@@ -24,10 +24,16 @@ import com.abcbs.crrs.jobs.P09183.P09183InputRecord;
 import com.abcbs.crrs.jobs.P09183.P09183OutputRecord;
 import com.abcbs.crrs.jobs.P09183.P09183Processor;
 import com.abcbs.crrs.jobs.P09183.P09183Writer;
+import com.abcbs.crrs.launch.JobParameterSpec;
 import com.abcbs.crrs.listener.JobLoggingListener;
 
 @Configuration
 public class P09183Config {
+
+	public static final JobParameterSpec PARAMETERS = JobParameterSpec.builder()
+			.input("inputFile")
+			.required("outputFile")
+			.build();
 	
 	private static final Logger logger = LogManager.getLogger(P09183Config.class);
 	
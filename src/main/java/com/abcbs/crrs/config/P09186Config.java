@@ -8,16 +8,22 @@ import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.transaction.PlatformTransactionManager;
 
-import com.abcbs.crrs.jobs.P09186.P09186Tasklet;
+import com.abcbs.crrs.launch.JobParameterSpec;
+import com.abcbs.crrs.utilities.FileInspectionTasklet;
 
 @Configuration
 public class P09186Config {
 
+	public static final JobParameterSpec PARAMETERS = JobParameterSpec.builder()
+			.input("inputFile")
+			.build();
+
 	private static final Logger log = LogManager.getLogger(P09186Config.class);
 
 	@Bean
@@ -28,15 +34,16 @@ public class P09186Config {
 
 	@Bean
 	public Step p09186Step(JobRepository jobRepository, PlatformTransactionManager txManager,
-			P09186Tasklet p09186Tasklet) {
+			@Qualifier("p09186Tasklet") FileInspectionTasklet p09186Tasklet) {
 		log.info("Creating step: P09186Step");
 		return new StepBuilder("P09186Step", jobRepository).tasklet(p09186Tasklet, txManager).build();
 	}
 
 	@Bean
 	@StepScope
-	public P09186Tasklet p09186Tasklet(@Value("#{jobParameters['inputFile']}") String inputFile) {
+	public FileInspectionTasklet p09186Tasklet(@Value("#{jobParameters['inputFile']}") String inputFile) {
 		log.info("Configured input file: {}", inputFile);
-		return new P09186Tasklet(inputFile);
+		// emptiness only: Files.size(), nothing is read
+		return new FileInspectionTasklet(inputFile, 0);
 	}
 }
@@ -20,8 +20,6 @@ import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.ItemWriter;
-import org.springframework.batch.item.database.JpaPagingItemReader;
-import org.springframework.batch.item.database.builder.JpaPagingItemReaderBuilder;
 import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -31,20 +29,40 @@ import org.springframework.core.io.Resource;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import com.abcbs.crrs.jobs.P09305.CorpNameLoader;
+import com.abcbs.crrs.jobs.P09305.P09305CheckpointKey;
 import com.abcbs.crrs.jobs.P09305.P09305OutputRecord;
 import com.abcbs.crrs.jobs.P09305.P09305Processor;
 import com.abcbs.crrs.jobs.P09305.P09305ReportWriter;
+import com.abcbs.crrs.keyset.KeysetItemReader;
+import com.abcbs.crrs.keyset.KeysetItemReaderBuilder;
+import com.abcbs.crrs.keyset.KeysetRestart;
+import com.abcbs.crrs.launch.JobParameterSpec;
 import com.abcbs.crrs.projections.P09305ActivityView;
+import com.abcbs.crrs.projections.P09305ActivityViewImpl;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
 
 @Configuration
 public class P09305Config {
 
+	public static final JobParameterSpec PARAMETERS = JobParameterSpec.builder()
+			.input("chkpFile")
+			.input("corpFile")
+			.required("outputFile")
+			.optional("checkpointKey", "")
+			.build();
+
  private static final Logger logger = LogManager.getLogger(P09305Config.class);
  
  String corpNo = null; 
+
+ /** Reader sort key; also the restart predicate for the checkpointKey job parameter. */
+ private static final KeysetRestart ACTIVITY_KEYSET = KeysetRestart.on(
+         "a.actUserId", "a.id.actActivity", "a.id.crCntrlDate", "a.id.crCntrlNbr",
+         "a.id.crRefundType", "a.id.actActivityDate", "a.id.actTimestamp")
+         .nullAsBlank("a.actUserId");
  
 
  @Bean
@@ -82,19 +100,18 @@ public class P09305Config {
  @StepScope
  public Tasklet p09305CountProbe(EntityManager em,
          @Value("#{jobParameters['checkpointKey']}") String checkpointKey) {
+     P09305CheckpointKey restartKey = P09305CheckpointKey.parse(checkpointKey);
      return (contrib, ctx) -> {
-         Long cnt = em.createQuery(
+         TypedQuery<Long> q = em.createQuery(
              "SELECT COUNT(a) FROM P09Activity a JOIN P09CashReceipt b " +
              " ON a.id.crCntrlDate=b.id.crCntrlDate AND a.id.crCntrlNbr=b.id.crCntrlNbr AND a.id.crRefundType=b.id.crRefundType " +
-             "WHERE b.crCorp=:corpNo AND a.actDailyInd='Y' AND a.id.actActivity<>'EST' AND " +
-             " CONCAT(a.actUserId, a.id.actActivity," +
-             "       FUNCTION('FORMAT', a.id.crCntrlDate, 'yyyy-MM-dd')," +
-             "        a.id.crCntrlNbr, a.id.crRefundType," +
-             "        FUNCTION('FORMAT', a.id.actActivityDate, 'yyyy-MM-dd')," +
-             "        FUNCTION('FORMAT', a.id.actTimestamp, 'yyyy-MM-dd HH:mm:ss.fff')) > :checkpointKey", Long.class)
-             .setParameter("corpNo", this.corpNo)
-             .setParameter("checkpointKey", checkpointKey == null ? "" : checkpointKey)
-             .getSingleResult();
+             "WHERE b.crCorp=:corpNo AND a.actDailyInd='Y' AND a.id.actActivity<>'EST'" +
+             (restartKey == null ? "" : " AND " + ACTIVITY_KEYSET.predicate()), Long.class)
+             .setParameter("corpNo", this.corpNo);
+         if (restartKey != null) {
+             ACTIVITY_KEYSET.bind(q, restartKey);
+         }
+         Long cnt = q.getSingleResult();
          logger.info("P09305 count probe -> {} rows match filters"+ cnt);
          return RepeatStatus.FINISHED;
      };
@@ -122,10 +139,11 @@ public class P09305Config {
 
  @Bean
  @StepScope
- public JpaPagingItemReader<P09305ActivityView> p09305Reader(
+ public KeysetItemReader<P09305ActivityViewImpl> p09305Reader(
          EntityManagerFactory emf,
          @Value("#{jobParameters['corpFile']}") String corpFile,
-         @Value("#{jobParameters['checkpointKey']}") String checkpointKey) throws IOException {
+         @Value("#{jobParameters['checkpointKey']}") String checkpointKey,
+         @Value("${crrs.keyset.fetch-size:500}") int fetchSize) throws IOException {
 
 	 String jpql =
 			    "SELECT NEW com.abcbs.crrs.projections.P09305ActivityViewImpl(" +
@@ -143,28 +161,21 @@ public class P09305Config {
 			    "AND  a.id.crRefundType= b.id.crRefundType " +
 			    "WHERE b.crCorp = :corpNo " +                         // <-- note b.id.crCorp
 			    "  AND a.actDailyInd = 'Y' " +
-			    "  AND a.id.actActivity <> 'EST' " +                     // <-- a.id.actActivity
-			    "  AND CONCAT(" +
-			    "       a.actUserId, a.id.actActivity," +
-			    "       FUNCTION('FORMAT', a.id.crCntrlDate, 'yyyy-MM-dd')," +
-			    "       a.id.crCntrlNbr, a.id.crRefundType," +
-			    "       FUNCTION('FORMAT', a.id.actActivityDate, 'yyyy-MM-dd')," +
-			    "       FUNCTION('FORMAT', a.id.actTimestamp, 'yyyy-MM-dd HH:mm:ss.fff')" +
-			    "      ) > :checkpointKey " +
-			    "ORDER BY a.actUserId, a.id.actActivity, a.id.crCntrlDate, a.id.crCntrlNbr," +
-			    "         a.id.crRefundType, a.id.actActivityDate, a.id.actTimestamp, b.crCorp";
-		 
-
-	 logger.info("P09305 Jpa Paging Item Reader job started ");
-	 
-     return new JpaPagingItemReaderBuilder<P09305ActivityView>()
+			    "  AND a.id.actActivity <> 'EST'";                       // <-- a.id.actActivity
+
+	 logger.info("P09305 Keyset Item Reader job started ");
+
+	 // the activity key is unique, so the old trailing "b.crCorp" sort column is not needed
+     return new KeysetItemReaderBuilder<P09305ActivityViewImpl>()
              .name("p09305Reader")
              .entityManagerFactory(emf)
              .queryString(jpql)
-             .parameterValues(Map.of("corpNo", readCorp(corpFile).corpNo, "checkpointKey", checkpointKey == null ? "" : checkpointKey))
-             .pageSize(100)
+             .resultType(P09305ActivityViewImpl.class)
+             .parameterValues(Map.of("corpNo", readCorp(corpFile).corpNo))
+             .keyset(ACTIVITY_KEYSET, P09305CheckpointKey::of)
+             .startAfter(P09305CheckpointKey.parse(checkpointKey))
+             .fetchSize(fetchSize)
              .build();
-     
  }
 
  public ItemProcessor<P09305ActivityView, P09305OutputRecord> p09305Processor() {
@@ -183,7 +194,7 @@ public class P09305Config {
  @Bean
  public Step p09305Step(JobRepository repo,
                         PlatformTransactionManager tx,
-                        JpaPagingItemReader<P09305ActivityView> reader,
+                        KeysetItemReader<P09305ActivityViewImpl> reader,
                         ItemProcessor<P09305ActivityView,P09305OutputRecord> proc,
                         ItemWriter<P09305OutputRecord> writer) {
 	 logger.info("P09305 Step job started ");
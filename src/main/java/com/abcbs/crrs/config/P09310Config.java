@@ -1,9 +1,7 @@
 package com.abcbs.crrs.config;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -17,8 +15,6 @@ import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.ItemWriter;
-import org.springframework.batch.item.database.JpaPagingItemReader;
-import org.springframework.batch.item.database.builder.JpaPagingItemReaderBuilder;
 import org.springframework.batch.item.support.CompositeItemWriter;
 import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,21 +27,33 @@ import org.springframework.core.io.Resource;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import com.abcbs.crrs.entity.P09Batch;
+import com.abcbs.crrs.jobs.P09310.P09310BatchKey;
 import com.abcbs.crrs.jobs.P09310.P09310DeleteWriter;
 import com.abcbs.crrs.jobs.P09310.P09310OutputRecord;
 import com.abcbs.crrs.jobs.P09310.P09310ReportWriter;
+import com.abcbs.crrs.keyset.KeysetItemReader;
+import com.abcbs.crrs.keyset.KeysetItemReaderBuilder;
+import com.abcbs.crrs.keyset.KeysetRestart;
+import com.abcbs.crrs.launch.JobParameterSpec;
 import com.abcbs.crrs.listener.JobLoggingListener;
 
 import jakarta.persistence.EntityManagerFactory;
 
 @Configuration
 public class P09310Config {
+
+	public static final JobParameterSpec PARAMETERS = JobParameterSpec.builder()
+			.input("chkpFile")
+			.required("outputFile")
+			.build();
 	
 	@Autowired
 	private JobLoggingListener jobListener;
 
 	private static final Logger logger = LogManager.getLogger(P09310Config.class);
-	private String val = "              ";
+
+	private static final KeysetRestart BATCH_KEYSET = KeysetRestart.on(
+			"b.bId.btBatchPrefix", "b.bId.btBatchDate", "b.bId.btBatchSuffix", "b.bId.crRefundType");
 
 	//step 1
 	@Bean
@@ -91,22 +99,20 @@ public class P09310Config {
 	//step 2 starts from here
 	@Bean
 	@StepScope
-	public JpaPagingItemReader<P09Batch> p09310BatchReader(EntityManagerFactory entityManagerFactory,
-			@Value("#{jobParameters['checkpointKey']}") String checkpointKey) {
+	public KeysetItemReader<P09Batch> p09310BatchReader(EntityManagerFactory entityManagerFactory,
+			@Value("#{jobParameters['checkpointKey']}") String checkpointKey,
+			@Value("${crrs.keyset.fetch-size:500}") int fetchSize) {
 		
 		logger.info("Entered into Reader "+checkpointKey);
 
-		String jpql =
-				"SELECT b FROM P09Batch b " +
-						"WHERE CONCAT(b.bId.btBatchPrefix, b.bId.btBatchDate, b.bId.btBatchSuffix, b.bId.crRefundType) > :checkpointKey " +
-						"AND b.btPostedInd = 'P' ORDER BY b.bId.btBatchPrefix, b.bId.btBatchDate, b.bId.btBatchSuffix, b.bId.crRefundType";
-
-		return new JpaPagingItemReaderBuilder<P09Batch>()
+		// P09310DeleteWriter deletes the rows it has read; keyset pages are not shifted by that
+		return new KeysetItemReaderBuilder<P09Batch>()
 				.name("p09310BatchReader")
 				.entityManagerFactory(entityManagerFactory)
-				.queryString(jpql)
-				.parameterValues(Map.of("checkpointKey", val)) // 14 spaces default
-				.pageSize(50)   // align with chunk size for efficiency
+				.queryString("SELECT b FROM P09Batch b WHERE b.btPostedInd = 'P'")
+				.resultType(P09Batch.class)
+				.keyset(BATCH_KEYSET, P09310BatchKey::of)
+				.fetchSize(fetchSize)
 				.build();
 	}
 	
@@ -129,7 +135,7 @@ public class P09310Config {
 	@Bean
 	public Step p09310Step(JobRepository jobRepository,
 	                       PlatformTransactionManager txManager,
-	                       JpaPagingItemReader<P09Batch> p09310Reader,
+	                       KeysetItemReader<P09Batch> p09310Reader,
 	                       ItemProcessor<P09Batch, List<P09310OutputRecord>> p09310Processor,
 	                       CompositeItemWriter<List<P09310OutputRecord>> compositeWriter,
 	                       P09310ReportWriter reportWriter,
@@ -17,11 +17,17 @@ import org.springframework.transaction.PlatformTransactionManager;
 
 import com.abcbs.crrs.jobs.P09315.P09315ReportTasklet;
 import com.abcbs.crrs.jobs.P09315.P09315ReportWriter;
+import com.abcbs.crrs.launch.JobParameterSpec;
 import com.abcbs.crrs.repository.IActivityRepository;
 
 @Configuration
 public class P09315Config {
 
+	public static final JobParameterSpec PARAMETERS = JobParameterSpec.builder()
+			.input("corpFile")
+			.required("outputFile")
+			.build();
+
 	@Bean
 	@StepScope
 	public Tasklet p09315Tasklet(P09315ReportWriter writer, IActivityRepository repo,
@@ -12,28 +12,44 @@ import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.file.FlatFileItemReader;
-import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
-import org.springframework.batch.item.file.mapping.DefaultLineMapper;
-import org.springframework.batch.item.file.transform.FixedLengthTokenizer;
-import org.springframework.batch.item.file.transform.Range;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.abcbs.crrs.jobs.P09321.P09321Record;
+import com.abcbs.crrs.launch.JobParameterSpec;
 import com.abcbs.crrs.lock.P09TableLocker;
 import com.abcbs.crrs.repository.IActivityRepository;
 import com.abcbs.crrs.repository.IP09CashReceiptRepository;
 import com.abcbs.crrs.repository.IP09ControlRepository;
+import com.abcbs.crrs.utilities.FixedWidthLayout;
 import com.abcbs.crrs.jobs.P09321.P09321FileWriter;
 
 @Configuration
 public class P09321Config {
 
+    public static final JobParameterSpec PARAMETERS = JobParameterSpec.builder()
+            .input("input")
+            .input("corpFile")
+            .required("reportOut")
+            .build();
+
     private static final Logger log = LogManager.getLogger(P09321Config.class);
 
+    /** Control card, 80 bytes. */
+    private static final FixedWidthLayout<P09321Record> CONTROL_CARD = FixedWidthLayout.of(P09321Record::new)
+            .strict()
+            .field("controlId",      1,  2, P09321Record::setControlId)
+            .field("programName",    3,  8, P09321Record::setProgramName)
+            .field("cardSeq",        9,  9, P09321Record::setCardSeq)
+            .field("filler1",       10, 10, P09321Record::setFiller1)
+            .field("refundType",    11, 13, P09321Record::setRefundType)
+            .field("filler2",       14, 80, P09321Record::setFiller2)
+            .build();
+
     @Bean
     public Job p09321Job(JobRepository jobRepository, Step p09321Step) {
         log.info("Configuring job: P09321Job");
@@ -69,33 +85,10 @@ public class P09321Config {
             throw new IllegalArgumentException("Cannot read input file: " + inputFile);
         }
 
-        try {
-            FixedLengthTokenizer tokenizer = new FixedLengthTokenizer();
-            tokenizer.setNames("controlId", "programName", "cardSeq", "filler1", "refundType", "filler2");
-            tokenizer.setColumns(new Range[]{
-                    new Range(1, 2),
-                    new Range(3, 8),
-                    new Range(9, 9),
-                    new Range(10, 10),
-                    new Range(11, 13),
-                    new Range(14, 80)
-            });
-
-            DefaultLineMapper<P09321Record> lineMapper = new DefaultLineMapper<>();
-            lineMapper.setLineTokenizer(tokenizer);
-            lineMapper.setFieldSetMapper(new BeanWrapperFieldSetMapper<>() {{
-                setTargetType(P09321Record.class);
-            }});
-
-            FlatFileItemReader<P09321Record> reader = new FlatFileItemReader<>();
-            reader.setResource(new FileSystemResource(file));
-            reader.setLineMapper(lineMapper);
-
-            return reader;
-        } catch (Exception e) {
-            log.error("Error initializing FlatFileItemReader for file: {}", inputFile, e);
-            throw new RuntimeException("Failed to initialize reader for input file", e);
-        }
+        FlatFileItemReader<P09321Record> reader = new FlatFileItemReader<>();
+        reader.setResource(new FileSystemResource(file));
+        reader.setLineMapper(CONTROL_CARD);
+        return reader;
     }
 
     @Bean
@@ -105,9 +98,15 @@ public class P09321Config {
             @Value("#{jobParameters['reportOut']}") String outputFileName, 
             IActivityRepository activityRepository,
             IP09CashReceiptRepository receiptRepository,
-            IP09ControlRepository controlRepository,P09TableLocker tableLocker
+            IP09ControlRepository controlRepository,P09TableLocker tableLocker,
+            PlatformTransactionManager transactionManager,
+            @Value("${crrs.recon.parallelism:1}") int parallelism
            ) {
         log.info("Initializing P09321FileWriter with output file: {}", outputFileName);
-        return new P09321FileWriter(corpFile,outputFileName, activityRepository, receiptRepository, controlRepository, tableLocker);
+        // parallel mode only: refund-type reads on worker threads
+        TransactionTemplate readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+        return new P09321FileWriter(corpFile,outputFileName, activityRepository, receiptRepository, controlRepository, tableLocker,
+                readOnlyTx, parallelism);
     }
 }
@@ -20,11 +20,20 @@ import org.springframework.transaction.PlatformTransactionManager;
 import com.abcbs.crrs.jobs.P09325.P09325Tasklet;
 import com.abcbs.crrs.jobs.P09325.RoutingReportWriter;
 import com.abcbs.crrs.jobs.P09325.SummaryReportWriter;
+import com.abcbs.crrs.launch.JobParameterSpec;
 import com.abcbs.crrs.repository.IP09CashReceiptRepository;
 import com.abcbs.crrs.repository.IP09SummaryRepository;
 
 @Configuration
 public class P09325Config {
+
+	// restart from a checkpointKey is not taken from the command line
+	public static final JobParameterSpec PARAMETERS = JobParameterSpec.builder()
+			.required("chkpFile")
+			.required("outA")
+			.required("outB")
+			.fixed("checkpointKey", "")
+			.build();
 	
 	private static final Logger LOG = LogManager.getLogger(P09325Config.class);
 
@@ -17,11 +17,16 @@ import org.springframework.transaction.support.TransactionTemplate;
 
 import com.abcbs.crrs.jobs.P09330.P09330ReportTasklet;
 import com.abcbs.crrs.jobs.P09330.ReportWriter;
+import com.abcbs.crrs.launch.JobParameterSpec;
 import com.abcbs.crrs.repository.IP09CashReceiptRepository;
 
 @Configuration
 public class P09330Config {
 
+    public static final JobParameterSpec PARAMETERS = JobParameterSpec.builder()
+            .required("outputFile")
+            .build();
+
     private static final Logger log = LogManager.getLogger(P09330Config.class);
 
     @Bean
@@ -51,13 +56,15 @@ public class P09330Config {
      *   - outputFile path
      *   - repository
      *   - tx template for streaming DB cursors
+     *   - partitions run at once (each holds a pooled connection while streaming)
      */
     @Bean
     @StepScope
     public P09330ReportTasklet p09330Tasklet(
             @Value("#{jobParameters['outputFile']}") String outputFile,
             IP09CashReceiptRepository cashRepo,
-            PlatformTransactionManager platformTransactionManager) {
+            PlatformTransactionManager platformTransactionManager,
+            @Value("${crrs.p09330.parallelism:1}") int parallelism) {
 
         log.info("Instantiating P09330ReportTasklet outputFile={}", outputFile);
 
@@ -69,7 +76,8 @@ public class P09330Config {
         return new P09330ReportTasklet(
                 reportWriter,
                 cashRepo,
-                txTemplate
+                txTemplate,
+                parallelism
         );
     }
 }
@@ -22,10 +22,20 @@ import com.abcbs.crrs.jobs.P09340.P09340GlRecord;
 import com.abcbs.crrs.jobs.P09340.P09340MonthlyReportAndFileWriter;
 import com.abcbs.crrs.jobs.P09340.P09340WeeklyReportAndFileWriter;
 import com.abcbs.crrs.jobs.P09340.RunFrequencyDecider;
+import com.abcbs.crrs.launch.JobParameterSpec;
 import com.abcbs.crrs.listener.JobLoggingListener;
 
 @Configuration
 public class P09340Config {
+
+	public static final JobParameterSpec PARAMETERS = JobParameterSpec.builder()
+			.input("corpFile")
+			.input("controlFile")
+			.input("glFile")
+			.required("reportFile")
+			.required("matchedOutFile")
+			.required("accountFile")
+			.build();
 	
 	@Autowired
 	private JobLoggingListener jobListener;
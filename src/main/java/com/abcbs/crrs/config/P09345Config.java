@@ -22,12 +22,20 @@ import org.springframework.transaction.PlatformTransactionManager;
 
 import com.abcbs.crrs.jobs.P09345.P09345FileWriter;
 import com.abcbs.crrs.jobs.P09376.CheckPointRecord;
+import com.abcbs.crrs.launch.JobParameterSpec;
 import com.abcbs.crrs.repository.IP09CashReceiptRepository;
 import com.abcbs.crrs.repository.IP09ControlRepository;
 
 @Configuration
 public class P09345Config {
 
+    public static final JobParameterSpec PARAMETERS = JobParameterSpec.builder()
+            .input("Corp_File")
+            .input("Refund_Type_Card")
+            .input("Checkpoint_Card")
+            .required("P09345_Output")
+            .build();
+
     private static final Logger log = LogManager.getLogger(P09345Config.class);
 
     @Bean
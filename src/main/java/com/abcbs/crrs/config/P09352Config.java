@@ -1,7 +1,6 @@
 package com.abcbs.crrs.config;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.List;
 
 import org.springframework.batch.core.Job;
@@ -15,7 +14,6 @@ import org.springframework.batch.item.file.FlatFileItemReader;
 import org.springframework.batch.item.file.FlatFileItemWriter;
 import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
 import org.springframework.batch.item.file.builder.FlatFileItemWriterBuilder;
-import org.springframework.batch.item.file.transform.LineAggregator;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -24,6 +22,7 @@ import org.springframework.core.io.FileSystemResource;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import com.abcbs.crrs.jobs.P09352.P09352ApInterfaceOutput;
+import com.abcbs.crrs.jobs.P09352.P09352Checkpoint;
 import com.abcbs.crrs.jobs.P09352.P09352CheckpointCardInput;
 import com.abcbs.crrs.jobs.P09352.P09352ControlCardInput;
 import com.abcbs.crrs.jobs.P09352.P09352CorpCardInput;
@@ -35,10 +34,24 @@ import com.abcbs.crrs.jobs.P09352.P09352Processor;
 import com.abcbs.crrs.jobs.P09352.P09352ReportWriter;
 import com.abcbs.crrs.jobs.P09352.P09352XP07DedsOutput;
 import com.abcbs.crrs.jobs.P09352.P09352XP09DedsOutput;
+import com.abcbs.crrs.launch.JobParameterSpec;
 
 @Configuration
 public class P09352Config {
 
+    public static final JobParameterSpec PARAMETERS = JobParameterSpec.builder()
+            .input("controlCardFile")
+            .input("corpCardFile")
+            .input("checkpointFile")
+            .input("ivoucherFile")
+            .required("xapntrfcPath")
+            .required("xp09Path")
+            .required("xp07Path")
+            .required("xvoucherPath")
+            .required("reportPath")
+            .optional("bulkMode", "N")
+            .build();
+
     // ============================================================
     // JOB
     // ============================================================
@@ -61,18 +74,8 @@ public class P09352Config {
     @Bean
     public ExecutionContextPromotionListener p09352PromotionListener() {
         ExecutionContextPromotionListener l = new ExecutionContextPromotionListener();
-        l.setKeys(new String[] {
-                "WS_LAST_VOUCHER_NBR_PREFIX",
-                "WS_LAST_VOUCHER_NBR_SUFFIX",
-                "checksIssued",
-
-                "WS_RUN_DATE_MMDDYY",
-                "WS_RUN_TIME_HHMMSS",
-                "WS_CORP_CODE",
-                "WS_CORP",
-                "WS_DB2_CONTROL_CARD_DATE",
-                "WS_AP_BATCH_ID"
-        });
+        // working storage stays in the processor; only the checkpoint snapshot is persisted
+        l.setKeys(new String[] { P09352Checkpoint.KEY });
         return l;
     }
 
@@ -158,9 +161,12 @@ public class P09352Config {
     		        var stepEc = stepExecution.getExecutionContext();
     		        var jobEc = stepExecution.getJobExecution().getExecutionContext();
 
-    		        String prefix = jobEc.getString("WS_LAST_VOUCHER_NBR_PREFIX", " ");
-    		        int suffixStart = jobEc.getInt("WS_LAST_VOUCHER_NBR_SUFFIX", 0);
-    		        int checksIssued = jobEc.getInt("checksIssued", 0);
+    		        P09352Checkpoint chkp = (P09352Checkpoint) jobEc.get(P09352Checkpoint.KEY);
+
+    		        String prefix = (chkp == null || chkp.getLastVoucherNbrPrefix() == null)
+    		                ? " " : chkp.getLastVoucherNbrPrefix();
+    		        int suffixStart = (chkp == null) ? 0 : chkp.getLastVoucherNbrSuffix();
+    		        int checksIssued = (chkp == null) ? 0 : chkp.getChecksIssued();
 
     		        int suffixOut = suffixStart + checksIssued;
 
@@ -195,7 +201,7 @@ public class P09352Config {
         return new FlatFileItemReaderBuilder<P09352ControlCardInput>()
                 .name("controlCardReader")
                 .resource(new FileSystemResource(controlCardFile))
-                .lineMapper(P09352LineMappers.controlCardLineMapper())
+                .lineMapper(P09352LineMappers.CONTROL_CARD)
                 .build();
     }
 
@@ -207,7 +213,7 @@ public class P09352Config {
         return new FlatFileItemReaderBuilder<P09352CorpCardInput>()
                 .name("corpCardReader")
                 .resource(new FileSystemResource(corpCardFile))
-                .lineMapper(P09352LineMappers.corpCardLineMapper())
+                .lineMapper(P09352LineMappers.CORP_CARD)
                 .build();
     }
 
@@ -219,7 +225,7 @@ public class P09352Config {
         return new FlatFileItemReaderBuilder<P09352CheckpointCardInput>()
                 .name("checkpointReader")
                 .resource(new FileSystemResource(checkpointFile))
-                .lineMapper(P09352LineMappers.checkpointLineMapper())
+                .lineMapper(P09352LineMappers.CHECKPOINT_CARD)
                 .build();
     }
 
@@ -231,7 +237,7 @@ public class P09352Config {
         return new FlatFileItemReaderBuilder<P09352InputVoucher>()
                 .name("inputVoucherReader")
                 .resource(new FileSystemResource(ivoucherFile))
-                .lineMapper(P09352LineMappers.inputVoucherLineMapper())
+                .lineMapper(P09352LineMappers.INPUT_VOUCHER)
                 .build();
     }
 
@@ -240,67 +246,20 @@ public class P09352Config {
     // ============================================================
 
     /**
-     * COBOL AP-INTRFACE-OUT is 275 characters. This writer builds exactly 275 chars:
-     * - Invoice date MM/DD/CCYY (uses oInvoiceCc + oInvoiceYy)
-     * - oChkAmt is PIC 9(9)V99 => 11 digits, implied decimal, NO dot.
+     * COBOL AP-INTRFACE-OUT is 275 characters, laid out by
+     * {@link P09352LineMappers#AP_INTERFACE} (the layout P09352 reads it back with).
      */
     @Bean(name = "apWriter")
     @org.springframework.batch.core.configuration.annotation.StepScope
     public FlatFileItemWriter<P09352ApInterfaceOutput> apWriter(
             @Value("#{jobParameters['xapntrfcPath']}") String xapntrfcPath) {
 
-        LineAggregator<P09352ApInterfaceOutput> agg = item -> {
-            String invoiceDate =
-                    fix(item.getOInvoiceMm(), 2) +
-                    "/" +
-                    fix(item.getOInvoiceDd(), 2) +
-                    "/" +
-                    fix(item.getOInvoiceCc(), 2) +
-                    fix(item.getOInvoiceYy(), 2); // total 10
-
-            String chkAmt11 = pic9v99(item.getOChkAmt(), 11);
-
-            String line =
-                    fix(item.getORecdCode(), 1) +
-                    fix(item.getFiller1(), 1) +
-                    fix(item.getOVoucherNbr(), 6) +
-                    invoiceDate +
-                    fix(item.getFiller2(), 1) +
-                    fix(item.getOTaxIdNbr(), 9) +
-                    fix(item.getOPayeeIdType(), 1) +
-                    fix(item.getOProviderNbr(), 9) +
-                    fix(item.getOPayeeName(), 30) +
-                    fix(item.getOPayeeAddr1(), 35) +
-                    fix(item.getOPayeeAddr2(), 35) +
-                    fix(item.getOPayeeCity(), 20) +
-                    fix(item.getOPayeeSt(), 2) +
-                    fix(item.getOPayeeZip1(), 5) +
-                    fix(item.getOPayeeZip2(), 4) +
-                    fix(item.getFiller3(), 1) +
-                    chkAmt11 +
-                    fix(item.getONegInd(), 1) +
-                    fix(item.getOChkNbr(), 8) +
-                    fix(item.getOChkDate(), 10) +
-                    fix(item.getOChkType(), 2) +
-                    fix(item.getOBankAcctNbr(), 8) +
-                    fix(item.getONationalId(), 10) +
-                    fix(item.getORefundType(), 3) +
-                    fix(item.getOCntrlDate(), 10) +
-                    fix(item.getOCntrlNbr(), 4) +
-                    fix(item.getOMemberId(), 12) +
-                    fix(item.getOLname(), 15) +
-                    fix(item.getOFname(), 11);
-
-            // enforce exact 275
-            return fix(line, 275);
-        };
-
         return new FlatFileItemWriterBuilder<P09352ApInterfaceOutput>()
                 .name("apWriter")
                 .resource(new FileSystemResource(xapntrfcPath))
                 .shouldDeleteIfExists(true)
                 .lineSeparator("\n")
-                .lineAggregator(agg)
+                .lineAggregator(P09352LineMappers.AP_INTERFACE)
                 .build();
     }
 
@@ -514,17 +473,12 @@ public class P09352Config {
     public FlatFileItemWriter<P09352OutputVoucher> voucherWriter(
             @Value("#{jobParameters['xvoucherPath']}") String xvoucherPath) {
 
-        LineAggregator<P09352OutputVoucher> agg = item ->
-                fix(item.getOutputLastVoucherNbrPrefix(), 1) +
-                fix(item.getOutputLastVoucherNbrSuffix(), 5) +
-                fix(item.getOutputLastVoucherNbrFiller(), 74);
-
         return new FlatFileItemWriterBuilder<P09352OutputVoucher>()
                 .name("voucherWriter")
                 .resource(new FileSystemResource(xvoucherPath))
                 .shouldDeleteIfExists(true)
                 .lineSeparator("\n")
-                .lineAggregator(agg)
+                .lineAggregator(P09352LineMappers.OUTPUT_VOUCHER)
                 .build();
     }
 
@@ -544,21 +498,6 @@ public class P09352Config {
         return s + " ".repeat(len - s.length());
     }
 
-    /**
-     * PIC 9(9)V99 => implied decimal, no dot, zero-filled.
-     * len should be 11 for 9(9)V99.
-     */
-    private static String pic9v99(BigDecimal amt, int len) {
-        if (amt == null) amt = BigDecimal.ZERO;
-        amt = amt.setScale(2, RoundingMode.DOWN);
-        BigDecimal cents = amt.movePointRight(2);
-        String digits = cents.abs().toPlainString(); // should be integer now
-        digits = digits.replace(".", "");
-        if (digits.startsWith("-")) digits = digits.substring(1);
-        if (digits.length() > len) digits = digits.substring(digits.length() - len);
-        return "0".repeat(Math.max(0, len - digits.length())) + digits;
-    }
-
     /**
      * Your XP07/XP09 amounts are stored in BigDecimal but written as text in your output files.
      * This writes implied-decimal cents as a fixed width numeric string (no dot), left padded with zeros,
@@ -567,7 +506,7 @@ public class P09352Config {
     private static String picS9v99AsText(BigDecimal amt, int len) {
         if (amt == null) amt = BigDecimal.ZERO;
         boolean neg = amt.signum() < 0;
-        String digits = pic9v99(amt, len); // start with unsigned digits
+        String digits = P09352LineMappers.pic9v99(amt, len); // start with unsigned digits
         if (!neg) return digits;
         // force leading '-' while preserving total width
         if (len <= 0) return "";
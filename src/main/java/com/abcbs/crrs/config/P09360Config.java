@@ -1,6 +1,7 @@
 package com.abcbs.crrs.config;
 
 import java.io.File;
+import java.nio.charset.Charset;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -11,11 +12,8 @@ import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.batch.item.file.FlatFileItemReader;
-import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
-import org.springframework.batch.item.file.mapping.DefaultLineMapper;
-import org.springframework.batch.item.file.transform.FixedLengthTokenizer;
-import org.springframework.batch.item.file.transform.Range;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -24,13 +22,57 @@ import org.springframework.transaction.PlatformTransactionManager;
 
 import com.abcbs.crrs.jobs.P09360.P09360FileWriter;
 import com.abcbs.crrs.jobs.P09360.P09GlDedsRecord;
+import com.abcbs.crrs.launch.JobParameterSpec;
 import com.abcbs.crrs.repository.IActivityRepository;
+import com.abcbs.crrs.utilities.BinaryRecord;
+import com.abcbs.crrs.utilities.BinaryRecordReader;
+import com.abcbs.crrs.utilities.FixedWidthLayout;
+import com.abcbs.crrs.utilities.Utility;
+
+import jakarta.persistence.EntityManager;
 
 @Configuration
 public class P09360Config {
 
+    public static final JobParameterSpec PARAMETERS = JobParameterSpec.builder()
+            .input("glInput")
+            .required("reportOut")
+            .build();
+
     private static final Logger log = LogManager.getLogger(P09360Config.class);
 
+    /** P09DEDS general ledger record, 206 bytes. */
+    private static final FixedWidthLayout<P09GlDedsRecord> GL_DEDS = FixedWidthLayout.of(P09GlDedsRecord::new)
+            .strict()
+            .field("p09deds_julian",      1,   5, P09GlDedsRecord::setP09deds_julian)
+            .field("p09deds_hhmmsss",     6,  12, P09GlDedsRecord::setP09deds_hhmmsss)
+            .field("filler",             13,  17, P09GlDedsRecord::setFiller)
+            .field("gl_p09deds_id",      18,  19, P09GlDedsRecord::setGl_p09deds_id)
+            .field("gl_refund_type",     20,  22, P09GlDedsRecord::setGl_refund_type)
+            .field("gl_control_date",    23,  32, P09GlDedsRecord::setGl_control_date)
+            .field("gl_control_nbr",     33,  36, P09GlDedsRecord::setGl_control_nbr)
+            .field("gl_receipt_type",    37,  38, P09GlDedsRecord::setGl_receipt_type)
+            .field("gl_bank_acct_nbr",   39,  73, P09GlDedsRecord::setGl_bank_acct_nbr)
+            .field("gl_acct_nbr",        74,  85, P09GlDedsRecord::setGl_acct_nbr)
+            .field("gl_act_code",        86,  88, P09GlDedsRecord::setGl_act_code)
+            .field("gl_act_amt",         89, 100, P09GlDedsRecord::setGl_act_amt)
+            .field("gl_act_date",       101, 110, P09GlDedsRecord::setGl_act_date)
+            .field("gl_report_mo",      111, 112, P09GlDedsRecord::setGl_report_mo)
+            .field("gl_report_yr",      113, 114, P09GlDedsRecord::setGl_report_yr)
+            .field("gl_patient_ln",     115, 129, P09GlDedsRecord::setGl_patient_ln)
+            .field("gl_patient_fn",     130, 140, P09GlDedsRecord::setGl_patient_fn)
+            .field("gl_mbr_id_nbr",     141, 152, P09GlDedsRecord::setGl_mbr_id_nbr)
+            .field("gl_xref_type",      153, 154, P09GlDedsRecord::setGl_xref_type)
+            .field("gl_xref_claim_nbr", 155, 174, P09GlDedsRecord::setGl_xref_claim_nbr)
+            .field("gl_xref_date",      175, 184, P09GlDedsRecord::setGl_xref_date)
+            .field("gl_cash_rec_bal",   185, 196, P09GlDedsRecord::setGl_cash_rec_bal)
+            .field("gl_corp",           197, 198, P09GlDedsRecord::setGl_corp)
+            .field("gl_filler",         199, 206, P09GlDedsRecord::setGl_filler)
+            .build();
+
+    /** P09DEDS as unloaded from the host, 189 bytes: julian, time and the two amounts COMP-3. */
+    private static final int GL_DEDS_BINARY_LENGTH = 189;
+
     @Bean
     public Job p09360Job(JobRepository repo, Step p09360Step) {
         return new JobBuilder("P09360Job", repo)
@@ -42,7 +84,7 @@ public class P09360Config {
     @Bean
     public Step p09360Step(JobRepository repo,
                            PlatformTransactionManager tx,
-                           FlatFileItemReader<P09GlDedsRecord> p09360Reader,
+                           ItemStreamReader<P09GlDedsRecord> p09360Reader,
                            P09360FileWriter p09360Writer) {
         return new StepBuilder("P09360Step", repo)
                 .<P09GlDedsRecord, P09GlDedsRecord>chunk(2000, tx)
@@ -53,76 +95,21 @@ public class P09360Config {
 
     @Bean
     @StepScope
-    public FlatFileItemReader<P09GlDedsRecord> p09360Reader(
-            @Value("#{jobParameters['glInput']}") String glInputPath) {
+    public ItemStreamReader<P09GlDedsRecord> p09360Reader(
+            @Value("#{jobParameters['glInput']}") String glInputPath,
+            @Value("${crrs.feed.gl.codepage:}") String codePage) {
 
         log.info("Initializing reader for file: {}", glInputPath);
 
-        FixedLengthTokenizer tokenizer = new FixedLengthTokenizer();
-        tokenizer.setNames(
-                "p09deds_julian",
-                "p09deds_hhmmsss",
-                "filler",
-                "gl_p09deds_id",
-                "gl_refund_type",
-                "gl_control_date",
-                "gl_control_nbr",
-                "gl_receipt_type",
-                "gl_bank_acct_nbr",
-                "gl_acct_nbr",
-                "gl_act_code",
-                "gl_act_amt",
-                "gl_act_date",
-                "gl_report_mo",
-                "gl_report_yr",
-                "gl_patient_ln",
-                "gl_patient_fn",
-                "gl_mbr_id_nbr",
-                "gl_xref_type",
-                "gl_xref_claim_nbr",
-                "gl_xref_date",
-                "gl_cash_rec_bal",
-                "gl_corp",
-                "gl_filler"
-        );
-
-        tokenizer.setColumns(
-                new Range(1, 5),
-                new Range(6, 12),
-                new Range(13, 17),
-                new Range(18, 19),
-                new Range(20, 22),
-                new Range(23, 32),
-                new Range(33, 36),
-                new Range(37, 38),
-                new Range(39, 73),
-                new Range(74, 85),
-                new Range(86, 88),
-                new Range(89, 100),
-                new Range(101, 110),
-                new Range(111, 112),
-                new Range(113, 114),
-                new Range(115, 129),
-                new Range(130, 140),
-                new Range(141, 152),
-                new Range(153, 154),
-                new Range(155, 174),
-                new Range(175, 184),
-                new Range(185, 196),
-                new Range(197, 198),
-                new Range(199, 206)
-        );
-
-        DefaultLineMapper<P09GlDedsRecord> lineMapper = new DefaultLineMapper<>();
-        lineMapper.setLineTokenizer(tokenizer);
-
-        BeanWrapperFieldSetMapper<P09GlDedsRecord> fieldSetMapper = new BeanWrapperFieldSetMapper<>();
-        fieldSetMapper.setTargetType(P09GlDedsRecord.class);
-        lineMapper.setFieldSetMapper(fieldSetMapper);
+        if (!codePage.isBlank()) {
+            log.info("Reading {} as binary {}-byte records, code page {}", glInputPath, GL_DEDS_BINARY_LENGTH, codePage);
+            return new BinaryRecordReader<>(glInputPath, GL_DEDS_BINARY_LENGTH, Charset.forName(codePage),
+                    P09360Config::glDeds);
+        }
 
         FlatFileItemReader<P09GlDedsRecord> reader = new FlatFileItemReader<>();
         reader.setResource(new FileSystemResource(new File(glInputPath)));
-        reader.setLineMapper(lineMapper);
+        reader.setLineMapper(GL_DEDS);
         return reader;
     }
 
@@ -130,7 +117,38 @@ public class P09360Config {
     @StepScope
     public P09360FileWriter p09360Writer(
             @Value("#{jobParameters['reportOut']}") String reportOut,
-            IActivityRepository activityRepository) {
-        return new P09360FileWriter(reportOut, activityRepository);
+            IActivityRepository activityRepository,
+            EntityManager entityManager) {
+        return new P09360FileWriter(reportOut, activityRepository, entityManager);
+    }
+
+    /** Binary P09DEDS record into the text record's fields; packed numbers zero-filled to their text width. */
+    private static P09GlDedsRecord glDeds(BinaryRecord r) {
+        P09GlDedsRecord g = new P09GlDedsRecord();
+        g.setP09deds_julian(Utility.zeroPad(r.packed(1, 3), 5));
+        g.setP09deds_hhmmsss(Utility.zeroPad(r.packed(4, 7), 7));
+        g.setFiller(r.text(8, 12));
+        g.setGl_p09deds_id(r.text(13, 14));
+        g.setGl_refund_type(r.text(15, 17));
+        g.setGl_control_date(r.text(18, 27));
+        g.setGl_control_nbr(r.text(28, 31));
+        g.setGl_receipt_type(r.text(32, 33));
+        g.setGl_bank_acct_nbr(r.text(34, 68));
+        g.setGl_acct_nbr(r.text(69, 80));
+        g.setGl_act_code(r.text(81, 83));
+        g.setGl_act_amt(Utility.zeroPad(r.packed(84, 89), 12));
+        g.setGl_act_date(r.text(90, 99));
+        g.setGl_report_mo(r.text(100, 101));
+        g.setGl_report_yr(r.text(102, 103));
+        g.setGl_patient_ln(r.text(104, 118));
+        g.setGl_patient_fn(r.text(119, 129));
+        g.setGl_mbr_id_nbr(r.text(130, 141));
+        g.setGl_xref_type(r.text(142, 143));
+        g.setGl_xref_claim_nbr(r.text(144, 163));
+        g.setGl_xref_date(r.text(164, 173));
+        g.setGl_cash_rec_bal(Utility.zeroPad(r.packed(174, 179), 12));
+        g.setGl_corp(r.text(180, 181));
+        g.setGl_filler(r.text(182, 189));
+        return g;
     }
 }
@@ -4,6 +4,7 @@ import com.abcbs.crrs.jobs.P09365.P09365InputGpIntrface;
 import com.abcbs.crrs.jobs.P09365.P09365LineMapper;
 import com.abcbs.crrs.jobs.P09365.P09365OutputManualChks;
 import com.abcbs.crrs.jobs.P09365.P09365Processor;
+import com.abcbs.crrs.launch.JobParameterSpec;
 
 import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.Job;
@@ -32,6 +33,11 @@ import org.springframework.transaction.PlatformTransactionManager;
 @Configuration
 public class P09365Config {
 
+    public static final JobParameterSpec PARAMETERS = JobParameterSpec.builder()
+            .input("inputFile")
+            .required("outputFile")
+            .build();
+
     @Bean(name = "p09365Job")
     public Job p09365Job(JobRepository jobRepository,
                          @Qualifier("p09365Step") Step p09365Step) {
@@ -65,7 +71,7 @@ public class P09365Config {
         FlatFileItemReader<P09365InputGpIntrface> r = new FlatFileItemReader<>();
         r.setResource(new FileSystemResource(inputFile));
         r.setRecordSeparatorPolicy(new DefaultRecordSeparatorPolicy()); // ✅
-        r.setLineMapper(P09365LineMapper.gpIntrfaceLineMapper());
+        r.setLineMapper(P09365LineMapper.GP_INTRFACE);
         return r;
     }
 
@@ -84,35 +90,7 @@ public class P09365Config {
 
     @Bean
     public LineAggregator<P09365OutputManualChks> p09365ManualChksAggregator245() {
-        return item -> {
-            StringBuilder sb = new StringBuilder(300);
-
-            sb.append(rpad(item.getMRefundType(), 3));
-            sb.append(rpad(item.getMFiller1(), 1));
-            sb.append(rpad(item.getMCntrlDate(), 10));
-            sb.append(rpad(item.getMFiller2(), 1));
-            sb.append(rpad(item.getMCntrlNbr(), 4));
-
-            sb.append(rpad(item.getMInvoiceDate(), 10));
-            sb.append(rpad(item.getMProviderNbr(), 9));
-            sb.append(rpad(item.getMPayeeName(), 36));
-            sb.append(rpad(item.getMPayeeAddr1(), 36));
-            sb.append(rpad(item.getMPayeeAddr2(), 36));
-            sb.append(rpad(item.getMPayeeCity(), 24));
-            sb.append(rpad(item.getMPayeeSt(), 2));
-            sb.append(rpad(item.getMPayeeZip1(), 5));
-            sb.append(rpad(item.getMPayeeZip2(), 4));
-            sb.append(lpadDigits(item.getMInvoiceAmt(), 11));
-            sb.append(rpad(item.getMDesc(), 40));
-            sb.append(rpad(item.getMPayeeIdPrefix(), 4));
-            sb.append(rpad(item.getMPayeeIdType(), 1));
-            sb.append(rpad(item.getMCheckType(), 2));
-
-            String base = sb.toString();
-            if (base.length() > 245) return base.substring(0, 245);
-            if (base.length() < 245) return base + " ".repeat(245 - base.length());
-            return base;
-        };
+        return P09365LineMapper.MANUAL_CHKS;
     }
 
     @Bean
@@ -139,17 +117,4 @@ public class P09365Config {
             }
         };
     }
-
-    private static String rpad(String s, int len) {
-        if (s == null) s = "";
-        if (s.length() >= len) return s.substring(0, len);
-        return s + " ".repeat(len - s.length());
-    }
-
-    private static String lpadDigits(String s, int len) {
-        if (s == null) s = "";
-        s = s.replace(" ", "");
-        if (s.length() >= len) return s.substring(s.length() - len);
-        return "0".repeat(len - s.length()) + s;
-    }
-}
\ No newline at end of file
+}
@@ -1,8 +1,5 @@
 package com.abcbs.crrs.config;
 
-import java.util.Iterator;
-import java.util.List;
-
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.batch.core.Job;
@@ -12,29 +9,43 @@ import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.item.ItemReader;
 import org.springframework.batch.item.support.builder.CompositeItemWriterBuilder;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import com.abcbs.crrs.entity.P09Batch;
+import com.abcbs.crrs.jobs.P09370.P09370BatchKey;
 import com.abcbs.crrs.jobs.P09370.P09370CheckpointHandler;
 import com.abcbs.crrs.jobs.P09370.P09370ReportWriter;
-import com.abcbs.crrs.repository.IP09BatchRepository;
+import com.abcbs.crrs.keyset.KeysetItemReader;
+import com.abcbs.crrs.keyset.KeysetItemReaderBuilder;
+import com.abcbs.crrs.keyset.KeysetRestart;
+import com.abcbs.crrs.launch.JobParameterSpec;
+
+import jakarta.persistence.EntityManagerFactory;
 
 @Configuration
 public class P09370Config {
 
+    // inputFile is the checkpoint file; it may not exist yet
+    public static final JobParameterSpec PARAMETERS = JobParameterSpec.builder()
+            .required("inputFile")
+            .required("outputFile")
+            .optional("readMode", "PAGE")
+            .build();
+
     private static final Logger log = LogManager.getLogger(P09370Config.class);
 
+    /** PX01 order, which is also the CKPNT-KEY: prefix, date, suffix, refund type. */
+    private static final KeysetRestart BATCH_KEYSET = KeysetRestart.on(
+            "b.bId.btBatchPrefix", "b.bId.btBatchDate", "b.bId.btBatchSuffix", "b.bId.crRefundType");
+
     @Bean(name = "p09370Step")
     public Step p09370Step(JobRepository repo, PlatformTransactionManager tx,
-                           ItemReader<P09Batch> p09370Reader,
+                           KeysetItemReader<P09Batch> p09370Reader,
                            P09370ReportWriter p09370Writer) {
       return new StepBuilder("p09370Step", repo)
           .<P09Batch,P09Batch>chunk(2000, tx)
@@ -52,42 +63,36 @@ public class P09370Config {
                 .build();
     }
 
+    /**
+     * PX01: unposted batches after the CKPNT-KEY. readMode PAGE reads keyset pages
+     * of pageSize rows; CURSOR streams one query with that fetch size. Restart is
+     * driven by P09370CheckpointHandler (the COBOL checkpoint file), so the reader
+     * keeps nothing in the ExecutionContext.
+     */
     @Bean
     @StepScope
-    public ItemReader<P09Batch> p09370Reader(IP09BatchRepository repo,
-                                             P09370CheckpointHandler ckpt,
-                                             @Value("#{jobParameters['pageSize'] ?: 2000}") int pageSize) {
+    public KeysetItemReader<P09Batch> p09370Reader(EntityManagerFactory emf,
+                                                   P09370CheckpointHandler ckpt,
+                                                   @Value("#{jobParameters['pageSize'] ?: 2000}") int pageSize,
+                                                   @Value("#{jobParameters['readMode'] ?: 'PAGE'}") String readMode) {
         final String initialKey = ckpt.getCurrentKey();
-        log.info("P09370 starting with CKPNT-KEY='{}'", initialKey);
+        String mode = readMode.trim().toUpperCase();
+        if (!mode.equals("PAGE") && !mode.equals("CURSOR")) {
+            throw new IllegalArgumentException("P09370 readMode must be PAGE or CURSOR: " + readMode);
+        }
+        log.info("P09370 starting with CKPNT-KEY='{}' mode={} fetchSize={}", initialKey, mode, pageSize);
 
-        return new ItemReader<>() {
-            String ck = initialKey;
-            int pageIdx = 0;
-            Iterator<P09Batch> buf = List.<P09Batch>of().iterator();
-
-            @Override
-            public P09Batch read() {
-                while (true) {
-                    if (buf.hasNext()) return buf.next();
-                    Pageable pg = PageRequest.of(pageIdx, pageSize);
-                    List<P09Batch> page = repo.fetchAfterKeyUnposted(ck, pg);
-                    if (page.isEmpty()) return null;
-                    buf = page.iterator();
-                    pageIdx++;
-                    P09Batch last = page.get(page.size() - 1);
-                    ck = concatKey(last);
-                }
-            }
-
-            private String concatKey(P09Batch b) {
-                String pfx = nz(b.getBId().getBtBatchPrefix());
-                String dt  = nz(b.getBId().getBtBatchDate());
-                String sfx = nz(b.getBId().getBtBatchSuffix());
-                String rt  = nz(b.getBId().getCrRefundType());
-                return pfx + dt + sfx + rt;
-            }
-            private String nz(String s) { return s == null ? "" : s; }
-        };
+        return new KeysetItemReaderBuilder<P09Batch>()
+                .name("p09370Reader")
+                .entityManagerFactory(emf)
+                .queryString("SELECT b FROM P09Batch b WHERE b.btPostedInd = ' '")
+                .resultType(P09Batch.class)
+                .keyset(BATCH_KEYSET, P09370BatchKey::of)
+                .startAfter(P09370BatchKey.parse(initialKey))
+                .fetchSize(pageSize)
+                .cursor(mode.equals("CURSOR"))
+                .saveState(false)
+                .build();
     }
 
     @Bean
@@ -1,35 +1,46 @@
 package com.abcbs.crrs.config;
 
-import java.util.Map;
-
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
-import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.item.ItemReader;
-import org.springframework.batch.item.data.builder.RepositoryItemReaderBuilder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import com.abcbs.crrs.entity.P09CashReceipt;
+import com.abcbs.crrs.jobs.P09372.P09372CashReceiptKey;
 import com.abcbs.crrs.jobs.P09372.P09372Writer;
-import com.abcbs.crrs.repository.IP09CashReceiptRepository;
+import com.abcbs.crrs.keyset.KeysetItemReader;
+import com.abcbs.crrs.keyset.KeysetItemReaderBuilder;
+import com.abcbs.crrs.keyset.KeysetRestart;
+import com.abcbs.crrs.launch.JobParameterSpec;
 import com.abcbs.crrs.repository.IP09SuspenseRepository;
 
+import jakarta.persistence.EntityManagerFactory;
+
 @Configuration
-@EnableBatchProcessing
 public class P09372Config {
 
+	public static final JobParameterSpec PARAMETERS = JobParameterSpec.builder()
+			.required("letterFile")
+			.required("letterXml")
+			.required("deleteFile")
+			.required("suspenseFile")
+			.required("letterCntFile")
+			.build();
+
 	private static final Logger log = LogManager.getLogger(P09372Config.class);
 
+	private static final KeysetRestart CASH_RECEIPT_KEYSET = KeysetRestart.on("r.crId.crRefundType",
+			"r.crId.crCntrlDate", "r.crId.crCntrlNbr");
+
 	@Bean
 	public Job P09372Job(JobRepository jobRepository, Step P09372Step) {
 		log.info("Initializing Job: P09372Job");
@@ -38,19 +49,28 @@ public class P09372Config {
 
 	@Bean
 	public Step P09372Step(JobRepository jobRepository, PlatformTransactionManager txManager,
-			ItemReader<P09CashReceipt> cashReceiptReader, P09372Writer writer) {
+			KeysetItemReader<P09CashReceipt> cashReceiptReader, P09372Writer writer) {
 		log.info("Configuring Step: P09372Step with chunk size 2000");
 		return new StepBuilder("P09372Step", jobRepository).<P09CashReceipt, P09CashReceipt>chunk(2000, txManager)
 				.reader(cashReceiptReader).writer(writer).build();
 	}
 
+	/**
+	 * Keyset reader on the cash receipt key. P09372Writer clears CR_REMITTOR_TITLE
+	 * on rows it has read, which takes them out of the reader's predicate; offset
+	 * pages shifted under that and skipped rows, seek pages do not.
+	 */
 	@Bean
-	public ItemReader<P09CashReceipt> cashReceiptReader(IP09CashReceiptRepository repository) {
-		log.info("Creating ItemReader for P09CashReceipt using repository method: findOffCashReceipts");
-		return new RepositoryItemReaderBuilder<P09CashReceipt>().name("cashReceiptReader").repository(repository)
-				.methodName("findOffCashReceipts").pageSize(100).sorts(Map.of("crId.crRefundType", Sort.Direction.ASC,
-						"crId.crCntrlDate", Sort.Direction.ASC, "crId.crCntrlNbr", Sort.Direction.ASC))
-				.build();
+	@StepScope
+	public KeysetItemReader<P09CashReceipt> cashReceiptReader(EntityManagerFactory entityManagerFactory,
+			@Value("${crrs.keyset.fetch-size:500}") int fetchSize) {
+		log.info("Creating keyset ItemReader for P09CashReceipt (OFF, remittor title OF1-OF5), fetchSize={}", fetchSize);
+		return new KeysetItemReaderBuilder<P09CashReceipt>().name("cashReceiptReader")
+				.entityManagerFactory(entityManagerFactory)
+				.queryString("SELECT r FROM P09CashReceipt r WHERE r.crId.crRefundType = 'OFF' "
+						+ "AND r.crRemittorTitle IN ('OF1','OF2','OF3','OF4','OF5')")
+				.resultType(P09CashReceipt.class)
+				.keyset(CASH_RECEIPT_KEYSET, P09372CashReceiptKey::of).fetchSize(fetchSize).build();
 	}
 
 	@Bean
@@ -59,13 +79,14 @@ public class P09372Config {
 			@Value("#{jobParameters['letterXml']}") String letterXml,
 			@Value("#{jobParameters['deleteFile']}") String deleteFile,
 			@Value("#{jobParameters['suspenseFile']}") String suspenseFile,
-			@Value("#{jobParameters['letterCntFile']}") String letterCntFile, IP09CashReceiptRepository cashRepo,
-			IP09SuspenseRepository suspenseRepo) {
+			@Value("#{jobParameters['letterCntFile']}") String letterCntFile, IP09SuspenseRepository suspenseRepo,
+			JdbcTemplate jdbcTemplate) {
 
 		log.info(
 				"Instantiating P09372Writer with parameters: letterFile={}, letterXml={}, deleteFile={}, suspenseFile={}, letterCntFile={}",
 				letterFile, letterXml, deleteFile, suspenseFile, letterCntFile);
 
-		return new P09372Writer(letterFile, letterXml, deleteFile, suspenseFile, letterCntFile, cashRepo, suspenseRepo);
+		return new P09372Writer(letterFile, letterXml, deleteFile, suspenseFile, letterCntFile, suspenseRepo,
+				jdbcTemplate);
 	}
 }
\ No newline at end of file
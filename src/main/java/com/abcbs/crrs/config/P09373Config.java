@@ -22,10 +22,15 @@ import org.springframework.core.io.FileSystemResource;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import com.abcbs.crrs.jobs.P09373.P09373InputRecord;
+import com.abcbs.crrs.launch.JobParameterSpec;
 
 @Configuration
 public class P09373Config {
 
+	public static final JobParameterSpec PARAMETERS = JobParameterSpec.builder()
+			.input("inputFile")
+			.build();
+
 	private static final Logger log = LogManager.getLogger(P09373Config.class);
 
 	@Bean
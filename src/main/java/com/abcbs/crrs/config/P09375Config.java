@@ -22,11 +22,21 @@ import org.springframework.transaction.PlatformTransactionManager;
 
 import com.abcbs.crrs.jobs.P09375.CheckPointRecord;
 import com.abcbs.crrs.jobs.P09375.P09375FileWriter;
+import com.abcbs.crrs.launch.JobParameterSpec;
 import com.abcbs.crrs.repository.IP09CashReceiptRepository;
 
 @Configuration
 public class P09375Config {
 
+    public static final JobParameterSpec PARAMETERS = JobParameterSpec.builder()
+            .input("controlFile")
+            .required("label")
+            .required("label1")
+            .required("label2")
+            .required("label3")
+            .required("labelCnt")
+            .build();
+
     private static final Logger log = LogManager.getLogger(P09375Config.class);
 
     @Bean
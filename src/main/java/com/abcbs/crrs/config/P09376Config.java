@@ -22,11 +22,17 @@ import org.springframework.transaction.PlatformTransactionManager;
 
 import com.abcbs.crrs.jobs.P09376.CheckPointRecord;
 import com.abcbs.crrs.jobs.P09376.P09376FileWriter;
+import com.abcbs.crrs.launch.JobParameterSpec;
 import com.abcbs.crrs.repository.IP09CashReceiptRepository;
 
 @Configuration
 public class P09376Config {
 
+    public static final JobParameterSpec PARAMETERS = JobParameterSpec.builder()
+            .input("controlFile")
+            .required("label")
+            .build();
+
     private static final Logger log = LogManager.getLogger(P09376Config.class);
 
     @Bean
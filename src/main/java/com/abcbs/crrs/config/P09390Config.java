@@ -23,6 +23,7 @@ import com.abcbs.crrs.jobs.P09390.P09390InputNewVendor;
 import com.abcbs.crrs.jobs.P09390.P09390InputFepmanChks;
 import com.abcbs.crrs.jobs.P09390.P09390OutputFepVendor;
 import com.abcbs.crrs.jobs.P09390.P09390Processor;
+import com.abcbs.crrs.launch.JobParameterSpec;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -30,6 +31,12 @@ import java.util.concurrent.ConcurrentHashMap;
 @Configuration
 public class P09390Config {
 
+    public static final JobParameterSpec PARAMETERS = JobParameterSpec.builder()
+            .input("newVendorFile")
+            .input("fepmanFile")
+            .required("outputFepVendor")
+            .build();
+
     // ============================================================
     // NEW VENDOR READER
     // ============================================================
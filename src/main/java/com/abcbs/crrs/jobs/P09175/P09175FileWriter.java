@@ -1,6 +1,6 @@
 package com.abcbs.crrs.jobs.P09175;
 
-import com.abcbs.crrs.repository.IOptionRepository;
+import com.abcbs.crrs.cache.P09OptionCache;
 import com.abcbs.crrs.repository.IP09BatchRepository;
 import com.abcbs.crrs.repository.IP09SuspenseRepository;
 import com.abcbs.crrs.entity.P09Option;
@@ -27,20 +27,20 @@ public class P09175FileWriter implements Tasklet {
 
     private final IP09BatchRepository batchRepository;       // PX01
     private final IP09SuspenseRepository suspenseRepository; // PX02
-    private final IOptionRepository optionRepository;        // V_P09_OPTION (COBOL 000291)
+    private final P09OptionCache optionCache;                // V_P09_OPTION (COBOL 000291)
 
     public P09175FileWriter(String reportPath,
                             String flatPath,
                             String controlTotalPath,
                             IP09BatchRepository batchRepository,
                             IP09SuspenseRepository suspenseRepository,
-                            IOptionRepository optionRepository) {
+                            P09OptionCache optionCache) {
         this.reportPath = reportPath;
         this.flatPath = flatPath;
         this.controlTotalPath = controlTotalPath;
         this.batchRepository = batchRepository;
         this.suspenseRepository = suspenseRepository;
-        this.optionRepository = optionRepository;
+        this.optionCache = optionCache;
     }
 
     @Override
@@ -165,8 +165,8 @@ public class P09175FileWriter implements Tasklet {
         // DB2 LIKE needs just prefix + %
         String likeValue = locNbr + locClerk + "%";
 
-        List<P09Option> opts = optionRepository.findP09175Option(recordType, likeValue);
-        if (opts == null || opts.isEmpty()) {
+        List<P09Option> opts = optionCache.findLike(recordType, likeValue);
+        if (opts.isEmpty()) {
             // COBOL would CANCEL on SQL error; for "not found" you can keep blank to avoid crash
             log.warn("Option not found for recordType={}, like={}", recordType, likeValue);
             return ""; // DATA-0010 blank
@@ -19,7 +19,7 @@ import java.math.BigDecimal;
 public class P09183Writer implements ItemWriter<P09183OutputRecord>, StepExecutionListener {
     private static final Logger logger = LogManager.getLogger(P09183Writer.class);
     private BufferedWriter writer;
-    private static final DecimalFormat AMT_FORMAT =new DecimalFormat("###,###,##0.00");
+    private final DecimalFormat AMT_FORMAT =new DecimalFormat("###,###,##0.00");
 
     @Override
     public void beforeStep(StepExecution stepExecution) {
@@ -1,14 +0,0 @@
-package com.abcbs.crrs.jobs.P09185;
-
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class P09185InputRecord {
-	
-    private String record;
-
-}
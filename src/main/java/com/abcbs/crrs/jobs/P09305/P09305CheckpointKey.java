@@ -0,0 +1,57 @@
+package com.abcbs.crrs.jobs.P09305;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import com.abcbs.crrs.keyset.KeysetKey;
+import com.abcbs.crrs.projections.P09305ActivityView;
+
+/**
+ * Restart key for the P09305 activity reader, in its ORDER BY order: user id,
+ * activity, control date, control nbr, refund type, activity date, timestamp.
+ */
+public record P09305CheckpointKey(String userId, String activity, LocalDate cntrlDate, String cntrlNbr,
+		String refundType, LocalDate activityDate, LocalDateTime timestamp) implements KeysetKey {
+
+	private static final DateTimeFormatter TS = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+	/** Length of the checkpointKey job parameter (user 7, activity 3, dates as yyyy-MM-dd, timestamp to millis). */
+	static final int SEED_LENGTH = 7 + 3 + 10 + 4 + 3 + 10 + 23;
+
+	public static P09305CheckpointKey of(P09305ActivityView v) {
+		return new P09305CheckpointKey(v.getActUserId(), v.getActActivity(), v.getCrCntrlDate(), v.getCrCntrlNbr(),
+				v.getCrRefundType(), v.getActActivityDate(), v.getActTimestamp());
+	}
+
+	/**
+	 * Parses the checkpointKey job parameter, laid out the way the old CONCAT
+	 * predicate built it. Returns null for a blank seed (read from the top).
+	 */
+	public static P09305CheckpointKey parse(String seed) {
+		if (seed == null || seed.isBlank()) {
+			return null;
+		}
+		if (seed.length() < SEED_LENGTH) {
+			throw new IllegalStateException("P09305 checkpointKey must be " + SEED_LENGTH + " characters: '" + seed + "'");
+		}
+		try {
+			return new P09305CheckpointKey(
+					seed.substring(0, 7),
+					seed.substring(7, 10),
+					LocalDate.parse(seed.substring(10, 20)),
+					seed.substring(20, 24),
+					seed.substring(24, 27),
+					LocalDate.parse(seed.substring(27, 37)),
+					LocalDateTime.parse(seed.substring(37, 60), TS));
+		} catch (DateTimeParseException e) {
+			throw new IllegalStateException("P09305 checkpointKey has an invalid date: '" + seed + "'", e);
+		}
+	}
+
+	@Override
+	public Object[] keyValues() {
+		return new Object[] { userId, activity, cntrlDate, cntrlNbr, refundType, activityDate, timestamp };
+	}
+}
@@ -53,8 +53,8 @@ public class P09305ReportWriter implements ItemWriter<P09305OutputRecord>, StepE
     // ---- Formatting constants (fit sample) ----
     private static final int LINES_PER_PAGE = 56;
     private static final int LINE_LEN = 133; // set to 132 if that is your shop width
-    private static final DecimalFormat AMT = new DecimalFormat("$###,###,##0.00");
-    private static final DecimalFormat CNT = new DecimalFormat("###,###,##0");
+    private final DecimalFormat AMT = new DecimalFormat("$###,###,##0.00");
+    private final DecimalFormat CNT = new DecimalFormat("###,###,##0");
 
     // ---- Grand-totals column pinning ----
     private static final int COUNT_WIDTH = 12;
@@ -0,0 +1,22 @@
+package com.abcbs.crrs.jobs.P09310;
+
+import com.abcbs.crrs.entity.P09Batch;
+import com.abcbs.crrs.keyset.KeysetKey;
+
+/**
+ * Reader key for P09310, in ORDER BY order: batch prefix, batch date, batch
+ * suffix, refund type.
+ */
+public record P09310BatchKey(String batchPrefix, String batchDate, String batchSuffix, String refundType)
+		implements KeysetKey {
+
+	public static P09310BatchKey of(P09Batch b) {
+		return new P09310BatchKey(b.getBId().getBtBatchPrefix(), b.getBId().getBtBatchDate(),
+				b.getBId().getBtBatchSuffix(), b.getBId().getCrRefundType());
+	}
+
+	@Override
+	public Object[] keyValues() {
+		return new Object[] { batchPrefix, batchDate, batchSuffix, refundType };
+	}
+}
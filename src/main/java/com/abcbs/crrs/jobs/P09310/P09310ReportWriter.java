@@ -70,8 +70,8 @@ public class P09310ReportWriter implements ItemWriter<List<P09310OutputRecord>>,
 	private BigDecimal grandAmt = BigDecimal.ZERO;
 
 	// money and count formats
-	private static final DecimalFormat AMT_FMT = new DecimalFormat("$###,###,##0.00");
-	private static final DecimalFormat COUNT_FMT = new DecimalFormat("###,###,##0");
+	private final DecimalFormat AMT_FMT = new DecimalFormat("$###,###,##0.00");
+	private final DecimalFormat COUNT_FMT = new DecimalFormat("###,###,##0");
 
 	@Override
 	public void beforeStep(StepExecution stepExecution) {
@@ -398,7 +398,7 @@ private static String rightAlign(String s, int width) {
     return " ".repeat(width - s.length()) + s;
 }
 
-private static String formatCount(long count, int width) {
+private String formatCount(long count, int width) {
     return rightAlign(COUNT_FMT.format(count), width);
 }
 
@@ -406,7 +406,7 @@ private static String safe(String s) { return s == null ? "" : s; }
 
 private static BigDecimal nvl(BigDecimal b) { return b == null ? BigDecimal.ZERO : b; }
 
-private static String amt15(BigDecimal b) {
+private String amt15(BigDecimal b) {
 	String num = AMT_FMT.format(nvl(b));
 	if (num.length() >= 15) return num.substring(0, 15);
 	StringBuilder sb = new StringBuilder(15);
@@ -415,7 +415,7 @@ private static String amt15(BigDecimal b) {
 	return sb.toString();
 }
 
-private static String amt15s(BigDecimal b) {
+private String amt15s(BigDecimal b) {
 	return amt15(b);
 }
 
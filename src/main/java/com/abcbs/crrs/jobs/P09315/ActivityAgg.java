@@ -2,5 +2,26 @@ package com.abcbs.crrs.jobs.P09315;
 
 import java.math.BigDecimal;
 
-public record ActivityAgg(String refundType, String activity, long count, BigDecimal amount) {
+public record ActivityAgg(String refundType, String activity, long count, BigDecimal amount)
+		implements ActivityAggView {
+
+	@Override
+	public String getRefundType() {
+		return refundType;
+	}
+
+	@Override
+	public String getActivity() {
+		return activity;
+	}
+
+	@Override
+	public long getCount() {
+		return count;
+	}
+
+	@Override
+	public BigDecimal getAmount() {
+		return amount;
+	}
 }
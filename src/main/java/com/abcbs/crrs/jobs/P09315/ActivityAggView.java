@@ -7,7 +7,7 @@ import java.util.List;
 
 /**
  * Projection for aggregated activity totals.
- * Used by fetchEstablished().
+ * Built by P09315DailyTotals.section().
  */
 public interface ActivityAggView {
 
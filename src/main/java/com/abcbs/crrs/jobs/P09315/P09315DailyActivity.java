@@ -0,0 +1,12 @@
+package com.abcbs.crrs.jobs.P09315;
+
+import java.math.BigDecimal;
+
+import com.abcbs.crrs.entity.ActivityPK;
+
+/**
+ * One ACT_DAILY_IND = 'Y' activity row of the corp, as streamed by
+ * IActivityRepository.streamDailyActivities().
+ */
+public record P09315DailyActivity(ActivityPK id, BigDecimal amount) {
+}
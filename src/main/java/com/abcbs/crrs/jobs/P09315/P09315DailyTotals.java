@@ -0,0 +1,78 @@
+package com.abcbs.crrs.jobs.P09315;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 000100 - 000300 accumulators for one pass over the corp's daily activities.
+ *
+ * Counts and amounts (in cents) are kept in primitive arrays indexed by
+ * refund type and activity; rows for codes the report never prints are
+ * skipped. {@link #section} hands the writer the same (refund type, activity)
+ * rows the old GROUP BY queries returned.
+ */
+public class P09315DailyTotals {
+
+	enum RefundType { PER, RET, UND, OTH, OFF, SPO, API }
+
+	enum Activity { ACC, APP, REM, DEL, LOG, FRR, PRR, FR, PR }
+
+	/** 000100-ESTABLISHED and 000200-MANUAL-RECON */
+	static final Set<Activity> MANUAL = EnumSet.range(Activity.ACC, Activity.PRR);
+
+	/** 000300-SYSTEM-RECON */
+	static final Set<Activity> SYSTEM = EnumSet.of(Activity.FR, Activity.PR);
+
+	private static final int RT = RefundType.values().length;
+	private static final int ACT = Activity.values().length;
+
+	private final long[] counts = new long[RT * ACT];
+	private final long[] cents = new long[RT * ACT];
+	private long rowsRead;
+
+	public void add(String refundType, String activity, BigDecimal amount) {
+		rowsRead++;
+		RefundType rt = lookup(RefundType.class, refundType);
+		Activity act = lookup(Activity.class, activity);
+		if (rt == null || act == null) {
+			return;
+		}
+		int i = rt.ordinal() * ACT + act.ordinal();
+		counts[i]++;
+		if (amount != null) {
+			cents[i] += amount.movePointRight(2).longValueExact();
+		}
+	}
+
+	public long rowsRead() {
+		return rowsRead;
+	}
+
+	/** Non-empty (refund type, activity) totals for the given activities. */
+	public List<ActivityAggView> section(Set<Activity> activities) {
+		List<ActivityAggView> rows = new ArrayList<>();
+		for (Activity act : activities) {
+			for (RefundType rt : RefundType.values()) {
+				int i = rt.ordinal() * ACT + act.ordinal();
+				if (counts[i] > 0) {
+					rows.add(new ActivityAgg(rt.name(), act.name(), counts[i], BigDecimal.valueOf(cents[i], 2)));
+				}
+			}
+		}
+		return rows;
+	}
+
+	private static <E extends Enum<E>> E lookup(Class<E> type, String code) {
+		if (code == null) {
+			return null;
+		}
+		try {
+			return Enum.valueOf(type, code.trim());
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+}
@@ -1,7 +1,10 @@
 // src/main/java/com/abcbs/crrs/jobs/P09315/P09315ReportTasklet.java
 package com.abcbs.crrs.jobs.P09315;
 
+import com.abcbs.crrs.entity.ActivityPK;
 import com.abcbs.crrs.repository.IActivityRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.core.scope.context.ChunkContext;
@@ -13,9 +16,15 @@ import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 public class P09315ReportTasklet implements Tasklet {
 
+	private static final Logger log = LogManager.getLogger(P09315ReportTasklet.class);
+
+	/** activity keys per 000500 UPDATE (6 parameters each, under SQL Server's 2100) */
+	private static final int CLEAR_SLICE = 300;
+
 	private final P09315ReportWriter writer;
 	private final IActivityRepository repo;
 	private final String corpFile;
@@ -41,16 +50,26 @@ public class P09315ReportTasklet implements Tasklet {
 		// refund type order (same across all sections)
 		List<String> refundOrder = List.of("PER", "RET", "UND", "OTH", "OFF", "SPO", "API");
 
+		// one pass over the corp's daily activities feeds 000100 - 000300 and 000500
+		P09315DailyTotals totals = new P09315DailyTotals();
+		List<ActivityPK> read = new ArrayList<>();
+		try (Stream<P09315DailyActivity> rows = repo.streamDailyActivities(corp.corpNo())) {
+			rows.forEach(r -> {
+				totals.add(r.id().getCrRefundType(), r.id().getActActivity(), r.amount());
+				read.add(r.id());
+			});
+		}
+		log.info("P09315: corp={} daily activities read={}", corp.corpNo(), totals.rowsRead());
+
 		// === 000100-ESTABLISHED ===
-		List<ActivityAggView> established = repo.fetchEstablished(corp.corpNo());
-		writer.writeEstablished(established, refundOrder);
+		writer.writeEstablished(totals.section(P09315DailyTotals.MANUAL), refundOrder);
 
 //		// === 000200-MANUAL-RECON ===
-		List<ActivityAggView> manualRecon = repo.fetchManualRecon(corp.corpNo());
-		writer.writeManualRecon(manualRecon, List.of("ACC", "APP", "REM", "DEL", "LOG", "FRR", "PRR"), refundOrder);
+		writer.writeManualRecon(totals.section(P09315DailyTotals.MANUAL),
+				List.of("ACC", "APP", "REM", "DEL", "LOG", "FRR", "PRR"), refundOrder);
 
 //		// === 000300-SYSTEM-RECON ===
-		List<ActivityAggView> systemRecon = repo.fetchSystemRecon(corp.corpNo());
+		List<ActivityAggView> systemRecon = totals.section(P09315DailyTotals.SYSTEM);
 		writer.writeSystemRecon(systemRecon, List.of("FR", "PR"), refundOrder);
 
 		// === 000400-MANUAL-REQUEST ===
@@ -59,10 +78,12 @@ public class P09315ReportTasklet implements Tasklet {
 				refundOrder);
 
 		// === 000500-UPDATE-TABLE ===
-
-			int n = repo.clearDailyFlag(corp.corpNo());
-			writer.noteUpdate(n);
-		
+		// only the rows read above; anything flagged since then waits for the next run
+		int n = 0;
+		for (int from = 0; from < read.size(); from += CLEAR_SLICE) {
+			n += repo.clearDailyFlagFor(read.subList(from, Math.min(read.size(), from + CLEAR_SLICE)));
+		}
+		writer.noteUpdate(n);
 
 //		// === 000600-FINALIZATION ===
 		writer.close();
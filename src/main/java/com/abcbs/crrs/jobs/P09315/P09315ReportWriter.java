@@ -32,9 +32,9 @@ public class P09315ReportWriter implements Closeable {
 	private int page = 0;
 	private String corpNo, corpName;
 	private static final int LINE_LEN = 133;
-	private static final DecimalFormat AMT = new DecimalFormat("$###,###,##0.00",
+	private final DecimalFormat AMT = new DecimalFormat("$###,###,##0.00",
 			DecimalFormatSymbols.getInstance(Locale.US));
-	private static final DecimalFormat CNT = new DecimalFormat("###,###,##0",
+	private final DecimalFormat CNT = new DecimalFormat("###,###,##0",
 			DecimalFormatSymbols.getInstance(Locale.US));
 	private static final Logger logger = LogManager.getLogger(P09315ReportWriter.class);
 
@@ -9,9 +9,17 @@ import java.nio.file.Paths;
 import java.text.DecimalFormat;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -22,12 +30,14 @@ import org.springframework.batch.item.ItemStreamException;
 import org.springframework.batch.item.ItemWriter;
 import org.springframework.dao.DataAccessException;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.abcbs.crrs.entity.ControlPK;
-import com.abcbs.crrs.entity.P09Activity;
 import com.abcbs.crrs.entity.P09CashReceipt;
 import com.abcbs.crrs.entity.P09Control;
 import com.abcbs.crrs.lock.P09TableLocker;
+import com.abcbs.crrs.projections.ReconEstTotals;
+import com.abcbs.crrs.projections.ReconResolvedRow;
 import com.abcbs.crrs.repository.IActivityRepository;
 import com.abcbs.crrs.repository.IP09CashReceiptRepository;
 import com.abcbs.crrs.repository.IP09ControlRepository;
@@ -45,16 +55,24 @@ public class P09321FileWriter implements ItemWriter<P09321Record>, ItemStream {
 	private final String outputFileName;
 
 	private final P09TableLocker tableLocker;
+	private final P09TableLocker.WaitStats lockWaits = new P09TableLocker.WaitStats();
+
+	// parallel mode: refund types computed at once, each in its own read-only transaction
+	private final TransactionTemplate readOnlyTx;
+	private final int parallelism;
+	private ExecutorService pool;
 
 	public P09321FileWriter(String corpFile, String reportPath, IActivityRepository activityRepository,
 			IP09CashReceiptRepository receiptRepository, IP09ControlRepository controlRepository,
-			P09TableLocker tableLocker) {
+			P09TableLocker tableLocker, TransactionTemplate readOnlyTx, int parallelism) {
 		this.corpFile = corpFile;
 		this.outputFileName = reportPath;
 		this.activityRepository = activityRepository;
 		this.receiptRepository = receiptRepository;
 		this.controlRepository = controlRepository;
 		this.tableLocker = tableLocker;
+		this.readOnlyTx = readOnlyTx;
+		this.parallelism = Math.max(1, parallelism);
 	}
 
 	// ItemStream lifecycle
@@ -63,6 +81,11 @@ public class P09321FileWriter implements ItemWriter<P09321Record>, ItemStream {
 		try {
 			log.info("Opening report file for write: {}", outputFileName);
 			reportWriter = Files.newBufferedWriter(Paths.get(outputFileName));
+			if (parallelism > 1) {
+				AtomicInteger seq = new AtomicInteger();
+				pool = Executors.newFixedThreadPool(parallelism,
+						r -> new Thread(r, "p09321-rt-" + seq.incrementAndGet()));
+			}
 		} catch (IOException e) {
 			log.error("Failed to open report file '{}'", outputFileName, e);
 			throw new ItemStreamException("Failed to open report file: " + outputFileName, e);
@@ -76,6 +99,11 @@ public class P09321FileWriter implements ItemWriter<P09321Record>, ItemStream {
 
 	@Override
 	public void close() throws ItemStreamException {
+		log.info("P09 {} lock waits: {}", tableLocker.getMode(), lockWaits);
+		if (pool != null) {
+			pool.shutdownNow();
+			pool = null;
+		}
 		try {
 			if (reportWriter != null) {
 				reportWriter.close();
@@ -90,6 +118,21 @@ public class P09321FileWriter implements ItemWriter<P09321Record>, ItemStream {
 	// ItemWriter
 	@Override
 	public void write(Chunk<? extends P09321Record> items) throws Exception {
+		if (pool != null && items.size() > 1 && distinctRefundTypes(items)) {
+			writeParallel(items);
+		} else {
+			writeSequential(items);
+		}
+		if (reportWriter != null) {
+			try {
+				reportWriter.flush();
+			} catch (IOException e) {
+				log.warn("Failed to flush reportWriter", e);
+			}
+		}
+	}
+
+	private void writeSequential(Chunk<? extends P09321Record> items) throws Exception {
 		for (P09321Record input : items) {
 			try {
 				log.debug("Processing input record for refundType={}", input.getRefundType());
@@ -102,22 +145,70 @@ public class P09321FileWriter implements ItemWriter<P09321Record>, ItemStream {
 				throw e;
 			}
 		}
-		if (reportWriter != null) {
-			try {
-				reportWriter.flush();
-			} catch (IOException e) {
-				log.warn("Failed to flush reportWriter", e);
+	}
+
+	/**
+	 * Each card's P09321Vars is computed on a pool thread (control record, EST,
+	 * resolved and open/pended queries, totals). The report sections and the
+	 * control-record roll are then done here, in control-card order, under the
+	 * table lock as before. The reads run before the lock is taken.
+	 */
+	private void writeParallel(Chunk<? extends P09321Record> items) throws Exception {
+		log.info("Computing {} refund types on up to {} threads", items.size(), parallelism);
+		List<Future<P09321Vars>> futures = new ArrayList<>();
+		for (P09321Record input : items) {
+			futures.add(pool.submit(() -> readOnlyTx.execute(status -> computeRefundType(input))));
+		}
+		try {
+			for (int i = 0; i < futures.size(); i++) {
+				P09321Record input = items.getItems().get(i);
+				P09321Vars ws;
+				try {
+					ws = futures.get(i).get();
+				} catch (ExecutionException ee) {
+					Throwable cause = ee.getCause();
+					log.error("Error while processing record for refundType={}: {}", input.getRefundType(),
+							cause.getMessage(), cause);
+					throw (cause instanceof Exception ex) ? ex : new IllegalStateException(cause);
+				}
+				tableLocker.lockP09Tables(ws.getRefundType(), lockWaits);
+				writeRefundType(ws);
+				tableLocker.unlockP09Tables();
+				log.info("=== END P09321 job for refundType: {} ===", ws.getRefundType());
+			}
+		} finally {
+			for (Future<P09321Vars> f : futures) {
+				f.cancel(true);
 			}
 		}
 	}
 
+	// the same refund type twice would read the control record the first one rolls
+	private static boolean distinctRefundTypes(Chunk<? extends P09321Record> items) {
+		Set<String> seen = new HashSet<>();
+		for (P09321Record input : items) {
+			if (!seen.add(input.getRefundType() == null ? "" : input.getRefundType().trim())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	// Main COBOL-equivalent flow
 	@Transactional
 	private void executeJob(P09321Record input) throws Exception {
 		log.info("=== START P09321 job for refundType: {} ===", input.getRefundType());
+		tableLocker.lockP09Tables(input.getRefundType(), lockWaits);
+		P09321Vars ws = computeRefundType(input);
+		writeRefundType(ws);
+		tableLocker.unlockP09Tables();
+		log.info("=== END P09321 job for refundType: {} ===", input.getRefundType());
+	}
+
+	// control record, the three queries and all totals; reads only
+	private P09321Vars computeRefundType(P09321Record input) {
 		P09321Vars ws = new P09321Vars();
 		initOpenBuckets(ws); // prepare 01..24 + 99 open buckets
-		tableLocker.lockP09Tables();
 		initialization(input, ws);
 
 		getControlRecord(ws);
@@ -132,11 +223,13 @@ public class P09321FileWriter implements ItemWriter<P09321Record>, ItemStream {
 		if ("PER".equals(ws.getRefundType())) {
 			calcMonthlyAccrual(ws);
 		}
+		return ws;
+	}
 
+	// report section, then close the open control and insert the next one
+	private void writeRefundType(P09321Vars ws) throws IOException {
 		generateDetailLines(ws);
 		finalizeControlRecord(ws);
-		tableLocker.unlockP09Tables();
-		log.info("=== END P09321 job for refundType: {} ===", input.getRefundType());
 	}
 
 	private void initialization(P09321Record input, P09321Vars ws) {
@@ -243,42 +336,32 @@ public class P09321FileWriter implements ItemWriter<P09321Record>, ItemStream {
 	private void getCrEstCntsAmts(P09321Vars ws) {
 		String toDate = ws.rptDate;
 		log.debug("Querying EST activity/receipts for refundType={} toDate={}", ws.getRefundType(), toDate);
-		List<Object[]> rows;
+		ReconEstTotals est;
 		try {
-			rows = activityRepository.findActivityReceiptRecordsWithCorp(ws.getCorpNo(), ws.getRefundType(),
-					List.of("EST"), toDate);
+			est = activityRepository.sumEstActivitiesWithCorp(ws.getCorpNo(), ws.getRefundType(), toDate);
 		} catch (DataAccessException dae) {
 			log.error("DB error while querying EST records for refundType={}", ws.getRefundType(), dae);
 			throw dae;
 		}
 
-		for (Object[] row : rows) {
-			P09Activity act = (P09Activity) row[0];
-			P09CashReceipt rec = (P09CashReceipt) row[1];
-			BigDecimal amt = act.getActActivityAmt() == null ? BigDecimal.ZERO : act.getActActivityAmt();
+		ws.wsCrReqCnt += est.requestedCount();
+		ws.wsCrReqAmt = ws.wsCrReqAmt.add(est.requestedAmount());
+		ws.wsCrUnreqCnt += est.unrequestedCount();
+		ws.wsCrUnreqAmt = ws.wsCrUnreqAmt.add(est.unrequestedAmount());
 
-			if (rec.getCrLetterDate() == null) {
-				ws.wsCrUnreqCnt++;
-				ws.wsCrUnreqAmt = ws.wsCrUnreqAmt.add(amt);
-			} else {
-				ws.wsCrReqCnt++;
-				ws.wsCrReqAmt = ws.wsCrReqAmt.add(amt);
-			}
-
-			ws.wsTotAddCnt++;
-			ws.wsTotAddAmt = ws.wsTotAddAmt.add(amt);
-			log.info("EST counts/amounts: reqCnt={}, unreqCnt={}, totCnt={}, reqAmt={}, unreqAmt={}, totAmt={}",
-					ws.wsCrReqCnt, ws.wsCrUnreqCnt, ws.wsTotAddCnt, ws.wsCrReqAmt, ws.wsCrUnreqAmt, ws.wsTotAddAmt);
-		}
+		ws.wsTotAddCnt += est.totalCount();
+		ws.wsTotAddAmt = ws.wsTotAddAmt.add(est.totalAmount());
+		log.info("EST counts/amounts: reqCnt={}, unreqCnt={}, totCnt={}, reqAmt={}, unreqAmt={}, totAmt={}",
+				ws.wsCrReqCnt, ws.wsCrUnreqCnt, ws.wsTotAddCnt, ws.wsCrReqAmt, ws.wsCrUnreqAmt, ws.wsTotAddAmt);
 	}
 
 	private void getResolvedCr(P09321Vars ws) {
 		String toDate = ws.rptDate;
 		log.debug("Querying resolved activities for refundType={} toDate={}", ws.getRefundType(), toDate);
 
-		List<Object[]> rows;
+		List<ReconResolvedRow> rows;
 		try {
-			rows = activityRepository.findActivityReceiptRecordsWithCorpOrdered(ws.getCorpNo(), ws.getRefundType(),
+			rows = activityRepository.findResolvedRowsWithCorp(ws.getCorpNo(), ws.getRefundType(),
 					List.of("ACC", "APP", "REM", "DEL", "LOG", "FR ", "PR "), toDate);
 		} catch (DataAccessException dae) {
 			log.error("DB error while querying resolved activity/receipts for refundType={}", ws.getRefundType(), dae);
@@ -289,13 +372,10 @@ public class P09321FileWriter implements ItemWriter<P09321Record>, ItemStream {
 		LocalDate prevDate = null;
 		String prevNbr = "";
 
-		for (Object[] row : rows) {
-			P09Activity act = (P09Activity) row[0];
-			P09CashReceipt rec = (P09CashReceipt) row[1];
-
-			String currType = act.getAId().getCrRefundType();
-			LocalDate currDate = act.getAId().getCrCntrlDate();
-			String currNbr = act.getAId().getCrCntrlNbr();
+		for (ReconResolvedRow row : rows) {
+			String currType = row.refundType();
+			LocalDate currDate = row.cntrlDate();
+			String currNbr = row.cntrlNbr();
 
 			int wsCount;
 			if (currType.equals(prevType) && currDate.equals(prevDate) && currNbr.equals(prevNbr)) {
@@ -304,12 +384,11 @@ public class P09321FileWriter implements ItemWriter<P09321Record>, ItemStream {
 				prevType = currType;
 				prevDate = currDate;
 				prevNbr = currNbr;
-				wsCount = (rec.getCrReceiptBal() == null || rec.getCrReceiptBal().compareTo(BigDecimal.ZERO) == 0) ? 1
-						: 0;
+				wsCount = (row.receiptBal() == null || row.receiptBal().compareTo(BigDecimal.ZERO) == 0) ? 1 : 0;
 			}
 
-			BigDecimal amt = act.getActActivityAmt() == null ? BigDecimal.ZERO : act.getActActivityAmt();
-			String actType = act.getAId().getActActivity() == null ? "" : act.getAId().getActActivity().trim();
+			BigDecimal amt = row.amount() == null ? BigDecimal.ZERO : row.amount();
+			String actType = row.activity() == null ? "" : row.activity().trim();
 
 			ws.actCnt.put(actType, ws.actCnt.getOrDefault(actType, 0L) + wsCount);
 			ws.actAmt.put(actType, ws.actAmt.getOrDefault(actType, BigDecimal.ZERO).add(amt));
@@ -317,15 +396,15 @@ public class P09321FileWriter implements ItemWriter<P09321Record>, ItemStream {
 			ws.wsTotResolvedCnt += wsCount;
 			ws.wsTotResolvedAmt = ws.wsTotResolvedAmt.add(amt);
 
-			evalClaimType(ws, rec, wsCount, amt);
+			evalClaimType(ws, row, wsCount, amt);
 		}
 		log.info("Resolved totals: resolvedCnt={}, resolvedAmt={}", ws.wsTotResolvedCnt, ws.wsTotResolvedAmt);
 	}
 
-	private void evalClaimType(P09321Vars ws, P09CashReceipt rec, int wsCount, BigDecimal amt) {
-		String raw = rec.getCrClaimType() == null ? "99" : rec.getCrClaimType().trim();
+	private void evalClaimType(P09321Vars ws, ReconResolvedRow row, int wsCount, BigDecimal amt) {
+		String raw = row.claimType() == null ? "99" : row.claimType().trim();
 		String key = P09321FileWriter.CLAIM_MAP.getOrDefault(raw, "99");
-		boolean unreq = (rec.getCrLetterDate() == null);
+		boolean unreq = (row.letterDate() == null);
 
 		if (unreq) {
 			ws.resUnreqCnt.put(key, ws.resUnreqCnt.getOrDefault(key, 0L) + wsCount);
@@ -0,0 +1,68 @@
+package com.abcbs.crrs.jobs.P09325;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+import com.abcbs.crrs.keyset.KeysetKey;
+
+/**
+ * Restart key for streamRouting, in the query's ORDER BY order: location
+ * nbr (area), clerk, received date, refund type, control nbr, control date.
+ */
+public record P09325RoutingKey(String area, String clerk, LocalDate recvDate, String refundType,
+		String controlNbr, LocalDate cntrlDate) implements KeysetKey {
+
+	/** Before the first row. */
+	public static final P09325RoutingKey START = new P09325RoutingKey("", "", LOW_DATE, "", "", LOW_DATE);
+
+	/** Length of the checkpointKey job parameter: AAA CCCC yyyy-MM-dd TTT NNNN yyyy-MM-dd. */
+	static final int SEED_LENGTH = 3 + 4 + 10 + 3 + 4 + 10;
+
+	public static P09325RoutingKey of(P09325RoutingView r) {
+		return new P09325RoutingKey(r.getArea(), r.getClerk(), r.getRecvDate(), r.getRefundType(),
+				r.getControlNbr(), r.getCntrlDate());
+	}
+
+	/**
+	 * Parses the checkpointKey job parameter. The layout is the one the old
+	 * CONCAT predicate compared against, so existing seeds keep working; blank
+	 * means start from the top.
+	 */
+	public static P09325RoutingKey parse(String seed) {
+		if (seed == null || seed.isBlank()) {
+			return START;
+		}
+		if (seed.length() < SEED_LENGTH) {
+			throw new IllegalStateException("P09325 checkpointKey must be " + SEED_LENGTH + " characters: '" + seed + "'");
+		}
+		try {
+			return new P09325RoutingKey(
+					seed.substring(0, 3),
+					seed.substring(3, 7),
+					LocalDate.parse(seed.substring(7, 17)),
+					seed.substring(17, 20),
+					seed.substring(20, 24),
+					LocalDate.parse(seed.substring(24, 34)));
+		} catch (DateTimeParseException e) {
+			throw new IllegalStateException("P09325 checkpointKey has an invalid date: '" + seed + "'", e);
+		}
+	}
+
+	/**
+	 * The key in the checkpointKey layout, so a logged checkpoint can be passed
+	 * back as the job parameter and {@link #parse} returns this key.
+	 */
+	public String toSeed() {
+		return String.format("%-3.3s%-4.4s%s%-3.3s%-4.4s%s", nz(area), nz(clerk), recvDate, nz(refundType),
+				nz(controlNbr), cntrlDate);
+	}
+
+	private static String nz(String s) {
+		return s == null ? "" : s;
+	}
+
+	@Override
+	public Object[] keyValues() {
+		return new Object[] { area, clerk, recvDate, refundType, controlNbr, cntrlDate };
+	}
+}
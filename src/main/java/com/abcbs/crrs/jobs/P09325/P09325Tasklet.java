@@ -1,8 +1,10 @@
 package com.abcbs.crrs.jobs.P09325;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -22,6 +24,7 @@ public class P09325Tasklet implements Tasklet {
 	private final RoutingReportWriter writerA;
 	private final SummaryReportWriter writerB;
 	private final String outA, outB;
+	private final P09325RoutingKey restartKey;
 	private String lastKey;
 	
 	private static final Logger LOG = LogManager.getLogger(P09325Tasklet.class);
@@ -35,6 +38,7 @@ public class P09325Tasklet implements Tasklet {
 		this.writerB = writerB;
 		this.outA = outA;
 		this.outB = outB;
+		this.restartKey = P09325RoutingKey.parse(checkpointKey);
 		this.lastKey = checkpointKey == null ? "" : checkpointKey;
 	}
 
@@ -44,21 +48,28 @@ public class P09325Tasklet implements Tasklet {
 	    final LocalDateTime now = LocalDateTime.now();
 	    writerA.open(outA, now);                         
 	    writerB.open(outB, now);
-	    List<P09325RoutingView> fetchRoutingPage = repo.fetchRoutingPage(lastKey);
-	    LOG.info("Records fetched: " + fetchRoutingPage.size());
 
-	    if (!fetchRoutingPage.isEmpty()) {
-	        String curArea = null;
-	        String curClerk = null;
-	        long sinceCkpt = 0L;
-	        int written = 0;
+	    // P09_SUMMARY is one row per area/clerk: load the headers once, not at every break
+	    Map<String, P09325kHeaderView> headers = new HashMap<>();
+	    for (P09325kHeaderView h : summaryRepo.fetchAllHeaders()) {
+	        headers.put(headerKey(h.getArea(), h.getClerk()), h);
+	    }
+	    LOG.info("Summary headers loaded: " + headers.size());
 
-	        for (P09325RoutingView r : fetchRoutingPage) {                  
+	    String curArea = null;
+	    String curClerk = null;
+	    long sinceCkpt = 0L;
+	    int written = 0;
+
+	    // forward-only cursor; the step transaction keeps it open
+	    try (Stream<P09325RoutingView> rows = repo.streamRouting(restartKey)) {
+	        Iterator<P09325RoutingView> it = rows.iterator();
+	        while (it.hasNext()) {
+	            P09325RoutingView r = it.next();
 	            // section boundary?
 	            if (curArea == null || !curArea.equals(r.getArea()) || !curClerk.equals(r.getClerk())) {
 	                // open new section
-	                Optional<P09325kHeaderView> hdr = summaryRepo.fetchHeader(r.getArea(), r.getClerk());
-	                writerA.startSection(r.getArea(), r.getClerk(), hdr.orElse(null));
+	                writerA.startSection(r.getArea(), r.getClerk(), headers.get(headerKey(r.getArea(), r.getClerk())));
 	                curArea = r.getArea();
 	                curClerk = r.getClerk();
 	            }
@@ -66,8 +77,8 @@ public class P09325Tasklet implements Tasklet {
 	            writerA.writeDetail(r);                  
 	            written++;
 	            sinceCkpt++;
-//	            // advance lastKey every row
-	            lastKey = IP09SummaryRepository.makeKey(r);
+	            // advance lastKey every row, in the checkpointKey layout the query restarts from
+	            lastKey = P09325RoutingKey.of(r).toSeed();
 
 	            // optional checkpoint by frequency
 	            if (sinceCkpt >= freq) {
@@ -75,7 +86,10 @@ public class P09325Tasklet implements Tasklet {
 	                sinceCkpt = 0L;
 	            }
 	        }
+	    }
+	    LOG.info("Records fetched: " + written);
 
+	    if (written > 0) {
 	        // close last open section
 	        writerA.finishSectionTotals();
 
@@ -94,4 +108,9 @@ public class P09325Tasklet implements Tasklet {
 	    return RepeatStatus.FINISHED;
 	}
 
+	/** Area/clerk map key; CHAR columns compare without trailing blanks, so trim here too. */
+	private static String headerKey(String area, String clerk) {
+		return (area == null ? "" : area.trim()) + "|" + (clerk == null ? "" : clerk.trim());
+	}
+
 }
@@ -24,8 +24,8 @@ public class RoutingReportWriter implements AutoCloseable {
     private long secCnt = 0;
     private BigDecimal secAmt = BigDecimal.ZERO;
 
-    private static final DecimalFormat AMT = new DecimalFormat("$###,###,##0.00");
-    private static final DecimalFormat CNT = new DecimalFormat("###,###,##0");
+    private final DecimalFormat AMT = new DecimalFormat("$###,###,##0.00");
+    private final DecimalFormat CNT = new DecimalFormat("###,###,##0");
 	private static final Logger LOG = LogManager.getLogger(RoutingReportWriter.class);
 
     public void open(String out, LocalDateTime now) {
@@ -173,7 +173,7 @@ public class RoutingReportWriter implements AutoCloseable {
     }
 
     // ===== Helpers =====
-    private static String padAmt(BigDecimal b, int width) {
+    private String padAmt(BigDecimal b, int width) {
         String s = AMT.format(nvl(b));
         return s.length() >= width ? s.substring(0, width) : " ".repeat(width - s.length()) + s;
     }
@@ -20,8 +20,8 @@ public class SummaryReportWriter implements AutoCloseable {
 
     private int page = 0, line = 0;
 
-    private static final DecimalFormat AMT = new DecimalFormat("$###,###,##0.00");
-    private static final DecimalFormat CNT = new DecimalFormat("###,###,##0");
+    private final DecimalFormat AMT = new DecimalFormat("$###,###,##0.00");
+    private final DecimalFormat CNT = new DecimalFormat("###,###,##0");
 
     // Alignment pattern verified from COBOL output (p09325_summ_rpt.txt)
     private static final String GAP1 = "       ";  // 7 spaces between BEGIN and RECEIVED
@@ -120,12 +120,12 @@ public class SummaryReportWriter implements AutoCloseable {
     private static BigDecimal Z() { return BigDecimal.ZERO; }
     private static BigDecimal nvl(BigDecimal b) { return b == null ? Z() : b; }
 
-    private static String cnt10(long n) {
+    private String cnt10(long n) {
         String s = CNT.format(n);
         return s.length() >= 10 ? s.substring(0, 10) : " ".repeat(10 - s.length()) + s;
     }
 
-    private static String amt15(BigDecimal b) {
+    private String amt15(BigDecimal b) {
         String s = AMT.format(nvl(b));
         return s.length() >= 15 ? s.substring(0, 15) : " ".repeat(15 - s.length()) + s;
     }
@@ -0,0 +1,21 @@
+package com.abcbs.crrs.jobs.P09330;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The P09_CASH_RECEIPT columns the aging report reads, streamed as a JPQL
+ * constructor expression so no entity is managed per row.
+ */
+public record P09330AgingRow(String refundType,
+                             LocalDate cntrlDate,
+                             String cntrlNbr,
+                             BigDecimal receiptBal,
+                             String receiptType,
+                             String remDailyInd,
+                             String reasonCode) {
+
+    String safeId() {
+        return cntrlDate + "/" + cntrlNbr + "/" + refundType;
+    }
+}
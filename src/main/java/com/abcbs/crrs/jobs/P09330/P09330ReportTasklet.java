@@ -2,11 +2,17 @@ package com.abcbs.crrs.jobs.P09330;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import org.slf4j.Logger;
@@ -17,7 +23,6 @@ import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.transaction.support.TransactionTemplate;
 
-import com.abcbs.crrs.entity.P09CashReceipt;
 import com.abcbs.crrs.repository.IP09CashReceiptRepository;
 
 /**
@@ -27,7 +32,11 @@ import com.abcbs.crrs.repository.IP09CashReceiptRepository;
  *  - Derive control-date cutoffs (initializeControlDates)
  *  - Stream RET receipts by receipt-type (PX01 equivalent) and accumulate
  *  - Stream UND/OFF/SPO receipts (PX02/PX03/PX04) and accumulate
- *  - Keep global accumulators via ReportWriter.accumulate(...)
+ *    (both read P09330AgingRow projections, read-only with a JDBC fetch size,
+ *    so memory stays flat however many receipts are open or pended)
+ *  - Each stream is a Partition with its own accumulators; with
+ *    crrs.p09330.parallelism > 1 they run concurrently, then are merged in
+ *    partition order into ReportWriter.accumulate(...)
  *  - Maintain per-receiptType and per-refundType temporary subtotal maps,
  *    then pass those maps to ReportWriter.bufferReceiptTypeSubtotal / bufferRefundTypeSubtotal
  *    (so ReportWriter can print them in the correct spot when rendering pages).
@@ -49,12 +58,13 @@ public class P09330ReportTasklet implements Tasklet {
     private final ReportWriter reportWriter;
     private final IP09CashReceiptRepository cashRepo;
     private final TransactionTemplate txTemplate;
+    private final int parallelism;
 
     // control dates (populated in initializeControlDates)
     private LocalDate cntrlToDate;
     private LocalDate ctdMinus15, ctdMinus1Month, ctdMinus2Months, ctdMinus3Months, ctdMinus4Months;
 
-    // Temporary per-group subtotal buffers maintained by the tasklet and then handed to the writer.
+    // Per-group subtotal buffers filled by mergePartitions and then handed to the writer.
     // Structure: receiptType -> Category -> AgeBucket -> Subtotal(count, amount)
     private final Map<String, Map<ReportWriter.Category, EnumMap<AgeBucket, Subtotal>>> receiptTypeSubtotals = new LinkedHashMap<>();
     private final Map<String, Map<ReportWriter.Category, EnumMap<AgeBucket, Subtotal>>> refundTypeSubtotals = new LinkedHashMap<>();
@@ -72,10 +82,12 @@ public class P09330ReportTasklet implements Tasklet {
 
     public P09330ReportTasklet(ReportWriter reportWriter,
                                IP09CashReceiptRepository cashRepo,
-                               TransactionTemplate txTemplate) {
+                               TransactionTemplate txTemplate,
+                               int parallelism) {
         this.reportWriter = Objects.requireNonNull(reportWriter, "reportWriter");
         this.cashRepo = Objects.requireNonNull(cashRepo, "cashRepo");
         this.txTemplate = Objects.requireNonNull(txTemplate, "txTemplate");
+        this.parallelism = Math.max(1, parallelism);
         this.receiptTypes = List.of("FE", "HO", "AP", "MA", "MU", "GA", "GU");
     }
 
@@ -86,11 +98,10 @@ public class P09330ReportTasklet implements Tasklet {
             initializeControlDates();        // set cntrlToDate and the derived cutoffs
             reportWriter.open();
 
-            // Process RET by receipt type (PX01)
-            processRetByReceiptType();
-
-            // Process UND/OFF/SPO (PX02, PX03, PX04)
-            processUndOffSpo();
+            // RET by receipt type (PX01), then UND/OFF/SPO (PX02, PX03, PX04)
+            List<Partition> parts = partitions();
+            runPartitions(parts);
+            mergePartitions(parts);
 
             // Hand buffered subtotals to writer so it can print them in the proper place.
             // The writer is expected to store them and flush them when building pages.
@@ -127,102 +138,133 @@ public class P09330ReportTasklet implements Tasklet {
     }
 
     // -------------------------
-    // Main processing loops
+    // Partitions: RET by receipt type (PX01), then UND/OFF/SPO (PX02, PX03, PX04)
     // -------------------------
-    private void processRetByReceiptType() {
-        for (String rType : receiptTypes) {
-            log.info("Processing RET for receiptType={}", rType);
-            // Ensure we have a per-receiptType map to accumulate subtotals in memory
-            receiptTypeSubtotals.putIfAbsent(rType, emptyCategoryMap());
-
-            txTemplate.execute(status -> {
-                try (Stream<P09CashReceipt> rows = cashRepo.streamByReceiptTypeNative(rType, cntrlToDate)) {
-                    rows.forEach(row -> {
-                        processRowAndAccumulate(row, rType, null);
-                    });
-                } catch (RuntimeException re) {
-                    log.error("Runtime error streaming RET {}: {}", rType, re.getMessage(), re);
-                    throw re;
-                } catch (Exception e) {
-                    log.error("Checked exception streaming RET {}: {}", rType, e.getMessage(), e);
-                    throw new RuntimeException(e);
-                }
-                return null;
-            });
 
-            // DO NOT write subtotals now — buffer them and let the writer print at the correct location.
-            // The writer will be handed the receiptTypeSubtotals map later.
+    /**
+     * One stream of the aging pass with its own accumulators, so partitions can
+     * run on separate threads and be merged afterwards in a fixed order.
+     */
+    static final class Partition {
+        final String receiptType;   // RET partition, else null
+        final String refundType;    // UND / OFF / SPO partition, else null
+
+        // contribution to the writer's main table
+        final Map<ReportWriter.Category, EnumMap<AgeBucket, Subtotal>> totals = emptyCategoryMap();
+        // the receipt-type / refund-type subtotal block
+        final Map<ReportWriter.Category, EnumMap<AgeBucket, Subtotal>> subtotals = emptyCategoryMap();
+        long rows;
+
+        Partition(String receiptType, String refundType) {
+            this.receiptType = receiptType;
+            this.refundType = refundType;
+        }
+
+        String name() {
+            return receiptType != null ? "RET/" + receiptType : refundType;
         }
     }
 
-    private void processUndOffSpo() {
+    private List<Partition> partitions() {
+        List<Partition> parts = new ArrayList<>();
+        for (String rType : receiptTypes) {
+            parts.add(new Partition(rType, null));
+        }
         for (String refund : List.of("UND", "OFF", "SPO")) {
-            log.info("Processing refundType={}", refund);
-            refundTypeSubtotals.putIfAbsent(refund, emptyCategoryMap());
-
-            txTemplate.execute(status -> {
-                try (Stream<P09CashReceipt> rows = cashRepo.streamByRefundTypeNative(refund, cntrlToDate)) {
-                    rows.forEach(row -> {
-                        processRowAndAccumulate(row, null, refund);
-                    });
-                } catch (RuntimeException re) {
-                    log.error("Runtime error streaming refund {}: {}", refund, re.getMessage(), re);
-                    throw re;
-                } catch (Exception e) {
-                    log.error("Checked exception streaming refund {}: {}", refund, e.getMessage(), e);
-                    throw new RuntimeException(e);
-                }
-                return null;
-            });
-
-            // again: buffer only
+            parts.add(new Partition(null, refund));
         }
+        return parts;
     }
 
-    // -------------------------
-    // Single-row processing (accumulation into global writer + temp per-group subtotal)
-    // -------------------------
-    private void processRowAndAccumulate(P09CashReceipt row, String currentReceiptType, String currentRefundType) {
-        try {
-            if (row == null) return;
+    /**
+     * parallelism 1 streams the partitions one after another in the step
+     * transaction. Above that each partition runs on a pool thread in its own
+     * read-only transaction (and so its own connection).
+     */
+    private void runPartitions(List<Partition> parts) throws Exception {
+        if (parallelism <= 1) {
+            for (Partition p : parts) {
+                runPartition(p);
+            }
+            return;
+        }
 
-            // Extract composite-key fields from embedded id 'crId' if present
-            String refundType = null;
-            LocalDate cntrlDate = null;
-            String cntrlNbr = null;
-
-            try {
-                var id = row.getCrId();
-                if (id != null) {
-                    refundType = id.getCrRefundType();
-                    cntrlDate = id.getCrCntrlDate();
-                    cntrlNbr = id.getCrCntrlNbr();
+        int threads = Math.min(parallelism, parts.size());
+        log.info("P09330 running {} partitions on {} threads", parts.size(), threads);
+        AtomicInteger seq = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads,
+                r -> new Thread(r, "p09330-part-" + seq.incrementAndGet()));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Partition p : parts) {
+                futures.add(pool.submit(() -> runPartition(p)));
+            }
+            for (Future<?> f : futures) {
+                try {
+                    f.get();
+                } catch (ExecutionException ee) {
+                    Throwable cause = ee.getCause();
+                    throw (cause instanceof Exception ex) ? ex : new IllegalStateException(cause);
                 }
-            } catch (Throwable t) {
-                log.debug("Unable to read crId fields (will try fallbacks): {}", t.toString());
             }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
 
-            // Fallbacks: use entity-level fields where reasonable
-            if (cntrlDate == null) {
-                try { cntrlDate = row.getCrReceivedDate(); } catch (Throwable ignore) {}
+    private void runPartition(Partition p) {
+        log.info("Processing partition {}", p.name());
+        txTemplate.execute(status -> {
+            try (Stream<P09330AgingRow> rows = (p.receiptType != null)
+                    ? cashRepo.streamAgingByReceiptType(p.receiptType, cntrlToDate)
+                    : cashRepo.streamAgingByRefundType(p.refundType, cntrlToDate)) {
+                rows.forEach(row -> processRowAndAccumulate(row, p));
+            } catch (RuntimeException re) {
+                log.error("Runtime error streaming {}: {}", p.name(), re.getMessage(), re);
+                throw re;
             }
-            if (refundType == null) {
-                try { refundType = row.getCrRemIdType(); } catch (Throwable ignore) {}
+            return null;
+        });
+        log.info("Partition {} done, rows={}", p.name(), p.rows);
+    }
+
+    /** Partition order, not completion order, so the output never depends on thread timing. */
+    private void mergePartitions(List<Partition> parts) {
+        for (Partition p : parts) {
+            for (var catEntry : p.totals.entrySet()) {
+                for (var b : catEntry.getValue().entrySet()) {
+                    Subtotal s = b.getValue();
+                    if (s.count != 0) {
+                        reportWriter.accumulate(catEntry.getKey(), b.getKey(), s.count, s.amount);
+                    }
+                }
             }
-            if (cntrlNbr == null) {
-                try { cntrlNbr = row.getCrCheckNbr(); } catch (Throwable ignore) {}
+            if (p.receiptType != null) {
+                receiptTypeSubtotals.put(p.receiptType, p.subtotals);
+            } else {
+                refundTypeSubtotals.put(p.refundType, p.subtotals);
             }
+        }
+    }
+
+    // -------------------------
+    // Single-row processing (partition totals + partition subtotal block)
+    // -------------------------
+    private void processRowAndAccumulate(P09330AgingRow row, Partition p) {
+        try {
+            if (row == null) return;
+
+            String refundType = row.refundType();
+            LocalDate cntrlDate = row.cntrlDate();
 
             if (cntrlDate == null) {
-                log.warn("Skipping row because control-date is missing: {}", safeId(row));
+                log.warn("Skipping row because control-date is missing: {}", row.safeId());
                 return;
             }
+            p.rows++;
 
-            BigDecimal amount = BigDecimal.ZERO;
-            try { if (row.getCrReceiptBal() != null) amount = row.getCrReceiptBal(); } catch (Throwable ignore) {}
-
-            String receiptType = "";
-            try { if (row.getCrReceiptType() != null) receiptType = row.getCrReceiptType().trim(); } catch (Throwable ignore) {}
+            BigDecimal amount = row.receiptBal() != null ? row.receiptBal() : BigDecimal.ZERO;
+            String receiptType = row.receiptType() != null ? row.receiptType().trim() : "";
 
             AgeBucket bucket = AgingCalculator.bucketFor(cntrlDate, cntrlToDate,
                     ctdMinus15, ctdMinus1Month, ctdMinus2Months, ctdMinus3Months, ctdMinus4Months);
@@ -230,43 +272,30 @@ public class P09330ReportTasklet implements Tasklet {
             // Map receiptType -> main Category for the table
             ReportWriter.Category category = mapReceiptTypeToCategory(receiptType);
 
-            // Global accumulation: add to the writer (keeps overall totals)
-            reportWriter.accumulate(category, bucket, 1L, amount);
-            reportWriter.accumulate(ReportWriter.Category.SUBTOTAL_RETURNED, bucket, 1L, amount);
+            // Main table (handed to the writer in mergePartitions)
+            addToTempSubtotal(p.totals, category, bucket, 1L, amount);
+            addToTempSubtotal(p.totals, ReportWriter.Category.SUBTOTAL_RETURNED, bucket, 1L, amount);
 
-            // Per-group accumulation: if we're processing by receiptType, update its temp map
-            if (currentReceiptType != null) {
-                addToTempSubtotal(receiptTypeSubtotals.get(currentReceiptType), category, bucket, 1L, amount);
-            }
-
-            // If processing by refund type, update that refund temp map
-            if (currentRefundType != null) {
-                addToTempSubtotal(refundTypeSubtotals.get(currentRefundType), category, bucket, 1L, amount);
-            }
+            // Receipt-type / refund-type subtotal block
+            addToTempSubtotal(p.subtotals, category, bucket, 1L, amount);
 
             // BAD_ADDRESS placeholder rule (COBOL must be transcribed for parity)
-            try {
-                String remDaily = row.getCrRemDailyInd();
-                if (remDaily != null && remDaily.trim().equalsIgnoreCase("B")) {
-                    reportWriter.accumulate(ReportWriter.Category.BAD_ADDRESS, bucket, 1L, amount);
-                    if (currentReceiptType != null) addToTempSubtotal(receiptTypeSubtotals.get(currentReceiptType), ReportWriter.Category.BAD_ADDRESS, bucket, 1L, amount);
-                    if (currentRefundType != null) addToTempSubtotal(refundTypeSubtotals.get(currentRefundType), ReportWriter.Category.BAD_ADDRESS, bucket, 1L, amount);
-                }
-            } catch (Throwable ignore) {}
+            String remDaily = row.remDailyInd();
+            if (remDaily != null && remDaily.trim().equalsIgnoreCase("B")) {
+                addToTempSubtotal(p.totals, ReportWriter.Category.BAD_ADDRESS, bucket, 1L, amount);
+                addToTempSubtotal(p.subtotals, ReportWriter.Category.BAD_ADDRESS, bucket, 1L, amount);
+            }
 
             // OFFSET placeholder rule example
-            try {
-                if ("OFF".equalsIgnoreCase(refundType) || "OFF".equalsIgnoreCase(row.getCrReasonCode())) {
-                    reportWriter.accumulate(ReportWriter.Category.OFFSET, bucket, 1L, amount);
-                    if (currentReceiptType != null) addToTempSubtotal(receiptTypeSubtotals.get(currentReceiptType), ReportWriter.Category.OFFSET, bucket, 1L, amount);
-                    if (currentRefundType != null) addToTempSubtotal(refundTypeSubtotals.get(currentRefundType), ReportWriter.Category.OFFSET, bucket, 1L, amount);
-                }
-            } catch (Throwable ignore) {}
+            if ("OFF".equalsIgnoreCase(refundType) || "OFF".equalsIgnoreCase(row.reasonCode())) {
+                addToTempSubtotal(p.totals, ReportWriter.Category.OFFSET, bucket, 1L, amount);
+                addToTempSubtotal(p.subtotals, ReportWriter.Category.OFFSET, bucket, 1L, amount);
+            }
 
             // STOP_PAYMENT / ARKANSAS_PAYMENT / TOTAL: placeholders until COBOL rules are supplied
 
         } catch (Exception e) {
-            log.error("Exception processing row {}: {}", safeId(row), e.getMessage(), e);
+            log.error("Exception processing row {}: {}", row.safeId(), e.getMessage(), e);
         }
     }
 
@@ -359,19 +388,6 @@ public class P09330ReportTasklet implements Tasklet {
         };
     }
 
-    private String safeId(P09CashReceipt row) {
-        try {
-            var id = row.getCrId();
-            if (id == null) return "crId-null";
-            String d = id.getCrCntrlDate() == null ? "null-date" : id.getCrCntrlDate().toString();
-            String n = id.getCrCntrlNbr() == null ? "null-nbr" : id.getCrCntrlNbr();
-            String r = id.getCrRefundType() == null ? "null-ref" : id.getCrRefundType();
-            return d + "/" + n + "/" + r;
-        } catch (Throwable t) {
-            return "id-unavailable";
-        }
-    }
-
     // -------------------------
     // AgingCalculator (same approximation as before)
     // -------------------------
@@ -46,12 +46,7 @@ public class ReportWriter {
     private final Map<String, Map<Category, EnumMap<AgeBucket, CountAmountDTO>>> bufferedRefundSubtotals  = new LinkedHashMap<>();
 
     // Decimal formatter used to match "$#,###.##"
-    private static final DecimalFormat AMT_FMT;
-    static {
-        DecimalFormatSymbols s = new DecimalFormatSymbols(Locale.ENGLISH);
-        s.setGroupingSeparator(',');
-        AMT_FMT = new DecimalFormat("#,##0.00", s);
-    }
+    private final DecimalFormat AMT_FMT = new DecimalFormat("#,##0.00", DecimalFormatSymbols.getInstance(Locale.ENGLISH));
 
     // categories in the order they appear in the sample (left to right)
     public enum Category {
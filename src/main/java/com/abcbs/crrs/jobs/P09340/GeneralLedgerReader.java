@@ -1,103 +1,135 @@
 package com.abcbs.crrs.jobs.P09340;
 
+import java.nio.charset.Charset;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.batch.item.file.FlatFileItemReader;
-import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
-import org.springframework.batch.item.file.mapping.DefaultLineMapper;
-import org.springframework.batch.item.file.transform.Range;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.FileSystemResource;
-import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Component;
 
-import com.abcbs.crrs.utilities.NoTrimLineTokenizer;
+import com.abcbs.crrs.utilities.BinaryRecord;
+import com.abcbs.crrs.utilities.BinaryRecordReader;
+import com.abcbs.crrs.utilities.FixedWidthLayout;
+import com.abcbs.crrs.utilities.Utility;
 
 @Component
 @StepScope
-public class GeneralLedgerReader extends FlatFileItemReader<P09340GlRecord> {
+public class GeneralLedgerReader implements ItemStreamReader<P09340GlRecord> {
 	
 	private static final Logger logger = LogManager.getLogger(GeneralLedgerReader.class);
 
+	/** P09DEDS as unloaded from the host: julian, time and the two amounts COMP-3. */
+	private static final int GL_BINARY_LENGTH = 189;
+
+	/** P09DEDS general ledger record (the trailing filler is not read or written). */
+	public static final FixedWidthLayout<P09340GlRecord> GL_RECORD = FixedWidthLayout.of(P09340GlRecord::new)
+			.field("p09dedsJulian",    1,   5, P09340GlRecord::setP09dedsJulian, P09340GlRecord::getP09dedsJulian)
+			.field("p09dedsHhmmss",    6,  12, P09340GlRecord::setP09dedsHhmmss, P09340GlRecord::getP09dedsHhmmss)
+			.field("p09deds29",       13,  17, P09340GlRecord::setP09deds29, P09340GlRecord::getP09deds29)
+			.field("glP09dedsId",     18,  19, P09340GlRecord::setGlP09dedsId, P09340GlRecord::getGlP09dedsId)
+			.field("glRefundType",    20,  22, P09340GlRecord::setGlRefundType, P09340GlRecord::getGlRefundType)
+			.field("glControlDate",   23,  32, P09340GlRecord::setGlControlDate, P09340GlRecord::getGlControlDate)
+			.field("glControlNbr",    33,  36, P09340GlRecord::setGlControlNbr, P09340GlRecord::getGlControlNbr)
+			.field("glReceiptType",   37,  38, P09340GlRecord::setGlReceiptType, P09340GlRecord::getGlReceiptType)
+			.field("glBankAcctNbr",   39,  73, P09340GlRecord::setGlBankAcctNbr, P09340GlRecord::getGlBankAcctNbr)
+			.field("glAcctNbr",       74,  85, P09340GlRecord::setGlAcctNbr, P09340GlRecord::getGlAcctNbr)
+			.field("glActCode",       86,  88, P09340GlRecord::setGlActCode, P09340GlRecord::getGlActCode)
+			.field("glActAmt",        89, 100, P09340GlRecord::setGlActAmt, P09340GlRecord::getGlActAmt)
+			.field("glActDate",      101, 110, P09340GlRecord::setGlActDate, P09340GlRecord::getGlActDate)
+			.field("glReportMo",     111, 112, P09340GlRecord::setGlReportMo, P09340GlRecord::getGlReportMo)
+			.field("glReportYr",     113, 114, P09340GlRecord::setGlReportYr, P09340GlRecord::getGlReportYr)
+			.field("glPatientLn",    115, 129, P09340GlRecord::setGlPatientLn, P09340GlRecord::getGlPatientLn)
+			.field("glPatientFn",    130, 140, P09340GlRecord::setGlPatientFn, P09340GlRecord::getGlPatientFn)
+			.field("glMbrIdNbr",     141, 152, P09340GlRecord::setGlMbrIdNbr, P09340GlRecord::getGlMbrIdNbr)
+			.field("glXrefType",     153, 154, P09340GlRecord::setGlXrefType, P09340GlRecord::getGlXrefType)
+			.field("glXrefClaimNbr", 155, 174, P09340GlRecord::setGlXrefClaimNbr, P09340GlRecord::getGlXrefClaimNbr)
+			.field("glXrefDate",     175, 184, P09340GlRecord::setGlXrefDate, P09340GlRecord::getGlXrefDate)
+			.field("glCashRecBal",   185, 196, P09340GlRecord::setGlCashRecBal, P09340GlRecord::getGlCashRecBal)
+			.field("glCorp",         197, 198, P09340GlRecord::setGlCorp, P09340GlRecord::getGlCorp)
+			.build();
+
+	private final ItemStreamReader<P09340GlRecord> delegate;
 
 	public GeneralLedgerReader(@Value("#{jobParameters['glFile']}") String glFilePath,
+            @Value("${crrs.feed.gl.codepage:}") String codePage,
             ResourceLoader resourceLoader) {
 
 		logger.info("Initializing GeneralLedgerReader for file: {}", glFilePath);
-		
-        NoTrimLineTokenizer tokenizer = new NoTrimLineTokenizer();
-        tokenizer.setColumns(
-                new Range(1, 5),     
-                new Range(6, 12),    
-                new Range(13,17),
-                new Range(18, 19),   
-                new Range(20, 22),   
-                new Range(23, 32),   
-                new Range(33, 36),   
-                new Range(37, 38),   
-                new Range(39, 73),   
-                new Range(74, 85),   
-                new Range(86, 88),   
-                new Range(89, 100),  
-                new Range(101, 110),  
-                new Range(111, 112),  
-                new Range(113, 114),  
-                new Range(115, 129),  
-                new Range(130, 140),  
-                new Range(141, 152),  
-                new Range(153, 154),  
-                new Range(155, 174),  
-                new Range(175, 184),  
-                new Range(185, 196),  
-                new Range(197, 198)   
-        		);
-
-        tokenizer.setNames(
-            "p09dedsJulian",
-            "p09dedsHhmmss",
-            "p09deds29",
-            "glP09dedsId",
-            "glRefundType",
-            "glControlDate",
-            "glControlNbr",
-            "glReceiptType",
-            "glBankAcctNbr",
-            "glAcctNbr",
-            "glActCode",
-            "glActAmt",
-            "glActDate",
-            "glReportMo",
-            "glReportYr",
-            "glPatientLn",
-            "glPatientFn",
-            "glMbrIdNbr",
-            "glXrefType",
-            "glXrefClaimNbr",
-            "glXrefDate",     
-            "glCashRecBal",
-            "glCorp"
-        );
-        
-        // Configure mapper
-        BeanWrapperFieldSetMapper<P09340GlRecord> fieldSetMapper = new BeanWrapperFieldSetMapper<>();
-        fieldSetMapper.setTargetType(P09340GlRecord.class);
-        fieldSetMapper.setDistanceLimit(0);
-        fieldSetMapper.setStrict(false);
 
-        DefaultLineMapper<P09340GlRecord> lineMapper = new DefaultLineMapper<>();
-        lineMapper.setLineTokenizer(tokenizer);
-        lineMapper.setFieldSetMapper(fieldSetMapper);
+		if (!codePage.isBlank()) {
+			logger.info("Reading {} as binary {}-byte records, code page {}", glFilePath, GL_BINARY_LENGTH, codePage);
+			BinaryRecordReader<P09340GlRecord> binary = new BinaryRecordReader<>(glFilePath, GL_BINARY_LENGTH,
+					Charset.forName(codePage), GeneralLedgerReader::glRecord);
+			binary.setName("generalLedgerReader");
+			this.delegate = binary;
+			return;
+		}
 
         //Resource resource = resourceLoader.getResource(new FileSystemResource(glFilePath));
         //Configure reader
-        this.setResource(new FileSystemResource(glFilePath));
-        this.setLineMapper(lineMapper);
-        this.setStrict(true);
-        this.setLinesToSkip(0);
-        this.setName("generalLedgerReader");
+		FlatFileItemReader<P09340GlRecord> text = new FlatFileItemReader<>();
+        text.setResource(new FileSystemResource(glFilePath));
+        text.setLineMapper(GL_RECORD);
+        text.setStrict(true);
+        text.setLinesToSkip(0);
+        text.setName("generalLedgerReader");
+        this.delegate = text;
         
         logger.info("GeneralLedgerReader initialized successfully.");
     }
+
+	@Override
+	public P09340GlRecord read() throws Exception {
+		return delegate.read();
+	}
+
+	@Override
+	public void open(ExecutionContext executionContext) {
+		delegate.open(executionContext);
+	}
+
+	@Override
+	public void update(ExecutionContext executionContext) {
+		delegate.update(executionContext);
+	}
+
+	@Override
+	public void close() {
+		delegate.close();
+	}
+
+	/** Binary P09DEDS record into the text record's fields; packed numbers zero-filled to their text width. */
+	private static P09340GlRecord glRecord(BinaryRecord r) {
+		P09340GlRecord g = new P09340GlRecord();
+		g.setP09dedsJulian(Utility.zeroPad(r.packed(1, 3), 5));
+		g.setP09dedsHhmmss(Utility.zeroPad(r.packed(4, 7), 7));
+		g.setP09deds29(r.text(8, 12));
+		g.setGlP09dedsId(r.text(13, 14));
+		g.setGlRefundType(r.text(15, 17));
+		g.setGlControlDate(r.text(18, 27));
+		g.setGlControlNbr(r.text(28, 31));
+		g.setGlReceiptType(r.text(32, 33));
+		g.setGlBankAcctNbr(r.text(34, 68));
+		g.setGlAcctNbr(r.text(69, 80));
+		g.setGlActCode(r.text(81, 83));
+		g.setGlActAmt(Utility.zeroPad(r.packed(84, 89), 12));
+		g.setGlActDate(r.text(90, 99));
+		g.setGlReportMo(r.text(100, 101));
+		g.setGlReportYr(r.text(102, 103));
+		g.setGlPatientLn(r.text(104, 118));
+		g.setGlPatientFn(r.text(119, 129));
+		g.setGlMbrIdNbr(r.text(130, 141));
+		g.setGlXrefType(r.text(142, 143));
+		g.setGlXrefClaimNbr(r.text(144, 163));
+		g.setGlXrefDate(r.text(164, 173));
+		g.setGlCashRecBal(Utility.zeroPad(r.packed(174, 179), 12));
+		g.setGlCorp(r.text(180, 181));
+		return g;
+	}
 }
@@ -1,5 +1,8 @@
 package com.abcbs.crrs.jobs.P09340;
 
+import java.io.Serializable;
+import java.util.Comparator;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -7,7 +10,17 @@ import lombok.NoArgsConstructor;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class P09340GlRecord {
+public class P09340GlRecord implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** SORT for the P09340-A control break: refund type, then GL account number (trimmed). */
+	public static final Comparator<P09340GlRecord> REPORT_ORDER = Comparator
+			.comparing((P09340GlRecord r) -> r.getGlRefundType() == null ? "" : r.getGlRefundType().trim())
+			.thenComparing(r -> r.getGlAcctNbr() == null ? "" : r.getGlAcctNbr().trim());
+
+	/** Rough heap size of one record (about 30 short Strings), for the sort memory budget. */
+	public static final int ESTIMATED_HEAP_BYTES = 2048;
 	
 	private String p09dedsJulian;
     private String p09dedsHhmmss;      
@@ -11,9 +11,7 @@ import java.text.DecimalFormat;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
+import java.util.Iterator;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -29,6 +27,8 @@ import org.springframework.batch.item.ItemWriter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.abcbs.crrs.utilities.ExternalSorter;
+
 @Component
 @StepScope
 public class P09340WeeklyReportAndFileWriter implements ItemWriter<P09340GlRecord>, ItemStream, StepExecutionListener {
@@ -41,7 +41,9 @@ public class P09340WeeklyReportAndFileWriter implements ItemWriter<P09340GlRecor
 	private P09340InputRecord ctrl;
 
 	private BufferedWriter rpt, out, accountOut;
-	private final List<P09340GlRecord> buffer = new ArrayList<>();
+	private final long sortMemoryBudget;
+	private final Path sortTempDir;
+	private ExternalSorter<P09340GlRecord> sorter;
 
 	private int page = 0, line = PAGE_LIMIT;
 	private boolean anyDetailWritten = false;
@@ -56,10 +58,14 @@ public class P09340WeeklyReportAndFileWriter implements ItemWriter<P09340GlRecor
 	public P09340WeeklyReportAndFileWriter(
 			@Value("#{jobParameters['reportFile']}") String reportFile,
 			@Value("#{jobParameters['matchedOutFile']}") String matchedOutFile,
-			@Value("#{jobParameters['accountFile']}") String accountOutFile) {
+			@Value("#{jobParameters['accountFile']}") String accountOutFile,
+			@Value("${crrs.sort.memory-budget-mb:64}") long sortMemoryBudgetMb,
+			@Value("${crrs.sort.temp-dir:}") String sortTempDir) {
 		this.reportPath = Path.of(reportFile);
 		this.dataOutPath = Path.of(matchedOutFile);
 		this.accountOutPath = Path.of(accountOutFile);
+		this.sortMemoryBudget = sortMemoryBudgetMb * 1024 * 1024;
+		this.sortTempDir = (sortTempDir == null || sortTempDir.isBlank()) ? null : Path.of(sortTempDir);
 	}
 
 	@Override
@@ -74,6 +80,8 @@ public class P09340WeeklyReportAndFileWriter implements ItemWriter<P09340GlRecor
 
 	@Override
 	public void open(org.springframework.batch.item.ExecutionContext ec) {
+		sorter = new ExternalSorter<>(P09340GlRecord.REPORT_ORDER,
+				ExternalSorter.itemsForBudget(sortMemoryBudget, P09340GlRecord.ESTIMATED_HEAP_BYTES), sortTempDir);
 		try {
 			if (reportPath.getParent() != null) Files.createDirectories(reportPath.getParent());
 			if (dataOutPath.getParent() != null) Files.createDirectories(dataOutPath.getParent());
@@ -99,9 +107,8 @@ public class P09340WeeklyReportAndFileWriter implements ItemWriter<P09340GlRecor
 			long tResolved = 0L;
 			 grandResolved = 0L;
 			
-			buffer.sort(Comparator
-				    .comparing((P09340GlRecord r) -> nz(r.getGlRefundType()).trim())
-				    .thenComparing(r -> nz(r.getGlAcctNbr()).trim()));
+			// records arrive through write(); runs over the memory budget are already on disk
+			Iterator<P09340GlRecord> sorted = sorter.sorted();
 			
 			String curAcct = null, curRft = null;
 
@@ -113,8 +120,8 @@ public class P09340WeeklyReportAndFileWriter implements ItemWriter<P09340GlRecor
 			BigDecimal tDebits = BigDecimal.ZERO;
 			BigDecimal tCredits = BigDecimal.ZERO;
 
-			for (int i = 0; i < buffer.size(); i++) {
-			    P09340GlRecord r = buffer.get(i);
+			while (sorted.hasNext()) {
+			    P09340GlRecord r = sorted.next();
 			    String acct = nz(r.getGlAcctNbr()).trim();
 			    String rft  = nz(r.getGlRefundType()).trim();
 
@@ -264,6 +271,9 @@ public class P09340WeeklyReportAndFileWriter implements ItemWriter<P09340GlRecor
 		} catch (IOException e) {
 			 logger.error("Error closing P09340 writer", e);
 			throw new ItemStreamException(e);
+		} finally {
+			// deletes any spilled sort runs
+			sorter.close();
 		}
 	}
 	private String serializeFixedLength(P09340GlRecord r) {
@@ -299,7 +309,7 @@ public class P09340WeeklyReportAndFileWriter implements ItemWriter<P09340GlRecor
 	@Override
 	public void write(Chunk<? extends P09340GlRecord> chunk) {
 		logger.debug("Received chunk of {} records", chunk.size());
-		buffer.addAll(chunk.getItems());
+		sorter.addAll(chunk.getItems());
 	}
 
 	@Override public ExitStatus afterStep(StepExecution stepExecution) { 
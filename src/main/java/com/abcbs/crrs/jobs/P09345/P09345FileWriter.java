@@ -47,7 +47,7 @@ public class P09345FileWriter implements Tasklet {
 	private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("MM/dd/yy");
 	private static final DateTimeFormatter RUN_TIME_FMT = DateTimeFormatter.ofPattern("HH:mm:ss");
 
-	private static final java.text.NumberFormat MONEY_FMT = new java.text.DecimalFormat("$#,##0.00");
+	private final java.text.NumberFormat MONEY_FMT = new java.text.DecimalFormat("$#,##0.00");
 
 
 
@@ -0,0 +1,88 @@
+package com.abcbs.crrs.jobs.P09352;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.abcbs.crrs.entity.BankRecon;
+import com.abcbs.crrs.entity.P09Activity;
+import com.abcbs.crrs.entity.P09CashReceipt;
+import com.abcbs.crrs.repository.IActivityRepository;
+import com.abcbs.crrs.repository.IBankReconRepository;
+import com.abcbs.crrs.repository.ICheckControlRepository;
+import com.abcbs.crrs.repository.IP09CashReceiptRepository;
+
+/**
+ * P09352 bulk mode: reads everything one refund type needs with set-based
+ * queries (PX02 receipts, their PX03 PRR/FRR activities, BANK_RECON rows and
+ * the open CHECK_CONTROL rows) and adds it to a {@link P09352RefundTypeIndex}.
+ *
+ * Must run inside the step transaction so the indexed entities are the same
+ * managed instances the single-row findById() calls would return.
+ */
+@Component
+public class P09352BulkLoader {
+
+    private static final Logger log = LogManager.getLogger(P09352BulkLoader.class);
+
+    @Autowired
+    private IP09CashReceiptRepository cashReceiptRepository;
+
+    @Autowired
+    private IActivityRepository activityRepository;
+
+    @Autowired
+    private IBankReconRepository bankReconRepository;
+
+    @Autowired
+    private ICheckControlRepository checkControlRepository;
+
+    /**
+     * @return the PX02 cash receipts in cursor order (same rows and order as
+     *         findPendingCashReceipts)
+     */
+    public List<P09CashReceipt> loadRefundType(P09352RefundTypeIndex index, String refundType,
+                                               LocalDate controlCardDate, String corp) {
+
+        List<P09CashReceipt> receipts =
+                cashReceiptRepository.findPendingCashReceipts(refundType, controlCardDate, corp);
+        index.addReceipts(receipts);
+
+        if (receipts == null || receipts.isEmpty()) {
+            log.info("BULK: refundType={} no pending cash receipts", refundType);
+            return (receipts == null) ? List.of() : receipts;
+        }
+
+        List<P09Activity> acts =
+                activityRepository.fetchPendingActivitiesForRefundType(refundType, controlCardDate, corp);
+        index.addActivities(acts);
+
+        // COBOL 490000/495000 only run for RET / UND / SPO
+        int bankRecons = 0;
+        if (needsOccs(refundType)) {
+            List<BankRecon> brs =
+                    bankReconRepository.findBankReconForPendingReceipts(refundType, controlCardDate, corp);
+            index.addBankRecons(brs);
+            bankRecons = (brs == null) ? 0 : brs.size();
+
+            if (!index.isCheckControlsLoaded()) {
+                index.addOpenCheckControls(checkControlRepository.findAllOpenCheckControls());
+            }
+        }
+
+        log.info("BULK: refundType={} receipts={} activities={} bankRecons={} openCheckControls={}",
+                refundType, receipts.size(), (acts == null ? 0 : acts.size()), bankRecons,
+                index.checkControlCount());
+
+        return receipts;
+    }
+
+    private static boolean needsOccs(String refundType) {
+        String rt = (refundType == null) ? "" : refundType.trim();
+        return "RET".equals(rt) || "UND".equals(rt) || "SPO".equals(rt);
+    }
+}
@@ -0,0 +1,53 @@
+package com.abcbs.crrs.jobs.P09352;
+
+import java.io.Serializable;
+
+import com.abcbs.crrs.entity.CashReceiptPK;
+
+/**
+ * The only P09352 state kept in the step ExecutionContext (and promoted to the
+ * job context for the voucher step). Everything else lives in
+ * {@link P09352WorkingStorage} for the life of the step.
+ */
+public class P09352Checkpoint implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final String KEY = "P09352_CHECKPOINT";
+
+    private final CashReceiptPK lastKeyProcessed;
+    private final String lastVoucherNbrPrefix;
+    private final int lastVoucherNbrSuffix;
+    private final int checksIssued;
+
+    public P09352Checkpoint(CashReceiptPK lastKeyProcessed, String lastVoucherNbrPrefix,
+                            int lastVoucherNbrSuffix, int checksIssued) {
+        this.lastKeyProcessed = lastKeyProcessed;
+        this.lastVoucherNbrPrefix = lastVoucherNbrPrefix;
+        this.lastVoucherNbrSuffix = lastVoucherNbrSuffix;
+        this.checksIssued = checksIssued;
+    }
+
+    /** Cash receipt of the last issued-check row updated by 500000 (null before the first). */
+    public CashReceiptPK getLastKeyProcessed() {
+        return lastKeyProcessed;
+    }
+
+    public String getLastVoucherNbrPrefix() {
+        return lastVoucherNbrPrefix;
+    }
+
+    public int getLastVoucherNbrSuffix() {
+        return lastVoucherNbrSuffix;
+    }
+
+    public int getChecksIssued() {
+        return checksIssued;
+    }
+
+    @Override
+    public String toString() {
+        return "P09352Checkpoint[lastKey=" + lastKeyProcessed
+                + ", voucher=" + lastVoucherNbrPrefix + lastVoucherNbrSuffix
+                + ", checksIssued=" + checksIssued + "]";
+    }
+}
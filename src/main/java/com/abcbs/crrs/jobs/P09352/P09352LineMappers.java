@@ -1,563 +1,278 @@
 package com.abcbs.crrs.jobs.P09352;
 
 import java.math.BigDecimal;
-import org.springframework.batch.item.file.LineMapper;
-import org.springframework.batch.item.file.mapping.DefaultLineMapper;
-import org.springframework.batch.item.file.transform.FixedLengthTokenizer;
-import org.springframework.batch.item.file.transform.Range;
-import org.springframework.batch.item.file.transform.FieldSet;
+import java.math.RoundingMode;
 
-public class P09352LineMappers {
+import com.abcbs.crrs.utilities.FixedWidthLayout;
 
-    // =========================================================================
-    //  CONTROL-CARD INPUT (80 bytes) — CORRECT FOR YOUR POJO
-    // =========================================================================
-    public static LineMapper<P09352ControlCardInput> controlCardLineMapper() {
-
-        DefaultLineMapper<P09352ControlCardInput> lm = new DefaultLineMapper<>();
-        FixedLengthTokenizer t = new FixedLengthTokenizer();
-        t.setStrict(false);
-
-        t.setNames(
-           "cntrlId",
-           "pgmId",
-           "seqNbr",
-           "filler1",
-           "runTypeInd",
-           "filler2",
-           "compareMm",
-           "compareDd",
-           "compareYy",
-           "filler3"
-        );
-
-        t.setColumns(
-            new Range(1,2),    // cntrlId        X(02)
-            new Range(3,8),    // pgmId          X(06)
-            new Range(9,9),    // seqNbr         X(01)
-            new Range(10,11),  // filler1        X(02)
-            new Range(12,12),  // runTypeInd     X(01)
-            new Range(13,13),  // filler2        X(01)
-            new Range(14,15),  // compareMm     9(02)
-            new Range(16,17),  // compareDd     9(02)
-            new Range(18,19),  // compareYy     9(02)
-            new Range(20,80)   // filler3       X(61)
-        );
-
-       lm.setLineTokenizer(t);
-
-       lm.setFieldSetMapper(fs -> {
-           P09352ControlCardInput o = new P09352ControlCardInput();
-
-           o.setCntrlId(fs.readString("cntrlId"));
-           o.setPgmId(fs.readString("pgmId"));
-           o.setSeqNbr(fs.readString("seqNbr"));
-           o.setFiller1(fs.readString("filler1"));
-           o.setRunTypeInd(fs.readString("runTypeInd"));
-           o.setFiller2(fs.readString("filler2"));
-           o.setCompareMm(fs.readString("compareMm"));
-           o.setCompareDd(fs.readString("compareDd"));
-           o.setCompareYy(fs.readString("compareYy"));
-           o.setFiller3(fs.readString("filler3"));
-
-           return o;
-        });
-
-       return lm;
-    }
-
-   // =========================================================================
-   //  CORP-CARD INPUT (80 bytes) — CORRECT FOR YOUR POJO
-   // =========================================================================
-   public static LineMapper<P09352CorpCardInput> corpCardLineMapper() {
-
-       DefaultLineMapper<P09352CorpCardInput> lm = new DefaultLineMapper<>();
-       FixedLengthTokenizer t = new FixedLengthTokenizer();
-       t.setStrict(false);
+/**
+ * Record layouts of the P09352 files. The AP interface and output voucher
+ * layouts are also the writers' line aggregators.
+ */
+public final class P09352LineMappers {
 
-       t.setNames(
-           "filler1",
-           "corpCode",
-           "filler2"
-       );
-
-       t.setColumns(
-           new Range(1,10),   // filler1   X(10)
-           new Range(11,12),  // corpCode  X(02)
-           new Range(13,80)   // filler2   X(68)
-       );
-
-       lm.setLineTokenizer(t);
-
-       lm.setFieldSetMapper(fs -> {
-           P09352CorpCardInput o = new P09352CorpCardInput();
-           o.setFiller1(fs.readString("filler1"));
-           o.setCorpCode(fs.readString("corpCode"));
-           o.setFiller2(fs.readString("filler2"));
-           return o;
-       });
-
-       return lm;
-   }
-
-   //=========================================================================
-   // CHECKPOINT-CARD INPUT (80 bytes) — CORRECT FOR YOUR POJO
-   //=========================================================================
-   public static LineMapper<P09352CheckpointCardInput> checkpointLineMapper() {
-
-       DefaultLineMapper<P09352CheckpointCardInput> lm = new DefaultLineMapper<>();
-       FixedLengthTokenizer t = new FixedLengthTokenizer();
-       t.setStrict(false);
-
-       t.setNames(
-           "count",
-           "filler"
-       );
-
-       t.setColumns(
-           new Range(1,6),    // count   9(06)
-           new Range(7,80)    // filler  X(74)
-       );
-
-       lm.setLineTokenizer(t);
-
-       lm.setFieldSetMapper(fs -> {
-           P09352CheckpointCardInput o = new P09352CheckpointCardInput();
-           o.setCount(fs.readString("count"));
-           o.setFiller(fs.readString("filler"));
-           return o;
-       });
-
-       return lm;
-   }
+    private P09352LineMappers() {}
 
     // =========================================================================
-    //  INPUT-VOUCHER (IVOUCHER – 80 bytes)
+    //  CONTROL-CARD INPUT (80 bytes)
     // =========================================================================
-    public static LineMapper<P09352InputVoucher> inputVoucherLineMapper() {
-
-        DefaultLineMapper<P09352InputVoucher> lm = new DefaultLineMapper<>();
-        FixedLengthTokenizer t = new FixedLengthTokenizer();
-        t.setStrict(false);
-
-        t.setNames(
-            "inputLastVoucherNbrPrefix",
-            "inputLastVoucherNbrSuffix",
-            "inputLastVoucherNbrFiller"
-        );
+    public static final FixedWidthLayout<P09352ControlCardInput> CONTROL_CARD = FixedWidthLayout.of(P09352ControlCardInput::new)
+            .field("cntrlId",      1,   2, P09352ControlCardInput::setCntrlId)
+            .field("pgmId",        3,   8, P09352ControlCardInput::setPgmId)
+            .field("seqNbr",       9,   9, P09352ControlCardInput::setSeqNbr)
+            .field("filler1",     10,  11, P09352ControlCardInput::setFiller1)
+            .field("runTypeInd",  12,  12, P09352ControlCardInput::setRunTypeInd)
+            .field("filler2",     13,  13, P09352ControlCardInput::setFiller2)
+            .field("compareMm",   14,  15, P09352ControlCardInput::setCompareMm)
+            .field("compareDd",   16,  17, P09352ControlCardInput::setCompareDd)
+            .field("compareYy",   18,  19, P09352ControlCardInput::setCompareYy)
+            .field("filler3",     20,  80, P09352ControlCardInput::setFiller3)
+            .build();
 
-        t.setColumns(
-            new Range(1,1),
-            new Range(2,6),
-            new Range(7,80)
-        );
-
-        lm.setLineTokenizer(t);
-
-        lm.setFieldSetMapper(fs -> {
-            P09352InputVoucher o = new P09352InputVoucher();
-            o.setInputLastVoucherNbrPrefix(fs.readString("inputLastVoucherNbrPrefix"));
-
-            // ✅ FIX: suffix is numeric in your POJO (int/Integer) -> parse safely
-            o.setInputLastVoucherNbrSuffix(toIntOrZero(fs, "inputLastVoucherNbrSuffix"));
+    // =========================================================================
+    //  CORP-CARD INPUT (80 bytes)
+    // =========================================================================
+    public static final FixedWidthLayout<P09352CorpCardInput> CORP_CARD = FixedWidthLayout.of(P09352CorpCardInput::new)
+            .field("filler1",    1,  10, P09352CorpCardInput::setFiller1)
+            .field("corpCode",  11,  12, P09352CorpCardInput::setCorpCode)
+            .field("filler2",   13,  80, P09352CorpCardInput::setFiller2)
+            .build();
 
-            o.setInputLastVoucherNbrFiller(fs.readString("inputLastVoucherNbrFiller"));
-            return o;
-        });
+    // =========================================================================
+    //  CHECKPOINT-CARD INPUT (80 bytes)
+    // =========================================================================
+    public static final FixedWidthLayout<P09352CheckpointCardInput> CHECKPOINT_CARD = FixedWidthLayout.of(P09352CheckpointCardInput::new)
+            .field("count",    1,   6, P09352CheckpointCardInput::setCount)
+            .field("filler",   7,  80, P09352CheckpointCardInput::setFiller)
+            .build();
 
-        return lm;
-    }
+    // =========================================================================
+    //  INPUT-VOUCHER (IVOUCHER - 80 bytes)
+    // =========================================================================
+    public static final FixedWidthLayout<P09352InputVoucher> INPUT_VOUCHER = FixedWidthLayout.of(P09352InputVoucher::new)
+            .field("inputLastVoucherNbrPrefix",   1,   1, P09352InputVoucher::setInputLastVoucherNbrPrefix)
+            .field("inputLastVoucherNbrSuffix",   2,   6, (o, v) -> o.setInputLastVoucherNbrSuffix(intOrZero("inputLastVoucherNbrSuffix", v)))
+            .field("inputLastVoucherNbrFiller",   7,  80, P09352InputVoucher::setInputLastVoucherNbrFiller)
+            .build();
 
     // =========================================================================
     //  AP-INTERFACE-OUT (275 bytes)
     // =========================================================================
-    public static LineMapper<P09352ApInterfaceOutput> apInterfaceLineMapper() {
-        DefaultLineMapper<P09352ApInterfaceOutput> lm = new DefaultLineMapper<>();
-        FixedLengthTokenizer t = new FixedLengthTokenizer();
-
-        t.setStrict(false);
-
-        t.setNames(
-            "oRecdCode","filler1","oVoucherNbr",
-            "oInvoiceMm","oSlash1","oInvoiceDd","oSlash2","oInvoiceCc","oInvoiceYy",
-            "filler2","oTaxIdNbr","oPayeeIdType","oProviderNbr",
-            "oPayeeName","oPayeeAddr1","oPayeeAddr2","oPayeeCity","oPayeeSt",
-            "oPayeeZip1","oPayeeZip2","filler3",
-            "oChkAmt","oNegInd","oChkNbr","oChkDate","oChkType","oBankAcctNbr",
-            "oNationalId","oRefundType","oCntrlDate","oCntrlNbr",
-            "oMemberId","oLname","oFname"
-        );
-
-        t.setColumns(
-            new Range(1,1), new Range(2,2), new Range(3,8),
-            new Range(9,10), new Range(11,11), new Range(12,13),
-            new Range(14,14), new Range(15,16), new Range(17,18),
-            new Range(19,19), new Range(20,28), new Range(29,29), new Range(30,38),
-            new Range(39,68), new Range(69,103), new Range(104,138),
-            new Range(139,158), new Range(159,160),
-            new Range(161,165), new Range(166,169), new Range(170,170),
-            new Range(171,181), new Range(182,182), new Range(183,190),
-            new Range(191,200), new Range(201,202), new Range(203,210),
-            new Range(211,220), new Range(221,223), new Range(224,233), new Range(234,237),
-            new Range(238,249), new Range(250,264), new Range(265,275)
-        );
-
-        lm.setLineTokenizer(t);
-
-        lm.setFieldSetMapper(fs -> {
-            P09352ApInterfaceOutput o = new P09352ApInterfaceOutput();
-
-            o.setORecdCode(fs.readString("oRecdCode"));
-            o.setFiller1(fs.readString("filler1"));
-            o.setOVoucherNbr(fs.readString("oVoucherNbr"));
-
-            o.setOInvoiceMm(fs.readString("oInvoiceMm"));
-            o.setOSlash1(fs.readString("oSlash1"));
-            o.setOInvoiceDd(fs.readString("oInvoiceDd"));
-            o.setOSlash2(fs.readString("oSlash2"));
-            o.setOInvoiceCc(fs.readString("oInvoiceCc"));
-            o.setOInvoiceYy(fs.readString("oInvoiceYy"));
-
-            o.setFiller2(fs.readString("filler2"));
-            o.setOTaxIdNbr(fs.readString("oTaxIdNbr"));
-            o.setOPayeeIdType(fs.readString("oPayeeIdType"));
-            o.setOProviderNbr(fs.readString("oProviderNbr"));
-
-            o.setOPayeeName(fs.readString("oPayeeName"));
-            o.setOPayeeAddr1(fs.readString("oPayeeAddr1"));
-            o.setOPayeeAddr2(fs.readString("oPayeeAddr2"));
-            o.setOPayeeCity(fs.readString("oPayeeCity"));
-            o.setOPayeeSt(fs.readString("oPayeeSt"));
-
-            o.setOPayeeZip1(fs.readString("oPayeeZip1"));
-            o.setOPayeeZip2(fs.readString("oPayeeZip2"));
-            o.setFiller3(fs.readString("filler3"));
-
-            o.setOChkAmt(toBigDecimal(fs,"oChkAmt"));
-            o.setONegInd(fs.readString("oNegInd"));
-            o.setOChkNbr(fs.readString("oChkNbr"));
-            o.setOChkDate(fs.readString("oChkDate"));
-            o.setOChkType(fs.readString("oChkType"));
-            o.setOBankAcctNbr(fs.readString("oBankAcctNbr"));
-
-            o.setONationalId(fs.readString("oNationalId"));
-            o.setORefundType(fs.readString("oRefundType"));
-            o.setOCntrlDate(fs.readString("oCntrlDate"));
-            o.setOCntrlNbr(fs.readString("oCntrlNbr"));
-
-            o.setOMemberId(fs.readString("oMemberId"));
-            o.setOLname(fs.readString("oLname"));
-            o.setOFname(fs.readString("oFname"));
-
-            return o;
-        });
-
-        return lm;
-    }
+    /** Invoice date is always written MM/DD/CCYY; oChkAmt is PIC 9(9)V99 (implied decimal, no dot). */
+    public static final FixedWidthLayout<P09352ApInterfaceOutput> AP_INTERFACE = FixedWidthLayout.of(P09352ApInterfaceOutput::new)
+            .field("oRecdCode",      1,   1, P09352ApInterfaceOutput::setORecdCode,
+                    P09352ApInterfaceOutput::getORecdCode)
+            .field("filler1",        2,   2, P09352ApInterfaceOutput::setFiller1,
+                    P09352ApInterfaceOutput::getFiller1)
+            .field("oVoucherNbr",    3,   8, P09352ApInterfaceOutput::setOVoucherNbr,
+                    P09352ApInterfaceOutput::getOVoucherNbr)
+            .field("oInvoiceMm",     9,  10, P09352ApInterfaceOutput::setOInvoiceMm,
+                    P09352ApInterfaceOutput::getOInvoiceMm)
+            .field("oSlash1",       11,  11, P09352ApInterfaceOutput::setOSlash1,
+                    o -> "/")
+            .field("oInvoiceDd",    12,  13, P09352ApInterfaceOutput::setOInvoiceDd,
+                    P09352ApInterfaceOutput::getOInvoiceDd)
+            .field("oSlash2",       14,  14, P09352ApInterfaceOutput::setOSlash2,
+                    o -> "/")
+            .field("oInvoiceCc",    15,  16, P09352ApInterfaceOutput::setOInvoiceCc,
+                    P09352ApInterfaceOutput::getOInvoiceCc)
+            .field("oInvoiceYy",    17,  18, P09352ApInterfaceOutput::setOInvoiceYy,
+                    P09352ApInterfaceOutput::getOInvoiceYy)
+            .field("filler2",       19,  19, P09352ApInterfaceOutput::setFiller2,
+                    P09352ApInterfaceOutput::getFiller2)
+            .field("oTaxIdNbr",     20,  28, P09352ApInterfaceOutput::setOTaxIdNbr,
+                    P09352ApInterfaceOutput::getOTaxIdNbr)
+            .field("oPayeeIdType",  29,  29, P09352ApInterfaceOutput::setOPayeeIdType,
+                    P09352ApInterfaceOutput::getOPayeeIdType)
+            .field("oProviderNbr",  30,  38, P09352ApInterfaceOutput::setOProviderNbr,
+                    P09352ApInterfaceOutput::getOProviderNbr)
+            .field("oPayeeName",    39,  68, P09352ApInterfaceOutput::setOPayeeName,
+                    P09352ApInterfaceOutput::getOPayeeName)
+            .field("oPayeeAddr1",   69, 103, P09352ApInterfaceOutput::setOPayeeAddr1,
+                    P09352ApInterfaceOutput::getOPayeeAddr1)
+            .field("oPayeeAddr2",  104, 138, P09352ApInterfaceOutput::setOPayeeAddr2,
+                    P09352ApInterfaceOutput::getOPayeeAddr2)
+            .field("oPayeeCity",   139, 158, P09352ApInterfaceOutput::setOPayeeCity,
+                    P09352ApInterfaceOutput::getOPayeeCity)
+            .field("oPayeeSt",     159, 160, P09352ApInterfaceOutput::setOPayeeSt,
+                    P09352ApInterfaceOutput::getOPayeeSt)
+            .field("oPayeeZip1",   161, 165, P09352ApInterfaceOutput::setOPayeeZip1,
+                    P09352ApInterfaceOutput::getOPayeeZip1)
+            .field("oPayeeZip2",   166, 169, P09352ApInterfaceOutput::setOPayeeZip2,
+                    P09352ApInterfaceOutput::getOPayeeZip2)
+            .field("filler3",      170, 170, P09352ApInterfaceOutput::setFiller3,
+                    P09352ApInterfaceOutput::getFiller3)
+            .field("oChkAmt",      171, 181, (o, v) -> o.setOChkAmt(decimal(v)),
+                    o -> pic9v99(o.getOChkAmt(), 11))
+            .field("oNegInd",      182, 182, P09352ApInterfaceOutput::setONegInd,
+                    P09352ApInterfaceOutput::getONegInd)
+            .field("oChkNbr",      183, 190, P09352ApInterfaceOutput::setOChkNbr,
+                    P09352ApInterfaceOutput::getOChkNbr)
+            .field("oChkDate",     191, 200, P09352ApInterfaceOutput::setOChkDate,
+                    P09352ApInterfaceOutput::getOChkDate)
+            .field("oChkType",     201, 202, P09352ApInterfaceOutput::setOChkType,
+                    P09352ApInterfaceOutput::getOChkType)
+            .field("oBankAcctNbr", 203, 210, P09352ApInterfaceOutput::setOBankAcctNbr,
+                    P09352ApInterfaceOutput::getOBankAcctNbr)
+            .field("oNationalId",  211, 220, P09352ApInterfaceOutput::setONationalId,
+                    P09352ApInterfaceOutput::getONationalId)
+            .field("oRefundType",  221, 223, P09352ApInterfaceOutput::setORefundType,
+                    P09352ApInterfaceOutput::getORefundType)
+            .field("oCntrlDate",   224, 233, P09352ApInterfaceOutput::setOCntrlDate,
+                    P09352ApInterfaceOutput::getOCntrlDate)
+            .field("oCntrlNbr",    234, 237, P09352ApInterfaceOutput::setOCntrlNbr,
+                    P09352ApInterfaceOutput::getOCntrlNbr)
+            .field("oMemberId",    238, 249, P09352ApInterfaceOutput::setOMemberId,
+                    P09352ApInterfaceOutput::getOMemberId)
+            .field("oLname",       250, 264, P09352ApInterfaceOutput::setOLname,
+                    P09352ApInterfaceOutput::getOLname)
+            .field("oFname",       265, 275, P09352ApInterfaceOutput::setOFname,
+                    P09352ApInterfaceOutput::getOFname)
+            .build();
 
     // =========================================================================
     //  XP07 (500 bytes, FULL COBOL RECORD)
     // =========================================================================
-    public static LineMapper<P09352XP07DedsOutput> xp07LineMapper() {
-        DefaultLineMapper<P09352XP07DedsOutput> lm = new DefaultLineMapper<>();
-        FixedLengthTokenizer t = new FixedLengthTokenizer();
-        t.setStrict(false);
-
-        t.setNames(
-            "p07JulianDate","p07TimeHhmmsss","p07Filler1",
-            "p07ActionId","p07BatchNbr","p07FileCode","p07AccountNbr",
-            "p07ChkFiller","p07ChkNbr",
-            "p07ChkDate","p07ChkAmt",
-            "p07PayeeId","p07Npi","p07PayeeName","p07Title",
-            "p07Addr1","p07Addr2","p07City","p07State",
-            "p07Zip5","p07Zip4",
-            "p07ChkOrigin","p07ChkType","p07ChkStatus","p07ChkStatusDate","p07StatusSource",
-            "p07OsDaily","p07StDaily","p07SdDaily","p07SdDailyNf",
-            "p07TsDaily","p07TsDailyNf",
-            "p07StaleDate","p07StaleDateNf","p07StaleOrigin","p07StaleOriginNf",
-            "p07TransferDate","p07TransferDateNf","p07TransferOrigin","p07TransferOriginNf",
-            "p07ReissueAcctNbr","p07ReissueAcctNbrNf","p07ReissueChkNbr","p07ReissueChkNbrNf",
-            "p07ReissueChkDate","p07ReissueChkDateNf","p07ReissueChkType","p07ReissueChkTypeNf",
-            "p07ReportDate",
-            "p07InitialAcctNbr","p07InitialAcctNbrNf","p07InitialChkNbr","p07InitialChkNbrNf",
-            "p07InitialChkDate","p07InitialChkDateNf","p07InitialChkType","p07InitialChkTypeNf",
-            "p07PpaDate","p07PpaDateNf",
-            "p07PayeeIdType","p07PayeeIdTypeNf",
-            "p07TaxIdNbr","p07TaxIdNbrNf",
-            "p07FillerFinal"
-        );
-
-        t.setColumns(
-            new Range(1,3), new Range(4,7), new Range(8,12),
-            new Range(13,14), new Range(15,20), new Range(21,21),
-            new Range(22,56),
-            new Range(57,58), new Range(59,64),
-            new Range(65,74), new Range(75,85),
-            new Range(86,94), new Range(95,104), new Range(105,140), new Range(141,143),
-            new Range(144,179), new Range(180,215), new Range(216,239), new Range(240,241),
-            new Range(242,246), new Range(247,250),
-            new Range(251,251), new Range(252,253), new Range(254,255),
-            new Range(256,265), new Range(266,267),
-            new Range(268,268), new Range(269,269), new Range(270,270),
-            new Range(271,271),
-            new Range(272,272), new Range(273,273),
-            new Range(274,283), new Range(284,284), new Range(285,285), new Range(286,286),
-            new Range(287,296), new Range(297,297), new Range(298,298), new Range(299,299),
-            new Range(300,334), new Range(335,335),
-            new Range(336,343), new Range(344,344),
-            new Range(345,354), new Range(355,355),
-            new Range(356,357), new Range(358,358),
-            new Range(359,368),
-            new Range(369,403), new Range(404,404),
-            new Range(405,412), new Range(413,413),
-            new Range(414,423), new Range(424,424),
-            new Range(425,426), new Range(427,427),
-            new Range(428,437), new Range(438,438),
-            new Range(439,439), new Range(440,440),
-            new Range(441,449), new Range(450,450),
-            new Range(451,500)
-        );
-
-        lm.setLineTokenizer(t);
-
-        lm.setFieldSetMapper(fs -> {
-            P09352XP07DedsOutput o = new P09352XP07DedsOutput();
-
-            o.setP07JulianDate(toBigDecimal(fs,"p07JulianDate"));
-            o.setP07TimeHhmmsss(toBigDecimal(fs,"p07TimeHhmmsss"));
-
-            o.setP07Filler1(fs.readString("p07Filler1"));
-            o.setP07ActionId(fs.readString("p07ActionId"));
-            o.setP07BatchNbr(fs.readString("p07BatchNbr"));
-            o.setP07FileCode(fs.readString("p07FileCode"));
-            o.setP07AccountNbr(fs.readString("p07AccountNbr"));
-
-            o.setP07ChkFiller(fs.readString("p07ChkFiller"));
-            o.setP07ChkNbr(fs.readString("p07ChkNbr"));
-            o.setP07ChkDate(fs.readString("p07ChkDate"));
-            o.setP07ChkAmt(toBigDecimal(fs,"p07ChkAmt"));
-
-            o.setP07PayeeId(fs.readString("p07PayeeId"));
-            o.setP07Npi(fs.readString("p07Npi"));
-            o.setP07PayeeName(fs.readString("p07PayeeName"));
-            o.setP07Title(fs.readString("p07Title"));
-            o.setP07Addr1(fs.readString("p07Addr1"));
-            o.setP07Addr2(fs.readString("p07Addr2"));
-            o.setP07City(fs.readString("p07City"));
-            o.setP07State(fs.readString("p07State"));
-
-            o.setP07Zip5(fs.readString("p07Zip5"));
-            o.setP07Zip4(fs.readString("p07Zip4"));
-
-            o.setP07ChkOrigin(fs.readString("p07ChkOrigin"));
-            o.setP07ChkType(fs.readString("p07ChkType"));
-            o.setP07ChkStatus(fs.readString("p07ChkStatus"));
-            o.setP07ChkStatusDate(fs.readString("p07ChkStatusDate"));
-            o.setP07StatusSource(fs.readString("p07StatusSource"));
-
-            o.setP07OsDaily(fs.readString("p07OsDaily"));
-            o.setP07StDaily(fs.readString("p07StDaily"));
-            o.setP07SdDaily(fs.readString("p07SdDaily"));
-            o.setP07SdDailyNf(toInteger(fs,"p07SdDailyNf"));
-            o.setP07TsDaily(fs.readString("p07TsDaily"));
-            o.setP07TsDailyNf(toInteger(fs,"p07TsDailyNf"));
-
-            o.setP07StaleDate(fs.readString("p07StaleDate"));
-            o.setP07StaleDateNf(toInteger(fs,"p07StaleDateNf"));
-            o.setP07StaleOrigin(fs.readString("p07StaleOrigin"));
-            o.setP07StaleOriginNf(toInteger(fs,"p07StaleOriginNf"));
-
-            o.setP07TransferDate(fs.readString("p07TransferDate"));
-            o.setP07TransferDateNf(toInteger(fs,"p07TransferDateNf"));
-            o.setP07TransferOrigin(fs.readString("p07TransferOrigin"));
-            o.setP07TransferOriginNf(toInteger(fs,"p07TransferOriginNf"));
-
-            o.setP07ReissueAcctNbr(fs.readString("p07ReissueAcctNbr"));
-            o.setP07ReissueAcctNbrNf(toInteger(fs,"p07ReissueAcctNbrNf"));
-            o.setP07ReissueChkNbr(fs.readString("p07ReissueChkNbr"));
-            o.setP07ReissueChkNbrNf(toInteger(fs,"p07ReissueChkNbrNf"));
-            o.setP07ReissueChkDate(fs.readString("p07ReissueChkDate"));
-            o.setP07ReissueChkDateNf(toInteger(fs,"p07ReissueChkDateNf"));
-            o.setP07ReissueChkType(fs.readString("p07ReissueChkType"));
-            o.setP07ReissueChkTypeNf(toInteger(fs,"p07ReissueChkTypeNf"));
-
-            o.setP07ReportDate(fs.readString("p07ReportDate"));
-
-            o.setP07InitialAcctNbr(fs.readString("p07InitialAcctNbr"));
-            o.setP07InitialAcctNbrNf(toInteger(fs,"p07InitialAcctNbrNf"));
-            o.setP07InitialChkNbr(fs.readString("p07InitialChkNbr"));
-            o.setP07InitialChkNbrNf(toInteger(fs,"p07InitialChkNbrNf"));
-            o.setP07InitialChkDate(fs.readString("p07InitialChkDate"));
-            o.setP07InitialChkDateNf(toInteger(fs,"p07InitialChkDateNf"));
-            o.setP07InitialChkType(fs.readString("p07InitialChkType"));
-            o.setP07InitialChkTypeNf(toInteger(fs,"p07InitialChkTypeNf"));
-
-            o.setP07PpaDate(fs.readString("p07PpaDate"));
-            o.setP07PpaDateNf(toInteger(fs,"p07PpaDateNf"));
-
-            o.setP07PayeeIdType(fs.readString("p07PayeeIdType"));
-            o.setP07PayeeIdTypeNf(toInteger(fs,"p07PayeeIdTypeNf"));
-            o.setP07TaxIdNbr(fs.readString("p07TaxIdNbr"));
-            o.setP07TaxIdNbrNf(toInteger(fs,"p07TaxIdNbrNf"));
-
-            o.setP07FillerFinal(fs.readString("p07FillerFinal"));
-
-            return o;
-        });
-
-        return lm;
-    }
+    public static final FixedWidthLayout<P09352XP07DedsOutput> XP07 = FixedWidthLayout.of(P09352XP07DedsOutput::new)
+            .field("p07JulianDate",         1,   3, (o, v) -> o.setP07JulianDate(decimal(v)))
+            .field("p07TimeHhmmsss",        4,   7, (o, v) -> o.setP07TimeHhmmsss(decimal(v)))
+            .field("p07Filler1",            8,  12, P09352XP07DedsOutput::setP07Filler1)
+            .field("p07ActionId",          13,  14, P09352XP07DedsOutput::setP07ActionId)
+            .field("p07BatchNbr",          15,  20, P09352XP07DedsOutput::setP07BatchNbr)
+            .field("p07FileCode",          21,  21, P09352XP07DedsOutput::setP07FileCode)
+            .field("p07AccountNbr",        22,  56, P09352XP07DedsOutput::setP07AccountNbr)
+            .field("p07ChkFiller",         57,  58, P09352XP07DedsOutput::setP07ChkFiller)
+            .field("p07ChkNbr",            59,  64, P09352XP07DedsOutput::setP07ChkNbr)
+            .field("p07ChkDate",           65,  74, P09352XP07DedsOutput::setP07ChkDate)
+            .field("p07ChkAmt",            75,  85, (o, v) -> o.setP07ChkAmt(decimal(v)))
+            .field("p07PayeeId",           86,  94, P09352XP07DedsOutput::setP07PayeeId)
+            .field("p07Npi",               95, 104, P09352XP07DedsOutput::setP07Npi)
+            .field("p07PayeeName",        105, 140, P09352XP07DedsOutput::setP07PayeeName)
+            .field("p07Title",            141, 143, P09352XP07DedsOutput::setP07Title)
+            .field("p07Addr1",            144, 179, P09352XP07DedsOutput::setP07Addr1)
+            .field("p07Addr2",            180, 215, P09352XP07DedsOutput::setP07Addr2)
+            .field("p07City",             216, 239, P09352XP07DedsOutput::setP07City)
+            .field("p07State",            240, 241, P09352XP07DedsOutput::setP07State)
+            .field("p07Zip5",             242, 246, P09352XP07DedsOutput::setP07Zip5)
+            .field("p07Zip4",             247, 250, P09352XP07DedsOutput::setP07Zip4)
+            .field("p07ChkOrigin",        251, 251, P09352XP07DedsOutput::setP07ChkOrigin)
+            .field("p07ChkType",          252, 253, P09352XP07DedsOutput::setP07ChkType)
+            .field("p07ChkStatus",        254, 255, P09352XP07DedsOutput::setP07ChkStatus)
+            .field("p07ChkStatusDate",    256, 265, P09352XP07DedsOutput::setP07ChkStatusDate)
+            .field("p07StatusSource",     266, 267, P09352XP07DedsOutput::setP07StatusSource)
+            .field("p07OsDaily",          268, 268, P09352XP07DedsOutput::setP07OsDaily)
+            .field("p07StDaily",          269, 269, P09352XP07DedsOutput::setP07StDaily)
+            .field("p07SdDaily",          270, 270, P09352XP07DedsOutput::setP07SdDaily)
+            .field("p07SdDailyNf",        271, 271, (o, v) -> o.setP07SdDailyNf(integer(v)))
+            .field("p07TsDaily",          272, 272, P09352XP07DedsOutput::setP07TsDaily)
+            .field("p07TsDailyNf",        273, 273, (o, v) -> o.setP07TsDailyNf(integer(v)))
+            .field("p07StaleDate",        274, 283, P09352XP07DedsOutput::setP07StaleDate)
+            .field("p07StaleDateNf",      284, 284, (o, v) -> o.setP07StaleDateNf(integer(v)))
+            .field("p07StaleOrigin",      285, 285, P09352XP07DedsOutput::setP07StaleOrigin)
+            .field("p07StaleOriginNf",    286, 286, (o, v) -> o.setP07StaleOriginNf(integer(v)))
+            .field("p07TransferDate",     287, 296, P09352XP07DedsOutput::setP07TransferDate)
+            .field("p07TransferDateNf",   297, 297, (o, v) -> o.setP07TransferDateNf(integer(v)))
+            .field("p07TransferOrigin",   298, 298, P09352XP07DedsOutput::setP07TransferOrigin)
+            .field("p07TransferOriginNf", 299, 299, (o, v) -> o.setP07TransferOriginNf(integer(v)))
+            .field("p07ReissueAcctNbr",   300, 334, P09352XP07DedsOutput::setP07ReissueAcctNbr)
+            .field("p07ReissueAcctNbrNf", 335, 335, (o, v) -> o.setP07ReissueAcctNbrNf(integer(v)))
+            .field("p07ReissueChkNbr",    336, 343, P09352XP07DedsOutput::setP07ReissueChkNbr)
+            .field("p07ReissueChkNbrNf",  344, 344, (o, v) -> o.setP07ReissueChkNbrNf(integer(v)))
+            .field("p07ReissueChkDate",   345, 354, P09352XP07DedsOutput::setP07ReissueChkDate)
+            .field("p07ReissueChkDateNf", 355, 355, (o, v) -> o.setP07ReissueChkDateNf(integer(v)))
+            .field("p07ReissueChkType",   356, 357, P09352XP07DedsOutput::setP07ReissueChkType)
+            .field("p07ReissueChkTypeNf", 358, 358, (o, v) -> o.setP07ReissueChkTypeNf(integer(v)))
+            .field("p07ReportDate",       359, 368, P09352XP07DedsOutput::setP07ReportDate)
+            .field("p07InitialAcctNbr",   369, 403, P09352XP07DedsOutput::setP07InitialAcctNbr)
+            .field("p07InitialAcctNbrNf", 404, 404, (o, v) -> o.setP07InitialAcctNbrNf(integer(v)))
+            .field("p07InitialChkNbr",    405, 412, P09352XP07DedsOutput::setP07InitialChkNbr)
+            .field("p07InitialChkNbrNf",  413, 413, (o, v) -> o.setP07InitialChkNbrNf(integer(v)))
+            .field("p07InitialChkDate",   414, 423, P09352XP07DedsOutput::setP07InitialChkDate)
+            .field("p07InitialChkDateNf", 424, 424, (o, v) -> o.setP07InitialChkDateNf(integer(v)))
+            .field("p07InitialChkType",   425, 426, P09352XP07DedsOutput::setP07InitialChkType)
+            .field("p07InitialChkTypeNf", 427, 427, (o, v) -> o.setP07InitialChkTypeNf(integer(v)))
+            .field("p07PpaDate",          428, 437, P09352XP07DedsOutput::setP07PpaDate)
+            .field("p07PpaDateNf",        438, 438, (o, v) -> o.setP07PpaDateNf(integer(v)))
+            .field("p07PayeeIdType",      439, 439, P09352XP07DedsOutput::setP07PayeeIdType)
+            .field("p07PayeeIdTypeNf",    440, 440, (o, v) -> o.setP07PayeeIdTypeNf(integer(v)))
+            .field("p07TaxIdNbr",         441, 449, P09352XP07DedsOutput::setP07TaxIdNbr)
+            .field("p07TaxIdNbrNf",       450, 450, (o, v) -> o.setP07TaxIdNbrNf(integer(v)))
+            .field("p07FillerFinal",      451, 500, P09352XP07DedsOutput::setP07FillerFinal)
+            .build();
 
     // =========================================================================
     //  XP09 (189 bytes)
     // =========================================================================
-    public static LineMapper<P09352XP09DedsOutput> xp09LineMapper() {
-        DefaultLineMapper<P09352XP09DedsOutput> lm = new DefaultLineMapper<>();
-        FixedLengthTokenizer t = new FixedLengthTokenizer();
-        t.setStrict(false);
-
-        t.setNames(
-            "glJulianDate","glTimeHhmmsss","glFiller1",
-            "glRecordId","glRefundType","glControlDate","glControlNbr",
-            "glReceiptType","glBankAcctNbr","glAcctNbr","glActCode",
-            "glActAmt","glActDate","glReportMo","glReportYr",
-            "glPatientLn","glPatientFn","glMemberId",
-            "glXrefType","glXrefClaimNbr","glXrefDate",
-            "glCashRecBal","glCorp","glFiller2"
-        );
-
-        t.setColumns(
-            new Range(1,3),
-            new Range(4,7),
-            new Range(8,12),
-            new Range(13,14),
-            new Range(15,17),
-            new Range(18,27),
-            new Range(28,31),
-            new Range(32,33),
-            new Range(34,68),
-            new Range(69,80),
-            new Range(81,83),
-            new Range(84,89),
-            new Range(90,99),
-            new Range(100,101),
-            new Range(102,103),
-            new Range(104,118),
-            new Range(119,129),
-            new Range(130,141),
-            new Range(142,143),
-            new Range(144,163),
-            new Range(164,173),
-            new Range(174,179),
-            new Range(180,181),
-            new Range(182,189)
-        );
-
-        lm.setLineTokenizer(t);
+    public static final FixedWidthLayout<P09352XP09DedsOutput> XP09 = FixedWidthLayout.of(P09352XP09DedsOutput::new)
+            .field("glJulianDate",     1,   3, (o, v) -> o.setGlJulianDate(decimal(v)))
+            .field("glTimeHhmmsss",    4,   7, (o, v) -> o.setGlTimeHhmmsss(decimal(v)))
+            .field("glFiller1",        8,  12, P09352XP09DedsOutput::setGlFiller1)
+            .field("glRecordId",      13,  14, P09352XP09DedsOutput::setGlRecordId)
+            .field("glRefundType",    15,  17, P09352XP09DedsOutput::setGlRefundType)
+            .field("glControlDate",   18,  27, P09352XP09DedsOutput::setGlControlDate)
+            .field("glControlNbr",    28,  31, P09352XP09DedsOutput::setGlControlNbr)
+            .field("glReceiptType",   32,  33, P09352XP09DedsOutput::setGlReceiptType)
+            .field("glBankAcctNbr",   34,  68, P09352XP09DedsOutput::setGlBankAcctNbr)
+            .field("glAcctNbr",       69,  80, P09352XP09DedsOutput::setGlAcctNbr)
+            .field("glActCode",       81,  83, P09352XP09DedsOutput::setGlActCode)
+            .field("glActAmt",        84,  89, (o, v) -> o.setGlActAmt(decimal(v)))
+            .field("glActDate",       90,  99, P09352XP09DedsOutput::setGlActDate)
+            .field("glReportMo",     100, 101, P09352XP09DedsOutput::setGlReportMo)
+            .field("glReportYr",     102, 103, P09352XP09DedsOutput::setGlReportYr)
+            .field("glPatientLn",    104, 118, P09352XP09DedsOutput::setGlPatientLn)
+            .field("glPatientFn",    119, 129, P09352XP09DedsOutput::setGlPatientFn)
+            .field("glMemberId",     130, 141, P09352XP09DedsOutput::setGlMemberId)
+            .field("glXrefType",     142, 143, P09352XP09DedsOutput::setGlXrefType)
+            .field("glXrefClaimNbr", 144, 163, P09352XP09DedsOutput::setGlXrefClaimNbr)
+            .field("glXrefDate",     164, 173, P09352XP09DedsOutput::setGlXrefDate)
+            .field("glCashRecBal",   174, 179, (o, v) -> o.setGlCashRecBal(decimal(v)))
+            .field("glCorp",         180, 181, P09352XP09DedsOutput::setGlCorp)
+            .field("glFiller2",      182, 189, P09352XP09DedsOutput::setGlFiller2)
+            .build();
 
-        lm.setFieldSetMapper(fs -> {
-            P09352XP09DedsOutput o = new P09352XP09DedsOutput();
-
-            o.setGlJulianDate(toBigDecimal(fs,"glJulianDate"));
-            o.setGlTimeHhmmsss(toBigDecimal(fs,"glTimeHhmmsss"));
-            o.setGlFiller1(fs.readString("glFiller1"));
-
-            o.setGlRecordId(fs.readString("glRecordId"));
-            o.setGlRefundType(fs.readString("glRefundType"));
-            o.setGlControlDate(fs.readString("glControlDate"));
-            o.setGlControlNbr(fs.readString("glControlNbr"));
-            o.setGlReceiptType(fs.readString("glReceiptType"));
-
-            o.setGlBankAcctNbr(fs.readString("glBankAcctNbr"));
-            o.setGlAcctNbr(fs.readString("glAcctNbr"));
-            o.setGlActCode(fs.readString("glActCode"));
-            o.setGlActAmt(toBigDecimal(fs,"glActAmt"));
-            o.setGlActDate(fs.readString("glActDate"));
-
-            o.setGlReportMo(fs.readString("glReportMo"));
-            o.setGlReportYr(fs.readString("glReportYr"));
-
-            o.setGlPatientLn(fs.readString("glPatientLn"));
-            o.setGlPatientFn(fs.readString("glPatientFn"));
-            o.setGlMemberId(fs.readString("glMemberId"));
-
-            o.setGlXrefType(fs.readString("glXrefType"));
-            o.setGlXrefClaimNbr(fs.readString("glXrefClaimNbr"));
-            o.setGlXrefDate(fs.readString("glXrefDate"));
-
-            o.setGlCashRecBal(toBigDecimal(fs,"glCashRecBal"));
-            o.setGlCorp(fs.readString("glCorp"));
-            o.setGlFiller2(fs.readString("glFiller2"));
-
-            return o;
-        });
-
-        return lm;
-    }
-
- // =========================================================================
-//  OUTPUT-VOUCHER (80 bytes)
-// =========================================================================
-public static LineMapper<P09352OutputVoucher> outputVoucherLineMapper() {
-    DefaultLineMapper<P09352OutputVoucher> lm = new DefaultLineMapper<>();
-    FixedLengthTokenizer t = new FixedLengthTokenizer();
-    t.setStrict(false);
-
-    t.setNames(
-        "outputLastVoucherNbrPrefix",
-        "outputLastVoucherNbrSuffix",
-        "outputLastVoucherNbrFiller"
-    );
-
-    t.setColumns(
-        new Range(1,1),   // Prefix  X(1)
-        new Range(2,6),   // Suffix  9(5)  (keep as STRING in this POJO)
-        new Range(7,80)   // Filler  X(74)
-    );
-
-    lm.setLineTokenizer(t);
-
-    lm.setFieldSetMapper(fs -> {
-        P09352OutputVoucher o = new P09352OutputVoucher();
-        o.setOutputLastVoucherNbrPrefix(fs.readString("outputLastVoucherNbrPrefix"));
-        o.setOutputLastVoucherNbrSuffix(fs.readString("outputLastVoucherNbrSuffix")); // ✅ FIX
-        o.setOutputLastVoucherNbrFiller(fs.readString("outputLastVoucherNbrFiller"));
-        return o;
-    });
-
-    return lm;
-}
+    // =========================================================================
+    //  OUTPUT-VOUCHER (80 bytes)
+    // =========================================================================
+    public static final FixedWidthLayout<P09352OutputVoucher> OUTPUT_VOUCHER = FixedWidthLayout.of(P09352OutputVoucher::new)
+            .field("outputLastVoucherNbrPrefix",   1,   1, P09352OutputVoucher::setOutputLastVoucherNbrPrefix,
+                    P09352OutputVoucher::getOutputLastVoucherNbrPrefix)
+            .field("outputLastVoucherNbrSuffix",   2,   6, P09352OutputVoucher::setOutputLastVoucherNbrSuffix,
+                    P09352OutputVoucher::getOutputLastVoucherNbrSuffix)
+            .field("outputLastVoucherNbrFiller",   7,  80, P09352OutputVoucher::setOutputLastVoucherNbrFiller,
+                    P09352OutputVoucher::getOutputLastVoucherNbrFiller)
+            .build();
 
     // =========================================================================
     //  Utility
     // =========================================================================
-    private static BigDecimal toBigDecimal(FieldSet fs, String field) {
-        try {
-            return fs.readBigDecimal(field);
-        } catch (Exception e) {
-            String v = fs.readString(field);
-            if (v == null || v.trim().isEmpty()) return BigDecimal.ZERO;
-            return new BigDecimal(v.trim());
-        }
+
+    /**
+     * PIC 9(9)V99 => implied decimal, no dot, zero-filled.
+     * len should be 11 for 9(9)V99.
+     */
+    public static String pic9v99(BigDecimal amt, int len) {
+        if (amt == null) amt = BigDecimal.ZERO;
+        amt = amt.setScale(2, RoundingMode.DOWN);
+        BigDecimal cents = amt.movePointRight(2);
+        String digits = cents.abs().toPlainString(); // should be integer now
+        digits = digits.replace(".", "");
+        if (digits.startsWith("-")) digits = digits.substring(1);
+        if (digits.length() > len) digits = digits.substring(digits.length() - len);
+        return "0".repeat(Math.max(0, len - digits.length())) + digits;
     }
 
-    private static Integer toInteger(FieldSet fs, String field) {
-        try {
-            return fs.readInt(field);
-        } catch (Exception e) {
-            String v = fs.readString(field);
-            if (v == null || v.trim().isEmpty()) return 0;
-            return Integer.parseInt(v.trim());
-        }
+    /** Blank is null, as FieldSet.readBigDecimal gave. */
+    private static BigDecimal decimal(String v) {
+        return v.isEmpty() ? null : new BigDecimal(v.replace(",", ""));
     }
 
-    // ✅ specific helper for voucher suffix fields (COBOL PIC 9(...) often space-filled)
-    private static int toIntOrZero(FieldSet fs, String field) {
-        String v = fs.readString(field);
-        if (v == null) return 0;
-        v = v.trim();
+    private static Integer integer(String v) {
+        return v.isEmpty() ? 0 : Integer.valueOf(v);
+    }
+
+    // specific helper for voucher suffix fields (COBOL PIC 9(...) often space-filled)
+    private static int intOrZero(String field, String v) {
         if (v.isEmpty()) return 0;
-        // if you want to be extra strict, keep this; else remove and let parseInt throw
         for (int i = 0; i < v.length(); i++) {
             char c = v.charAt(i);
             if (c < '0' || c > '9') {
@@ -566,4 +281,4 @@ public static LineMapper<P09352OutputVoucher> outputVoucherLineMapper() {
         }
         return Integer.parseInt(v);
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,5 @@
 package com.abcbs.crrs.jobs.P09352;
 
-import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -22,27 +21,31 @@ import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.file.FlatFileItemReader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import com.abcbs.crrs.cache.P09OptionCache;
 import com.abcbs.crrs.entity.BankRecon;
 import com.abcbs.crrs.entity.CashReceiptPK;
 import com.abcbs.crrs.entity.CheckControl;
-import com.abcbs.crrs.entity.CheckControlPK;
 import com.abcbs.crrs.entity.P09Activity;
 import com.abcbs.crrs.entity.P09CashReceipt;
 import com.abcbs.crrs.entity.P09Option;
-import com.abcbs.crrs.entity.P09Summary;
-import com.abcbs.crrs.entity.SummaryPK;
 import com.abcbs.crrs.entity.ActivityPK;
+import com.abcbs.crrs.jobs.P09352.P09352WorkingStorage.Bucket;
+import com.abcbs.crrs.jobs.P09352.P09352WorkingStorage.IssuedChkRow;
+import com.abcbs.crrs.jobs.P09352.P09352WorkingStorage.RptDate;
 import com.abcbs.crrs.repository.IActivityRepository;
 import com.abcbs.crrs.repository.IBankReconRepository;
 import com.abcbs.crrs.repository.ICheckControlRepository;
-import com.abcbs.crrs.repository.IOptionRepository;
 import com.abcbs.crrs.repository.IP09CashReceiptRepository;
 import com.abcbs.crrs.repository.IP09ControlRepository;
 import com.abcbs.crrs.repository.IP09SummaryRepository;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
 @Component("p09352Processor")
 @StepScope
 public class P09352Processor implements ItemProcessor<P09352ControlCardInput, P09352OutputWrapper>, StepExecutionListener {
@@ -57,32 +60,6 @@ public class P09352Processor implements ItemProcessor<P09352ControlCardInput, P0
     private final List<P09352XP09DedsOutput> outGlRecords = new ArrayList<>();
     private final List<P09352XP07DedsOutput> outOccsRecords = new ArrayList<>();
 
-    // ---- ExecutionContext keys (keep stable, COBOL-friendly names) ----
-    private static final String KEY_ISSUED_CHK_TABLE = "ISSUED_CHK_TABLE";
-    private static final String KEY_T_CR_REFUND_TYPE_TABLE = "T_CR_REFUND_TYPE_TABLE";
-    private static final String KEY_CURRENT_CASH_RECEIPT = "CURRENT_CASH_RECEIPT";
-    private static final String KEY_CURRENT_ACTIVITY = "CURRENT_ACTIVITY";
-    private static final String KEY_CURRENT_ACTIVITIES = "CURRENT_ACTIVITIES";
-    private static final String KEY_CURRENT_CHECK_CONTROL = "CURRENT_CHECK_CONTROL";
-    private static final String KEY_CURRENT_CASH_RECEIPT_ID = "CURRENT_CASH_RECEIPT_ID";
-    private static final String KEY_CURRENT_ACTIVITY_ID     = "CURRENT_ACTIVITY_ID";
-    private static final String KEY_CURRENT_CHECK_CONTROL_ID = "CURRENT_CHECK_CONTROL_ID";
-
-    // 215000 outputs used later
-    private static final String KEY_WS_PER_RPT_DATE_MMYY = "WS_PER_RPT_DATE_MMYY";
-    private static final String KEY_WS_UND_RPT_DATE_MMYY = "WS_UND_RPT_DATE_MMYY";
-    private static final String KEY_WS_OFF_RPT_DATE_MMYY = "WS_OFF_RPT_DATE_MMYY";
-    private static final String KEY_WS_RET_RPT_DATE_MMYY = "WS_RET_RPT_DATE_MMYY";
-    private static final String KEY_WS_SPO_RPT_DATE_MMYY = "WS_SPO_RPT_DATE_MMYY";
-
-    private static final String KEY_WS_RET_RPT_DATE_YYMM = "WS_RET_RPT_DATE_YYMM";
-    private static final String KEY_WS_UND_RPT_DATE_YYMM = "WS_UND_RPT_DATE_YYMM";
-    private static final String KEY_WS_SPO_RPT_DATE_YYMM = "WS_SPO_RPT_DATE_YYMM";
-
-    private static final String KEY_WS_RET_CONTROL_TO_DATE = "WS_RET_CONTROL_TO_DATE";
-    private static final String KEY_WS_UND_CONTROL_TO_DATE = "WS_UND_CONTROL_TO_DATE";
-    private static final String KEY_WS_SPO_CONTROL_TO_DATE = "WS_SPO_CONTROL_TO_DATE";
-
     @Autowired
     private IP09SummaryRepository p09SummaryRepository;
 
@@ -99,7 +76,7 @@ public class P09352Processor implements ItemProcessor<P09352ControlCardInput, P0
     private FlatFileItemReader<P09352InputVoucher> inputVoucherReader;
 
     @Autowired
-    private IOptionRepository optionRepository;
+    private P09OptionCache optionCache;
 
     @Autowired
     private IP09CashReceiptRepository cashReceiptRepository;
@@ -119,6 +96,25 @@ public class P09352Processor implements ItemProcessor<P09352ControlCardInput, P0
     @Autowired
     private P09352ReportWriter reportWriter;
 
+    @Autowired
+    private P09352BulkLoader bulkLoader;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // 500000 write-backs, flushed as JDBC batches once the issued-check table is done
+    private P09352WriteBehind writeBehind;
+
+    // Y = read each refund type with set-based queries and drive the paragraphs from memory
+    @Value("#{jobParameters['bulkMode'] ?: 'N'}")
+    private String bulkMode;
+
+    // non-null only in bulk mode
+    private P09352RefundTypeIndex bulkIndex;
+
     private StepExecution stepExecution;
 
     // ACCEPT WS-C2-TIME-OF-DAY FROM TIME
@@ -144,115 +140,11 @@ public class P09352Processor implements ItemProcessor<P09352ControlCardInput, P0
     private String wsDb2Day;
     private String wsDb2ControlCardDate; // ISO CCYY-MM-DD
 
-    private String wsCorp;
-    private int wsChkpCardCnt;
-
-    private String wsLastVoucherNbrPrefix;
-    private int wsLastVoucherNbrSuffix;
-
     private boolean tpGoBackFlg;
     private boolean resetPositionFlg;
 
-    private int tTblPntr;
-
-    /**
-     * COBOL TABLE ENTRY for 480000-BLD-ISSUED-CHK-RCD.
-     * Stored in ExecutionContext for later paragraphs (500000+).
-     */
-    private static class IssuedChkRow implements Serializable {
-        private static final long serialVersionUID = 1L;
-
-        private ActivityPK sourceActivityId;
-
-        public ActivityPK getSourceActivityId() {
-            return sourceActivityId;
-        }
-        public void setSourceActivityId(ActivityPK sourceActivityId) {
-            this.sourceActivityId = sourceActivityId;
-        }
-        
-        String crRefundType;
-        LocalDate crCntrlDate;
-        String crCntrlNbr;
-        String crRemDailyInd;
-        
-        LocalDate crStatusDate;
-        String crStatusText;
-        String crPendFinAct;
-        String crReasonCode;
-
-        String crBankAcctNbr;
-        String crCheckNbr;
-        LocalDate crCheckDate;
-
-        BigDecimal crCheckAmt;
-        BigDecimal crCntrldAmt;
-        BigDecimal crReceiptBal;
-        BigDecimal newCrReceiptBal;
-
-        String crReceiptType;
-
-        String crRemittorName;
-        String crRemittorTitle;
-        String crRemittorType;
-
-        String crPatientLname;
-        String crPatientFname;
-
-        String crProviderNbr;
-        String nationalIdNbr;
-        String crMbrIdNbr;
-        String crTaxIdNbr;
-        String crVendorNbr;
-
-        String ap1099Cd;
-        String crGlAcctNbr;
-
-        String crLocationNbr;
-        String crLocationClerk;
-
-        String crChkAddress1;
-        String crChkAddress2;
-        String crChkCity;
-        String crChkState;
-        String crChkZip5;
-        String crChkZip4;
-
-        String crRemIdType;
-        String crRemNationalId;
-        String crRemIdNbr;
-        String crRemTaxIdNbr;
-
-        String crRemAddressee;
-        String crRemAddress1;
-        String crRemAddress2;
-        String crRemCity;
-        String crRemState;
-        String crRemZip5;
-        String crRemZip4;
-
-        String crUserId;
-        String crCorp;
-
-        // Activity fields
-        String actActivity;
-        LocalDate actActivityDate;
-        BigDecimal actActivityAmt;
-        LocalDateTime actTimestamp;
-        String actXrefType;
-        String actXrefNbr;
-        LocalDate actXrefDate;
-        String actReportDate;
-        String actUserId;
-        String actProcessedInd;
-        String actDailyInd;
-
-        // OCCS hold fields
-        String occsFileIndicator;
-        String occsCheckStatus;
-        LocalDate occsDbRptDate;
-        LocalDate occsCalcRptDate;
-    }
+    // COBOL WORKING-STORAGE; only ws.checkpoint() goes into the ExecutionContext
+    private P09352WorkingStorage ws;
 
     @Override
     public void beforeStep(StepExecution stepExecution) {
@@ -271,7 +163,12 @@ public class P09352Processor implements ItemProcessor<P09352ControlCardInput, P0
         outGlRecords.clear();
         outOccsRecords.clear();
 
-        ec.putInt("checksIssued", 0);
+        ws = new P09352WorkingStorage();
+        ec.put(P09352Checkpoint.KEY, ws.checkpoint());
+
+        bulkIndex = "Y".equalsIgnoreCase(nvl(bulkMode).trim()) ? new P09352RefundTypeIndex() : null;
+        writeBehind = new P09352WriteBehind(jdbcTemplate, entityManager, p09SummaryRepository);
+        log.info("P09352 bulkMode={}", bulkIndex != null ? "Y" : "N");
     }
 
     
@@ -321,24 +218,20 @@ public class P09352Processor implements ItemProcessor<P09352ControlCardInput, P0
         wsDb2CurrCentury = (wsDb2CurrYear.compareTo("80") > 0) ? "19" : "20";
 
         // Stable run date/time for report headings
-        ec.putString("WS_RUN_DATE_MMDDYY", nowDate.format(DateTimeFormatter.ofPattern("MM/dd/yy")));
-        ec.putString("WS_RUN_TIME_HHMMSS", nowTime.format(DateTimeFormatter.ofPattern("HH:mm:ss")));
+        ws.runDateMmddyy = nowDate.format(DateTimeFormatter.ofPattern("MM/dd/yy"));
+        ws.runTimeHhmmss = nowTime.format(DateTimeFormatter.ofPattern("HH:mm:ss"));
 
-        // Batch id components
-        ec.putString("WS_AP_BATCH_MM", wsCurrentMM);
-        ec.putString("WS_AP_BATCH_DD", wsCurrentDD);
-        ec.putString("WS_AP_BATCH_ID", wsCurrentMM + wsCurrentDD + "Z");
+        // Batch id
+        ws.apBatchId = wsCurrentMM + wsCurrentDD + "Z";
 
-        // Report header constants
+        // Report header reads working storage
         reportWriter.openIfNeeded(stepExecution);
-        ec.putString("REPORT_NUMBER", "P09352-A");
-        ec.putString("REPORT_COMPANY_NAME", "ARKANSAS BLUE CROSS AND BLUE SHIELD");
-        ec.putString("REPORT_TITLE_LINE2", "FULL AND PARTIAL A/P CHECK REQUESTS");
+        reportWriter.bindWorkingStorage(ws);
 
         // READ CORP-CARD
         P09352CorpCardInput corp = readOne(corpCardReader, "CORP-CARD");
         String corpCodeFromCard = (corp != null ? nvl(corp.getCorpCode()).trim() : "");
-        ec.putString("WS_CORP_CODE", corpCodeFromCard);
+        ws.corpCode = corpCodeFromCard;
 
         // DB2 option lookup (record type 10)
         short wsRecordType = 10;
@@ -346,7 +239,7 @@ public class P09352Processor implements ItemProcessor<P09352ControlCardInput, P0
 
         List<P09Option> opts;
         try {
-            opts = optionRepository.findOptions(wsRecordType, wsLikeValue);
+            opts = optionCache.findLike(wsRecordType, wsLikeValue);
         } catch (Exception ex) {
             dbAbendLikeCobol("DB-OBTAIN", ex);
             throw cancel("DB error reading P09_OPTION (findOptions)");
@@ -358,7 +251,7 @@ public class P09352Processor implements ItemProcessor<P09352ControlCardInput, P0
             throw cancel("ERROR IN READING DCLV-P09-OPTION (no row found)");
         }
 
-        wsCorp = nvl(opts.get(0).getOptFieldNarr()).trim();
+        String wsCorp = nvl(opts.get(0).getOptFieldNarr()).trim();
         // COBOL report prints corporation name without repeating the code prefix.
         // Option table often stores like "02 - ARKANSAS ..."; strip leading "<code> - " if present.
         String wsCorpCode = corpCodeFromCard;
@@ -366,14 +259,10 @@ public class P09352Processor implements ItemProcessor<P09352ControlCardInput, P0
         if (wsCorp.startsWith(corpPrefix)) {
             wsCorp = wsCorp.substring(corpPrefix.length()).trim();
         }
-        ec.putString("WS_CORP", wsCorp);
+        ws.corp = wsCorp;
 
-        // DB2 current date parts + convenience LocalDate
-        ec.putString("WS_DB2_CURR_CENTURY", wsDb2CurrCentury);
-        ec.putString("WS_DB2_CURR_YEAR", wsDb2CurrYear);
-        ec.putString("WS_DB2_CURR_MONTH", wsDb2CurrMonth);
-        ec.putString("WS_DB2_CURR_DAY", wsDb2CurrDay);
-        ec.put("WS_DB2_CURRENT_DATE", nowDate);
+        // DB2 current date
+        ws.db2CurrentDate = nowDate;
 
         // READ CHKP-CARD
         P09352CheckpointCardInput chkp = readOne(checkpointReader, "CHKP-CARD");
@@ -381,8 +270,7 @@ public class P09352Processor implements ItemProcessor<P09352ControlCardInput, P0
             cobolDisplayCheckpointInvalid(chkp);
             throw cancel("CHECKPOINT CONTROL CARD IS INVALID FOR PROGRAM P09352");
         }
-        wsChkpCardCnt = Integer.parseInt(chkp.getCount().trim());
-        ec.putInt("WS_CHKP_CARD_CNT", wsChkpCardCnt);
+        ws.chkpCardCnt = Integer.parseInt(chkp.getCount().trim());
 
         // READ INPUT-VOUCHER-NBR
         P09352InputVoucher voucher = readOne(inputVoucherReader, "INPUT-VOUCHER-NBR");
@@ -391,54 +279,27 @@ public class P09352Processor implements ItemProcessor<P09352ControlCardInput, P0
             throw cancel("VOUCHER-NBR CONTROL CARD IS INVALID FOR PROGRAM P09352 (missing)");
         }
 
-        wsLastVoucherNbrPrefix = nvl(voucher.getInputLastVoucherNbrPrefix()).trim();
-        wsLastVoucherNbrSuffix = voucher.getInputLastVoucherNbrSuffix();
+        ws.lastVoucherNbrPrefix = nvl(voucher.getInputLastVoucherNbrPrefix()).trim();
+        ws.lastVoucherNbrSuffix = voucher.getInputLastVoucherNbrSuffix();
 
-        if (wsLastVoucherNbrSuffix < 0) {
-            cobolDisplayVoucherInvalid(String.valueOf(wsLastVoucherNbrSuffix));
+        if (ws.lastVoucherNbrSuffix < 0) {
+            cobolDisplayVoucherInvalid(String.valueOf(ws.lastVoucherNbrSuffix));
             throw cancel("LAST VOUCHER NUMBER SUFFIX IS NON-NUMERIC/INVALID");
         }
 
-        ec.putString("WS_LAST_VOUCHER_NBR_PREFIX", wsLastVoucherNbrPrefix);
-        ec.putInt("WS_LAST_VOUCHER_NBR_SUFFIX", wsLastVoucherNbrSuffix);
-
         // ============================================================
-        // 110000-INIT-ISSUED-CHK-TBL  (real 700-entry table)
+        // 110000-INIT-ISSUED-CHK-TBL  (real 700-entry table, blank = null)
         // ============================================================
-        @SuppressWarnings("unchecked")
-        List<IssuedChkRow> issuedChkRows = (List<IssuedChkRow>) ec.get(KEY_ISSUED_CHK_TABLE);
-
-        if (issuedChkRows == null) {
-            issuedChkRows = new ArrayList<>(700);
-            ec.put(KEY_ISSUED_CHK_TABLE, issuedChkRows);
-        } else {
-            issuedChkRows.clear();
-        }
-
-        // COBOL table is 700 entries; blank is represented as null (or empty row)
-        for (int i = 0; i < 700; i++) {
-            issuedChkRows.add(null);
-        }
-
-        // Pointer starts at 1 for "next store"
-        tTblPntr = 1;
-        ec.putInt("T_TBL_PNTR", tTblPntr);
-
-        // Last real row stored
-        ec.putInt("T_TBL_PNTR_MAX", 0);
-
-        // COBOL ends init loop with ptr past end (701)
-        ec.putInt("T_TBL_PNTR_AFTER_INIT", 701);
+        ws.initIssuedChkTable();
 
         // Reset per-run counters/flags
-        ec.putInt("WS_REFUND_TYPES_PROCESSED", 0);
-        ec.put("P09352_ALREADY_RAN", Boolean.FALSE);
+        ws.refundTypesProcessed = 0;
+        ws.alreadyRan = false;
 
-        ec.put("TP_GOBACK_FLG", tpGoBackFlg);
-        ec.put("RESET_POSITION_FLG", resetPositionFlg);
+        ec.put(P09352Checkpoint.KEY, ws.checkpoint());
 
         log.info("100000-INITIALIZATION complete. WS_CORP_CODE={}, WS_CORP={}, CHKP_CNT={}, LAST_VOUCHER={}{}",
-                corpCodeFromCard, wsCorp, wsChkpCardCnt, wsLastVoucherNbrPrefix, wsLastVoucherNbrSuffix);
+                corpCodeFromCard, ws.corp, ws.chkpCardCnt, ws.lastVoucherNbrPrefix, ws.lastVoucherNbrSuffix);
     }
 
     // ============================================================
@@ -449,23 +310,19 @@ public class P09352Processor implements ItemProcessor<P09352ControlCardInput, P0
 
         if (cc == null) return null;
 
-        final ExecutionContext ec = stepExecution.getExecutionContext();
-
         // =========================================================
         // ✅ Run 100000-INITIALIZATION ONCE (AFTER readers are OPEN)
         // =========================================================
-        Boolean initDone = (Boolean) ec.get("P09352_INIT_DONE");
-        if (!Boolean.TRUE.equals(initDone)) {
+        if (!ws.initDone) {
             perform100000Initialization();          // reads CORP/CHKP/VOUCHER safely here
-            ec.put("P09352_INIT_DONE", Boolean.TRUE);
+            ws.initDone = true;
         }
 
         // =========================================================
         // Run once per StepExecution (your existing guard)
         // =========================================================
-        Boolean alreadyRan = (Boolean) ec.get("P09352_ALREADY_RAN");
-        if (Boolean.TRUE.equals(alreadyRan)) return null;
-        ec.put("P09352_ALREADY_RAN", Boolean.TRUE);
+        if (ws.alreadyRan) return null;
+        ws.alreadyRan = true;
 
         // CONTROL CARD DATE LOGIC (your 210000 compare date pieces)
         wsDb2Month = nvl(cc.getCompareMm()).trim();
@@ -482,99 +339,82 @@ public class P09352Processor implements ItemProcessor<P09352ControlCardInput, P0
         wsCurrentMM = pad2(wsDb2Month);
         wsCurrentDD = pad2(wsDb2Day);
         wsCurrentYY = wsDb2Year;
-        ec.putString("WS_RUN_DATE_MMDDYY", wsCurrentMM + "/" + wsCurrentDD + "/" + wsCurrentYY);
-        ec.putString("WS_AP_BATCH_ID", wsCurrentMM + wsCurrentDD + "Z");
-ec.putString("WS_DB2_CONTROL_CARD_DATE", wsDb2ControlCardDate);
-        ec.putString("WS_DB2_COMPARE_MM", wsDb2Month);
-        ec.putString("WS_DB2_COMPARE_DD", wsDb2Day);
-        ec.putString("WS_DB2_COMPARE_YY", wsDb2Year);
-        ec.putString("WS_DB2_COMPARE_CENTURY", wsDb2Century);
+        ws.runDateMmddyy = wsCurrentMM + "/" + wsCurrentDD + "/" + wsCurrentYY;
+        ws.apBatchId = wsCurrentMM + wsCurrentDD + "Z";
+        ws.db2ControlCardDate = wsDb2ControlCardDate;
 
         // Run COBOL logic (all refund types)
-        perform200000ProcessRefundType(ec);
+        perform200000ProcessRefundType(ws);
+
+        // Only the checkpoint snapshot is persisted with the step
+        stepExecution.getExecutionContext().put(P09352Checkpoint.KEY, ws.checkpoint());
 
         // Return wrapper (your existing logic)
-        @SuppressWarnings("unchecked")
-        List<P09352ApInterfaceOutput> apAll = outApRecords;
-        @SuppressWarnings("unchecked")
-        List<P09352XP09DedsOutput> glAll = outGlRecords;
-        @SuppressWarnings("unchecked")
-        List<P09352XP07DedsOutput> occsAll = outOccsRecords;
         P09352OutputWrapper out = new P09352OutputWrapper();
-        out.setApRecords(apAll == null ? List.of() : new ArrayList<>(apAll));
-        out.setGlRecords(glAll == null ? List.of() : new ArrayList<>(glAll));
-        out.setOccsRecords(occsAll == null ? List.of() : new ArrayList<>(occsAll));
+        out.setApRecords(new ArrayList<>(outApRecords));
+        out.setGlRecords(new ArrayList<>(outGlRecords));
+        out.setOccsRecords(new ArrayList<>(outOccsRecords));
 
-        if (apAll != null) apAll.clear();
-        if (glAll != null) glAll.clear();
-        if (occsAll != null) occsAll.clear();
+        outApRecords.clear();
+        outGlRecords.clear();
+        outOccsRecords.clear();
 
         return out;
     }
 
- private void perform200000ProcessRefundType(ExecutionContext ec) {
+ private void perform200000ProcessRefundType(P09352WorkingStorage ws) {
 
-	    ec.putInt("T_TBL_PNTR", 1);
-	    ec.putString("WS_REFUND_TYPE", "SPO");
+	    ws.tTblPntr = 1;
+	    ws.refundType = "SPO";
 
-	    boolean finalRpt = perform210000GetCntrlRcd(ec);
+	    boolean finalRpt = perform210000GetCntrlRcd(ws);
 	    if (!finalRpt) return;
 
 	    // After 210000/220000/410000/480000 ran, MAX must be set
-	    int max = ec.containsKey("T_TBL_PNTR_MAX") ? ec.getInt("T_TBL_PNTR_MAX") : 0;
-
-	    ec.putInt("T_TBL_PNTR", 1);
+	    int max = ws.tTblPntrMax;
 
-	    while (true) {
-	        int ptr = ec.getInt("T_TBL_PNTR");
-	        if (ptr > max) break;
-
-	        perform500000UpdtCashRecActOccs(ec);
-	        ec.putInt("T_TBL_PNTR", ptr + 1);
+	    for (ws.tTblPntr = 1; ws.tTblPntr <= max; ws.tTblPntr++) {
+	        perform500000UpdtCashRecActOccs(ws);
 	    }
+	    // same transaction as the paragraphs above, so the commit point is unchanged
+	    writeBehind.flush();
 	}
 
     // ================================================================
     // 210000-GET-CNTRL-RCD (control cursor, drives cash receipt loop)
     // ================================================================
-    private boolean perform210000GetCntrlRcd(ExecutionContext ec) {
-        final String refundType = nvl(ec.getString("WS_REFUND_TYPE"));
+    private boolean perform210000GetCntrlRcd(P09352WorkingStorage ws) {
+        final String refundType = nvl(ws.refundType);
 
         try {
             final List<IP09ControlRepository.P09ControlProjection> rows =
                     p09ControlRepository.fetchControlRows(refundType);
 
             if (rows == null || rows.isEmpty()) {
-                ec.put("FINAL_RPT", Boolean.FALSE);
+                ws.finalRpt = false;
                 return false;
             }
 
-            int refundTypesProcessed = ec.containsKey("WS_REFUND_TYPES_PROCESSED")
-                    ? ec.getInt("WS_REFUND_TYPES_PROCESSED") : 0;
-            final int chkpCardCnt = ec.containsKey("WS_CHKP_CARD_CNT")
-                    ? ec.getInt("WS_CHKP_CARD_CNT") : Integer.MAX_VALUE;
-
             for (IP09ControlRepository.P09ControlProjection row : rows) {
                 if (row == null) continue;
                 log.info("210000: refundType={} controlRows={}", refundType, (rows==null?0:rows.size()));
-                ec.putString("WS_CR_REFUND_TYPE", nvl(row.getCntrlRefundType()));
-                ec.putString("WS_CR_REFUND_NARR", nvl(row.getCntrlRefundNarr()));
+                ws.crRefundType = nvl(row.getCntrlRefundType());
+                ws.crRefundNarr = nvl(row.getCntrlRefundNarr());
 
-                perform215000CalcCrrsRptDate(ec, row.getCntrlRefundType(), row.getCntrlToDate());
+                perform215000CalcCrrsRptDate(ws, row.getCntrlRefundType(), row.getCntrlToDate());
 
                 // 400000 heading routine: delegate to writer
-                reportWriter.headingRoutineCobolStyle(ec);
+                reportWriter.headingRoutineCobolStyle(ws);
 
                 // 220000 cash receipt loop for this refund type
-                perform220000CashRecReadloop(ec, row.getCntrlRefundType());
-                perform900000DetermineIfNoData(ec);
-                perform470000ZeroOutAccumulators(ec);
-                refundTypesProcessed++;
-                ec.putInt("WS_REFUND_TYPES_PROCESSED", refundTypesProcessed);
-                if (refundTypesProcessed >= chkpCardCnt) break;
+                perform220000CashRecReadloop(ws, row.getCntrlRefundType());
+                perform900000DetermineIfNoData(ws);
+                perform470000ZeroOutAccumulators(ws);
+                ws.refundTypesProcessed++;
+                if (ws.refundTypesProcessed >= ws.chkpCardCnt) break;
             }
 
-            ec.put("FINAL_RPT", Boolean.TRUE);
+            ws.finalRpt = true;
             return true;
 
         } catch (Exception ex) {
@@ -586,46 +426,26 @@ ec.putString("WS_DB2_CONTROL_CARD_DATE", wsDb2ControlCardDate);
  // ============================================================
  // 900000 - DETERMINE-IF-NO-DATA  (COBOL PG274100)
  // ============================================================
- private void perform900000DetermineIfNoData(ExecutionContext ec) {
+ private void perform900000DetermineIfNoData(P09352WorkingStorage ws) {
      // COBOL uses CNTRL-REFUND-TYPE (the control row’s refund type)
-     String rt = ecStr(ec,"WS_CR_REFUND_TYPE"); // e.g. PER/RET/UND/OTH/OFF/SPO
+     String rt = nvl(ws.crRefundType); // e.g. PER/RET/UND/OTH/OFF/SPO
 
-     int rqstdCnt;
-
-     if ("PER".equals(rt)) {
-         rqstdCnt = ec.containsKey("WS_GR_TOT_PER_CHK_RQSTD_CNT") ? ec.getInt("WS_GR_TOT_PER_CHK_RQSTD_CNT") : 0;
-         if (rqstdCnt == 0) performDeNoDataFound(ec);
-
-     } else if ("RET".equals(rt)) {
-         rqstdCnt = ec.containsKey("WS_GR_TOT_RET_CHK_RQSTD_CNT") ? ec.getInt("WS_GR_TOT_RET_CHK_RQSTD_CNT") : 0;
-         if (rqstdCnt == 0) performDeNoDataFound(ec);
-
-     } else if ("UND".equals(rt)) {
-         rqstdCnt = ec.containsKey("WS_GR_TOT_UND_CHK_RQSTD_CNT") ? ec.getInt("WS_GR_TOT_UND_CHK_RQSTD_CNT") : 0;
-         if (rqstdCnt == 0) performDeNoDataFound(ec);
-
-     } else if ("OTH".equals(rt)) {
-         rqstdCnt = ec.containsKey("WS_GR_TOT_OTH_CHK_RQSTD_CNT") ? ec.getInt("WS_GR_TOT_OTH_CHK_RQSTD_CNT") : 0;
-         if (rqstdCnt == 0) performDeNoDataFound(ec);
-
-     } else if ("OFF".equals(rt)) {
-         rqstdCnt = ec.containsKey("WS_GR_TOT_OFF_CHK_RQSTD_CNT") ? ec.getInt("WS_GR_TOT_OFF_CHK_RQSTD_CNT") : 0;
-         if (rqstdCnt == 0) performDeNoDataFound(ec);
-
-     } else if ("SPO".equals(rt)) {
-         rqstdCnt = ec.containsKey("WS_GR_TOT_SPO_CHK_RQSTD_CNT") ? ec.getInt("WS_GR_TOT_SPO_CHK_RQSTD_CNT") : 0;
-         if (rqstdCnt == 0) performDeNoDataFound(ec);
+     switch (rt) {
+         case "PER", "RET", "UND", "OTH", "OFF", "SPO" -> {
+             if (ws.grTotCnt(rt, Bucket.RQSTD) == 0) performDeNoDataFound(ws);
+         }
+         default -> { }
      }
  }
  
      //COBOL: PERFORM DE-NO-DATA-FOUND THRU ...-EXIT
-    private void performDeNoDataFound(ExecutionContext ec) {
-         reportWriter.writeNoDataFoundLine(ec);
+    private void performDeNoDataFound(P09352WorkingStorage ws) {
+         reportWriter.writeNoDataFoundLine(ws);
     }
     // ============================================================
     // 215000 - CALC-CRRS-RPT-DATE
     // ============================================================
-    private void perform215000CalcCrrsRptDate(ExecutionContext ec, String cntrlRefundType, LocalDate cntrlToDate) {
+    private void perform215000CalcCrrsRptDate(P09352WorkingStorage ws, String cntrlRefundType, LocalDate cntrlToDate) {
         if (cntrlToDate == null) return;
 
         int mm = cntrlToDate.getMonthValue();
@@ -633,87 +453,59 @@ ec.putString("WS_DB2_CONTROL_CARD_DATE", wsDb2ControlCardDate);
         int cc = year / 100;
         int yy = year % 100;
 
-        int mmYY = (mm * 100) + yy;     // COBOL: WS-*-RPT-DATE-MMYY
-        int yyMM = (yy * 100) + mm;     // COBOL: WS-*-RPT-DATE-YYMM
+        RptDate d = ws.rptDateSlot(cntrlRefundType);
+        if (d == null) return;
 
-        String rt = nvl(cntrlRefundType).trim();
-
-        if ("PER".equals(rt) || "OTH".equals(rt)) {
-            ec.putInt(KEY_WS_PER_RPT_DATE_MMYY, mmYY);
-            ec.putInt("WS_PER_RPT_DATE_YYMM", yyMM);
-            ec.putInt("WS_PER_RPT_CC", cc); // COBOL stores CC as part of YYMM structure; we keep it as separate key
-            return;
-        }
-
-        if ("RET".equals(rt)) {
-            ec.put(KEY_WS_RET_CONTROL_TO_DATE, cntrlToDate);
-            ec.putInt(KEY_WS_RET_RPT_DATE_MMYY, mmYY);
-            ec.putInt(KEY_WS_RET_RPT_DATE_YYMM, yyMM);
-            ec.putInt("WS_RET_RPT_CC", cc);
-            return;
-        }
-
-        if ("UND".equals(rt)) {
-            ec.put(KEY_WS_UND_CONTROL_TO_DATE, cntrlToDate);
-            ec.putInt(KEY_WS_UND_RPT_DATE_MMYY, mmYY);
-            ec.putInt(KEY_WS_UND_RPT_DATE_YYMM, yyMM);
-            ec.putInt("WS_UND_RPT_CC", cc);
-            return;
-        }
-
-        if ("OFF".equals(rt)) {
-            ec.put("WS_OFF_CONTROL_TO_DATE", cntrlToDate); // make a KEY constant if you want consistency
-            ec.putInt(KEY_WS_OFF_RPT_DATE_MMYY, mmYY);
-            ec.putInt("WS_OFF_RPT_DATE_YYMM", yyMM);
-            ec.putInt("WS_OFF_RPT_CC", cc);
-            return;
-        }
+        d.mmyy = (mm * 100) + yy;     // COBOL: WS-*-RPT-DATE-MMYY
+        d.yymm = (yy * 100) + mm;     // COBOL: WS-*-RPT-DATE-YYMM
+        d.cc = cc;                    // COBOL stores CC as part of YYMM structure
+        d.set = true;
 
-        if ("SPO".equals(rt)) {
-            ec.put(KEY_WS_SPO_CONTROL_TO_DATE, cntrlToDate);
-            ec.putInt(KEY_WS_SPO_RPT_DATE_MMYY, mmYY);
-            ec.putInt(KEY_WS_SPO_RPT_DATE_YYMM, yyMM);
-            ec.putInt("WS_SPO_RPT_CC", cc);
+        // PER / OTH have no control-to date in working storage
+        String rt = nvl(cntrlRefundType).trim();
+        if (!"PER".equals(rt) && !"OTH".equals(rt)) {
+            d.controlToDate = cntrlToDate;
         }
     }
 
  // ============================================================
  // 220000 - CASH-REC-READLOOP
  // ============================================================
- private void perform220000CashRecReadloop(ExecutionContext ec, String refundType) {
+ private void perform220000CashRecReadloop(P09352WorkingStorage ws, String refundType) {
 
      // COBOL: WS-DB2-CONTROL-CARD-DATE comes from CONTROL-CARD compare date
-     LocalDate controlCardDate = parseControlCardDate(ec.getString("WS_DB2_CONTROL_CARD_DATE"));
+     LocalDate controlCardDate = parseControlCardDate(ws.db2ControlCardDate);
 
      // COBOL: CARD-CORP
-     String corpCode = nvl(ec.getString("WS_CORP_CODE")).trim();
+     String corpCode = nvl(ws.corpCode).trim();
 
-     List<P09CashReceipt> receipts =
-             cashReceiptRepository.findPendingCashReceipts(refundType, controlCardDate, corpCode);
+     List<P09CashReceipt> receipts = (bulkIndex != null)
+             ? bulkLoader.loadRefundType(bulkIndex, refundType, controlCardDate, corpCode)
+             : cashReceiptRepository.findPendingCashReceipts(refundType, controlCardDate, corpCode);
      log.info("220000: refundType={} corpCode={} controlCardDate={} cashReceipts={}",
     	        refundType, corpCode, controlCardDate, (receipts==null?0:receipts.size()));
      // COBOL prints heading before details (your writer does that)
      reportWriter.startRefundTypeSection(
              refundType,
-             nvl(ec.getString("WS_CR_REFUND_NARR")),
+             nvl(ws.crRefundNarr),
              mapCategory(refundType)
      );
 
      for (P09CashReceipt cr : receipts) {
 
          // COBOL: MOVE SPACES / MOVE +0
-         ec.putString("WS_HOLD_AP_1099_CD", "");
-         ec.putString("WS_HOLD_OCCS_FILE_IND", "");
-         ec.putString("WS_HOLD_OCCS_CHECK_STATUS", "");
-         ec.put("WS_HOLD_OCCS_DB_RPT_DATE", null);
-         ec.put("WS_HOLD_OCCS_CALC_RPT_DATE", null);
-         ec.putInt("WS_ACT_RCDS_RTRVD", 0);
+         ws.holdAp1099Cd = "";
+         ws.holdOccsFileInd = "";
+         ws.holdOccsCheckStatus = "";
+         ws.holdOccsDbRptDate = null;
+         ws.holdOccsCalcRptDate = null;
+         ws.actRcdsRtrvd = 0;
 
-         ec.put(KEY_CURRENT_CASH_RECEIPT_ID, cr.getCrId());
+         ws.currentCashReceipt = cr;
 
          // COBOL paragraphs
-         perform230000RtrvActivity(ec);
-         perform410000PrintDetailInfo(ec);
+         perform230000RtrvActivity(ws);
+         perform410000PrintDetailInfo(ws);
      }
 
      reportWriter.endRefundTypeSection();
@@ -737,117 +529,100 @@ ec.putString("WS_DB2_CONTROL_CARD_DATE", wsDb2ControlCardDate);
  // ============================================================
  // 230000 - RTRV-ACTIVITY  (COBOL PX03)
  // ============================================================
-    private void perform230000RtrvActivity(ExecutionContext ec) {
+    private void perform230000RtrvActivity(P09352WorkingStorage ws) {
 
-        ec.putInt("WS_ACT_RCDS_RTRVD", 0);
-        ec.put(KEY_CURRENT_ACTIVITIES, List.of());
-        ec.put(KEY_CURRENT_ACTIVITY, null);
-        ec.put(KEY_CURRENT_ACTIVITY_ID, null);
-        ec.put("WS_ACTIVITY_IDS", List.of()); // ✅ NEW
+        ws.actRcdsRtrvd = 0;
+        ws.currentActivity = null;
 
-        P09CashReceipt cr = currentCashReceipt(ec);
+        P09CashReceipt cr = ws.currentCashReceipt;
         if (cr == null) return;
 
-        String refundType = cr.getCrId().getCrRefundType();
-        LocalDate cntrlDate = cr.getCrId().getCrCntrlDate();
-        String cntrlNbr = cr.getCrId().getCrCntrlNbr();
+        List<P09Activity> acts = findPendingActivities(cr);
 
-        List<P09Activity> acts = activityRepository.fetchPendingActivities(refundType, cntrlDate, cntrlNbr);
+        ws.actRcdsRtrvd = (acts == null) ? 0 : acts.size();
 
-        int cnt = (acts == null) ? 0 : acts.size();
-        ec.putInt("WS_ACT_RCDS_RTRVD", cnt);
-
-        // ✅ store IDs so we can pick the one we actually used
-        List<ActivityPK> ids = new ArrayList<>();
+        // COBOL logic later assumes "current activity" exists when count==1
         if (acts != null) {
             for (P09Activity a : acts) {
-                if (a != null && a.getAId() != null) ids.add(a.getAId());
+                if (a != null && a.getAId() != null) {
+                    ws.currentActivity = a;
+                    break;
+                }
             }
         }
-        ec.put("WS_ACTIVITY_IDS", ids);
-
-        // COBOL logic later assumes "current activity" exists when count==1
-        ec.put(KEY_CURRENT_ACTIVITY_ID, ids.isEmpty() ? null : ids.get(0));
     }
 
    //============================================================
    //410000 - PRINT-DETAIL-INFO
    //============================================================
-    private void perform410000PrintDetailInfo(ExecutionContext ec) {
-
-        CashReceiptPK crId = (CashReceiptPK) ec.get(KEY_CURRENT_CASH_RECEIPT_ID);
-        P09CashReceipt cr = (crId == null) ? null : cashReceiptRepository.findById(crId).orElse(null);
-
-        ActivityPK actId = (ActivityPK) ec.get(KEY_CURRENT_ACTIVITY_ID);
-        P09Activity act = (actId == null) ? null : activityRepository.findById(actId).orElse(null);
+    private void perform410000PrintDetailInfo(P09352WorkingStorage ws) {
 
-        // NOTE: Do NOT store JPA entities in ExecutionContext (must be Serializable).
-        // We rely on the *_ID keys and re-fetch entities when needed.
+        P09CashReceipt cr = ws.currentCashReceipt;
+        P09Activity act = ws.currentActivity;
 
-        ec.putString("WS_ERROR_MSG", "");
+        ws.errorMsg = "";
 
         if (cr == null) return;
 
         LocalDate cntrlDate = cr.getCrId().getCrCntrlDate();
-        String formattedCntrlDate =
+        ws.formattedCntrlDate =
                 (cntrlDate == null) ? "" : cntrlDate.format(DateTimeFormatter.ofPattern("MM/dd/yy"));
-        ec.putString("WS_FORMATTED_CNTRL_DATE", formattedCntrlDate);
 
-        perform420000DeterminePayeeInfo(ec);
+        perform420000DeterminePayeeInfo(ws);
 
-        ec.putString("WS_FR_PR", "FRR".equals(cr.getCrPendFinAct()) ? "FR" : "PR");
-        ec.putString("WS_ORIG_TYPE", safeStr(cr.getCrReceiptType()));
-        ec.putString("WS_USER_ID", (act != null) ? safeStr(act.getActUserId()) : "");
+        ws.frPr = "FRR".equals(cr.getCrPendFinAct()) ? "FR" : "PR";
+        ws.origType = safeStr(cr.getCrReceiptType());
+        ws.userId = (act != null) ? safeStr(act.getActUserId()) : "";
 
-        perform430000CheckForErrors(ec);
-        writeDetailLine(ec);
+        perform430000CheckForErrors(ws);
+        writeDetailLine(ws);
 
-        perform470000ZeroOutAccumulators(ec);
-        perform440000CalcRqstdCntsAmts(ec);
+        perform470000ZeroOutAccumulators(ws);
+        perform440000CalcRqstdCntsAmts(ws);
 
-        String err = ecStr(ec, "WS_ERROR_MSG");
+        String err = ws.errorMsg;
         if (err != null && !err.isBlank()) {
-            perform450000CalcErrorCntsAmts(ec);
+            perform450000CalcErrorCntsAmts(ws);
         } else {
-            perform460000CalcIssueCntsAmts(ec);
+            perform460000CalcIssueCntsAmts(ws);
             log.info("410000: refundType={} cntrlNbr={} errorMsg='{}' actCnt={} checkAmt={} -> {}",
                     cr.getCrId().getCrRefundType(),
                     cr.getCrId().getCrCntrlNbr(),
-                    ecStr(ec,"WS_ERROR_MSG"),
-                    ec.containsKey("WS_ACT_RCDS_RTRVD") ? ec.getInt("WS_ACT_RCDS_RTRVD") : -1,
-                    ec.get("WS_CHECK_AMT"),
-                    (ecStr(ec,"WS_ERROR_MSG").isBlank() ? "WILL_480000" : "SKIP_480000")
+                    nvl(ws.errorMsg),
+                    ws.actRcdsRtrvd,
+                    ws.checkAmt,
+                    (nvl(ws.errorMsg).isBlank() ? "WILL_480000" : "SKIP_480000")
             );
-            perform480000BldIssuedChkRcd(ec);
+            perform480000BldIssuedChkRcd(ws);
         }
     }
 
-    private void writeDetailLine(ExecutionContext ec) {
-    	P09CashReceipt cr = currentCashReceipt(ec);
+    private void writeDetailLine(P09352WorkingStorage ws) {
+    	P09CashReceipt cr = ws.currentCashReceipt;
         if (cr == null) return;
 
-        BigDecimal checkAmt = ec.containsKey("WS_CHECK_AMT") ? (BigDecimal) ec.get("WS_CHECK_AMT"): BigDecimal.ZERO;
+        BigDecimal checkAmt = nvlBd(ws.checkAmt);
 
         reportWriter.writeDetailFromFields(
-                ec.getString("WS_FORMATTED_CNTRL_DATE"),
+                ws.formattedCntrlDate,
                 safeStr(cr.getCrId().getCrCntrlNbr()),
                 checkAmt,
-                ec.getString("WS_PAYEE_NAME"),
-                ec.getString("WS_PAYEE_TYPE"),
-                ec.getString("WS_PAYEE_ID_NBR"),
-                ec.getString("WS_PAYEE_TIN"),
-                ec.getString("WS_FR_PR"),
-                ec.getString("WS_ORIG_TYPE"),
+                ws.payeeName,
+                ws.payeeType,
+                ws.payeeIdNbr,
+                ws.payeeTin,
+                ws.frPr,
+                ws.origType,
                 safeStr(cr.getCrCheckNbr()),
-                ec.getString("WS_USER_ID"),
-                ec.getString("WS_ERROR_MSG")
+                ws.userId,
+                ws.errorMsg
         );
 
         // requested always increments
         reportWriter.addRequested(checkAmt);
 
         // issued/error increments based on error message
-        String err = ec.getString("WS_ERROR_MSG");
+        String err = ws.errorMsg;
         if (err != null && !err.isBlank()) reportWriter.addError(checkAmt);
         else reportWriter.addIssued(checkAmt);
     }
@@ -855,64 +630,63 @@ ec.putString("WS_DB2_CONTROL_CARD_DATE", wsDb2ControlCardDate);
     // ============================================================
     // 420000 - DETERMINE-PAYEE-INFO
     // ============================================================
-    private void perform420000DeterminePayeeInfo(ExecutionContext ec) {
-    	P09CashReceipt cr = currentCashReceipt(ec);
+    private void perform420000DeterminePayeeInfo(P09352WorkingStorage ws) {
+    	P09CashReceipt cr = ws.currentCashReceipt;
         if (cr == null) return;
 
         String remIdType = safeStr(cr.getCrRemIdType());
         if (!remIdType.isBlank()) {
-            ec.putString("WS_PAYEE_TYPE", remIdType);
+            ws.payeeType = remIdType;
 
             String remIdNbr = safeStr(cr.getCrRemIdNbr());
-            if (remIdNbr.isBlank()) ec.putString("WS_PAYEE_ID_NBR", safeStr(cr.getCrRemNationalId()));
-            else ec.putString("WS_PAYEE_ID_NBR", remIdNbr);
+            if (remIdNbr.isBlank()) ws.payeeIdNbr = safeStr(cr.getCrRemNationalId());
+            else ws.payeeIdNbr = remIdNbr;
 
             if ("V".equals(remIdType)) {
-                String v = remIdNbr.isBlank() ? safeStr(cr.getCrRemNationalId()) : remIdNbr;
-                ec.putString("WS_VENDOR_NBR_FROM_REM", v);
+                ws.vendorNbrFromRem = remIdNbr.isBlank() ? safeStr(cr.getCrRemNationalId()) : remIdNbr;
                 // PERFORM 910000-READ-VENDOR (not included here)
             }
         } else {
             String remType = safeStr(cr.getCrRemittorType());
-            ec.putString("WS_PAYEE_TYPE", remType);
+            ws.payeeType = remType;
 
             if ("M".equals(remType)) {
-                ec.putString("WS_PAYEE_ID_NBR", safeStr(cr.getCrMbrIdNbr()));
+                ws.payeeIdNbr = safeStr(cr.getCrMbrIdNbr());
             } else if ("P".equals(remType)) {
                 String provider = safeStr(cr.getCrProviderNbr());
-                if (provider.isBlank()) ec.putString("WS_PAYEE_ID_NBR", safeStr(cr.getNationalIdNbr()));
-                else ec.putString("WS_PAYEE_ID_NBR", provider);
+                if (provider.isBlank()) ws.payeeIdNbr = safeStr(cr.getNationalIdNbr());
+                else ws.payeeIdNbr = provider;
             } else if ("T".equals(remType)) {
-                ec.putString("WS_PAYEE_ID_NBR", safeStr(cr.getCrTaxIdNbr()));
+                ws.payeeIdNbr = safeStr(cr.getCrTaxIdNbr());
             } else if ("V".equals(remType)) {
-                ec.putString("WS_PAYEE_ID_NBR", safeStr(cr.getCrVendorNbr()));
+                ws.payeeIdNbr = safeStr(cr.getCrVendorNbr());
             }
         }
 
         String addressee = safeStr(cr.getCrRemAddressee());
-        if (addressee.isBlank()) ec.putString("WS_PAYEE_NAME", safeStr(cr.getCrRemittorName()));
-        else ec.putString("WS_PAYEE_NAME", addressee);
+        if (addressee.isBlank()) ws.payeeName = safeStr(cr.getCrRemittorName());
+        else ws.payeeName = addressee;
 
         String remTax = safeStr(cr.getCrRemTaxIdNbr());
-        if (remTax.isBlank()) ec.putString("WS_PAYEE_TIN", safeStr(cr.getCrTaxIdNbr()));
-        else ec.putString("WS_PAYEE_TIN", remTax);
+        if (remTax.isBlank()) ws.payeeTin = safeStr(cr.getCrTaxIdNbr());
+        else ws.payeeTin = remTax;
 
         // vendor -> blank TIN
-        if ("V".equals(ec.getString("WS_PAYEE_TYPE"))) {
-            ec.putString("WS_PAYEE_TIN", "");
+        if ("V".equals(ws.payeeType)) {
+            ws.payeeTin = "";
         }
     }
 
     // ============================================================
     // 430000 - CHECK-FOR-ERRORS
     // ============================================================
-    private void perform430000CheckForErrors(ExecutionContext ec) {
-        P09CashReceipt cr = currentCashReceipt(ec);
-        P09Activity act   = currentActivity(ec);
+    private void perform430000CheckForErrors(P09352WorkingStorage ws) {
+        P09CashReceipt cr = ws.currentCashReceipt;
+        P09Activity act   = ws.currentActivity;
         if (cr == null) return;
 
         // COBOL: uses WS-ACT-RCDS-RTRVD
-        int actCnt = ec.containsKey("WS_ACT_RCDS_RTRVD") ? ec.getInt("WS_ACT_RCDS_RTRVD") : 0;
+        int actCnt = ws.actRcdsRtrvd;
 
         // COBOL: ACT-ACTIVITY-AMT, CR-RECEIPT-BAL
         BigDecimal actAmt = (act != null && act.getActActivityAmt() != null)
@@ -923,26 +697,26 @@ ec.putString("WS_DB2_CONTROL_CARD_DATE", wsDb2ControlCardDate);
                 ? cr.getCrReceiptBal()
                 : BigDecimal.ZERO;
         if (actCnt == 0) {
-            ec.put("WS_CHECK_AMT", BigDecimal.ZERO);
-            ec.putString("WS_ERROR_MSG", "NO ACTIVITY RCD EXISTS   "); // PIC X(25)
+            ws.checkAmt = BigDecimal.ZERO;
+            ws.errorMsg = "NO ACTIVITY RCD EXISTS   "; // PIC X(25)
             return;
         } else if (actCnt == 1) {
-            ec.put("WS_CHECK_AMT", actAmt);
+            ws.checkAmt = actAmt;
         } else {
-            ec.put("WS_CHECK_AMT", actAmt);
-            ec.putString("WS_ERROR_MSG", "DUPLICATE ACTIVITY RCDS  "); // PIC X(25)
+            ws.checkAmt = actAmt;
+            ws.errorMsg = "DUPLICATE ACTIVITY RCDS  "; // PIC X(25)
             return;
         }
 
         if (receiptBal.subtract(actAmt).compareTo(BigDecimal.ZERO) < 0) {
-            ec.putString("WS_ERROR_MSG", "CASH RECEIPT BAL LT ZERO "); // PIC X(25)
+            ws.errorMsg = "CASH RECEIPT BAL LT ZERO "; // PIC X(25)
             return;
         }
 
         String rt = safeStr(cr.getCrId().getCrRefundType());
         if (("UND".equals(rt) || "OFF".equals(rt))
                 && receiptBal.subtract(actAmt).compareTo(BigDecimal.ZERO) != 0) {
-            ec.putString("WS_ERROR_MSG", "CASH RECEIPT BAL NOT ZERO"); // PIC X(25)
+            ws.errorMsg = "CASH RECEIPT BAL NOT ZERO"; // PIC X(25)
             return;
         }
 
@@ -953,107 +727,71 @@ ec.putString("WS_DB2_CONTROL_CARD_DATE", wsDb2ControlCardDate);
             boolean zeroes = !spaces && gl.chars().allMatch(ch -> ch == '0');
 
             if (spaces || zeroes) {
-                ec.putString("WS_ERROR_MSG", "MISSING/INVALID GL ACCT# "); // PIC X(25)
+                ws.errorMsg = "MISSING/INVALID GL ACCT# "; // PIC X(25)
                 return;
             }
         }
 
         if ("RET".equals(rt) || "UND".equals(rt) || "SPO".equals(rt)) {
-            perform490000RtrvBankReconRcd(ec);
+            perform490000RtrvBankReconRcd(ws);
         }
     }
 
     // ============================================================
     // 440000 - CALC-RQSTD-CNTS-AMTS
     // ============================================================
-    private void perform440000CalcRqstdCntsAmts(ExecutionContext ec) {
-    	P09CashReceipt cr = currentCashReceipt(ec);
+    private void perform440000CalcRqstdCntsAmts(P09352WorkingStorage ws) {
+    	P09CashReceipt cr = ws.currentCashReceipt;
         if (cr == null) return;
-        BigDecimal checkAmt = ec.containsKey("WS_CHECK_AMT")? (BigDecimal) ec.get("WS_CHECK_AMT") : BigDecimal.ZERO;
-
-        incInt(ec, "WS_TOT_CHK_RQSTD_CNT", 1);
-        addBd(ec, "WS_TOT_CHK_RQSTD_AMT", checkAmt);
-
-        String rt = cr.getCrId().getCrRefundType();
-        addByRefund(ec, rt, "RQSTD", checkAmt);
+        ws.accumulate(Bucket.RQSTD, safeStr(cr.getCrId().getCrRefundType()), nvlBd(ws.checkAmt));
     }
 
     // ============================================================
     // 450000 - CALC-ERROR-CNTS-AMTS
     // ============================================================
-    private void perform450000CalcErrorCntsAmts(ExecutionContext ec) {
-    	P09CashReceipt cr = currentCashReceipt(ec);
+    private void perform450000CalcErrorCntsAmts(P09352WorkingStorage ws) {
+    	P09CashReceipt cr = ws.currentCashReceipt;
         if (cr == null) return;
-        BigDecimal checkAmt = ec.containsKey("WS_CHECK_AMT")? (BigDecimal) ec.get("WS_CHECK_AMT") : BigDecimal.ZERO;
-
-        incInt(ec, "WS_TOT_CHK_ERROR_CNT", 1);
-        addBd(ec, "WS_TOT_CHK_ERROR_AMT", checkAmt);
-
-        String rt = cr.getCrId().getCrRefundType();
-        addByRefund(ec, rt, "ERROR", checkAmt);
+        ws.accumulate(Bucket.ERROR, safeStr(cr.getCrId().getCrRefundType()), nvlBd(ws.checkAmt));
     }
 
     // ============================================================
     // 460000 - CALC-ISSUE-CNTS-AMTS
     // ============================================================
-    private void perform460000CalcIssueCntsAmts(ExecutionContext ec) {
-    	P09CashReceipt cr = currentCashReceipt(ec);
+    private void perform460000CalcIssueCntsAmts(P09352WorkingStorage ws) {
+    	P09CashReceipt cr = ws.currentCashReceipt;
         if (cr == null) return;
-        BigDecimal checkAmt = ec.containsKey("WS_CHECK_AMT")? (BigDecimal) ec.get("WS_CHECK_AMT") : BigDecimal.ZERO;
-
-        incInt(ec, "WS_TOT_CHK_ISSUE_CNT", 1);
-        addBd(ec, "WS_TOT_CHK_ISSUE_AMT", checkAmt);
-
-        String rt = cr.getCrId().getCrRefundType();
-        addByRefund(ec, rt, "ISSUE", checkAmt);
+        ws.accumulate(Bucket.ISSUE, safeStr(cr.getCrId().getCrRefundType()), nvlBd(ws.checkAmt));
     }
 
     // ============================================================
     // 470000 - ZERO-OUT-ACCUMULATORS
     // ============================================================
-    private void perform470000ZeroOutAccumulators(ExecutionContext ec) {
-    	P09CashReceipt cr = currentCashReceipt(ec);
+    private void perform470000ZeroOutAccumulators(P09352WorkingStorage ws) {
+    	P09CashReceipt cr = ws.currentCashReceipt;
         if (cr == null) return;
 
         String cntrlRefundType = cr.getCrId().getCrRefundType();
-        String prev = ecStr(ec,"WS_PREV_REFUND_TYPE");
-        if (Objects.equals(prev, cntrlRefundType)) return;
-
-        ec.putString("WS_PREV_REFUND_TYPE", cntrlRefundType);
-        ec.putInt("WS_TOT_CHK_RQSTD_CNT", 0);
-        ec.put("WS_TOT_CHK_RQSTD_AMT", BigDecimal.ZERO);
-        ec.putInt("WS_TOT_CHK_ERROR_CNT", 0);
-        ec.put("WS_TOT_CHK_ERROR_AMT", BigDecimal.ZERO);
-        ec.putInt("WS_TOT_CHK_ISSUE_CNT", 0);
-        ec.put("WS_TOT_CHK_ISSUE_AMT", BigDecimal.ZERO);
+        if (Objects.equals(ws.prevRefundType, cntrlRefundType)) return;
+
+        ws.prevRefundType = cntrlRefundType;
+        ws.resetTotChk();
     }
 
  // ============================================================
  // 480000 - BLD-ISSUED-CHK-RCD   (COBOL: MOVE row TO TABLE(T-TBL-PNTR))
  // ============================================================
-    private void perform480000BldIssuedChkRcd(ExecutionContext ec) {
+    private void perform480000BldIssuedChkRcd(P09352WorkingStorage ws) {
 
-        P09CashReceipt cr = currentCashReceipt(ec);
-        P09Activity act   = currentActivity(ec);
+        P09CashReceipt cr = ws.currentCashReceipt;
+        P09Activity act   = ws.currentActivity;
         if (cr == null) return;
 
-        int ptr = ec.containsKey("T_TBL_PNTR") ? ec.getInt("T_TBL_PNTR") : 1;
-        if (ptr < 1 || ptr > 700) {
+        int ptr = ws.tTblPntr;
+        if (ptr < 1 || ptr > P09352WorkingStorage.ISSUED_CHK_TABLE_SIZE) {
             throw new IllegalStateException("T_TBL_PNTR out of range in 480000: " + ptr);
         }
 
-        @SuppressWarnings("unchecked")
-        List<IssuedChkRow> issuedChkRows = (List<IssuedChkRow>) ec.get(KEY_ISSUED_CHK_TABLE);
-
-        // Ensure table has 700 slots (nulls are fine)
-        if (issuedChkRows == null) {
-            issuedChkRows = new ArrayList<>(700);
-            for (int i = 0; i < 700; i++) issuedChkRows.add(null);
-            ec.put(KEY_ISSUED_CHK_TABLE, issuedChkRows);
-        } else {
-            while (issuedChkRows.size() < 700) issuedChkRows.add(null);
-        }
-
         IssuedChkRow row = new IssuedChkRow();
 
         row.setSourceActivityId(act == null ? null : act.getAId());
@@ -1094,7 +832,7 @@ ec.putString("WS_DB2_CONTROL_CARD_DATE", wsDb2ControlCardDate);
         row.crTaxIdNbr     = cr.getCrTaxIdNbr();
         row.crVendorNbr    = cr.getCrVendorNbr();
 
-        row.ap1099Cd       = ec.getString("WS_HOLD_AP_1099_CD");
+        row.ap1099Cd       = ws.holdAp1099Cd;
         row.crGlAcctNbr    = cr.getCrGlAcctNbr();
 
         row.crLocationNbr   = cr.getCrLocationNbr();
@@ -1137,80 +875,60 @@ ec.putString("WS_DB2_CONTROL_CARD_DATE", wsDb2ControlCardDate);
             row.actDailyInd      = act.getActDailyInd();
         }
 
-        row.occsFileIndicator = ec.getString("WS_HOLD_OCCS_FILE_IND");
-        row.occsCheckStatus   = ec.getString("WS_HOLD_OCCS_CHECK_STATUS");
-        row.occsDbRptDate     = (LocalDate) ec.get("WS_HOLD_OCCS_DB_RPT_DATE");
-        row.occsCalcRptDate   = (LocalDate) ec.get("WS_HOLD_OCCS_CALC_RPT_DATE");
+        row.occsFileIndicator = ws.holdOccsFileInd;
+        row.occsCheckStatus   = ws.holdOccsCheckStatus;
+        row.occsDbRptDate     = ws.holdOccsDbRptDate;
+        row.occsCalcRptDate   = ws.holdOccsCalcRptDate;
 
         // ✅ Store at ptr
-        issuedChkRows.set(ptr - 1, row);
+        ws.issuedChkTable[ptr - 1] = row;
 
         // ✅ Update MAX so 500000 loop knows how many real rows exist
-        int max = ec.containsKey("T_TBL_PNTR_MAX") ? ec.getInt("T_TBL_PNTR_MAX") : 0;
-        if (ptr > max) ec.putInt("T_TBL_PNTR_MAX", ptr);
+        if (ptr > ws.tTblPntrMax) ws.tTblPntrMax = ptr;
 
         // ✅ Advance pointer like COBOL after MOVE row TO TABLE(ptr)
-        ec.putInt("T_TBL_PNTR", ptr + 1);
-
-        // Keep refund-type table aligned if needed
-        @SuppressWarnings("unchecked")
-        List<String> rtTable = (List<String>) ec.get(KEY_T_CR_REFUND_TYPE_TABLE);
-        if (rtTable == null) {
-            rtTable = new ArrayList<>(700);
-            for (int i = 0; i < 700; i++) rtTable.add("");
-            ec.put(KEY_T_CR_REFUND_TYPE_TABLE, rtTable);
-        } else {
-            while (rtTable.size() < 700) rtTable.add("");
-        }
-        rtTable.set(ptr - 1, row.crRefundType);
+        ws.tTblPntr = ptr + 1;
 
         log.info("480000 stored issued row ptr={} refundType={} cntrlNbr={} (MAX={})",
-                ptr, row.crRefundType, row.crCntrlNbr, ec.getInt("T_TBL_PNTR_MAX"));
+                ptr, row.crRefundType, row.crCntrlNbr, ws.tTblPntrMax);
     }
 
 
     // ============================================================
     // 490000 - RTRV-BANK-RECON-RCD
     // ============================================================
-    private void perform490000RtrvBankReconRcd(ExecutionContext ec) {
-    	P09CashReceipt cr = currentCashReceipt(ec);
+    private void perform490000RtrvBankReconRcd(P09352WorkingStorage ws) {
+    	P09CashReceipt cr = ws.currentCashReceipt;
         if (cr == null) return;
 
-        Optional<BankRecon> brOpt = bankReconRepository.findBankReconRecord(
-                cr.getCrBankAcctNbr(), cr.getCrCheckNbr(), cr.getCrCheckDate());
+        Optional<BankRecon> brOpt = findBankRecon(cr);
 
         if (brOpt.isPresent()) {
             BankRecon br = brOpt.get();
-            ec.putString("WS_HOLD_OCCS_FILE_IND", safeStr(br.getFileIndicator()));
-            ec.putString("WS_HOLD_OCCS_CHECK_STATUS", safeStr(br.getCheckStatusCode()));
-            ec.put("WS_HOLD_OCCS_DB_RPT_DATE", br.getReportDate());
+            ws.holdOccsFileInd = safeStr(br.getFileIndicator());
+            ws.holdOccsCheckStatus = safeStr(br.getCheckStatusCode());
+            ws.holdOccsDbRptDate = br.getReportDate();
 
             // 495000
-            perform495000RtrvCheckCntrl(ec);
+            perform495000RtrvCheckCntrl(ws);
         } else {
-            ec.putString("WS_ERROR_MSG", "NO OCCS RCD");
+            ws.errorMsg = "NO OCCS RCD";
         }
     }
 
     // ============================================================
     // 495000 - RTRV-CHECK-CNTRL
     // ============================================================
-    private void perform495000RtrvCheckCntrl(ExecutionContext ec) {
-    	P09CashReceipt cr = currentCashReceipt(ec);
-        String fileInd = ec.getString("WS_HOLD_OCCS_FILE_IND");
+    private void perform495000RtrvCheckCntrl(P09352WorkingStorage ws) {
+    	P09CashReceipt cr = ws.currentCashReceipt;
+        String fileInd = ws.holdOccsFileInd;
         if (cr == null || fileInd == null) return;
 
-        Optional<CheckControl> ccOpt = checkControlRepository.findOpenCheckControl(fileInd, cr.getCrBankAcctNbr());
+        Optional<CheckControl> ccOpt = findOpenCheckControl(fileInd, cr.getCrBankAcctNbr());
         if (ccOpt.isPresent()) {
-            CheckControl cc = ccOpt.get();
-
-            // DO NOT store entity in EC (not serializable)
-            ec.put(KEY_CURRENT_CHECK_CONTROL_ID, cc.getCcId());
+            ws.currentCheckControl = ccOpt.get();
 
-            // Optional: remove any old value if it was stored earlier
-            ec.remove(KEY_CURRENT_CHECK_CONTROL);
-
-            perform495500CalcOccsRptDate(ec);
+            perform495500CalcOccsRptDate(ws);
         } else {
             throw new IllegalStateException("ERROR IN READING CHECK_CONTROL in 495000-RTRV-CHECK-CNTRL");
         }
@@ -1219,56 +937,38 @@ ec.putString("WS_DB2_CONTROL_CARD_DATE", wsDb2ControlCardDate);
     // ============================================================
     // 495500 - CALC-OCCS-RPT-DATE
     // ============================================================
-    private void perform495500CalcOccsRptDate(ExecutionContext ec) {
-    	P09CashReceipt cr = currentCashReceipt(ec);
-    	CheckControl cc = currentCheckControl(ec);
+    private void perform495500CalcOccsRptDate(P09352WorkingStorage ws) {
+    	P09CashReceipt cr = ws.currentCashReceipt;
+    	CheckControl cc = ws.currentCheckControl;
         if (cr == null || cc == null) return;
 
         LocalDate controlToDate = cc.getControlToDate();
         if (controlToDate == null) return;
 
         String cntrlRefundType = cr.getCrId().getCrRefundType();
+        if (!"RET".equals(cntrlRefundType) && !"UND".equals(cntrlRefundType) && !"SPO".equals(cntrlRefundType)) {
+            return;
+        }
 
         // Compare YYMM based on 215000 results
         int occsYymm = yymmNum(controlToDate);
+        RptDate crrs = ws.rptDate(cntrlRefundType);
 
-        if ("RET".equals(cntrlRefundType)) {
-            int retYymm = ec.containsKey(KEY_WS_RET_RPT_DATE_YYMM) ? ec.getInt(KEY_WS_RET_RPT_DATE_YYMM) : 0;
-            if (occsYymm <= retYymm) {
-                ec.put("WS_HOLD_OCCS_CALC_RPT_DATE", ec.get(KEY_WS_RET_CONTROL_TO_DATE));
-            } else {
-                ec.putString("WS_ERROR_MSG", "OCCS GT CRRS");
-            }
-        } else if ("UND".equals(cntrlRefundType)) {
-            int undYymm = ec.containsKey(KEY_WS_UND_RPT_DATE_YYMM) ? ec.getInt(KEY_WS_UND_RPT_DATE_YYMM) : 0;
-            if (occsYymm <= undYymm) {
-                ec.put("WS_HOLD_OCCS_CALC_RPT_DATE", ec.get(KEY_WS_UND_CONTROL_TO_DATE));
-            } else {
-                ec.putString("WS_ERROR_MSG", "OCCS GT CRRS");
-            }
-        } else if ("SPO".equals(cntrlRefundType)) {
-            int spoYymm = ec.containsKey(KEY_WS_SPO_RPT_DATE_YYMM) ? ec.getInt(KEY_WS_SPO_RPT_DATE_YYMM) : 0;
-            if (occsYymm <= spoYymm) {
-                ec.put("WS_HOLD_OCCS_CALC_RPT_DATE", ec.get(KEY_WS_SPO_CONTROL_TO_DATE));
-            } else {
-                ec.putString("WS_ERROR_MSG", "OCCS GT CRRS");
-            }
+        if (occsYymm <= (crrs == null ? 0 : crrs.yymm)) {
+            ws.holdOccsCalcRptDate = (crrs == null) ? null : crrs.controlToDate;
+        } else {
+            ws.errorMsg = "OCCS GT CRRS";
         }
     }
-
  // ================================================================
  // 500000-UPDT-CASH-REC-ACT-OCCS (COBOL: process TABLE(T-TBL-PNTR))
  // ================================================================
-    private void perform500000UpdtCashRecActOccs(ExecutionContext ec) {
-
-        int ptr = ec.getInt("T_TBL_PNTR");
-        if (ptr < 1 || ptr > 700) return;
+    private void perform500000UpdtCashRecActOccs(P09352WorkingStorage ws) {
 
-        @SuppressWarnings("unchecked")
-        List<IssuedChkRow> issuedChkRows = (List<IssuedChkRow>) ec.get(KEY_ISSUED_CHK_TABLE);
-        if (issuedChkRows == null || ptr > issuedChkRows.size()) return;
+        int ptr = ws.tTblPntr;
+        if (ptr < 1 || ptr > P09352WorkingStorage.ISSUED_CHK_TABLE_SIZE) return;
 
-        IssuedChkRow r = issuedChkRows.get(ptr - 1);
+        IssuedChkRow r = ws.issuedChkTable[ptr - 1];
 
         // ✅ COBOL: blank table entry -> NEXT SENTENCE (do nothing)
         if (r == null || isBlank(r.crRefundType)) {
@@ -1277,7 +977,7 @@ ec.putString("WS_DB2_CONTROL_CARD_DATE", wsDb2ControlCardDate);
         }
 
         ActivityPK actId = r.getSourceActivityId();
-        P09Activity act = (actId == null) ? null : activityRepository.findById(actId).orElse(null);
+        P09Activity act = findActivity(actId);
 
         if (act == null) {
             throw new IllegalStateException("[500000] IssuedChkRow missing source P09Activity at ptr=" + ptr);
@@ -1287,50 +987,40 @@ ec.putString("WS_DB2_CONTROL_CARD_DATE", wsDb2ControlCardDate);
         perform510000UpdtPrrFrrActRcd(act);
 
         // 520000 — UPDATE CASH RECEIPT
-        perform520000UpdtCashRecRcd(r, ec);
+        perform520000UpdtCashRecRcd(r, ws);
 
         // 530000/531000/532000 — OCCS update + XP07 build
         P09352OutputWrapper wrapperForOccs = new P09352OutputWrapper();
-        LocalDate checkStatusDate = perform530000UpdtOccsRcd(r, ec, wrapperForOccs);
+        LocalDate checkStatusDate = perform530000UpdtOccsRcd(r, ws, wrapperForOccs);
 
         // 540000 — INSERT CAN ACTIVITY
-        perform540000InsrtCanActRcd(r, ec, checkStatusDate);
+        perform540000InsrtCanActRcd(r, ws, checkStatusDate);
 
         // 550000 — INSERT PR/FR ACTIVITY
-        perform550000InsrtPrFrActRcd(r, ec);
+        perform550000InsrtPrFrActRcd(r, ws);
 
         // 560000 — XP09 GL records
-        List<P09352XP09DedsOutput> gl = perform560000CreateGlDedsRcds(r, ec);
+        List<P09352XP09DedsOutput> gl = perform560000CreateGlDedsRcds(r, ws);
 
         // 570000 — AP interface record
-        P09352ApInterfaceOutput ap = perform570000CreateApInterface(r, ec);
-
-        @SuppressWarnings("unchecked")
-        List<P09352ApInterfaceOutput> apAll = outApRecords;
-        @SuppressWarnings("unchecked")
-        List<P09352XP09DedsOutput> glAll = outGlRecords;
-        @SuppressWarnings("unchecked")
-        List<P09352XP07DedsOutput> occsAll = outOccsRecords;
-        // ensure they exist
-        if (apAll == null) { /* should never happen */ }
-        if (glAll == null) { /* should never happen */ }
-        if (occsAll == null) { /* should never happen */ }
+        P09352ApInterfaceOutput ap = perform570000CreateApInterface(r, ws);
 
      // ---- Accumulate outputs (COBOL WRITE) ----
         if (ap != null) {
-            apAll.add(ap);
+            outApRecords.add(ap);
         }
 
         if (gl != null && !gl.isEmpty()) {
-            glAll.addAll(gl);
+            outGlRecords.addAll(gl);
         }
 
         if (wrapperForOccs.getOccsRecords() != null &&
             !wrapperForOccs.getOccsRecords().isEmpty()) {
-            occsAll.addAll(wrapperForOccs.getOccsRecords());
+            outOccsRecords.addAll(wrapperForOccs.getOccsRecords());
         }
         // needed by voucher step
-        incInt(ec, "checksIssued", 1);
+        ws.checksIssued++;
+        ws.lastKeyProcessed = r.cashReceiptKey();
     }
 
  // ================================================================
@@ -1342,29 +1032,8 @@ ec.putString("WS_DB2_CONTROL_CARD_DATE", wsDb2ControlCardDate);
              throw new IllegalStateException("[510000] Activity row is NULL");
          }
 
-         ActivityPK id = act.getAId();
-
-         int updated = activityRepository.updateProcessedInd(
-        	        "P",                               // COBOL sets processed flag
-                 id.getCrRefundType(),
-                 id.getCrCntrlDate(),
-                 id.getCrCntrlNbr(),
-                 id.getActActivityDate(),
-                 id.getActActivity(),
-                 id.getActTimestamp()
-         );
-
-         if (updated != 1) {
-             throw new IllegalStateException(
-                 "[510000] ERROR IN MODIFYING V_P09_ACTIVITY: expected 1 row updated but got " + updated
-                 + " for key refundType=" + id.getCrRefundType()
-                 + ", cntrlDate=" + id.getCrCntrlDate()
-                 + ", cntrlNbr=" + id.getCrCntrlNbr()
-                 + ", actDate=" + id.getActActivityDate()
-                 + ", actActivity=" + id.getActActivity()
-                 + ", actTimestamp=" + id.getActTimestamp()
-             );
-         }
+         // COBOL sets processed flag; row count checked when the batch is flushed
+         writeBehind.updateProcessedInd(act.getAId());
 
      } catch (Exception e) {
          throw new IllegalStateException(
@@ -1374,7 +1043,7 @@ ec.putString("WS_DB2_CONTROL_CARD_DATE", wsDb2ControlCardDate);
  }
 
  // 520000 - update cash receipt + move rem info + summary
-    private void perform520000UpdtCashRecRcd(IssuedChkRow r, ExecutionContext ec) {
+    private void perform520000UpdtCashRecRcd(IssuedChkRow r, P09352WorkingStorage ws) {
         try {
             // NOTE: COBOL does not SELECT here; it UPDATEs using host vars.
             // We still create a local object so your existing 522500 method stays the same.
@@ -1406,13 +1075,13 @@ ec.putString("WS_DB2_CONTROL_CARD_DATE", wsDb2ControlCardDate);
             else cr.setCrPendFinAct("FR ");
 
             // status date
-            cr.setCrStatusDate(wsDb2CurrentDate(ec)); // MUST return LocalDate in your codebase
+            cr.setCrStatusDate(wsDb2CurrentDate(ws)); // MUST return LocalDate in your codebase
 
             // PERFORM 522500-MOVE-REM-INFO
             perform522500MoveRemInfo(r, cr);
 
             // COBOL: EXEC SQL UPDATE V_P09_CASH_RECEIPT ...
-            int rows = cashReceiptRepository.updateCashReceiptRecord(
+            writeBehind.updateCashReceipt(new P09352WriteBehind.CashReceiptUpdate(
             	    cr.getCrReceiptBal(),
             	    nullToSpace(cr.getCrStatusText()),
             	    cr.getCrStatusDate(),
@@ -1430,14 +1099,7 @@ ec.putString("WS_DB2_CONTROL_CARD_DATE", wsDb2ControlCardDate);
             	    nullToSpace(cr.getCrRemZip5()),
             	    nullToSpace(cr.getCrRemZip4()),
             	    r.crRefundType, r.crCntrlDate, r.crCntrlNbr
-            	);
-
-            if (rows != 1) {
-                throw new IllegalStateException(
-                        "ERROR IN MODIFYING DCLV-P09-CASH-RECEIPT IN PARAGRAPH 520000-UPDT-CASH-REC-RCD " +
-                        "(rowsUpdated=" + rows + ") key=" + r.crRefundType + "/" + r.crCntrlDate + "/" + r.crCntrlNbr
-                );
-            }
+            	));
 
             // COBOL: IF CR-RECEIPT-BAL = +0 PERFORM 525000-UPDT-SUMMARY
             if (BigDecimal.ZERO.compareTo(nvlBd(cr.getCrReceiptBal())) == 0) {
@@ -1511,7 +1173,6 @@ ec.putString("WS_DB2_CONTROL_CARD_DATE", wsDb2ControlCardDate);
         if ("V".equals(cr.getCrRemIdType())) cr.setCrRemTaxIdNbr(" ");
     }
 
-    @Transactional
     private void perform525000UpdtSummary(IssuedChkRow r) {
 
         final String locationId = nullToSpace(r.crLocationNbr).trim();
@@ -1522,50 +1183,14 @@ ec.putString("WS_DB2_CONTROL_CARD_DATE", wsDb2ControlCardDate);
             throw new IllegalStateException("525000 missing location/clerk. locationId=" + locationId + ", clerkId=" + clerkId);
         }
 
-        P09Summary s = p09SummaryRepository.findSummary(locationId, clerkId).orElse(null);
-
-        if (s == null) {
-            // INSERT a new summary row with zeros
-            P09Summary ins = new P09Summary();
-            SummaryPK pk = new SummaryPK();
-            pk.setSumLocationID(locationId);
-            pk.setSumClerkId(clerkId);
-            ins.setSId(pk);
-
-            ins.setSumDeletionsCnt(0);
-            ins.setSumDeletionsAmt(BigDecimal.ZERO);
-            ins.setSumEndingCnt(0);
-            ins.setSumEndingAmt(BigDecimal.ZERO);
-
-            p09SummaryRepository.save(ins);
-
-            s = ins;
-        }
-
-        Integer newDelCnt = nvlInt(s.getSumDeletionsCnt()) + 1;
-        BigDecimal newDelAmt = nvl(s.getSumDeletionsAmt()).add(nvl(r.crCntrldAmt));
-
-        Integer newEndCnt = nvlInt(s.getSumEndingCnt()) - 1;
-        BigDecimal newEndAmt = nvl(s.getSumEndingAmt()).subtract(nvl(r.crCntrldAmt));
-
-        int updated = p09SummaryRepository.updateSummary(
-                newDelCnt, newDelAmt,
-                newEndCnt, newEndAmt,
-                locationId, clerkId
-        );
-
-        if (updated != 1) {
-            throw new IllegalStateException(
-                "ERROR IN MODIFYING P09_SUMMARY for locationId=" + locationId + ", clerkId=" + clerkId
-                + " IN PARAGRAPH 525000-UPDT-SUMMARY (updated=" + updated + ")"
-            );
-        }
+        // folded per location / clerk; P09352WriteBehind reads, inserts if missing and updates once
+        writeBehind.updateSummary(locationId, clerkId, r.crCntrldAmt);
     }
 
 private static BigDecimal nvl(BigDecimal v) { return v == null ? BigDecimal.ZERO : v; }
 
 
-    private LocalDate perform530000UpdtOccsRcd(IssuedChkRow r, ExecutionContext ec, P09352OutputWrapper wrapper) {
+    private LocalDate perform530000UpdtOccsRcd(IssuedChkRow r, P09352WorkingStorage ws, P09352OutputWrapper wrapper) {
         if ("PER".equals(r.crRefundType) || "OTH".equals(r.crRefundType) || "OFF".equals(r.crRefundType)) return null;
 
         final String checkStatusCode =
@@ -1581,7 +1206,7 @@ private static BigDecimal nvl(BigDecimal v) { return v == null ? BigDecimal.ZERO
         LocalDate reportDate;
 
         if (stDaily) {
-            OccsDates d = perform531000DetermineOccsDates(r, ec);
+            OccsDates d = perform531000DetermineOccsDates(r, ws);
             checkStatusDate = d.checkStatusDate();
             reportDate = d.reportDate();
         } else {
@@ -1589,7 +1214,7 @@ private static BigDecimal nvl(BigDecimal v) { return v == null ? BigDecimal.ZERO
             reportDate = r.occsDbRptDate;
         }
 
-        int rows = bankReconRepository.updateBankReconRecord(
+        writeBehind.updateBankRecon(new P09352WriteBehind.BankReconUpdate(
                 checkStatusCode,
                 checkStatusDate,
                 statusSourceCode,
@@ -1599,25 +1224,18 @@ private static BigDecimal nvl(BigDecimal v) { return v == null ? BigDecimal.ZERO
                 r.crBankAcctNbr,
                 r.crCheckNbr,
                 r.crCheckDate
-        );
+        ));
 
-        if (rows != 1) {
+        // Build XP07 records (532000) and add to wrapper (as you already do)
+        P09CashReceipt cr = findCashReceipt(new CashReceiptPK(r.crRefundType, r.crCntrlDate, r.crCntrlNbr));
+        if (cr == null) {
             throw new IllegalStateException(
-                    "ERROR IN MODIFYING DCLV-BANK-RECON IN PARAGRAPH 530000-UPDT-OCCS-RCD " +
-                    "(rowsUpdated=" + rows + ") key=" + r.occsFileIndicator + "/" + r.crBankAcctNbr + "/" +
-                    r.crCheckNbr + "/" + r.crCheckDate
+                    "CashReceipt not found for 532000 build key=" + r.crRefundType + "/" + r.crCntrlDate + "/" + r.crCntrlNbr
             );
         }
 
-        // Build XP07 records (532000) and add to wrapper (as you already do)
-        P09CashReceipt cr = cashReceiptRepository
-                .findById(new CashReceiptPK(r.crRefundType, r.crCntrlDate, r.crCntrlNbr))
-                .orElseThrow(() -> new IllegalStateException(
-                        "CashReceipt not found for 532000 build key=" + r.crRefundType + "/" + r.crCntrlDate + "/" + r.crCntrlNbr
-                ));
-
         List<P09352XP07DedsOutput> deds = perform532000CreateOccsDedsRcd(
-                r, ec,
+                r, ws,
                 cr,
                 checkStatusCode,
                 checkStatusDate,
@@ -1643,31 +1261,18 @@ private static BigDecimal nvl(BigDecimal v) { return v == null ? BigDecimal.ZERO
         LocalDate reportDate() { return reportDate; }
     }
     
-    private OccsDates perform531000DetermineOccsDates(IssuedChkRow r, ExecutionContext ec) {
+    private OccsDates perform531000DetermineOccsDates(IssuedChkRow r, P09352WorkingStorage ws) {
 
         // COBOL WS-OCCS-RPT-DATE-YYMM should be numeric-ish; keep as String compare.
-        String occsRptYYMM = ecGetString(ec, "WS_OCCS_RPT_DATE_YYMM", "");
+        String occsRptYYMM = nvl(ws.occsRptDateYymm);
         String refundType = nullToSpace(r.crRefundType);
 
-        String targetRptYYMM;
-        LocalDate controlToDate;
-
-        if ("RET".equals(refundType)) {
-            // stored by 215000 as int -> read as int and format to 4-digit YYMM string
-            int retYyMm = ecGetInt(ec, KEY_WS_RET_RPT_DATE_YYMM, 0);
-            targetRptYYMM = String.format("%04d", retYyMm);
-            controlToDate = (LocalDate) ec.get(KEY_WS_RET_CONTROL_TO_DATE);
-
-        } else if ("SPO".equals(refundType)) {
-            int spoYyMm = ecGetInt(ec, KEY_WS_SPO_RPT_DATE_YYMM, 0);
-            targetRptYYMM = String.format("%04d", spoYyMm);
-            controlToDate = (LocalDate) ec.get(KEY_WS_SPO_CONTROL_TO_DATE);
+        // RET / SPO use their own 215000 slot, everything else UND's
+        RptDate crrs = ws.rptDate("RET".equals(refundType) || "SPO".equals(refundType) ? refundType : "UND");
 
-        } else {
-            int undYyMm = ecGetInt(ec, KEY_WS_UND_RPT_DATE_YYMM, 0);
-            targetRptYYMM = String.format("%04d", undYyMm);
-            controlToDate = (LocalDate) ec.get(KEY_WS_UND_CONTROL_TO_DATE);
-        }
+        // stored by 215000 as int -> format to 4-digit YYMM string
+        String targetRptYYMM = String.format("%04d", crrs == null ? 0 : crrs.yymm);
+        LocalDate controlToDate = (crrs == null) ? null : crrs.controlToDate;
 
         // Default path: statusDate=activityDate, reportDate=controlToDate
         LocalDate checkStatusDate = r.actActivityDate;
@@ -1709,7 +1314,7 @@ private static BigDecimal nvl(BigDecimal v) { return v == null ? BigDecimal.ZERO
  // ================================================================
     private List<P09352XP07DedsOutput> perform532000CreateOccsDedsRcd(
             IssuedChkRow r,
-            ExecutionContext ec,
+            P09352WorkingStorage ws,
             P09CashReceipt cr,                 // holds CR-REM-* after 522500
             String checkStatusCode,            // CHECK-STATUS-CODE
             LocalDate checkStatusDate,         // CHECK-STATUS-DATE
@@ -1730,12 +1335,12 @@ private static BigDecimal nvl(BigDecimal v) { return v == null ? BigDecimal.ZERO
      // ------------------------------------------------------------
      // PERFORM 561500-CALC-JULIAN-DATE + MOVE TIME
      // ------------------------------------------------------------
-     o.setP07JulianDate(perform561500CalcJulianDate(ec));           // BigDecimal YYDDD
+     o.setP07JulianDate(perform561500CalcJulianDate(ws));           // BigDecimal YYDDD
      o.setP07TimeHhmmsss(BigDecimal.valueOf(calcHhMmSss()));        // BigDecimal HHMMSSS
 
      o.setP07ActionId("02");
      String bankFull = nullToSpace(r.crBankAcctNbr);
-     o.setP07BatchNbr(padRight(nullToSpace(ecGetString(ec, "WS_DEDS_BATCH_NBR", "")), 6));
+     o.setP07BatchNbr(padRight(nullToSpace(ws.dedsBatchNbr), 6));
 
      // ------------------------------------------------------------
      // MOVE T-OCCS-FILE-INDICATOR TO I-P07DEDS-FILE
@@ -1817,16 +1422,16 @@ private static BigDecimal nvl(BigDecimal v) { return v == null ? BigDecimal.ZERO
      return List.of(o);
  }
     
- // 540000 - insert CAN activity when OCCS status indicates cancel (COBOL DB-STORE) using JPA save()
-    private void perform540000InsrtCanActRcd(IssuedChkRow r, ExecutionContext ec, LocalDate checkStatusDate) {
+ // 540000 - insert CAN activity when OCCS status indicates cancel (COBOL DB-STORE), batched by P09352WriteBehind
+    private void perform540000InsrtCanActRcd(IssuedChkRow r, P09352WorkingStorage ws, LocalDate checkStatusDate) {
 
         if ("PER".equals(r.crRefundType) || "OTH".equals(r.crRefundType) || "OFF".equals(r.crRefundType)) return;
         if (!("OS".equals(r.occsCheckStatus) || "SD".equals(r.occsCheckStatus) || "TS".equals(r.occsCheckStatus))) return;
 
-        LocalDate actActivityDate = wsDb2CurrentDate(ec);
+        LocalDate actActivityDate = wsDb2CurrentDate(ws);
         LocalDate xrefDate = (checkStatusDate != null) ? checkStatusDate : actActivityDate;
 
-        String reportDate = reportDateForRefundTypeCobol540(r.crRefundType, ec); // must exist for RET/UND/OFF/SPO
+        String reportDate = reportDateForRefundTypeCobol540(r.crRefundType, ws); // must exist for RET/UND/OFF/SPO
         if (isBlank(reportDate)) {
             throw new IllegalStateException("540000: missing reportDate MMYY for refundType=" + r.crRefundType);
         }
@@ -1857,16 +1462,16 @@ private static BigDecimal nvl(BigDecimal v) { return v == null ? BigDecimal.ZERO
 
         a.setActArrsCode("  "); // only because DB says NOT NULL
 
-        activityRepository.save(a);
+        writeBehind.insertActivity(a);
     }
 
- // 550000 - insert PR/FR activity (COBOL DB-STORE) using JPA save()
-    private void perform550000InsrtPrFrActRcd(IssuedChkRow r, ExecutionContext ec) {
+ // 550000 - insert PR/FR activity (COBOL DB-STORE), batched by P09352WriteBehind
+    private void perform550000InsrtPrFrActRcd(IssuedChkRow r, P09352WorkingStorage ws) {
 
-        LocalDate actActivityDate = wsDb2CurrentDate(ec);
+        LocalDate actActivityDate = wsDb2CurrentDate(ws);
         String activity = "PRR".equals(r.actActivity) ? "PR " : "FR ";
 
-        String reportDate = reportDateForRefundTypeCobol550(r.crRefundType, ec);
+        String reportDate = reportDateForRefundTypeCobol550(r.crRefundType, ws);
         if (isBlank(reportDate)) {
             throw new IllegalStateException("550000: missing reportDate MMYY for refundType=" + r.crRefundType);
         }
@@ -1897,19 +1502,19 @@ private static BigDecimal nvl(BigDecimal v) { return v == null ? BigDecimal.ZERO
 
         a.setActArrsCode("  "); // because DB says NOT NULL
 
-        activityRepository.save(a);
+        writeBehind.insertActivity(a);
     }
     
  // ================================================================
  // 560000-CREATE-GL-DEDS-RCDS  (XP09 output records)
  // ================================================================
- private List<P09352XP09DedsOutput> perform560000CreateGlDedsRcds(IssuedChkRow r, ExecutionContext ec) {
+ private List<P09352XP09DedsOutput> perform560000CreateGlDedsRcds(IssuedChkRow r, P09352WorkingStorage ws) {
 
      // MOVE SPACES TO P09-GL-DEDS-REC.
      List<P09352XP09DedsOutput> out = new ArrayList<>();
 
      // PERFORM 561000-FIXED-GL-INFO
-     P09352XP09DedsOutput base = perform561000FixedGlInfo(r, ec);
+     P09352XP09DedsOutput base = perform561000FixedGlInfo(r, ws);
 
      // PERFORM 565000-CRT-ACT-DBT-GL-RCD
      out.add(perform565000CrtActDbtGlRcd(r, base));
@@ -1927,7 +1532,7 @@ private static BigDecimal nvl(BigDecimal v) { return v == null ? BigDecimal.ZERO
      // In your Java output layout GL-ACT-CODE is X(3) but COBOL uses 'CAN' as the value here.
      // We'll set it on the cloned records below.
      if ("OS".equals(r.occsCheckStatus)) {
-         out.addAll(perform567000CrtOccsOsGlRcd(r, base, ec));
+         out.addAll(perform567000CrtOccsOsGlRcd(r, base, ws));
      } else if ("SD".equals(r.occsCheckStatus)) {
          out.addAll(perform568000CrtOccsSdGlRcd(r, base));
      } else if ("TS".equals(r.occsCheckStatus)) {
@@ -1940,7 +1545,7 @@ private static BigDecimal nvl(BigDecimal v) { return v == null ? BigDecimal.ZERO
  // ================================================================
  // 561000-FIXED-GL-INFO
  // ================================================================
- private P09352XP09DedsOutput perform561000FixedGlInfo(IssuedChkRow r, ExecutionContext ec) {
+ private P09352XP09DedsOutput perform561000FixedGlInfo(IssuedChkRow r, P09352WorkingStorage ws) {
 
      // MOVE WS-TIME-HHMMSSS TO P09DEDS-HHMMSSS.
      int hhmmsss = calcHhMmSss();
@@ -1948,7 +1553,7 @@ private static BigDecimal nvl(BigDecimal v) { return v == null ? BigDecimal.ZERO
      P09352XP09DedsOutput gl = new P09352XP09DedsOutput();
 
      // 05 GL-P09DEDS-DATE-TIME (julian + time)
-     gl.setGlJulianDate(perform561500CalcJulianDate(ec));
+     gl.setGlJulianDate(perform561500CalcJulianDate(ws));
      gl.setGlTimeHhmmsss(BigDecimal.valueOf(hhmmsss));
 
      // 05 FILLER PIC X(5)
@@ -2006,16 +1611,15 @@ private static BigDecimal nvl(BigDecimal v) { return v == null ? BigDecimal.ZERO
  // 561500-CALC-JULIAN-DATE
  // COBOL: convert "current date" to YYDDD style numeric
  // ================================================================
- private BigDecimal perform561500CalcJulianDate(ExecutionContext ec) {
-	    LocalDate d = wsDb2CurrentDate(ec); // run date like COBOL ACCEPT DATE
+ private BigDecimal perform561500CalcJulianDate(P09352WorkingStorage ws) {
+	    LocalDate d = wsDb2CurrentDate(ws); // run date like COBOL ACCEPT DATE
 	    int yy = d.getYear() % 100;
 	    int ddd = d.getDayOfYear();
 	    return BigDecimal.valueOf(yy * 1000 + ddd); // YYDDD
 	}
  
-    private LocalDate wsDb2CurrentDate(ExecutionContext ec) {
-	    Object v = (ec != null) ? ec.get("WS_DB2_CURRENT_DATE") : null;
-	    if (v instanceof LocalDate ld) return ld;
+    private LocalDate wsDb2CurrentDate(P09352WorkingStorage ws) {
+	    if (ws != null && ws.db2CurrentDate != null) return ws.db2CurrentDate;
 	    return LocalDate.now();
 	}
  // ================================================================
@@ -2056,10 +1660,10 @@ private static BigDecimal nvl(BigDecimal v) { return v == null ? BigDecimal.ZERO
  // ================================================================
  // 567000-CRT-OCCS-OS-GL-RCD  (creates TWO records: debit+credit)
  // ================================================================
- private List<P09352XP09DedsOutput> perform567000CrtOccsOsGlRcd(IssuedChkRow r, P09352XP09DedsOutput base, ExecutionContext ec) {
+ private List<P09352XP09DedsOutput> perform567000CrtOccsOsGlRcd(IssuedChkRow r, P09352XP09DedsOutput base, P09352WorkingStorage ws) {
 
      // MOVE bank acct -> WS-BANK-ACCT, MOVE WS-BANK-ACCT-1 -> LIKE value, FIND option row
-     String occsDebitAcct = perform567500FindOccsBankGlAcct(r, ec);
+     String occsDebitAcct = perform567500FindOccsBankGlAcct(r, ws);
 
      BigDecimal amt = nvlBd(r.crCheckAmt);
 
@@ -2082,7 +1686,7 @@ private static BigDecimal nvl(BigDecimal v) { return v == null ? BigDecimal.ZERO
  // 567500-FIND-OCCS-BANK-GL-RCD (V_P09_OPTION lookup)
  // COBOL: OPT_RECORD_TYPE = WS-RECORD-TYPE AND OPT_FIELD_NARR LIKE :WS-LIKE-VALUE
  // ================================================================
- private String perform567500FindOccsBankGlAcct(IssuedChkRow r, ExecutionContext ec) {
+ private String perform567500FindOccsBankGlAcct(IssuedChkRow r, P09352WorkingStorage ws) {
 	    final short recordType = 11;
 
 	    final String bankAcct = safeStr(r.crBankAcctNbr);
@@ -2090,7 +1694,7 @@ private static BigDecimal nvl(BigDecimal v) { return v == null ? BigDecimal.ZERO
 	        throw new IllegalStateException("567500: blank bank acct, cannot derive LIKE value");
 	    }
 
-	    String corpCode = safeStr(ec.getString("WS_CORP_CODE", ""));
+	    String corpCode = safeStr(ws.corpCode);
 	    corpCode = corpCode.trim();
 	    final List<String> likeCandidates = new ArrayList<>();
 
@@ -2102,8 +1706,8 @@ private static BigDecimal nvl(BigDecimal v) { return v == null ? BigDecimal.ZERO
 	    likeCandidates.add(bankAcct.substring(0, 1) + "%"); 
 
 	    for (String likeValue : likeCandidates) {
-	        List<P09Option> opts = optionRepository.findOptions(recordType, likeValue);
-	        if (opts != null && !opts.isEmpty()) {
+	        List<P09Option> opts = optionCache.findLike(recordType, likeValue);
+	        if (!opts.isEmpty()) {
 	            P09Option opt = opts.get(0);
 	            String glAcct = safeStr(opt.getOptFieldName());
 	            if (!glAcct.isBlank()) {
@@ -2169,7 +1773,7 @@ private static BigDecimal nvl(BigDecimal v) { return v == null ? BigDecimal.ZERO
 //================================================================
 //570000-CREATE-AP-INTRFACE  (XAPNTRFC output record)
 //================================================================
-private P09352ApInterfaceOutput perform570000CreateApInterface(IssuedChkRow r, ExecutionContext ec) {
+private P09352ApInterfaceOutput perform570000CreateApInterface(IssuedChkRow r, P09352WorkingStorage ws) {
 
   // MOVE SPACES TO AP-INTRFACE-OUT-REC.
   P09352ApInterfaceOutput ap = new P09352ApInterfaceOutput();
@@ -2209,33 +1813,22 @@ private P09352ApInterfaceOutput perform570000CreateApInterface(IssuedChkRow r, E
   ap.setOFname(padRight("", 11));
 
   // ADD +1 TO WS_LAST_VOUCHER_NBR-SUFFIX.
-  int suffix = ec.containsKey("WS_LAST_VOUCHER_NBR_SUFFIX")
-          ? ec.getInt("WS_LAST_VOUCHER_NBR_SUFFIX")
-          : 0;
-  suffix = suffix + 1;
-  ec.putInt("WS_LAST_VOUCHER_NBR_SUFFIX", suffix);
+  ws.lastVoucherNbrSuffix++;
 
   // ADD T-ACT-ACTIVITY-AMT TO WS-AP-BATCH-TOTAL-AMT.
-  BigDecimal batchTotal = ec.containsKey("WS_AP_BATCH_TOTAL_AMT")
-          ? (BigDecimal) ec.get("WS_AP_BATCH_TOTAL_AMT")
-          : BigDecimal.ZERO;
-  batchTotal = batchTotal.add(nvlBd(r.actActivityAmt));
-  ec.put("WS_AP_BATCH_TOTAL_AMT", batchTotal);
+  ws.apBatchTotalAmt = ws.apBatchTotalAmt.add(nvlBd(r.actActivityAmt));
 
   // MOVE '1' TO O-RECD-CODE.
   ap.setORecdCode("1");
 
   // MOVE WS-LAST-VOUCHER-NBR TO O-VOUCHER-NBR.
   // COBOL WS-LAST-VOUCHER-NBR is prefix 'Z' + 5-digit suffix; AP field is X(6)
-  int suffix1 = ec.containsKey("WS_LAST_VOUCHER_NBR_SUFFIX") ? ec.getInt("WS_LAST_VOUCHER_NBR_SUFFIX") : 0;
-  ec.putInt("WS_LAST_VOUCHER_NBR_SUFFIX", suffix1); // no-op write, keeps code shape
-
-  String lastVoucherNbr = ec.getString("WS_LAST_VOUCHER_NBR", "");
+  String lastVoucherNbr = nvl(ws.lastVoucherNbr);
   String prefix = !isBlank(lastVoucherNbr) ? lastVoucherNbr.substring(0, 1)
-          : ec.getString("WS_LAST_VOUCHER_NBR_PREFIX", "Z");
+          : ws.lastVoucherNbrPrefix;
 
-  lastVoucherNbr = prefix + String.format("%05d", suffix1);
-  ec.putString("WS_LAST_VOUCHER_NBR", lastVoucherNbr);
+  lastVoucherNbr = prefix + String.format("%05d", ws.lastVoucherNbrSuffix);
+  ws.lastVoucherNbr = lastVoucherNbr;
 
   ap.setOVoucherNbr(padRight(lastVoucherNbr, 6));
 
@@ -2280,7 +1873,7 @@ private P09352ApInterfaceOutput perform570000CreateApInterface(IssuedChkRow r, E
   // MOVE WS-C2-MM/DD/YY TO O-INVOICE-MM/DD/YY and slashes
   // (WS-C2-xx usually is "current date" parts)
   // Prefer control-card date if you store it in EC; else LocalDate.now()
-  LocalDate inv = resolveControlCardOrToday(ec);
+  LocalDate inv = resolveControlCardOrToday(ws);
   String mm = String.format("%02d", inv.getMonthValue());
   String dd = String.format("%02d", inv.getDayOfMonth());
   String yy = String.format("%02d", inv.getYear() % 100);
@@ -2328,11 +1921,6 @@ private P09352ApInterfaceOutput perform570000CreateApInterface(IssuedChkRow r, E
  // helpers
  // ================================================================
 
-private static String ecStr(ExecutionContext ec, String key) {
-    Object v = (ec == null) ? null : ec.get(key);
-    return v == null ? "" : v.toString();
-}
-
 private String right(String s, int n) {
     if (s == null) return "";
     if (s.length() <= n) return s;
@@ -2344,9 +1932,9 @@ private String formatMMddyyyy(LocalDate d) {
     return d.format(java.time.format.DateTimeFormatter.ofPattern("MM/dd/yyyy"));
 }
 
-private LocalDate resolveControlCardOrToday(ExecutionContext ec) {
+private LocalDate resolveControlCardOrToday(P09352WorkingStorage ws) {
     try {
-        String iso = ec.getString("WS_DB2_CONTROL_CARD_DATE", null); // you used this already
+        String iso = ws.db2ControlCardDate;
         if (iso != null && !iso.isBlank()) return LocalDate.parse(iso);
     } catch (Exception ignore) {}
     return LocalDate.now();
@@ -2411,24 +1999,24 @@ private LocalDate resolveControlCardOrToday(ExecutionContext ec) {
     // Helpers
     // ------------------------------------------------
  // COBOL 540000: report date only for RET/UND/OFF/SPO (PER/OTH excluded by earlier return)
-    private String reportDateForRefundTypeCobol540(String refundType, ExecutionContext ec) {
+    private String reportDateForRefundTypeCobol540(String refundType, P09352WorkingStorage ws) {
         String rt = safeStr(refundType);
-        if ("RET".equals(rt)) return String.valueOf(ec.getInt(KEY_WS_RET_RPT_DATE_MMYY));
-        if ("UND".equals(rt)) return String.valueOf(ec.getInt(KEY_WS_UND_RPT_DATE_MMYY));
-        if ("OFF".equals(rt)) return String.valueOf(ec.getInt(KEY_WS_OFF_RPT_DATE_MMYY));
-        if ("SPO".equals(rt)) return String.valueOf(ec.getInt(KEY_WS_SPO_RPT_DATE_MMYY));
-        return null;
+        if ("PER".equals(rt) || "OTH".equals(rt)) return null;
+        return rptDateMmyy(rt, ws);
     }
 
     // COBOL 550000: PER + OTH use WS-PER-RPT-DATE-MMYY, others use their own
-    private String reportDateForRefundTypeCobol550(String refundType, ExecutionContext ec) {
-        String rt = safeStr(refundType);
-        if ("PER".equals(rt) || "OTH".equals(rt)) return String.valueOf(ec.getInt(KEY_WS_PER_RPT_DATE_MMYY));
-        if ("RET".equals(rt)) return String.valueOf(ec.getInt(KEY_WS_RET_RPT_DATE_MMYY));
-        if ("UND".equals(rt)) return String.valueOf(ec.getInt(KEY_WS_UND_RPT_DATE_MMYY));
-        if ("OFF".equals(rt)) return String.valueOf(ec.getInt(KEY_WS_OFF_RPT_DATE_MMYY));
-        if ("SPO".equals(rt)) return String.valueOf(ec.getInt(KEY_WS_SPO_RPT_DATE_MMYY));
-        return null;
+    private String reportDateForRefundTypeCobol550(String refundType, P09352WorkingStorage ws) {
+        return rptDateMmyy(safeStr(refundType), ws);
+    }
+
+    private static String rptDateMmyy(String refundType, P09352WorkingStorage ws) {
+        if (ws.rptDateSlot(refundType) == null) return null;
+        RptDate d = ws.rptDate(refundType);
+        if (d == null) {
+            throw new IllegalStateException("215000 never set WS-" + refundType + "-RPT-DATE-MMYY");
+        }
+        return String.valueOf(d.mmyy);
     }
 
     private static int yymmNum(LocalDate d) {
@@ -2454,33 +2042,6 @@ private LocalDate resolveControlCardOrToday(ExecutionContext ec) {
         return b == null ? BigDecimal.ZERO : b;
     }
 
-    private static Integer nvlInt(Integer v) {
-        return v == null ? 0 : v;
-    }
-
-    private static void incInt(ExecutionContext ec, String key, int delta) {
-        int v = ec.containsKey(key) ? ec.getInt(key) : 0;
-        ec.putInt(key, v + delta);
-    }
-
-    private static void addBd(ExecutionContext ec, String key, BigDecimal delta) {
-        BigDecimal v = ec.containsKey(key)
-                ? (BigDecimal) ec.get(key)
-                : BigDecimal.ZERO;
-
-        ec.put(key, v.add(delta == null ? BigDecimal.ZERO : delta));
-    }
-
-    private static void addByRefund(ExecutionContext ec, String refundType, String bucket, BigDecimal checkAmt) {
-        String rt = safeStr(refundType);
-
-        incInt(ec, "WS_GR_TOT_" + rt + "_CHK_" + bucket + "_CNT", 1);
-        addBd(ec, "WS_GR_TOT_" + rt + "_CHK_" + bucket + "_AMT", checkAmt);
-
-        incInt(ec, "WS_GRAND_TOT_CHK_" + bucket + "_CNT", 1);
-        addBd(ec, "WS_GRAND_TOT_CHK_" + bucket + "_AMT", checkAmt);
-    }
-
     private <T> T readOne(FlatFileItemReader<T> reader, String logicalName) {
         try {
             // DO NOT open here if the framework already opened it.
@@ -2565,60 +2126,37 @@ private LocalDate resolveControlCardOrToday(ExecutionContext ec) {
         log.error("***************************************");
     }
     
-    private P09CashReceipt currentCashReceipt(ExecutionContext ec) {
-        // Backward compatible: if someone still stored entity, use it
-        Object v = ec.get(KEY_CURRENT_CASH_RECEIPT);
-        if (v instanceof P09CashReceipt cr) return cr;
-
-        CashReceiptPK id = (CashReceiptPK) ec.get(KEY_CURRENT_CASH_RECEIPT_ID);
+    // --- Row lookups: bulk index when loaded, otherwise the single-row SELECTs ---
+    private P09CashReceipt findCashReceipt(CashReceiptPK id) {
         if (id == null) return null;
-
+        if (bulkIndex != null && bulkIndex.containsReceipt(id)) return bulkIndex.receipt(id);
         return cashReceiptRepository.findById(id).orElse(null);
     }
 
-    private P09Activity currentActivity(ExecutionContext ec) {
-        Object v = ec.get(KEY_CURRENT_ACTIVITY);
-        if (v instanceof P09Activity act) return act;
-
-        ActivityPK id = (ActivityPK) ec.get(KEY_CURRENT_ACTIVITY_ID);
+    private P09Activity findActivity(ActivityPK id) {
         if (id == null) return null;
-
+        if (bulkIndex != null && bulkIndex.containsActivity(id)) return bulkIndex.activity(id);
         return activityRepository.findById(id).orElse(null);
     }
-    
-    private CheckControl currentCheckControl(ExecutionContext ec) {
-        Object v = ec.get(KEY_CURRENT_CHECK_CONTROL);
-        if (v instanceof CheckControl cc) return cc;
 
-        CheckControlPK idObj = (CheckControlPK) ec.get(KEY_CURRENT_CHECK_CONTROL_ID);
-        if (idObj == null) return null;
-        return checkControlRepository.findById(idObj).orElse(null);
-    }
-    
- // --- ExecutionContext safe getters (NO removal, additive) ---
-    private static String ecGetString(ExecutionContext ec, String key, String def) {
-        if (ec == null) return def;
-        Object v = ec.get(key);
-        if (v == null) return def;
-        if (v instanceof String s) return s;
-        if (v instanceof Integer i) return String.valueOf(i);
-        if (v instanceof Long l) return String.valueOf(l);
-        return String.valueOf(v);
+    private List<P09Activity> findPendingActivities(P09CashReceipt cr) {
+        CashReceiptPK id = cr.getCrId();
+        if (bulkIndex != null && bulkIndex.containsReceipt(id)) return bulkIndex.pendingActivities(id);
+        return activityRepository.fetchPendingActivities(id.getCrRefundType(), id.getCrCntrlDate(), id.getCrCntrlNbr());
     }
 
-    private static int ecGetInt(ExecutionContext ec, String key, int def) {
-        if (ec == null) return def;
-        if (!ec.containsKey(key)) return def;
-        try {
-            return ec.getInt(key);
-        } catch (Exception e) {
-            Object v = ec.get(key);
-            if (v instanceof Number n) return n.intValue();
-            if (v instanceof String s && !s.isBlank()) return Integer.parseInt(s.trim());
-            return def;
+    private Optional<BankRecon> findBankRecon(P09CashReceipt cr) {
+        if (bulkIndex != null && bulkIndex.containsReceipt(cr.getCrId())) {
+            return bulkIndex.bankRecon(cr.getCrBankAcctNbr(), cr.getCrCheckNbr(), cr.getCrCheckDate());
         }
+        return bankReconRepository.findBankReconRecord(cr.getCrBankAcctNbr(), cr.getCrCheckNbr(), cr.getCrCheckDate());
     }
-    
+
+    private Optional<CheckControl> findOpenCheckControl(String fileInd, String bankAcctNbr) {
+        if (bulkIndex != null && bulkIndex.isCheckControlsLoaded()) return bulkIndex.openCheckControl(fileInd, bankAcctNbr);
+        return checkControlRepository.findOpenCheckControl(fileInd, bankAcctNbr);
+    }
+
     private static P09352ReportWriter.RefundCategory mapCategory(String refundType) {
         if ("PER".equals(refundType)) return P09352ReportWriter.RefundCategory.PERSONAL;
         if ("RET".equals(refundType)) return P09352ReportWriter.RefundCategory.RETURNS;
@@ -0,0 +1,178 @@
+package com.abcbs.crrs.jobs.P09352;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+
+import com.abcbs.crrs.entity.ActivityPK;
+import com.abcbs.crrs.entity.BankRecon;
+import com.abcbs.crrs.entity.CashReceiptPK;
+import com.abcbs.crrs.entity.CheckControl;
+import com.abcbs.crrs.entity.CheckControlPK;
+import com.abcbs.crrs.entity.P09Activity;
+import com.abcbs.crrs.entity.P09CashReceipt;
+
+/**
+ * In-memory copy of the rows P09352 reads for its refund types (bulk mode).
+ *
+ * Filled by {@link P09352BulkLoader} from a few set-based queries per refund type,
+ * then used by the COBOL paragraphs in place of the single-row SELECTs:
+ *   PX02 cash receipts          -> keyed by CashReceiptPK
+ *   PX03 PRR/FRR activities     -> keyed by CashReceiptPK (list, PX03 order) and ActivityPK
+ *   BANK_RECON (490000)         -> keyed by bank acct / check nbr / check date
+ *   CHECK_CONTROL open (495000) -> keyed by file indicator / bank acct
+ *
+ * String key parts are right-trimmed, as DB2/SQL Server compare CHAR columns
+ * without trailing blanks.
+ */
+public class P09352RefundTypeIndex {
+
+    private final Map<CashReceiptPK, P09CashReceipt> receipts = new HashMap<>();
+    private final Map<CashReceiptPK, List<P09Activity>> activitiesByReceipt = new HashMap<>();
+    private final Map<ActivityPK, P09Activity> activities = new HashMap<>();
+    private final Map<BankReconKey, BankRecon> bankRecons = new HashMap<>();
+    private final Map<CheckControlKey, List<CheckControl>> openCheckControls = new HashMap<>();
+    private final Map<CheckControlPK, CheckControl> checkControls = new HashMap<>();
+
+    private boolean checkControlsLoaded = false;
+
+    private record BankReconKey(String bankAccountNbr, String checkNbr, LocalDate checkDate) {
+        static BankReconKey of(String bankAccountNbr, String checkNbr, LocalDate checkDate) {
+            return new BankReconKey(rtrim(bankAccountNbr), rtrim(checkNbr), checkDate);
+        }
+    }
+
+    private record CheckControlKey(String fileIndicator, String bankAccountNbr) {
+        static CheckControlKey of(String fileIndicator, String bankAccountNbr) {
+            return new CheckControlKey(rtrim(fileIndicator), rtrim(bankAccountNbr));
+        }
+    }
+
+    // ------------------------------------------------
+    // Load (P09352BulkLoader)
+    // ------------------------------------------------
+
+    void addReceipts(List<P09CashReceipt> rows) {
+        if (rows == null) return;
+        for (P09CashReceipt cr : rows) {
+            if (cr == null || cr.getCrId() == null) continue;
+            receipts.put(cr.getCrId(), cr);
+            activitiesByReceipt.putIfAbsent(cr.getCrId(), new ArrayList<>());
+        }
+    }
+
+    /** Rows must arrive in PX03 order; the per-receipt lists keep it. */
+    void addActivities(List<P09Activity> rows) {
+        if (rows == null) return;
+        for (P09Activity a : rows) {
+            if (a == null || a.getAId() == null) continue;
+            ActivityPK id = a.getAId();
+            CashReceiptPK crId = new CashReceiptPK(id.getCrRefundType(), id.getCrCntrlDate(), id.getCrCntrlNbr());
+            activitiesByReceipt.computeIfAbsent(crId, k -> new ArrayList<>()).add(a);
+            activities.put(id, a);
+        }
+    }
+
+    void addBankRecons(List<BankRecon> rows) {
+        if (rows == null) return;
+        for (BankRecon br : rows) {
+            if (br == null || br.getBrId() == null) continue;
+            bankRecons.put(BankReconKey.of(br.getBrId().getBankAccountNbr(),
+                    br.getBrId().getCheckNbr(), br.getBrId().getCheckDate()), br);
+        }
+    }
+
+    void addOpenCheckControls(List<CheckControl> rows) {
+        if (rows != null) {
+            for (CheckControl cc : rows) {
+                if (cc == null || cc.getCcId() == null) continue;
+                openCheckControls
+                        .computeIfAbsent(CheckControlKey.of(cc.getCcId().getFileIndicator(),
+                                cc.getCcId().getBankAccountNbr()), k -> new ArrayList<>())
+                        .add(cc);
+                checkControls.put(cc.getCcId(), cc);
+            }
+        }
+        checkControlsLoaded = true;
+    }
+
+    boolean isCheckControlsLoaded() {
+        return checkControlsLoaded;
+    }
+
+    // ------------------------------------------------
+    // Lookups (P09352Processor)
+    // ------------------------------------------------
+
+    public boolean containsReceipt(CashReceiptPK id) {
+        return id != null && receipts.containsKey(id);
+    }
+
+    public P09CashReceipt receipt(CashReceiptPK id) {
+        return (id == null) ? null : receipts.get(id);
+    }
+
+    /** PX03 rows for the receipt, in PX03 order; empty when none are pending. */
+    public List<P09Activity> pendingActivities(CashReceiptPK id) {
+        List<P09Activity> acts = (id == null) ? null : activitiesByReceipt.get(id);
+        return (acts == null) ? List.of() : acts;
+    }
+
+    public boolean containsActivity(ActivityPK id) {
+        return id != null && activities.containsKey(id);
+    }
+
+    public P09Activity activity(ActivityPK id) {
+        return (id == null) ? null : activities.get(id);
+    }
+
+    public Optional<BankRecon> bankRecon(String bankAcctNbr, String checkNbr, LocalDate checkDate) {
+        if (bankAcctNbr == null || checkNbr == null || checkDate == null) return Optional.empty();
+        return Optional.ofNullable(bankRecons.get(BankReconKey.of(bankAcctNbr, checkNbr, checkDate)));
+    }
+
+    /** Same contract as ICheckControlRepository.findOpenCheckControl (at most one row). */
+    public Optional<CheckControl> openCheckControl(String fileIndicator, String bankAcctNbr) {
+        if (fileIndicator == null || bankAcctNbr == null) return Optional.empty();
+        List<CheckControl> rows = openCheckControls.get(CheckControlKey.of(fileIndicator, bankAcctNbr));
+        if (rows == null || rows.isEmpty()) return Optional.empty();
+        if (rows.size() > 1) throw new IncorrectResultSizeDataAccessException(1, rows.size());
+        return Optional.of(rows.get(0));
+    }
+
+    public boolean containsCheckControl(CheckControlPK id) {
+        return id != null && checkControls.containsKey(id);
+    }
+
+    public CheckControl checkControl(CheckControlPK id) {
+        return (id == null) ? null : checkControls.get(id);
+    }
+
+    public int receiptCount() {
+        return receipts.size();
+    }
+
+    public int activityCount() {
+        return activities.size();
+    }
+
+    public int bankReconCount() {
+        return bankRecons.size();
+    }
+
+    public int checkControlCount() {
+        return checkControls.size();
+    }
+
+    private static String rtrim(String s) {
+        if (s == null) return null;
+        int end = s.length();
+        while (end > 0 && s.charAt(end - 1) == ' ') end--;
+        return s.substring(0, end);
+    }
+}
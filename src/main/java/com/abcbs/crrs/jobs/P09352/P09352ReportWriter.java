@@ -18,7 +18,6 @@ import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.StepScope;
-import org.springframework.batch.item.ExecutionContext;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -64,7 +63,7 @@ public class P09352ReportWriter implements StepExecutionListener {
     }
 
     private BufferedWriter bw;
-    private ExecutionContext ctx;
+    private P09352WorkingStorage ws;
 
     private boolean opened = false;
 
@@ -110,13 +109,11 @@ public class P09352ReportWriter implements StepExecutionListener {
 
     /**
      * SAFE/IDEMPOTENT: You can call from Processor before you start writing sections.
-     * Does NOT accept header context. Header reads ExecutionContext dynamically.
+     * Does NOT accept header context. Header reads the bound working storage dynamically.
      */
     public void openIfNeeded(StepExecution stepExecution) {
         if (opened) return;
 
-        this.ctx = stepExecution.getExecutionContext();
-
         if (!StringUtils.hasText(reportFileOrPath)) {
             throw new IllegalStateException("Missing job parameter: reportPath (or reportFile)");
         }
@@ -159,11 +156,16 @@ public class P09352ReportWriter implements StepExecutionListener {
      * In this Java writer, "heading routine" is effectively a no-op beyond ensuring a page header.
      * The processor controls when to start sections.
      */
-    public void headingRoutineCobolStyle(ExecutionContext ec) {
-        this.ctx = ec;
+    public void headingRoutineCobolStyle(P09352WorkingStorage ws) {
+        bindWorkingStorage(ws);
         ensureHeader();
     }
 
+    /** Heading fields (corp, dates, AP batch) are read from the processor's working storage. */
+    public void bindWorkingStorage(P09352WorkingStorage ws) {
+        this.ws = ws;
+    }
+
     public void startRefundTypeSection(String refundTypeCode, String refundTypeDesc, RefundCategory category) {
         ensureHeader();
         // If processor mistakenly calls "start" repeatedly for the same refund type, do not re-print the section header.
@@ -310,13 +312,13 @@ public class P09352ReportWriter implements StepExecutionListener {
         String reportNumber = getReportNumber();
         String companyName  = getCompanyName();
 
-        String corpCode = safe(getEcString("WS_CORP_CODE"));
-        String corpName = normalizeCorpName(corpCode, getEcString("WS_CORP"));
-        String reqDate  = fmtControlCardDateForHeader(ctx.getString("WS_DB2_CONTROL_CARD_DATE"));
-        String apBatch  = safe(ctx.getString("WS_AP_BATCH_ID"));
+        String corpCode = safe(ws == null ? null : ws.corpCode);
+        String corpName = normalizeCorpName(corpCode, ws == null ? null : ws.corp);
+        String reqDate  = fmtControlCardDateForHeader(ws == null ? null : ws.db2ControlCardDate);
+        String apBatch  = safe(ws == null ? null : ws.apBatchId);
 
-        String runDate = getRunDateFromECOrNow();
-        String runTime = getRunTimeFromECOrNow();
+        String runDate = getRunDateFromWsOrNow();
+        String runTime = getRunTimeFromWsOrNow();
 
         // ------------------------------------------------------------
         // PAGE HEADER (132 chars) - match legacy layout
@@ -377,12 +379,6 @@ public class P09352ReportWriter implements StepExecutionListener {
         }
     }
 
-    private String getEcString(String key) {
-        if (ctx == null) return "";
-        Object v = ctx.get(key);     // NOT getString
-        return v == null ? "" : v.toString();
-    }
-    
     // ============================================================
     // Summary blocks
     // ============================================================
@@ -426,30 +422,25 @@ public class P09352ReportWriter implements StepExecutionListener {
     // ============================================================
 
     private String getReportNumber() {
-        if (ctx == null) return "P09352-A";
-
-        Object v = ctx.get("REPORT_NUMBER");   // NOT getString
-        if (v == null) return "P09352-A";
-
-        String s = v.toString().trim();
+        String s = safe(ws == null ? null : ws.reportNumber);
         return StringUtils.hasText(s) ? s : "P09352-A";
     }
 
     private String getCompanyName() {
-        // ✅ no runtime job parameter, comes from program/EC
-        String ec = safe(ctx.getString("REPORT_COMPANY_NAME"));
-        return StringUtils.hasText(ec) ? ec : "ARKANSAS BLUE CROSS AND BLUE SHIELD";
+        // ✅ no runtime job parameter, comes from program working storage
+        String name = safe(ws == null ? null : ws.reportCompanyName);
+        return StringUtils.hasText(name) ? name : "ARKANSAS BLUE CROSS AND BLUE SHIELD";
     }
 
-    private String getRunDateFromECOrNow() {
-        String ec = safe(ctx.getString("WS_RUN_DATE_MMDDYY"));
-        if (StringUtils.hasText(ec)) return ec;
+    private String getRunDateFromWsOrNow() {
+        String d = safe(ws == null ? null : ws.runDateMmddyy);
+        if (StringUtils.hasText(d)) return d;
         return LocalDate.now().format(DateTimeFormatter.ofPattern("MM/dd/yy"));
     }
 
-    private String getRunTimeFromECOrNow() {
-        String ec = safe(ctx.getString("WS_RUN_TIME_HHMMSS"));
-        if (StringUtils.hasText(ec)) return ec;
+    private String getRunTimeFromWsOrNow() {
+        String t = safe(ws == null ? null : ws.runTimeHhmmss);
+        if (StringUtils.hasText(t)) return t;
         return LocalTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss"));
     }
 
@@ -507,8 +498,8 @@ public class P09352ReportWriter implements StepExecutionListener {
         return t + " ".repeat(132 - t.length());
     }
 
-    public void writeNoDataFoundLine(ExecutionContext ec) {
-        this.ctx = ec;
+    public void writeNoDataFoundLine(P09352WorkingStorage ws) {
+        bindWorkingStorage(ws);
         ensureHeader();
         ensureSpace(1);
         writeln(line132("                         ** NO DATA FOUND **"));
@@ -0,0 +1,287 @@
+package com.abcbs.crrs.jobs.P09352;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.abcbs.crrs.entity.ActivityPK;
+import com.abcbs.crrs.entity.CashReceiptPK;
+import com.abcbs.crrs.entity.CheckControl;
+import com.abcbs.crrs.entity.P09Activity;
+import com.abcbs.crrs.entity.P09CashReceipt;
+
+/**
+ * COBOL WORKING-STORAGE for P09352, one instance per step execution.
+ *
+ * Held in memory by the (step scoped) processor and passed down the paragraph
+ * chain; nothing here is written to the ExecutionContext. The only persisted
+ * state is the {@link P09352Checkpoint} built by {@link #checkpoint()}.
+ */
+public class P09352WorkingStorage {
+
+    public static final int ISSUED_CHK_TABLE_SIZE = 700;
+
+    /** 440000 / 450000 / 460000 accumulators. */
+    enum Bucket { RQSTD, ERROR, ISSUE }
+
+    static final class Tally {
+        int cnt;
+        BigDecimal amt = BigDecimal.ZERO;
+
+        void add(BigDecimal delta) {
+            cnt++;
+            amt = amt.add(delta == null ? BigDecimal.ZERO : delta);
+        }
+    }
+
+    /** 215000 outputs for one refund type (WS-xxx-RPT-DATE-MMYY / YYMM / CC, control-to date). */
+    static final class RptDate {
+        int mmyy;
+        int yymm;
+        int cc;
+        LocalDate controlToDate;
+        boolean set;
+    }
+
+    // ---- report heading (read by P09352ReportWriter) ----
+    String reportNumber = "P09352-A";
+    String reportCompanyName = "ARKANSAS BLUE CROSS AND BLUE SHIELD";
+    String runDateMmddyy;
+    String runTimeHhmmss;
+    String apBatchId;
+    String corpCode = "";
+    String corp = "";
+    String db2ControlCardDate;
+
+    LocalDate db2CurrentDate;
+
+    // ---- control cards ----
+    int chkpCardCnt = Integer.MAX_VALUE;
+    String lastVoucherNbrPrefix = "";
+    int lastVoucherNbrSuffix;
+    String lastVoucherNbr = "";
+    BigDecimal apBatchTotalAmt = BigDecimal.ZERO;
+    int checksIssued;
+    CashReceiptPK lastKeyProcessed;
+
+    boolean initDone;
+    boolean alreadyRan;
+    boolean finalRpt;
+
+    // ---- 200000 / 210000 ----
+    String refundType = "";
+    String crRefundType = "";
+    String crRefundNarr = "";
+    String prevRefundType = "";
+    int refundTypesProcessed;
+
+    private final RptDate perRptDate = new RptDate();   // PER and OTH share it
+    private final RptDate retRptDate = new RptDate();
+    private final RptDate undRptDate = new RptDate();
+    private final RptDate offRptDate = new RptDate();
+    private final RptDate spoRptDate = new RptDate();
+
+    // never moved by the program; kept so the OCCS paragraphs read like COBOL
+    String occsRptDateYymm = "";
+    String dedsBatchNbr = "";
+
+    // ---- current cash receipt (220000 - 495500) ----
+    P09CashReceipt currentCashReceipt;
+    P09Activity currentActivity;
+    CheckControl currentCheckControl;
+    int actRcdsRtrvd;
+
+    String holdAp1099Cd = "";
+    String holdOccsFileInd = "";
+    String holdOccsCheckStatus = "";
+    LocalDate holdOccsDbRptDate;
+    LocalDate holdOccsCalcRptDate;
+
+    String errorMsg = "";
+    BigDecimal checkAmt = BigDecimal.ZERO;
+    String formattedCntrlDate = "";
+    String payeeType = "";
+    String payeeIdNbr = "";
+    String payeeName = "";
+    String payeeTin = "";
+    String vendorNbrFromRem = "";
+    String frPr = "";
+    String origType = "";
+    String userId = "";
+
+    // ---- totals ----
+    final Map<Bucket, Tally> totChk = new EnumMap<>(Bucket.class);
+    final Map<Bucket, Tally> grandTotChk = new EnumMap<>(Bucket.class);
+    private final Map<String, Map<Bucket, Tally>> grTotByRefundType = new HashMap<>();
+
+    // ---- T-ISSUED-CHK-TABLE ----
+    final IssuedChkRow[] issuedChkTable = new IssuedChkRow[ISSUED_CHK_TABLE_SIZE];
+    int tTblPntr = 1;
+    int tTblPntrMax;
+
+    P09352WorkingStorage() {
+        resetTotChk();
+        for (Bucket b : Bucket.values()) grandTotChk.put(b, new Tally());
+    }
+
+    /** 110000-INIT-ISSUED-CHK-TBL */
+    void initIssuedChkTable() {
+        Arrays.fill(issuedChkTable, null);
+        tTblPntr = 1;
+        tTblPntrMax = 0;
+    }
+
+    /** 470000 part: MOVE ZEROES TO WS-TOT-CHK-xxx */
+    void resetTotChk() {
+        for (Bucket b : Bucket.values()) totChk.put(b, new Tally());
+    }
+
+    /** Adds to WS-TOT-CHK-xxx, WS-GR-TOT-rt-CHK-xxx and WS-GRAND-TOT-CHK-xxx. */
+    void accumulate(Bucket bucket, String refundType, BigDecimal amt) {
+        totChk.get(bucket).add(amt);
+        grTotByRefundType
+                .computeIfAbsent(refundType, k -> {
+                    Map<Bucket, Tally> m = new EnumMap<>(Bucket.class);
+                    for (Bucket b : Bucket.values()) m.put(b, new Tally());
+                    return m;
+                })
+                .get(bucket).add(amt);
+        grandTotChk.get(bucket).add(amt);
+    }
+
+    int grTotCnt(String refundType, Bucket bucket) {
+        Map<Bucket, Tally> m = grTotByRefundType.get(refundType);
+        return (m == null) ? 0 : m.get(bucket).cnt;
+    }
+
+    /**
+     * 215000 slot for a refund type; PER and OTH share WS-PER-RPT-DATE.
+     * Null for unknown refund types.
+     */
+    RptDate rptDateSlot(String refundType) {
+        if (refundType == null) return null;
+        return switch (refundType.trim()) {
+            case "PER", "OTH" -> perRptDate;
+            case "RET" -> retRptDate;
+            case "UND" -> undRptDate;
+            case "OFF" -> offRptDate;
+            case "SPO" -> spoRptDate;
+            default -> null;
+        };
+    }
+
+    /** 215000 slot, or null when 215000 never ran for that refund type. */
+    RptDate rptDate(String refundType) {
+        RptDate d = rptDateSlot(refundType);
+        return (d != null && d.set) ? d : null;
+    }
+
+    P09352Checkpoint checkpoint() {
+        return new P09352Checkpoint(lastKeyProcessed, lastVoucherNbrPrefix, lastVoucherNbrSuffix, checksIssued);
+    }
+
+    /**
+     * COBOL TABLE ENTRY for 480000-BLD-ISSUED-CHK-RCD, consumed by 500000+.
+     */
+    static class IssuedChkRow {
+
+        private ActivityPK sourceActivityId;
+
+        public ActivityPK getSourceActivityId() {
+            return sourceActivityId;
+        }
+        public void setSourceActivityId(ActivityPK sourceActivityId) {
+            this.sourceActivityId = sourceActivityId;
+        }
+
+        String crRefundType;
+        LocalDate crCntrlDate;
+        String crCntrlNbr;
+        String crRemDailyInd;
+
+        LocalDate crStatusDate;
+        String crStatusText;
+        String crPendFinAct;
+        String crReasonCode;
+
+        String crBankAcctNbr;
+        String crCheckNbr;
+        LocalDate crCheckDate;
+
+        BigDecimal crCheckAmt;
+        BigDecimal crCntrldAmt;
+        BigDecimal crReceiptBal;
+        BigDecimal newCrReceiptBal;
+
+        String crReceiptType;
+
+        String crRemittorName;
+        String crRemittorTitle;
+        String crRemittorType;
+
+        String crPatientLname;
+        String crPatientFname;
+
+        String crProviderNbr;
+        String nationalIdNbr;
+        String crMbrIdNbr;
+        String crTaxIdNbr;
+        String crVendorNbr;
+
+        String ap1099Cd;
+        String crGlAcctNbr;
+
+        String crLocationNbr;
+        String crLocationClerk;
+
+        String crChkAddress1;
+        String crChkAddress2;
+        String crChkCity;
+        String crChkState;
+        String crChkZip5;
+        String crChkZip4;
+
+        String crRemIdType;
+        String crRemNationalId;
+        String crRemIdNbr;
+        String crRemTaxIdNbr;
+
+        String crRemAddressee;
+        String crRemAddress1;
+        String crRemAddress2;
+        String crRemCity;
+        String crRemState;
+        String crRemZip5;
+        String crRemZip4;
+
+        String crUserId;
+        String crCorp;
+
+        // Activity fields
+        String actActivity;
+        LocalDate actActivityDate;
+        BigDecimal actActivityAmt;
+        LocalDateTime actTimestamp;
+        String actXrefType;
+        String actXrefNbr;
+        LocalDate actXrefDate;
+        String actReportDate;
+        String actUserId;
+        String actProcessedInd;
+        String actDailyInd;
+
+        // OCCS hold fields
+        String occsFileIndicator;
+        String occsCheckStatus;
+        LocalDate occsDbRptDate;
+        LocalDate occsCalcRptDate;
+
+        CashReceiptPK cashReceiptKey() {
+            return new CashReceiptPK(crRefundType, crCntrlDate, crCntrlNbr);
+        }
+    }
+}
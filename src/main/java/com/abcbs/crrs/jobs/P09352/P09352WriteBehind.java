@@ -0,0 +1,298 @@
+package com.abcbs.crrs.jobs.P09352;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.Session;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import com.abcbs.crrs.entity.ActivityPK;
+import com.abcbs.crrs.entity.P09Activity;
+import com.abcbs.crrs.entity.P09Summary;
+import com.abcbs.crrs.entity.SummaryPK;
+import com.abcbs.crrs.repository.IP09SummaryRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Write-behind buffer for the P09352 500000 paragraphs.
+ *
+ * 510000 / 520000 / 530000 updates, the 525000 summary deltas and the
+ * 540000 / 550000 activity inserts are queued per issued check and sent by
+ * {@link #flush()} as JDBC batches, inside the same transaction, before the
+ * step commits. Every update must still hit exactly one row, as in COBOL.
+ *
+ * Summary deltas are folded per (location, clerk) first, so each P09_SUMMARY
+ * row is read and written once however many checks it receives.
+ */
+class P09352WriteBehind {
+
+    private static final Logger log = LogManager.getLogger(P09352WriteBehind.class);
+
+    /** 540000 / 550000 INSERTs per JDBC batch. */
+    private static final int ACTIVITY_INSERT_BATCH_SIZE = 500;
+
+    private static final String UPDT_PROCESSED_IND_SQL =
+            "UPDATE P09_ACTIVITY SET ACT_PROCESSED_IND = ? "
+            + "WHERE CR_REFUND_TYPE = ? AND CR_CNTRL_DATE = ? AND CR_CNTRL_NBR = ? "
+            + "AND ACT_ACTIVITY_DATE = ? AND ACT_ACTIVITY = ? AND ACT_TIMESTAMP = ?";
+
+    private static final String UPDT_CASH_RECEIPT_SQL =
+            "UPDATE P09_CASH_RECEIPT SET CR_RECEIPT_BAL = ?, CR_STATUS_TEXT = ?, CR_STATUS_DATE = ?, "
+            + "CR_PEND_FIN_ACT = ?, CR_REM_DAILY_IND = ?, CR_REM_ID_TYPE = ?, CR_REM_ID_NBR = ?, "
+            + "CR_REM_NATIONAL_ID = ?, CR_REM_TAX_ID_NBR = ?, CR_REM_ADDRESSEE = ?, CR_REM_ADDRESS_1 = ?, "
+            + "CR_REM_ADDRESS_2 = ?, CR_REM_CITY = ?, CR_REM_STATE = ?, CR_REM_ZIP_5 = ?, CR_REM_ZIP_4 = ? "
+            + "WHERE CR_REFUND_TYPE = ? AND CR_CNTRL_DATE = ? AND CR_CNTRL_NBR = ?";
+
+    private static final String UPDT_BANK_RECON_SQL =
+            "UPDATE BANK_RECON SET CHECK_STATUS_CODE = ?, CHECK_STATUS_DATE = ?, STATUS_SOURCE_CODE = ?, "
+            + "ST_DAILY = ?, REPORT_DATE = ? "
+            + "WHERE FILE_INDICATOR = ? AND BANK_ACCOUNT_NBR = ? AND CHECK_NBR = ? AND CHECK_DATE = ?";
+
+    private static final String UPDT_SUMMARY_SQL =
+            "UPDATE P09_SUMMARY SET SUM_DELETIONS_CNT = ?, SUM_DELETIONS_AMT = ?, "
+            + "SUM_ENDING_CNT = ?, SUM_ENDING_AMT = ? "
+            + "WHERE SUM_LOCATION_ID = ? AND SUM_CLERK_ID = ?";
+
+    /** 520000 host variables. */
+    record CashReceiptUpdate(BigDecimal receiptBal, String statusText, LocalDate statusDate, String pendFinAct,
+                             String remDailyInd, String remIdType, String remIdNbr, String remNationalId,
+                             String remTaxIdNbr, String remAddressee, String remAddress1, String remAddress2,
+                             String remCity, String remState, String remZip5, String remZip4,
+                             String refundType, LocalDate cntrlDate, String cntrlNbr) {
+        String key() {
+            return refundType + "/" + cntrlDate + "/" + cntrlNbr;
+        }
+    }
+
+    /** 530000 host variables. */
+    record BankReconUpdate(String checkStatusCode, LocalDate checkStatusDate, String statusSourceCode,
+                           String stDaily, LocalDate reportDate, String fileIndicator, String bankAccountNbr,
+                           String checkNbr, LocalDate checkDate) {
+        String key() {
+            return fileIndicator + "/" + bankAccountNbr + "/" + checkNbr + "/" + checkDate;
+        }
+    }
+
+    /** 525000 delta for one (location, clerk): deletions go up, ending goes down. */
+    private static final class SummaryDelta {
+        int cnt;
+        BigDecimal amt = BigDecimal.ZERO;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final IP09SummaryRepository summaryRepository;
+
+    private final List<ActivityPK> processedActivities = new ArrayList<>();
+    private final List<CashReceiptUpdate> cashReceiptUpdates = new ArrayList<>();
+    private final Map<SummaryPK, SummaryDelta> summaryDeltas = new LinkedHashMap<>();
+    private final List<BankReconUpdate> bankReconUpdates = new ArrayList<>();
+    private final List<P09Activity> activityInserts = new ArrayList<>();
+
+    P09352WriteBehind(JdbcTemplate jdbcTemplate, EntityManager entityManager,
+                      IP09SummaryRepository summaryRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.summaryRepository = summaryRepository;
+    }
+
+    /** 510000: ACT-PROCESSED-IND = 'P'. */
+    void updateProcessedInd(ActivityPK id) {
+        processedActivities.add(id);
+    }
+
+    void updateCashReceipt(CashReceiptUpdate u) {
+        cashReceiptUpdates.add(u);
+    }
+
+    /** 525000: one more deletion of {@code cntrldAmt} for the location / clerk. */
+    void updateSummary(String locationId, String clerkId, BigDecimal cntrldAmt) {
+        SummaryDelta d = summaryDeltas.computeIfAbsent(new SummaryPK(locationId, clerkId), k -> new SummaryDelta());
+        d.cnt++;
+        d.amt = d.amt.add(cntrldAmt == null ? BigDecimal.ZERO : cntrldAmt);
+    }
+
+    void updateBankRecon(BankReconUpdate u) {
+        bankReconUpdates.add(u);
+    }
+
+    /** 540000 / 550000 DB-STORE. */
+    void insertActivity(P09Activity a) {
+        activityInserts.add(a);
+    }
+
+    boolean isEmpty() {
+        return processedActivities.isEmpty() && cashReceiptUpdates.isEmpty() && summaryDeltas.isEmpty()
+                && bankReconUpdates.isEmpty() && activityInserts.isEmpty();
+    }
+
+    /** Sends everything queued, in paragraph order, and empties the buffer. */
+    void flush() {
+        if (isEmpty()) {
+            return;
+        }
+        log.info("[500000] flushing activityUpdates={} cashReceiptUpdates={} summaries={} bankReconUpdates={} "
+                + "activityInserts={}", processedActivities.size(), cashReceiptUpdates.size(), summaryDeltas.size(),
+                bankReconUpdates.size(), activityInserts.size());
+
+        batch(UPDT_PROCESSED_IND_SQL, processedActivities, (ps, id) -> {
+            ps.setString(1, "P");
+            ps.setString(2, id.getCrRefundType());
+            setDate(ps, 3, id.getCrCntrlDate());
+            ps.setString(4, id.getCrCntrlNbr());
+            setDate(ps, 5, id.getActActivityDate());
+            ps.setString(6, id.getActActivity());
+            ps.setObject(7, id.getActTimestamp());
+        }, id -> "[510000] ERROR IN MODIFYING V_P09_ACTIVITY for key refundType=" + id.getCrRefundType()
+                + ", cntrlDate=" + id.getCrCntrlDate() + ", cntrlNbr=" + id.getCrCntrlNbr()
+                + ", actDate=" + id.getActActivityDate() + ", actActivity=" + id.getActActivity()
+                + ", actTimestamp=" + id.getActTimestamp());
+
+        batch(UPDT_CASH_RECEIPT_SQL, cashReceiptUpdates, (ps, u) -> {
+            ps.setBigDecimal(1, u.receiptBal());
+            ps.setString(2, u.statusText());
+            setDate(ps, 3, u.statusDate());
+            ps.setString(4, u.pendFinAct());
+            ps.setString(5, u.remDailyInd());
+            ps.setString(6, u.remIdType());
+            ps.setString(7, u.remIdNbr());
+            ps.setString(8, u.remNationalId());
+            ps.setString(9, u.remTaxIdNbr());
+            ps.setString(10, u.remAddressee());
+            ps.setString(11, u.remAddress1());
+            ps.setString(12, u.remAddress2());
+            ps.setString(13, u.remCity());
+            ps.setString(14, u.remState());
+            ps.setString(15, u.remZip5());
+            ps.setString(16, u.remZip4());
+            ps.setString(17, u.refundType());
+            setDate(ps, 18, u.cntrlDate());
+            ps.setString(19, u.cntrlNbr());
+        }, u -> "ERROR IN MODIFYING DCLV-P09-CASH-RECEIPT IN PARAGRAPH 520000-UPDT-CASH-REC-RCD key=" + u.key());
+
+        flushSummaries();
+
+        batch(UPDT_BANK_RECON_SQL, bankReconUpdates, (ps, u) -> {
+            ps.setString(1, u.checkStatusCode());
+            setDate(ps, 2, u.checkStatusDate());
+            ps.setString(3, u.statusSourceCode());
+            ps.setString(4, u.stDaily());
+            setDate(ps, 5, u.reportDate());
+            ps.setString(6, u.fileIndicator());
+            ps.setString(7, u.bankAccountNbr());
+            ps.setString(8, u.checkNbr());
+            setDate(ps, 9, u.checkDate());
+        }, u -> "ERROR IN MODIFYING DCLV-BANK-RECON IN PARAGRAPH 530000-UPDT-OCCS-RCD key=" + u.key());
+
+        // new rows: persist (no merge SELECT) and flush them as JDBC batches; the batch size is set on
+        // this session only, so other jobs keep Hibernate's default statement-at-a-time flush
+        Session session = entityManager.unwrap(Session.class);
+        Integer jdbcBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(ACTIVITY_INSERT_BATCH_SIZE);
+        try {
+            for (P09Activity a : activityInserts) {
+                entityManager.persist(a);
+            }
+            entityManager.flush();
+        } finally {
+            session.setJdbcBatchSize(jdbcBatchSize);
+        }
+
+        processedActivities.clear();
+        cashReceiptUpdates.clear();
+        summaryDeltas.clear();
+        bankReconUpdates.clear();
+        activityInserts.clear();
+    }
+
+    /** 525000 once per (location, clerk): INSERT a zero row when missing, then one UPDATE with the folded delta. */
+    private void flushSummaries() {
+        List<Object[]> updates = new ArrayList<>();
+        List<SummaryPK> keys = new ArrayList<>();
+        for (Map.Entry<SummaryPK, SummaryDelta> e : summaryDeltas.entrySet()) {
+            SummaryPK pk = e.getKey();
+            SummaryDelta d = e.getValue();
+
+            P09Summary s = summaryRepository.findSummary(pk.getSumLocationID(), pk.getSumClerkId()).orElse(null);
+            if (s == null) {
+                P09Summary ins = new P09Summary();
+                ins.setSId(new SummaryPK(pk.getSumLocationID(), pk.getSumClerkId()));
+                ins.setSumDeletionsCnt(0);
+                ins.setSumDeletionsAmt(BigDecimal.ZERO);
+                ins.setSumEndingCnt(0);
+                ins.setSumEndingAmt(BigDecimal.ZERO);
+                entityManager.persist(ins);
+                s = ins;
+            }
+
+            updates.add(new Object[] {
+                    nvl(s.getSumDeletionsCnt()) + d.cnt, nvl(s.getSumDeletionsAmt()).add(d.amt),
+                    nvl(s.getSumEndingCnt()) - d.cnt, nvl(s.getSumEndingAmt()).subtract(d.amt),
+                    pk.getSumLocationID(), pk.getSumClerkId() });
+            keys.add(pk);
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+        // the UPDATE must see the rows inserted above
+        entityManager.flush();
+
+        int[] counts = jdbcTemplate.batchUpdate(UPDT_SUMMARY_SQL, updates);
+        for (int i = 0; i < counts.length; i++) {
+            if (!oneRow(counts[i])) {
+                SummaryPK pk = keys.get(i);
+                throw new IllegalStateException("ERROR IN MODIFYING P09_SUMMARY for locationId="
+                        + pk.getSumLocationID() + ", clerkId=" + pk.getSumClerkId()
+                        + " IN PARAGRAPH 525000-UPDT-SUMMARY (updated=" + counts[i] + ")");
+            }
+        }
+    }
+
+    private <T> void batch(String sql, List<T> rows, ParameterizedPreparedStatementSetter<T> setter,
+                           Function<T, String> error) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        int[] counts = jdbcTemplate.batchUpdate(sql, rows, rows.size(), setter)[0];
+        for (int i = 0; i < counts.length; i++) {
+            if (!oneRow(counts[i])) {
+                throw new IllegalStateException(error.apply(rows.get(i)) + " (rowsUpdated=" + counts[i] + ")");
+            }
+        }
+        log.debug("[500000] batch of {} done: {}", rows.size(), sql);
+    }
+
+    // some drivers report SUCCESS_NO_INFO for batched statements
+    private static boolean oneRow(int count) {
+        return count == 1 || count == Statement.SUCCESS_NO_INFO;
+    }
+
+    private static void setDate(PreparedStatement ps, int index, LocalDate d) throws SQLException {
+        if (d == null) {
+            ps.setNull(index, Types.DATE);
+        } else {
+            ps.setObject(index, d);
+        }
+    }
+
+    private static int nvl(Integer v) {
+        return v == null ? 0 : v;
+    }
+
+    private static BigDecimal nvl(BigDecimal v) {
+        return v == null ? BigDecimal.ZERO : v;
+    }
+}
@@ -12,9 +12,14 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -28,14 +33,20 @@ import com.abcbs.crrs.entity.ActivityPK;
 import com.abcbs.crrs.entity.P09Activity;
 import com.abcbs.crrs.repository.IActivityRepository;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
 public class P09360FileWriter implements ItemWriter<P09GlDedsRecord>, ItemStream {
 
 	private static final Logger log = LogManager.getLogger(P09360FileWriter.class);
 	private static final Charset CS = Charset.forName("ISO-8859-1");
 	private static final int MAX_LINES_PER_PAGE = 55;
+	/** GL keys per batched activity query; 4 parameters a key stay under SQL Server's 2100. */
+	private static final int ACTIVITY_LOOKUP_SLICE = 400;
 
 	private final String reportPath;
 	private final IActivityRepository activityRepo;
+	private final EntityManager entityManager;
 
 	private BufferedWriter writer;
 	private int currentLine = 0;
@@ -80,9 +91,21 @@ public class P09360FileWriter implements ItemWriter<P09GlDedsRecord>, ItemStream
 	private BigDecimal grandDebits = BigDecimal.ZERO;
 	private BigDecimal grandCredits = BigDecimal.ZERO;
 
-	public P09360FileWriter(String reportPath, IActivityRepository activityRepo) {
+	// 430000-RTRV-ACTIVITY results for the current chunk
+	private record AccKey(String refundType, LocalDate cntrlDate, String cntrlNbr, LocalDate activityDate) {
+		static AccKey of(String refundType, LocalDate cntrlDate, String cntrlNbr, LocalDate activityDate) {
+			return new AccKey(refundType == null ? "" : refundType.trim(), cntrlDate,
+					cntrlNbr == null ? "" : cntrlNbr.trim(), activityDate);
+		}
+	}
+
+	private final Map<AccKey, List<P09Activity>> chunkActivities = new HashMap<>();
+	private long activityQueries = 0;
+
+	public P09360FileWriter(String reportPath, IActivityRepository activityRepo, EntityManager entityManager) {
 		this.reportPath = reportPath;
 		this.activityRepo = activityRepo;
+		this.entityManager = entityManager;
 	}
 
 	@Override
@@ -166,6 +189,8 @@ public class P09360FileWriter implements ItemWriter<P09GlDedsRecord>, ItemStream
 				return;
 			}
 
+			prefetchActivities(chunk);
+
 			for (P09GlDedsRecord r : chunk) {
 				// Step 3.2: print headers if first or page overflow
 				if (!dataWritten || currentLine >= MAX_LINES_PER_PAGE) {
@@ -220,7 +245,7 @@ public class P09360FileWriter implements ItemWriter<P09GlDedsRecord>, ItemStream
 
 			writer.close();
 			writer = null; // Mark writer as closed
-			log.info("Report file closed successfully.");
+			log.info("Report file closed successfully. Activity queries issued: {}", activityQueries);
 
 		} catch (IOException e) {
 			log.error("Error while closing writer: {}", e.getMessage(), e);
@@ -376,11 +401,79 @@ public class P09360FileWriter implements ItemWriter<P09GlDedsRecord>, ItemStream
 		}
 	}
 
+	// ===== COBOL 430000-RTRV-ACTIVITY, batched per chunk =====
+	private void prefetchActivities(Chunk<? extends P09GlDedsRecord> chunk) {
+		chunkActivities.clear();
+
+		Set<AccKey> keys = new LinkedHashSet<>();
+		for (P09GlDedsRecord r : chunk) {
+			if ("PER".equals(r.getGl_refund_type()) || r.getGl_refund_type() == null
+					|| r.getGl_control_nbr() == null) {
+				continue;
+			}
+			keys.add(AccKey.of(r.getGl_refund_type(), parseDate(r.getGl_control_date()), r.getGl_control_nbr(),
+					parseDate(r.getGl_act_date())));
+		}
+
+		List<AccKey> all = new ArrayList<>(keys);
+		for (int from = 0; from < all.size(); from += ACTIVITY_LOOKUP_SLICE) {
+			List<AccKey> slice = all.subList(from, Math.min(all.size(), from + ACTIVITY_LOOKUP_SLICE));
+			List<P09Activity> rows = findAccActivities(slice);
+			activityQueries++;
+			for (AccKey k : slice) {
+				chunkActivities.put(k, new ArrayList<>());
+			}
+			// rows arrive in 430000 order, so each key's list keeps it
+			for (P09Activity act : rows) {
+				ActivityPK pk = act.getAId();
+				List<P09Activity> l = chunkActivities.get(AccKey.of(pk.getCrRefundType(), pk.getCrCntrlDate(),
+						pk.getCrCntrlNbr(), pk.getActActivityDate()));
+				if (l != null) {
+					l.add(act);
+				}
+			}
+		}
+		log.debug("Prefetched ACC activities for {} GL keys", chunkActivities.size());
+	}
+
+	/**
+	 * 430000 for a slice of GL keys in one query: the composite keys ORed
+	 * together, so only the slice's own rows come back, in findActivitiesForAcc
+	 * order. Runs in the chunk transaction; a failure fails the chunk.
+	 */
+	private List<P09Activity> findAccActivities(List<AccKey> slice) {
+		StringBuilder jpql = new StringBuilder("SELECT a FROM P09Activity a WHERE a.aId.actActivity = 'ACC' AND (");
+		for (int i = 0; i < slice.size(); i++) {
+			if (i > 0) jpql.append(" OR ");
+			jpql.append("(a.aId.crRefundType = :r").append(i)
+					.append(" AND a.aId.crCntrlDate = :d").append(i)
+					.append(" AND a.aId.crCntrlNbr = :n").append(i)
+					.append(" AND a.aId.actActivityDate = :a").append(i).append(')');
+		}
+		jpql.append(") ORDER BY a.aId.crRefundType, a.actXrefDate, a.actXrefNbr, a.aId.crCntrlDate, a.aId.crCntrlNbr");
+
+		TypedQuery<P09Activity> query = entityManager.createQuery(jpql.toString(), P09Activity.class);
+		for (int i = 0; i < slice.size(); i++) {
+			AccKey k = slice.get(i);
+			query.setParameter("r" + i, k.refundType())
+					.setParameter("d" + i, k.cntrlDate())
+					.setParameter("n" + i, k.cntrlNbr())
+					.setParameter("a" + i, k.activityDate());
+		}
+		return query.getResultList();
+	}
+
 	// ===== COBOL 430000-RTRV-ACTIVITY + 420000-WRITE-RET-UND-RCD =====
 	private List<P09Activity> fetchActivitiesFor(P09GlDedsRecord r) {
 
 		try {
 			LocalDate cntrlDate = parseDate(r.getGl_control_date());
+			List<P09Activity> prefetched = chunkActivities.get(AccKey.of(r.getGl_refund_type(), cntrlDate,
+					r.getGl_control_nbr(), parseDate(r.getGl_act_date())));
+			if (prefetched != null) {
+				return prefetched;
+			}
+			activityQueries++;
 			return activityRepo.findActivitiesForAcc(r.getGl_refund_type().trim(), cntrlDate,
 					r.getGl_control_nbr().trim(), parseDate(r.getGl_act_date()));
 		} catch (Exception e) {
@@ -1,135 +1,73 @@
 package com.abcbs.crrs.jobs.P09365;
 
-import org.springframework.batch.item.file.LineMapper;
-import org.springframework.batch.item.file.mapping.DefaultLineMapper;
-import org.springframework.batch.item.file.mapping.FieldSetMapper;
-import org.springframework.batch.item.file.transform.FieldSet;
-import org.springframework.batch.item.file.transform.FixedLengthTokenizer;
-import org.springframework.batch.item.file.transform.Range;
+import com.abcbs.crrs.utilities.FixedWidthLayout;
 
 public final class P09365LineMapper {
 
     private P09365LineMapper() {}
 
-    public static LineMapper<P09365InputGpIntrface> gpIntrfaceLineMapper() {
-        DefaultLineMapper<P09365InputGpIntrface> lm = new DefaultLineMapper<>();
-        lm.setLineTokenizer(tokenizer275());
-        lm.setFieldSetMapper(mapper());
-        return lm;
-    }
-
-    private static FixedLengthTokenizer tokenizer275() {
-        FixedLengthTokenizer t = new FixedLengthTokenizer();
-        t.setStrict(false);
-
-        t.setNames(
-                "oRecdCode",
-                "oFiller1",
-                "oVoucherNbr",
-                "oInvoiceDate",
-                "oFiller2",
-                "oTaxIdNbr",
-                "oPayeeIdType",
-                "oProviderNbr",
-                "oPayeeName",
-                "oPayeeAddr1",
-                "oPayeeAddr2",
-                "oPayeeCity",
-                "oPayeeSt",
-                "oPayeeZip1",
-                "oPayeeZip2",
-                "oFiller3",
-                "oChkAmt",
-                "oNegInd",
-                "oChkNbr",
-                "oChkDate",
-                "oChkType",
-                "oBankAcctNbr",
-                "oNationalId",
-                "oRefundType",
-                "oCntrlDate",
-                "oCntrlNbr",
-                "oMemberId",
-                "oLname",
-                "oFname"
-        );
-
-        // 1-based inclusive ranges totaling 275 chars
-        t.setColumns(
-                r(1, 1),
-                r(2, 2),
-                r(3, 8),
-                r(9, 18),
-                r(19, 19),
-                r(20, 28),
-                r(29, 29),
-                r(30, 38),
-                r(39, 68),
-                r(69, 103),
-                r(104, 138),
-                r(139, 158),
-                r(159, 160),
-                r(161, 165),
-                r(166, 169),
-                r(170, 170),
-                r(171, 181),
-                r(182, 182),
-                r(183, 190),
-                r(191, 200),
-                r(201, 202),
-                r(203, 210),
-                r(211, 220),
-                r(221, 223),
-                r(224, 233),
-                r(234, 237),
-                r(238, 249),
-                r(250, 264),
-                r(265, 275)
-        );
+    /** GP interface input (P09352's AP-INTRFACE-OUT), 275 bytes. */
+    public static final FixedWidthLayout<P09365InputGpIntrface> GP_INTRFACE = FixedWidthLayout.of(P09365InputGpIntrface::new)
+            .field("oRecdCode",      1,   1, P09365InputGpIntrface::setORecdCode)
+            .field("oFiller1",       2,   2, P09365InputGpIntrface::setOFiller1)
+            .field("oVoucherNbr",    3,   8, P09365InputGpIntrface::setOVoucherNbr)
+            .field("oInvoiceDate",   9,  18, P09365InputGpIntrface::setOInvoiceDate)
+            .field("oFiller2",      19,  19, P09365InputGpIntrface::setOFiller2)
+            .field("oTaxIdNbr",     20,  28, P09365InputGpIntrface::setOTaxIdNbr)
+            .field("oPayeeIdType",  29,  29, P09365InputGpIntrface::setOPayeeIdType)
+            .field("oProviderNbr",  30,  38, P09365InputGpIntrface::setOProviderNbr)
+            .field("oPayeeName",    39,  68, P09365InputGpIntrface::setOPayeeName)
+            .field("oPayeeAddr1",   69, 103, P09365InputGpIntrface::setOPayeeAddr1)
+            .field("oPayeeAddr2",  104, 138, P09365InputGpIntrface::setOPayeeAddr2)
+            .field("oPayeeCity",   139, 158, P09365InputGpIntrface::setOPayeeCity)
+            .field("oPayeeSt",     159, 160, P09365InputGpIntrface::setOPayeeSt)
+            .field("oPayeeZip1",   161, 165, P09365InputGpIntrface::setOPayeeZip1)
+            .field("oPayeeZip2",   166, 169, P09365InputGpIntrface::setOPayeeZip2)
+            .field("oFiller3",     170, 170, P09365InputGpIntrface::setOFiller3)
+            .field("oChkAmt",      171, 181, P09365InputGpIntrface::setOChkAmt)
+            .field("oNegInd",      182, 182, P09365InputGpIntrface::setONegInd)
+            .field("oChkNbr",      183, 190, P09365InputGpIntrface::setOChkNbr)
+            .field("oChkDate",     191, 200, P09365InputGpIntrface::setOChkDate)
+            .field("oChkType",     201, 202, P09365InputGpIntrface::setOChkType)
+            .field("oBankAcctNbr", 203, 210, P09365InputGpIntrface::setOBankAcctNbr)
+            .field("oNationalId",  211, 220, P09365InputGpIntrface::setONationalId)
+            .field("oRefundType",  221, 223, P09365InputGpIntrface::setORefundType)
+            .field("oCntrlDate",   224, 233, P09365InputGpIntrface::setOCntrlDate)
+            .field("oCntrlNbr",    234, 237, P09365InputGpIntrface::setOCntrlNbr)
+            .field("oMemberId",    238, 249, P09365InputGpIntrface::setOMemberId)
+            .field("oLname",       250, 264, P09365InputGpIntrface::setOLname)
+            .field("oFname",       265, 275, P09365InputGpIntrface::setOFname)
+            .build();
 
-        return t;
-    }
-
-    private static FieldSetMapper<P09365InputGpIntrface> mapper() {
-        return new FieldSetMapper<>() {
-            @Override
-            public P09365InputGpIntrface mapFieldSet(FieldSet fs) {
-            	P09365InputGpIntrface r = new P09365InputGpIntrface();
-                r.setORecdCode(fs.readString("oRecdCode"));
-                r.setOFiller1(fs.readString("oFiller1"));
-                r.setOVoucherNbr(fs.readString("oVoucherNbr"));
-                r.setOInvoiceDate(fs.readString("oInvoiceDate"));
-                r.setOFiller2(fs.readString("oFiller2"));
-                r.setOTaxIdNbr(fs.readString("oTaxIdNbr"));
-                r.setOPayeeIdType(fs.readString("oPayeeIdType"));
-                r.setOProviderNbr(fs.readString("oProviderNbr"));
-                r.setOPayeeName(fs.readString("oPayeeName"));
-                r.setOPayeeAddr1(fs.readString("oPayeeAddr1"));
-                r.setOPayeeAddr2(fs.readString("oPayeeAddr2"));
-                r.setOPayeeCity(fs.readString("oPayeeCity"));
-                r.setOPayeeSt(fs.readString("oPayeeSt"));
-                r.setOPayeeZip1(fs.readString("oPayeeZip1"));
-                r.setOPayeeZip2(fs.readString("oPayeeZip2"));
-                r.setOFiller3(fs.readString("oFiller3"));
-                r.setOChkAmt(fs.readString("oChkAmt"));
-                r.setONegInd(fs.readString("oNegInd"));
-                r.setOChkNbr(fs.readString("oChkNbr"));
-                r.setOChkDate(fs.readString("oChkDate"));
-                r.setOChkType(fs.readString("oChkType"));
-                r.setOBankAcctNbr(fs.readString("oBankAcctNbr"));
-                r.setONationalId(fs.readString("oNationalId"));
-                r.setORefundType(fs.readString("oRefundType"));
-                r.setOCntrlDate(fs.readString("oCntrlDate"));
-                r.setOCntrlNbr(fs.readString("oCntrlNbr"));
-                r.setOMemberId(fs.readString("oMemberId"));
-                r.setOLname(fs.readString("oLname"));
-                r.setOFname(fs.readString("oFname"));
-                return r;
-            }
-        };
-    }
+    /** MANUAL-CHKS output, 245 bytes (trailing filler written as spaces). */
+    public static final FixedWidthLayout<P09365OutputManualChks> MANUAL_CHKS = FixedWidthLayout.writer(P09365OutputManualChks.class)
+            .length(245)
+            .output("mRefundType",      1,   3, P09365OutputManualChks::getMRefundType)
+            .output("mFiller1",         4,   4, P09365OutputManualChks::getMFiller1)
+            .output("mCntrlDate",       5,  14, P09365OutputManualChks::getMCntrlDate)
+            .output("mFiller2",        15,  15, P09365OutputManualChks::getMFiller2)
+            .output("mCntrlNbr",       16,  19, P09365OutputManualChks::getMCntrlNbr)
+            .output("mInvoiceDate",    20,  29, P09365OutputManualChks::getMInvoiceDate)
+            .output("mProviderNbr",    30,  38, P09365OutputManualChks::getMProviderNbr)
+            .output("mPayeeName",      39,  74, P09365OutputManualChks::getMPayeeName)
+            .output("mPayeeAddr1",     75, 110, P09365OutputManualChks::getMPayeeAddr1)
+            .output("mPayeeAddr2",    111, 146, P09365OutputManualChks::getMPayeeAddr2)
+            .output("mPayeeCity",     147, 170, P09365OutputManualChks::getMPayeeCity)
+            .output("mPayeeSt",       171, 172, P09365OutputManualChks::getMPayeeSt)
+            .output("mPayeeZip1",     173, 177, P09365OutputManualChks::getMPayeeZip1)
+            .output("mPayeeZip2",     178, 181, P09365OutputManualChks::getMPayeeZip2)
+            .output("mInvoiceAmt",    182, 192, m -> lpadDigits(m.getMInvoiceAmt(), 11))
+            .output("mDesc",          193, 232, P09365OutputManualChks::getMDesc)
+            .output("mPayeeIdPrefix", 233, 236, P09365OutputManualChks::getMPayeeIdPrefix)
+            .output("mPayeeIdType",   237, 237, P09365OutputManualChks::getMPayeeIdType)
+            .output("mCheckType",     238, 239, P09365OutputManualChks::getMCheckType)
+            .build();
 
-    private static Range r(int min, int max) {
-        return new Range(min, max);
+    /** PIC 9(n): spaces removed, zero-filled on the left, high-order digits cut. */
+    private static String lpadDigits(String s, int len) {
+        if (s == null) s = "";
+        s = s.replace(" ", "");
+        if (s.length() >= len) return s.substring(s.length() - len);
+        return "0".repeat(len - s.length()) + s;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+package com.abcbs.crrs.jobs.P09370;
+
+import com.abcbs.crrs.entity.P09Batch;
+import com.abcbs.crrs.keyset.KeysetKey;
+
+/**
+ * CKPNT-KEY as a typed key: batch prefix, batch date (YYMMDD), batch suffix,
+ * refund type, which is also the reader's ORDER BY.
+ */
+public record P09370BatchKey(String batchPrefix, String batchDate, String batchSuffix, String refundType)
+		implements KeysetKey {
+
+	/** Before the first row (an empty or all-zero CKPNT-KEY). */
+	public static final P09370BatchKey START = new P09370BatchKey("", "", "", "");
+
+	static final int CKPNT_KEY_LENGTH = 3 + 6 + 2 + 3;
+
+	public static P09370BatchKey of(P09Batch b) {
+		return new P09370BatchKey(b.getBId().getBtBatchPrefix(), b.getBId().getBtBatchDate(),
+				b.getBId().getBtBatchSuffix(), b.getBId().getCrRefundType());
+	}
+
+	/** Splits a CKPNT-KEY (PPPYYMMDDSSRT) as written by P09370CheckpointHandler. */
+	public static P09370BatchKey parse(String ckpntKey) {
+		if (ckpntKey == null || ckpntKey.isBlank() || ckpntKey.chars().allMatch(c -> c == '0')) {
+			return START;
+		}
+		// the handler trims the key it reads back, so restore trailing blanks
+		String k = String.format("%-" + CKPNT_KEY_LENGTH + "s", ckpntKey);
+		if (k.length() != CKPNT_KEY_LENGTH) {
+			throw new IllegalStateException("P09370 CKPNT-KEY must be " + CKPNT_KEY_LENGTH + " characters: '" + ckpntKey + "'");
+		}
+		return new P09370BatchKey(k.substring(0, 3), k.substring(3, 9), k.substring(9, 11), k.substring(11, 14));
+	}
+
+	@Override
+	public Object[] keyValues() {
+		return new Object[] { batchPrefix, batchDate, batchSuffix, refundType };
+	}
+}
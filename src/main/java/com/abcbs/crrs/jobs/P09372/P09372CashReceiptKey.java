@@ -0,0 +1,23 @@
+package com.abcbs.crrs.jobs.P09372;
+
+import java.time.LocalDate;
+
+import com.abcbs.crrs.entity.P09CashReceipt;
+import com.abcbs.crrs.keyset.KeysetKey;
+
+/**
+ * Reader key for P09372: the cash receipt primary key in ORDER BY order
+ * (refund type, control date, control nbr).
+ */
+public record P09372CashReceiptKey(String refundType, LocalDate cntrlDate, String cntrlNbr) implements KeysetKey {
+
+	public static P09372CashReceiptKey of(P09CashReceipt cr) {
+		return new P09372CashReceiptKey(cr.getCrId().getCrRefundType(), cr.getCrId().getCrCntrlDate(),
+				cr.getCrId().getCrCntrlNbr());
+	}
+
+	@Override
+	public Object[] keyValues() {
+		return new Object[] { refundType, cntrlDate, cntrlNbr };
+	}
+}
@@ -6,7 +6,15 @@ import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.text.DecimalFormat;
+import java.sql.Date;
+import java.sql.Statement;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -15,10 +23,12 @@ import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.item.ItemStream;
 import org.springframework.batch.item.ItemStreamException;
 import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import com.abcbs.crrs.entity.CashReceiptPK;
 import com.abcbs.crrs.entity.P09CashReceipt;
 import com.abcbs.crrs.entity.P09Suspense;
-import com.abcbs.crrs.repository.IP09CashReceiptRepository;
+import com.abcbs.crrs.entity.SuspensePK;
 import com.abcbs.crrs.repository.IP09SuspenseRepository;
 
 /**
@@ -29,6 +39,13 @@ public class P09372Writer implements ItemWriter<P09CashReceipt>, ItemStream {
 	private static final Logger log = LogManager.getLogger(P09372Writer.class);
 
 	private static final int RECORD_LEN = 80;
+
+	/** Suspense keys per prefetch query: 3 parameters each, under the SQL Server limit of 2100. */
+	static final int SUSPENSE_SLICE = 500;
+
+	/** UPDATE-OFFSET-CODE, sent as one JDBC batch per chunk. */
+	private static final String CLEAR_REMITTOR_TITLE_SQL = "UPDATE P09_CASH_RECEIPT SET CR_REMITTOR_TITLE = ' ' "
+			+ "WHERE CR_REFUND_TYPE = ? AND CR_CNTRL_DATE = ? AND CR_CNTRL_NBR = ?";
 	private BufferedWriter letterFile;
 	private BufferedWriter letterXmlFile;
 	private BufferedWriter deleteFile;
@@ -42,8 +59,13 @@ public class P09372Writer implements ItemWriter<P09CashReceipt>, ItemStream {
 	private final String letterCntFileName;
 	private boolean closed = false;
 
-	private final IP09CashReceiptRepository cashRepo;
 	private final IP09SuspenseRepository suspenseRepo;
+	private final JdbcTemplate jdbcTemplate;
+
+	// per chunk: suspense rows by receipt key (absent = no suspense row), and
+	// the receipts whose remittor title is cleared at chunk end
+	private final Map<SuspensePK, P09Suspense> chunkSuspense = new HashMap<>();
+	private final List<CashReceiptPK> pendingTitleClears = new ArrayList<>();
 
 	private int wsLetterCount = 0;
 	private boolean wsSkipLetter;
@@ -136,29 +158,30 @@ public class P09372Writer implements ItemWriter<P09CashReceipt>, ItemStream {
 
 	private static final String PAYEE_LINE_3 = padRight(" <greeting>Dear Payee:</greeting>", 80);
 
-	private static String L_DATE_P;
-	private static String L_DATE_1_P;
+	// letter labels of the current run (instance state: the job server runs jobs side by side)
+	private String lDateP;
+	private String lDate1P;
 
-	private static String L_DATE;
-	private static String L_DATE_1;
-	private static String L_PAYEE_NAME_1_P;
+	private String lDate;
+	private String lDate1;
+	private String lPayeeName1P;
 
-	private static String L_PAYEE_ADDRESS_P;
-	private static String L_PAYEE_ADDRESS_2_P;
+	private String lPayeeAddressP;
+	private String lPayeeAddress2P;
 
-	private static String L_ADDRESS_P;
-	private static String L_PATIENT_NAME_P;
-	private static String L_CHECK_NBR_P;
+	private String lAddressP;
+	private String lPatientNameP;
+	private String lCheckNbrP;
 
 	public P09372Writer(String letterFile, String letterXml, String deleteFile, String suspenseFile,
-			String letterCntFile, IP09CashReceiptRepository cashRepo, IP09SuspenseRepository suspenseRepo) {
+			String letterCntFile, IP09SuspenseRepository suspenseRepo, JdbcTemplate jdbcTemplate) {
 		this.letterFileName = letterFile;
 		this.letterXmlFileName = letterXml;
 		this.deleteFileName = deleteFile;
 		this.suspenseFileName = suspenseFile;
 		this.letterCntFileName = letterCntFile;
-		this.cashRepo = cashRepo;
 		this.suspenseRepo = suspenseRepo;
+		this.jdbcTemplate = jdbcTemplate;
 
 		log.info("P09372Writer initialized with files: letter={}, xml={}, delete={}, suspense={}, cnt={}", letterFile,
 				letterXml, deleteFile, suspenseFile, letterCntFile);
@@ -184,6 +207,8 @@ public class P09372Writer implements ItemWriter<P09CashReceipt>, ItemStream {
 	public void write(Chunk<? extends P09CashReceipt> chunk) throws Exception {
 
 		log.info("Writing chunk of size {}", chunk.size());
+		prefetchSuspense(chunk);
+		pendingTitleClears.clear();
 		for (P09CashReceipt cash : chunk) {
 			log.debug("Processing cash receipt: id={}, checkNbr={}, amount={}", cash.getCrId(), cash.getCrCheckNbr(),
 					cash.getCrCheckAmt());
@@ -204,6 +229,35 @@ public class P09372Writer implements ItemWriter<P09CashReceipt>, ItemStream {
 
 			}
 		}
+		flushTitleClears();
+		chunkSuspense.clear();
+	}
+
+	/** One keyed query per {@value #SUSPENSE_SLICE} receipts instead of two lookups per receipt. */
+	private void prefetchSuspense(Chunk<? extends P09CashReceipt> chunk) {
+		chunkSuspense.clear();
+		Set<SuspensePK> keys = new LinkedHashSet<>();
+		for (P09CashReceipt cash : chunk) {
+			keys.add(suspenseKey(cash));
+		}
+		List<SuspensePK> all = new ArrayList<>(keys);
+		try {
+			for (int from = 0; from < all.size(); from += SUSPENSE_SLICE) {
+				for (P09Suspense s : suspenseRepo.findSuspenseIn(all.subList(from,
+						Math.min(from + SUSPENSE_SLICE, all.size())))) {
+					chunkSuspense.put(s.getSpId(), s);
+				}
+			}
+		} catch (Exception e) {
+			log.error("Error prefetching suspense for {} receipts", all.size(), e);
+			throw new RuntimeException("Suspense retrieval failed", e);
+		}
+		log.debug("Prefetched {} suspense rows for {} receipts", chunkSuspense.size(), all.size());
+	}
+
+	private static SuspensePK suspenseKey(P09CashReceipt cash) {
+		return new SuspensePK(cash.getCrId().getCrRefundType(), cash.getCrId().getCrCntrlDate(),
+				cash.getCrId().getCrCntrlNbr());
 	}
 
 	private void createLetter(BufferedWriter letterWriter, BufferedWriter xmlWriter, P09CashReceipt cash)
@@ -244,41 +298,41 @@ public class P09372Writer implements ItemWriter<P09CashReceipt>, ItemStream {
 		String date;
 		date = month + " " + day + ", " + year;
 
-		L_DATE_P = pad(date, 18);
-		L_DATE_1_P = pad("1" + L_DATE_P, 80);
+		lDateP = pad(date, 18);
+		lDate1P = pad("1" + lDateP, 80);
 
-		writeLetter(letterWriter, L_DATE_1_P);
+		writeLetter(letterWriter, lDate1P);
 
-		L_DATE = pad(date, 18);
-		L_DATE_1 = pad(" <date>" + L_DATE + "</date>", 80);
-		writeXml(xmlWriter, L_DATE_1);
+		lDate = pad(date, 18);
+		lDate1 = pad(" <date>" + lDate + "</date>", 80);
+		writeXml(xmlWriter, lDate1);
 
 		writeBlank(xmlWriter);
 		writeBlank(xmlWriter);
 
-		L_PAYEE_NAME_1_P = pad(cash.getCrRemittorName(), 36);
-		writeLetter(letterWriter, pad("0" + L_PAYEE_NAME_1_P, 80));
-		writeXml(xmlWriter, pad(" <name>" + L_PAYEE_NAME_1_P + "</name>", 80));
+		lPayeeName1P = pad(cash.getCrRemittorName(), 36);
+		writeLetter(letterWriter, pad("0" + lPayeeName1P, 80));
+		writeXml(xmlWriter, pad(" <name>" + lPayeeName1P + "</name>", 80));
 
 		if (!isBlank(cash.getCrRemAddress1())) {
-			L_PAYEE_ADDRESS_P = pad(cash.getCrRemAddress1(), 36);
-			writeLetter(letterWriter, pad(" " + L_PAYEE_ADDRESS_P, 80));
-			writeXml(xmlWriter, pad(" <addr1>" + L_PAYEE_ADDRESS_P + "</addr1>", 80));
+			lPayeeAddressP = pad(cash.getCrRemAddress1(), 36);
+			writeLetter(letterWriter, pad(" " + lPayeeAddressP, 80));
+			writeXml(xmlWriter, pad(" <addr1>" + lPayeeAddressP + "</addr1>", 80));
 		} else if (!isBlank(cash.getCrChkAddress1())) {
-			L_PAYEE_ADDRESS_P = pad(cash.getCrChkAddress1(), 36);
-			writeLetter(letterWriter, pad(" " + L_PAYEE_ADDRESS_P, 80));
-			writeXml(xmlWriter, pad(" <addr1>" + L_PAYEE_ADDRESS_P + "</addr1>", 80));
+			lPayeeAddressP = pad(cash.getCrChkAddress1(), 36);
+			writeLetter(letterWriter, pad(" " + lPayeeAddressP, 80));
+			writeXml(xmlWriter, pad(" <addr1>" + lPayeeAddressP + "</addr1>", 80));
 		}
 
 		if (!isBlank(cash.getCrRemAddress2())) {
-			L_PAYEE_ADDRESS_2_P = pad(cash.getCrRemAddress2(), 36);
-			writeLetter(letterWriter, pad(" " + L_PAYEE_ADDRESS_2_P, 80));
-			writeXml(xmlWriter, pad(" <addr2>" + L_PAYEE_ADDRESS_2_P + "</addr2>", 80));
+			lPayeeAddress2P = pad(cash.getCrRemAddress2(), 36);
+			writeLetter(letterWriter, pad(" " + lPayeeAddress2P, 80));
+			writeXml(xmlWriter, pad(" <addr2>" + lPayeeAddress2P + "</addr2>", 80));
 		} else if (isBlank(cash.getCrRemAddress1()) && isBlank(cash.getCrRemAddress2())
 				&& !isBlank(cash.getCrChkAddress2())) {
-			L_PAYEE_ADDRESS_2_P = pad(cash.getCrChkAddress2(), 36);
-			writeLetter(letterWriter, pad(" " + L_PAYEE_ADDRESS_2_P, 80));
-			writeXml(xmlWriter, pad(" <addr2>" + L_PAYEE_ADDRESS_2_P + "</addr2>", 80));
+			lPayeeAddress2P = pad(cash.getCrChkAddress2(), 36);
+			writeLetter(letterWriter, pad(" " + lPayeeAddress2P, 80));
+			writeXml(xmlWriter, pad(" <addr2>" + lPayeeAddress2P + "</addr2>", 80));
 		}
 
 		String city = isBlank(cash.getCrRemCity()) ? cash.getCrChkCity() : cash.getCrRemCity();
@@ -300,16 +354,16 @@ public class P09372Writer implements ItemWriter<P09CashReceipt>, ItemStream {
 
 		} else {
 			String address = cobolDelimitedByTwoSpaces(cityP) + " " + L_ST_P + " " + L_ZIP_P;
-			L_ADDRESS_P = pad(address, 35);
+			lAddressP = pad(address, 35);
 			writeBlank(letterWriter);
-			writeLetter(letterWriter, pad(" " + L_ADDRESS_P, 80));
+			writeLetter(letterWriter, pad(" " + lAddressP, 80));
 
-			writeXml(xmlWriter, pad(" <addr3>" + L_ADDRESS_P + "</addr3>", 80));
+			writeXml(xmlWriter, pad(" <addr3>" + lAddressP + "</addr3>", 80));
 		}
 		/*
-		 * L_ADDRESS_P = pad(city + " " + state + " " + zip, 35);
-		 * writeLetter(letterWriter, pad(" " + L_ADDRESS_P, 80)); writeXml(xmlWriter,
-		 * pad(" <addr3>" + L_ADDRESS_P + "</addr3>", 80));
+		 * lAddressP = pad(city + " " + state + " " + zip, 35);
+		 * writeLetter(letterWriter, pad(" " + lAddressP, 80)); writeXml(xmlWriter,
+		 * pad(" <addr3>" + lAddressP + "</addr3>", 80));
 		 */
 
 		writeBlank(xmlWriter);
@@ -327,17 +381,17 @@ public class P09372Writer implements ItemWriter<P09CashReceipt>, ItemStream {
 
 		String patient = cash.getCrPatientFname().trim() + " " + cash.getCrPatientLname().trim();
 
-		L_PATIENT_NAME_P = transformPatient(patient);
+		lPatientNameP = transformPatient(patient);
 		writeBlank(xmlWriter);
 		writeBlank(xmlWriter);
 
-		writeLetter(letterWriter, pad("0" + "RE: " + L_PATIENT_NAME_P, 80));
+		writeLetter(letterWriter, pad("0" + "RE: " + lPatientNameP, 80));
 		writeXml(xmlWriter, pad(" <patient>RE: " + pad(patient, 25) + "</patient>", 80));
 
-		L_CHECK_NBR_P = pad(cash.getCrCheckNbr(), 8);
+		lCheckNbrP = pad(cash.getCrCheckNbr(), 8);
 
-		writeLetter(letterWriter, pad("     Check # " + L_CHECK_NBR_P, 80));
-		writeXml(xmlWriter, pad(" <checknbr>    Check # " + L_CHECK_NBR_P + "</checknbr>", 80));
+		writeLetter(letterWriter, pad("     Check # " + lCheckNbrP, 80));
+		writeXml(xmlWriter, pad(" <checknbr>    Check # " + lCheckNbrP + "</checknbr>", 80));
 
 		writeBlank(xmlWriter);
 		writeXml(xmlWriter, LETTER_PARAGRAPH);
@@ -671,15 +725,7 @@ public class P09372Writer implements ItemWriter<P09CashReceipt>, ItemStream {
 	private P09Suspense retrieveSuspense(P09CashReceipt cash) {
 		log.debug("Retrieving suspense for refundType={}, cntrlDate={}, cntrlNbr={}", cash.getCrId().getCrRefundType(),
 				cash.getCrId().getCrCntrlDate(), cash.getCrId().getCrCntrlNbr());
-		try {
-
-			return suspenseRepo.findSuspense(cash.getCrId().getCrRefundType(), cash.getCrId().getCrCntrlDate(),
-					cash.getCrId().getCrCntrlNbr());
-		} catch (Exception e) {
-			log.error("Error retrieving suspense for receipt id={}", cash.getCrId(), e);
-			throw new RuntimeException("Suspense retrieval failed", e);
-		}
-
+		return chunkSuspense.get(suspenseKey(cash));
 	}
 
 	private void processSuspenseAndDelete(P09CashReceipt cash) throws IOException {
@@ -692,7 +738,7 @@ public class P09372Writer implements ItemWriter<P09CashReceipt>, ItemStream {
 				refundType, refundType == null ? 0 : refundType.length(), cntrlDate, cntrlNbr,
 				cntrlNbr == null ? 0 : cntrlNbr.length());
 
-		P09Suspense s = suspenseRepo.findSuspense(refundType, cntrlDate, cntrlNbr);
+		P09Suspense s = chunkSuspense.get(suspenseKey(cash));
 
 		if (s == null) {
 
@@ -760,14 +806,32 @@ public class P09372Writer implements ItemWriter<P09CashReceipt>, ItemStream {
 				refundType, refundType == null ? 0 : refundType.length(), cntrlDate, cntrlNbr,
 				cntrlNbr == null ? 0 : cntrlNbr.length());
 
-		int rows = cashRepo.clearRemittorTitle(refundType, cntrlDate, cntrlNbr);
-
-		log.info("UPDATE-OFFSET-CODE rowsUpdated={}", rows);
+		pendingTitleClears.add(cash.getCrId());
+	}
 
-		if (rows != 1) {
-			log.error("UPDATE-OFFSET-CODE FAILED ❌");
-			throw new RuntimeException("UPDATE-OFFSET-CODE failed, rows=" + rows);
+	/** UPDATE-OFFSET-CODE for the whole chunk; every receipt must update exactly one row. */
+	private void flushTitleClears() {
+		if (pendingTitleClears.isEmpty()) {
+			return;
+		}
+		int[] counts = jdbcTemplate.batchUpdate(CLEAR_REMITTOR_TITLE_SQL, pendingTitleClears, pendingTitleClears.size(),
+				(ps, id) -> {
+					ps.setString(1, id.getCrRefundType());
+					ps.setDate(2, Date.valueOf(id.getCrCntrlDate()));
+					ps.setString(3, id.getCrCntrlNbr());
+				})[0];
+
+		log.info("UPDATE-OFFSET-CODE batch of {} receipts", counts.length);
+
+		for (int i = 0; i < counts.length; i++) {
+			// some drivers report SUCCESS_NO_INFO for batched statements
+			if (counts[i] != 1 && counts[i] != Statement.SUCCESS_NO_INFO) {
+				log.error("UPDATE-OFFSET-CODE FAILED ❌ for receipt {}", pendingTitleClears.get(i));
+				throw new RuntimeException(
+						"UPDATE-OFFSET-CODE failed for " + pendingTitleClears.get(i) + ", rows=" + counts[i]);
+			}
 		}
+		pendingTitleClears.clear();
 	}
 
 	private void writeLetter(BufferedWriter w, String line) {
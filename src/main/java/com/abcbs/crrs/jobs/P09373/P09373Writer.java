@@ -1,5 +1,10 @@
 package com.abcbs.crrs.jobs.P09373;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.batch.item.Chunk;
@@ -17,51 +22,66 @@ public class P09373Writer implements ItemWriter<P09373InputRecord> {
 
     private static final Logger log = LogManager.getLogger(P09373Writer.class);
 
+    /** Keys per DELETE: 4 parameters each, well under the SQL Server limit of 2100. */
+    static final int DELETE_SLICE = 500;
+
     private final IP09BatchRepository repository;
 
     public P09373Writer(IP09BatchRepository repository) {
         this.repository = repository;
     }
 
+    /**
+     * Deletes the chunk's batches with one DELETE per {@value #DELETE_SLICE}
+     * keys. Deleted is the affected-row count; every other record (missing, or
+     * a repeat of a key already deleted) is counted as not found.
+     */
     @Override
     @Transactional
     public void write(Chunk<? extends P09373InputRecord> chunk) {
         log.info("Starting write operation for {} records", chunk.size());
 
-        int deletedCount = 0;
-        int notFoundCount = 0;
+        int records = 0;
+        Set<BatchPK> keys = new LinkedHashSet<>();
 
         for (P09373InputRecord rec : chunk) {
-            try {
-                if (rec == null) {
-                    log.warn("Encountered null record in chunk. Skipping...");
-                    continue;
-                }
-
-                BatchPK pk = new BatchPK(
-                        Utility.safeTrimUpper(rec.getRefundType()),
-                        Utility.safeTrimUpper(rec.getBatchPrefix()),
-                        Utility.safeTrimUpper(rec.getBatchDate()),
-                        Utility.safeTrimUpper(rec.getBatchSuffix())
-                );
-
-                log.debug("Processing record with key: {}", pk);
-
-                if (repository.existsById(pk)) {
-                    repository.deleteById(pk);
-                    deletedCount++;
-                    log.info("Deleted batch with key: {}", pk);
-                } else {
-                    notFoundCount++;
-                    log.warn("No matching batch found for key: {}", pk);
-                }
+            if (rec == null) {
+                log.warn("Encountered null record in chunk. Skipping...");
+                continue;
+            }
+            records++;
+
+            BatchPK pk = new BatchPK(
+                    Utility.safeTrimUpper(rec.getRefundType()),
+                    Utility.safeTrimUpper(rec.getBatchPrefix()),
+                    Utility.safeTrimUpper(rec.getBatchDate()),
+                    Utility.safeTrimUpper(rec.getBatchSuffix())
+            );
 
+            log.debug("Processing record with key: {}", pk);
+            keys.add(pk);
+        }
+
+        int deletedCount = 0;
+        List<BatchPK> all = new ArrayList<>(keys);
+        for (int from = 0; from < all.size(); from += DELETE_SLICE) {
+            List<BatchPK> slice = all.subList(from, Math.min(from + DELETE_SLICE, all.size()));
+            try {
+                int deleted = repository.deleteAllByIdIn(slice);
+                deletedCount += deleted;
+                log.debug("Deleted {} of {} batches from {} to {}", deleted, slice.size(), slice.get(0),
+                        slice.get(slice.size() - 1));
             } catch (Exception e) {
-                log.error("Failed to process record: {}", rec, e);
-                throw new RuntimeException("Error deleting batch record for input: " + rec, e);
+                log.error("Failed to delete batches from {} to {}", slice.get(0), slice.get(slice.size() - 1), e);
+                throw new RuntimeException("Error deleting batch records from " + slice.get(0) + " to "
+                        + slice.get(slice.size() - 1), e);
             }
         }
 
+        int notFoundCount = records - deletedCount;
+        if (notFoundCount > 0) {
+            log.warn("{} of {} batch keys had no matching batch", notFoundCount, records);
+        }
         log.info("Completed write operation. Deleted: {}, Not Found: {}", deletedCount, notFoundCount);
     }
     
@@ -0,0 +1,25 @@
+package com.abcbs.crrs.jobs.P09375;
+
+import java.time.LocalDate;
+
+import com.abcbs.crrs.keyset.KeysetKey;
+
+/**
+ * Restart key for findDailyRemittances: the last label row written, in the
+ * query's ORDER BY order (user id, refund type, control date, control nbr).
+ */
+public record DailyRemittanceKey(String userId, String refundType, LocalDate cntrlDate, String cntrlNbr)
+		implements KeysetKey {
+
+	/** Before the first row. */
+	public static final DailyRemittanceKey START = new DailyRemittanceKey("", "", LOW_DATE, "");
+
+	public static DailyRemittanceKey of(DailyRemittanceView v) {
+		return new DailyRemittanceKey(v.getCrUserId(), v.getCrRefundType(), v.getCrCntrlDate(), v.getCrCntrlNbr());
+	}
+
+	@Override
+	public Object[] keyValues() {
+		return new Object[] { userId, refundType, cntrlDate, cntrlNbr };
+	}
+}
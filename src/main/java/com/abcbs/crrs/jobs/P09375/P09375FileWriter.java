@@ -21,6 +21,7 @@ import org.springframework.batch.item.ItemStreamException;
 import org.springframework.batch.item.file.FlatFileItemReader;
 import org.springframework.batch.repeat.RepeatStatus;
 
+import com.abcbs.crrs.entity.CashReceiptPK;
 import com.abcbs.crrs.repository.IP09CashReceiptRepository;
 
 /**
@@ -35,6 +36,10 @@ public class P09375FileWriter implements Tasklet{
 
 	private static final Logger log = LogManager.getLogger(P09375FileWriter.class);
 
+	// keys per 000250 UPDATE: well under SQL Server's 5000-lock escalation point
+	// and its 2100-parameter limit
+	private static final int REMAIL_RESET_SLICE = 500;
+
 	// ===== Injected IO =====
 	private final String labelPath;
 	private final String label1Path;
@@ -60,9 +65,11 @@ public class P09375FileWriter implements Tasklet{
 	// Internal buffer state
 	private List<DailyRemittanceView> buffer = new ArrayList<>();
 	private int bufferIndex = 0;
-	private String checkpointKey = "";
+	private DailyRemittanceKey checkpointKey = DailyRemittanceKey.START;
 
 	private long totalWrote = 0;
+	// 000250 resets only the receipts read here (one per processRecord)
+	private final List<CashReceiptPK> labelledKeys = new ArrayList<>();
 	private long totalExceptions = 0;
 	private boolean opened = false;
 
@@ -111,13 +118,14 @@ public class P09375FileWriter implements Tasklet{
 			DailyRemittanceView view = buffer.get(bufferIndex++);
 			log.debug("Loop: bufferIndex={} view={}", bufferIndex, view);
 			processRecord(view);
+			labelledKeys.add(new CashReceiptPK(view.getCrRefundType(), view.getCrCntrlDate(), view.getCrCntrlNbr()));
 
 			ckpntCounter++;
 			if (ckpntFrequency > 0 && ckpntCounter >= ckpntFrequency) {
 				log.debug("Checkpoint threshold reached: ckpntCounter={}, ckpntFrequency={}", ckpntCounter,
 						ckpntFrequency);
 				log.info("buffer size {}", buffer.size());
-				checkpointKey = buildCheckpointKeyFromView(view);
+				checkpointKey = DailyRemittanceKey.of(view);
 				fetchNextDBChunk();
 				ckpntCounter = 0;
 				bufferIndex = 0;
@@ -431,11 +439,16 @@ public class P09375FileWriter implements Tasklet{
 
 	private void proc000250UpdateRemailInd() {
 		try {
-			int updated = cashRepo.clearDailyRemittanceFlag();
-			if (updated > 0) {
+			int updated = 0;
+			for (int from = 0; from < labelledKeys.size(); from += REMAIL_RESET_SLICE) {
+				updated += cashRepo.clearDailyRemittanceFlag(
+						labelledKeys.subList(from, Math.min(labelledKeys.size(), from + REMAIL_RESET_SLICE)));
+			}
+			if (updated == labelledKeys.size()) {
 				log.info("Remail indicator reset for {} records", updated);
 			} else {
-				log.warn("Remail indicator update attempted, but no records were affected.");
+				log.warn("Remail indicator reset for {} records but {} were labelled", updated,
+						labelledKeys.size());
 			}
 		} catch (Exception e) {
 			totalExceptions++;
@@ -450,16 +463,12 @@ public class P09375FileWriter implements Tasklet{
 	}
 
 	private void fetchNextDBChunk() {
-		log.debug("fetchNextDBChunk START with checkpointKey = '{}'", checkpointKey);
+		log.debug("fetchNextDBChunk START with checkpointKey = {}", checkpointKey);
 		buffer = cashRepo.findDailyRemittances(checkpointKey);
 		bufferIndex = 0;
 		log.debug("fetchNextDBChunk: fetched {} records", buffer.size());
 	}
 
-	private String buildCheckpointKeyFromView(DailyRemittanceView v) {
-		return v.getCrCntrlDate().toString().replace("-", "") + v.getCrCntrlNbr() + v.getCrRefundType();
-	}
-
 	private void proc000300Finalization() throws IOException {
 		if (!opened) {
 			log.warn("Finalization called but writer was not opened");
@@ -0,0 +1,25 @@
+package com.abcbs.crrs.jobs.P09376;
+
+import java.time.LocalDate;
+
+import com.abcbs.crrs.keyset.KeysetKey;
+
+/**
+ * Restart key for findDailyRemittancesAfter: the last row written, in the
+ * query's ORDER BY order (control date, control nbr, refund type).
+ */
+public record P09376DailyRemittanceKey(LocalDate cntrlDate, String cntrlNbr, String refundType)
+		implements KeysetKey {
+
+	/** Before the first row. */
+	public static final P09376DailyRemittanceKey START = new P09376DailyRemittanceKey(LOW_DATE, "", "");
+
+	public static P09376DailyRemittanceKey of(P09376DailyRemittanceView v) {
+		return new P09376DailyRemittanceKey(v.getCrCntrlDate(), v.getCrCntrlNbr(), v.getCrRefundType());
+	}
+
+	@Override
+	public Object[] keyValues() {
+		return new Object[] { cntrlDate, cntrlNbr, refundType };
+	}
+}
@@ -7,7 +7,6 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
-import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
@@ -48,15 +47,10 @@ public class P09376FileWriter implements Tasklet {
     private List<P09376DailyRemittanceView> buffer = new ArrayList<>();
     private int bufferIndex = 0;
     private String checkpointKey = "";
-    
- // add imports: java.time.LocalDate;
-    private LocalDate lastDate = LocalDate.of(1900,1,1);
-    private String lastNbr = "";
-    private String lastType = "";
+
+    private P09376DailyRemittanceKey lastKey = P09376DailyRemittanceKey.START;
     // defensive previous-first-row
-    private LocalDate prevFirstDate = null;
-    private String prevFirstNbr = null;
-    private String prevFirstType = null;
+    private P09376DailyRemittanceKey prevFirstKey = null;
 
 
     private long totalWrote = 0;
@@ -371,8 +365,8 @@ public class P09376FileWriter implements Tasklet {
     
     
     private void fetchNextDBChunk() {
-        log.debug("fetchNextDBChunk START with lastDate={}, lastNbr={}, lastType={}", lastDate, lastNbr, lastType);
-        List<P09376DailyRemittanceView> fetched = cashRepo.findDailyRemittancesAfter(lastDate, lastNbr, lastType);
+        log.debug("fetchNextDBChunk START with lastKey={}", lastKey);
+        List<P09376DailyRemittanceView> fetched = cashRepo.findDailyRemittancesAfter(lastKey);
 
         if (fetched == null || fetched.isEmpty()) {
             buffer = new ArrayList<>();
@@ -391,9 +385,8 @@ public class P09376FileWriter implements Tasklet {
         );
 
         // If the first returned row equals the previous batch's first row => suspicious repeat -> stop
-        if (prevFirstDate != null && prevFirstDate.equals(first.getCrCntrlDate())
-            && prevFirstNbr != null && prevFirstNbr.equals(first.getCrCntrlNbr())
-            && prevFirstType != null && prevFirstType.equals(first.getCrRefundType())) {
+        P09376DailyRemittanceKey firstKey = P09376DailyRemittanceKey.of(first);
+        if (firstKey.equals(prevFirstKey)) {
             log.warn("DB returned a batch whose first record equals the previous batch's first record -> stopping to avoid infinite loop");
             buffer = new ArrayList<>();
             bufferIndex = 0;
@@ -401,9 +394,7 @@ public class P09376FileWriter implements Tasklet {
         }
 
         // set prevFirst to current first for next guard
-        prevFirstDate = first.getCrCntrlDate();
-        prevFirstNbr  = first.getCrCntrlNbr();
-        prevFirstType = first.getCrRefundType();
+        prevFirstKey = firstKey;
 
         buffer = fetched;
         bufferIndex = 0;
@@ -418,10 +409,8 @@ public class P09376FileWriter implements Tasklet {
 
  // replace buildCheckpointKeyFromView(view) with:
     private void setCheckpointFromView(P09376DailyRemittanceView v) {
-        this.lastDate = v.getCrCntrlDate();
-        this.lastNbr  = v.getCrCntrlNbr();
-        this.lastType = v.getCrRefundType();
-        log.debug("Checkpoint updated to lastDate={}, lastNbr={}, lastType={}", lastDate, lastNbr, lastType);
+        this.lastKey = P09376DailyRemittanceKey.of(v);
+        log.debug("Checkpoint updated to lastKey={}", lastKey);
     }
 
 
@@ -0,0 +1,205 @@
+package com.abcbs.crrs.keyset;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Keyset ("seek") paging JPA reader.
+ *
+ * Each page is {@code <query> [AND <keyset predicate>] ORDER BY <key columns>}
+ * limited to {@code fetchSize} rows, starting after the key of the last item
+ * read. Unlike JpaPagingItemReader there is no OFFSET, so every page costs the
+ * same, and rows updated or deleted by the writer (so they no longer match the
+ * query) do not shift the pages that follow.
+ *
+ * Cursor mode runs the same query once instead, after the start key, as a
+ * forward-only stream with the JDBC fetch size and read-only entities. The
+ * reader's own EntityManager keeps it open across chunk commits, and each
+ * entity is detached once read, so memory stays flat.
+ *
+ * Restart: the key of the last item read is saved in the ExecutionContext on
+ * every commit and the next execution seeks straight past it. Built with
+ * {@link KeysetItemReaderBuilder}.
+ */
+public class KeysetItemReader<T> extends AbstractItemCountingItemStreamItemReader<T> {
+
+	private static final Logger log = LogManager.getLogger(KeysetItemReader.class);
+
+	private static final String LAST_KEY = "last.key";
+
+	private final EntityManagerFactory entityManagerFactory;
+	private final String queryString;
+	private final Class<T> resultType;
+	private final Map<String, Object> parameterValues;
+	private final KeysetRestart keyset;
+	private final Function<T, KeysetKey> keyOf;
+	private final int fetchSize;
+	private final boolean cursor;
+
+	private EntityManager entityManager;
+	private KeysetKey lastKey;
+	private List<T> page = Collections.emptyList();
+	private int pageIndex;
+	private boolean exhausted;
+	private Stream<T> stream;
+	private Iterator<T> streamRows;
+	private boolean detachRows;
+
+	KeysetItemReader(String name, EntityManagerFactory entityManagerFactory, String queryString, Class<T> resultType,
+			Map<String, Object> parameterValues, KeysetRestart keyset, Function<T, KeysetKey> keyOf,
+			KeysetKey startAfter, int fetchSize, boolean cursor) {
+		setName(name);
+		this.entityManagerFactory = entityManagerFactory;
+		this.queryString = queryString;
+		this.resultType = resultType;
+		this.parameterValues = (parameterValues == null) ? Map.of() : new HashMap<>(parameterValues);
+		this.keyset = keyset;
+		this.keyOf = keyOf;
+		this.lastKey = startAfter;
+		this.fetchSize = fetchSize;
+		this.cursor = cursor;
+	}
+
+	@Override
+	protected void doOpen() {
+		entityManager = entityManagerFactory.createEntityManager();
+		page = Collections.emptyList();
+		pageIndex = 0;
+		exhausted = false;
+		detachRows = entityManagerFactory.getMetamodel().getEntities().stream()
+				.anyMatch(e -> e.getJavaType() == resultType);
+	}
+
+	@Override
+	public void open(ExecutionContext executionContext) throws ItemStreamException {
+		super.open(executionContext);
+		if (isSaveState() && executionContext.containsKey(getExecutionContextKey(LAST_KEY))) {
+			@SuppressWarnings("unchecked")
+			List<Object> saved = (List<Object>) executionContext.get(getExecutionContextKey(LAST_KEY));
+			lastKey = savedKey(saved.toArray());
+			log.info("{}: restarting after key {}", getExecutionContextKey(LAST_KEY), saved);
+		}
+	}
+
+	@Override
+	public void update(ExecutionContext executionContext) throws ItemStreamException {
+		super.update(executionContext);
+		if (isSaveState() && lastKey != null) {
+			executionContext.put(getExecutionContextKey(LAST_KEY), new ArrayList<>(Arrays.asList(lastKey.keyValues())));
+		}
+	}
+
+	/** Restart position comes from the saved key, not from re-reading items. */
+	@Override
+	protected void jumpToItem(int itemIndex) {
+	}
+
+	@Override
+	protected T doRead() {
+		if (cursor) {
+			return readCursor();
+		}
+		if (pageIndex >= page.size()) {
+			if (exhausted) {
+				return null;
+			}
+			readPage();
+			if (page.isEmpty()) {
+				return null;
+			}
+		}
+		T item = page.get(pageIndex++);
+		lastKey = keyOf.apply(item);
+		return item;
+	}
+
+	/** Opened on the first read, once a saved restart key has been restored. */
+	private T readCursor() {
+		if (streamRows == null) {
+			stream = query()
+					.setHint(HibernateHints.HINT_READ_ONLY, true)
+					.getResultStream();
+			streamRows = stream.iterator();
+			log.debug("{}: cursor opened after key {}", getExecutionContextKey(LAST_KEY), lastKey);
+		}
+		if (!streamRows.hasNext()) {
+			return null;
+		}
+		T item = streamRows.next();
+		if (detachRows) {
+			entityManager.detach(item);
+		}
+		lastKey = keyOf.apply(item);
+		return item;
+	}
+
+	private void readPage() {
+		// detach the previous page before loading the next one
+		entityManager.clear();
+
+		page = query().setMaxResults(fetchSize).getResultList();
+		pageIndex = 0;
+		exhausted = page.size() < fetchSize;
+		log.debug("{}: read {} rows after key {}", getExecutionContextKey(LAST_KEY), page.size(), lastKey);
+	}
+
+	private TypedQuery<T> query() {
+		String jpql = queryString
+				+ (lastKey == null ? "" : " AND " + keyset.predicate())
+				+ " ORDER BY " + keyset.orderBy();
+
+		TypedQuery<T> query = entityManager.createQuery(jpql, resultType);
+		parameterValues.forEach(query::setParameter);
+		if (lastKey != null) {
+			keyset.bind(query, lastKey);
+		}
+		query.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize);
+		return query;
+	}
+
+	@Override
+	protected void doClose() {
+		if (stream != null) {
+			stream.close();
+			stream = null;
+			streamRows = null;
+		}
+		if (entityManager != null) {
+			entityManager.close();
+			entityManager = null;
+		}
+		page = Collections.emptyList();
+	}
+
+	private static KeysetKey savedKey(Object[] values) {
+		return new KeysetKey() {
+			@Override
+			public Object[] keyValues() {
+				return values;
+			}
+
+			@Override
+			public String toString() {
+				return Arrays.asList(values).toString();
+			}
+		};
+	}
+}
@@ -0,0 +1,108 @@
+package com.abcbs.crrs.keyset;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Builder for {@link KeysetItemReader}, in the style of JpaPagingItemReaderBuilder.
+ *
+ * <pre>
+ * new KeysetItemReaderBuilder&lt;P09Batch&gt;()
+ *         .name("p09310BatchReader")
+ *         .entityManagerFactory(emf)
+ *         .queryString("SELECT b FROM P09Batch b WHERE b.btPostedInd = 'P'")
+ *         .resultType(P09Batch.class)
+ *         .keyset(BATCH_KEYSET, P09310BatchKey::of)
+ *         .fetchSize(500)
+ *         .build();
+ * </pre>
+ *
+ * The query string must have a WHERE clause and no ORDER BY; the reader adds
+ * the keyset predicate and orders by the keyset columns.
+ */
+public class KeysetItemReaderBuilder<T> {
+
+	private String name;
+	private EntityManagerFactory entityManagerFactory;
+	private String queryString;
+	private Class<T> resultType;
+	private Map<String, Object> parameterValues;
+	private KeysetRestart keyset;
+	private Function<T, KeysetKey> keyOf;
+	private KeysetKey startAfter;
+	private int fetchSize = 500;
+	private boolean cursor;
+	private boolean saveState = true;
+
+	public KeysetItemReaderBuilder<T> name(String name) {
+		this.name = name;
+		return this;
+	}
+
+	public KeysetItemReaderBuilder<T> entityManagerFactory(EntityManagerFactory entityManagerFactory) {
+		this.entityManagerFactory = entityManagerFactory;
+		return this;
+	}
+
+	public KeysetItemReaderBuilder<T> queryString(String queryString) {
+		this.queryString = queryString;
+		return this;
+	}
+
+	public KeysetItemReaderBuilder<T> resultType(Class<T> resultType) {
+		this.resultType = resultType;
+		return this;
+	}
+
+	public KeysetItemReaderBuilder<T> parameterValues(Map<String, Object> parameterValues) {
+		this.parameterValues = parameterValues;
+		return this;
+	}
+
+	/** Sort key columns and how to take the key from an item read. */
+	public KeysetItemReaderBuilder<T> keyset(KeysetRestart keyset, Function<T, KeysetKey> keyOf) {
+		this.keyset = keyset;
+		this.keyOf = keyOf;
+		return this;
+	}
+
+	/** Optional seed (e.g. from a checkpointKey job parameter); a saved restart key wins. */
+	public KeysetItemReaderBuilder<T> startAfter(KeysetKey startAfter) {
+		this.startAfter = startAfter;
+		return this;
+	}
+
+	/** Rows per seek query, also passed to the driver as the JDBC fetch size. */
+	public KeysetItemReaderBuilder<T> fetchSize(int fetchSize) {
+		this.fetchSize = fetchSize;
+		return this;
+	}
+
+	/** One streamed query instead of seek pages (see {@link KeysetItemReader}). */
+	public KeysetItemReaderBuilder<T> cursor(boolean cursor) {
+		this.cursor = cursor;
+		return this;
+	}
+
+	public KeysetItemReaderBuilder<T> saveState(boolean saveState) {
+		this.saveState = saveState;
+		return this;
+	}
+
+	public KeysetItemReader<T> build() {
+		if (name == null || entityManagerFactory == null || queryString == null || resultType == null
+				|| keyset == null || keyOf == null) {
+			throw new IllegalStateException(
+					"KeysetItemReader needs name, entityManagerFactory, queryString, resultType and keyset");
+		}
+		if (fetchSize <= 0) {
+			throw new IllegalStateException("KeysetItemReader fetchSize must be positive: " + fetchSize);
+		}
+		KeysetItemReader<T> reader = new KeysetItemReader<>(name, entityManagerFactory, queryString, resultType,
+				parameterValues, keyset, keyOf, startAfter, fetchSize, cursor);
+		reader.setSaveState(saveState);
+		return reader;
+	}
+}
@@ -0,0 +1,21 @@
+package com.abcbs.crrs.keyset;
+
+import java.time.LocalDate;
+
+/**
+ * Typed checkpoint key for a keyset restart: the last row processed, one value
+ * per sort column, in ORDER BY order.
+ *
+ * Implemented by small per-job records; see {@link KeysetRestart}.
+ */
+public interface KeysetKey {
+
+	/**
+	 * Low date for START keys (the date P09376 has always restarted from).
+	 * LocalDate.MIN would not fit a SQL Server DATETIME parameter.
+	 */
+	LocalDate LOW_DATE = LocalDate.of(1900, 1, 1);
+
+	/** Key values in sort-column order. */
+	Object[] keyValues();
+}
@@ -0,0 +1,144 @@
+package com.abcbs.crrs.keyset;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.persistence.Query;
+
+/**
+ * Keyset ("seek") restart predicate for a composite sort key.
+ *
+ * Replaces checkpoint keys built on the database side
+ * ({@code CONCAT(FORMAT(date), nbr, ...) > :checkpointKey}), which SQL Server
+ * cannot match against an index, with a row-value comparison on the real
+ * columns:
+ *
+ * <pre>
+ *   (c0 &gt; :k0)
+ *   OR (c0 = :k0 AND c1 &gt; :k1)
+ *   OR (c0 = :k0 AND c1 = :k1 AND c2 &gt; :k2) ...
+ * </pre>
+ *
+ * The columns are the ORDER BY columns of the query, in the same order, and the
+ * parameters come from a typed {@link KeysetKey}. Queries built at runtime use
+ * {@link #predicate()} / {@link #bind(Query, KeysetKey)}; {@code @Query}
+ * repository methods spell the same predicate out by hand and take the key
+ * record through a default method (see
+ * IP09CashReceiptRepository.findDailyRemittancesAfter).
+ *
+ * Key columns are expected to be NOT NULL: a NULL never satisfies {@code >}
+ * or {@code =}, so such rows would drop out of a restart. A column that can
+ * be NULL is declared with {@link #nullAsBlank(String...)} and compared and
+ * sorted as {@code COALESCE(c, '')}, the blank the old CONCAT key gave it.
+ */
+public final class KeysetRestart {
+
+	private final List<String> columns;
+	private final Set<String> blankIfNull;
+	private final String paramPrefix;
+
+	private KeysetRestart(String paramPrefix, Set<String> blankIfNull, String... columns) {
+		if (columns == null || columns.length == 0) {
+			throw new IllegalStateException("KeysetRestart needs at least one sort column");
+		}
+		this.columns = List.copyOf(Arrays.asList(columns));
+		this.blankIfNull = Set.copyOf(blankIfNull);
+		this.paramPrefix = paramPrefix;
+	}
+
+	/**
+	 * @param columns JPQL paths of the sort key, most significant first (e.g.
+	 *                "a.actUserId", "a.id.actActivity", ...)
+	 */
+	public static KeysetRestart on(String... columns) {
+		return new KeysetRestart("k", Set.of(), columns);
+	}
+
+	/** Copy using another parameter prefix (default "k"), for queries that already use :k0... */
+	public KeysetRestart withParamPrefix(String prefix) {
+		return new KeysetRestart(prefix, blankIfNull, columns.toArray(String[]::new));
+	}
+
+	/** Copy in which the given nullable String columns compare and sort as '' when NULL. */
+	public KeysetRestart nullAsBlank(String... nullable) {
+		Set<String> blank = new HashSet<>(blankIfNull);
+		for (String column : nullable) {
+			if (!columns.contains(column)) {
+				throw new IllegalStateException(column + " is not one of the sort columns " + columns);
+			}
+			blank.add(column);
+		}
+		return new KeysetRestart(paramPrefix, blank, columns.toArray(String[]::new));
+	}
+
+	/** Parenthesised predicate, ready to be ANDed into a WHERE clause. */
+	public String predicate() {
+		StringBuilder sb = new StringBuilder("(");
+		for (int i = 0; i < columns.size(); i++) {
+			if (i > 0) sb.append(" OR ");
+			sb.append('(');
+			for (int j = 0; j < i; j++) {
+				sb.append(expression(j)).append(" = :").append(param(j)).append(" AND ");
+			}
+			sb.append(expression(i)).append(" > :").append(param(i));
+			sb.append(')');
+		}
+		return sb.append(')').toString();
+	}
+
+	/** The matching ORDER BY list (without the keyword). */
+	public String orderBy() {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < columns.size(); i++) {
+			if (i > 0) sb.append(", ");
+			sb.append(expression(i));
+		}
+		return sb.toString();
+	}
+
+	/** Named parameters for {@link #predicate()}, e.g. for JpaPagingItemReader parameterValues. */
+	public Map<String, Object> parameters(KeysetKey key) {
+		Object[] values = values(key);
+		Map<String, Object> params = new LinkedHashMap<>();
+		for (int i = 0; i < values.length; i++) {
+			params.put(param(i), values[i]);
+		}
+		return params;
+	}
+
+	public <Q extends Query> Q bind(Q query, KeysetKey key) {
+		parameters(key).forEach(query::setParameter);
+		return query;
+	}
+
+	private Object[] values(KeysetKey key) {
+		Object[] values = (key == null) ? null : key.keyValues();
+		if (values == null || values.length != columns.size()) {
+			throw new IllegalStateException("Keyset key " + key + " does not match sort columns " + columns);
+		}
+		values = values.clone();
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] == null) {
+				if (!blankIfNull.contains(columns.get(i))) {
+					throw new IllegalStateException("Keyset key " + key + " has no value for NOT NULL column "
+							+ columns.get(i) + " (declare it with nullAsBlank)");
+				}
+				values[i] = "";
+			}
+		}
+		return values;
+	}
+
+	private String expression(int i) {
+		String column = columns.get(i);
+		return blankIfNull.contains(column) ? "COALESCE(" + column + ", '')" : column;
+	}
+
+	private String param(int i) {
+		return paramPrefix + i;
+	}
+}
@@ -0,0 +1,116 @@
+package com.abcbs.crrs.launch;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.abcbs.crrs.config.P09175Config;
+import com.abcbs.crrs.config.P09180Config;
+import com.abcbs.crrs.config.P09181Config;
+import com.abcbs.crrs.config.P09182Config;
+import com.abcbs.crrs.config.P09183Config;
+import com.abcbs.crrs.config.P09185Config;
+import com.abcbs.crrs.config.P09186Config;
+import com.abcbs.crrs.config.P09305Config;
+import com.abcbs.crrs.config.P09310Config;
+import com.abcbs.crrs.config.P09315Config;
+import com.abcbs.crrs.config.P09320Config;
+import com.abcbs.crrs.config.P09321Config;
+import com.abcbs.crrs.config.P09325Config;
+import com.abcbs.crrs.config.P09330Config;
+import com.abcbs.crrs.config.P09340Config;
+import com.abcbs.crrs.config.P09345Config;
+import com.abcbs.crrs.config.P09352Config;
+import com.abcbs.crrs.config.P09360Config;
+import com.abcbs.crrs.config.P09365Config;
+import com.abcbs.crrs.config.P09370Config;
+import com.abcbs.crrs.config.P09372Config;
+import com.abcbs.crrs.config.P09373Config;
+import com.abcbs.crrs.config.P09375Config;
+import com.abcbs.crrs.config.P09376Config;
+import com.abcbs.crrs.config.P09390Config;
+
+/**
+ * The CRRS jobs by the name the scheduler passes as the first argument: the
+ * Job bean, the configuration that defines it, its arguments and whether it
+ * touches the database. File-only jobs are launched without a DataSource or JPA.
+ */
+public enum CrrsJob {
+
+	P09175("p09175Job", P09175Config.class, P09175Config.PARAMETERS, true),
+	P09180("p09180Job", P09180Config.class, P09180Config.PARAMETERS, false),
+	P09181("p09181Job", P09181Config.class, P09181Config.PARAMETERS, false),
+	P09182("p09182Job", P09182Config.class, P09182Config.PARAMETERS, false),
+	P09183("p09183Job", P09183Config.class, P09183Config.PARAMETERS, false),
+	P09185("p09185Job", P09185Config.class, P09185Config.PARAMETERS, false),
+	P09186("p09186Job", P09186Config.class, P09186Config.PARAMETERS, false),
+	P09305("p09305Job", P09305Config.class, P09305Config.PARAMETERS, true),
+	P09310("p09310Job", P09310Config.class, P09310Config.PARAMETERS, true),
+	P09315("p09315Job", P09315Config.class, P09315Config.PARAMETERS, true),
+	P09320("p09320Job", P09320Config.class, P09320Config.PARAMETERS, true),
+	P09321("p09321Job", P09321Config.class, P09321Config.PARAMETERS, true),
+	P09325("p09325Job", P09325Config.class, P09325Config.PARAMETERS, true),
+	P09330("p09330Job", P09330Config.class, P09330Config.PARAMETERS, true),
+	P09340("p09340Job", P09340Config.class, P09340Config.PARAMETERS, true),
+	P09345("p09345Job", P09345Config.class, P09345Config.PARAMETERS, true),
+	P09352("p09352Job", P09352Config.class, P09352Config.PARAMETERS, true),
+	P09360("p09360Job", P09360Config.class, P09360Config.PARAMETERS, true),
+	P09365("p09365Job", P09365Config.class, P09365Config.PARAMETERS, false),
+	P09370("p09370Job", P09370Config.class, P09370Config.PARAMETERS, true),
+	P09372("P09372Job", P09372Config.class, P09372Config.PARAMETERS, true),
+	P09373("p09373Job", P09373Config.class, P09373Config.PARAMETERS, true),
+	P09375("p09375Job", P09375Config.class, P09375Config.PARAMETERS, true),
+	P09376("p09376Job", P09376Config.class, P09376Config.PARAMETERS, true),
+	P09390("p09390Job", P09390Config.class, P09390Config.PARAMETERS, false);
+
+	private static final Map<String, CrrsJob> BY_NAME = new HashMap<>();
+
+	static {
+		for (CrrsJob job : values()) {
+			BY_NAME.put(job.name(), job);
+		}
+	}
+
+	private final String jobBean;
+	private final Class<?> configClass;
+	private final JobParameterSpec parameters;
+	private final boolean needsDatabase;
+
+	CrrsJob(String jobBean, Class<?> configClass, JobParameterSpec parameters, boolean needsDatabase) {
+		this.jobBean = jobBean;
+		this.configClass = configClass;
+		this.parameters = parameters;
+		this.needsDatabase = needsDatabase;
+	}
+
+	/** The job for a scheduler job name (P09xxx). */
+	public static CrrsJob of(String jobName) {
+		CrrsJob job = (jobName == null) ? null : BY_NAME.get(jobName.trim());
+		if (job == null) {
+			throw new IllegalArgumentException("JOB NOT FOUND: " + jobName);
+		}
+		return job;
+	}
+
+	/** Name of the Job bean in the job's configuration. */
+	public String jobBean() {
+		return jobBean;
+	}
+
+	public Class<?> configClass() {
+		return configClass;
+	}
+
+	/** Arguments after the job name, declared next to the job's configuration. */
+	public JobParameterSpec parameters() {
+		return parameters;
+	}
+
+	/** Package of the job's own components (com.abcbs.crrs.jobs.P09xxx), scanned into its context. */
+	public String jobPackage() {
+		return "com.abcbs.crrs.jobs." + name();
+	}
+
+	public boolean needsDatabase() {
+		return needsDatabase;
+	}
+}
@@ -0,0 +1,26 @@
+package com.abcbs.crrs.launch;
+
+import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
+
+import com.abcbs.crrs.CrrsBatchApplication;
+import com.abcbs.crrs.cache.P09OptionCache;
+import com.abcbs.crrs.config.RetryConfig;
+import com.abcbs.crrs.listener.JobLoggingListener;
+import com.abcbs.crrs.lock.P09TableLocker;
+
+/**
+ * Parent context for database jobs: the same auto-configuration as
+ * CrrsBatchApplication (DataSource, JPA, repositories, JDBC job repository)
+ * and the shared components, but none of the P09xxxConfig classes.
+ */
+@EnableAutoConfiguration
+@AutoConfigurationPackage(basePackageClasses = CrrsBatchApplication.class)
+@EnableBatchProcessing
+@ComponentScan(basePackageClasses = { JobLoggingListener.class, P09TableLocker.class, P09OptionCache.class })
+@Import(RetryConfig.class)
+class DatabaseJobInfrastructure {
+}
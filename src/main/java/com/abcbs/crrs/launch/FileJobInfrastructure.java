@@ -0,0 +1,39 @@
+package com.abcbs.crrs.launch;
+
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.ResourcelessJobRepository;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.abcbs.crrs.listener.JobLoggingListener;
+
+/**
+ * Parent context for file-only jobs: no auto-configuration, so no DataSource,
+ * Hikari pool, p6spy or JPA. The job repository is in memory; these jobs were
+ * never restarted from BATCH_JOB_EXECUTION (every launch has a new run.id).
+ */
+@ComponentScan(basePackageClasses = JobLoggingListener.class)
+class FileJobInfrastructure {
+
+	@Bean
+	PlatformTransactionManager transactionManager() {
+		return new ResourcelessTransactionManager();
+	}
+
+	@Bean
+	JobRepository jobRepository() {
+		return new ResourcelessJobRepository();
+	}
+
+	@Bean
+	JobLauncher jobLauncher(JobRepository jobRepository) throws Exception {
+		TaskExecutorJobLauncher launcher = new TaskExecutorJobLauncher();
+		launcher.setJobRepository(jobRepository);
+		launcher.afterPropertiesSet();
+		return launcher;
+	}
+}
@@ -0,0 +1,225 @@
+package com.abcbs.crrs.launch;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.function.ToIntFunction;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A nightly chain of jobs as a DAG, one step per line:
+ *
+ * <pre>
+ * # id     after           job and arguments, as for a FULL launch
+ * p09305   -               P09305 /crrs/chkp /crrs/corp /crrs/p09305.out
+ * p09315   p09305          P09315 /crrs/corp /crrs/p09315.out
+ * p09320   p09315          P09320 /crrs/p09320.in /crrs/p09320.rpt
+ * p09321   p09315          P09321 /crrs/p09321.in /crrs/corp /crrs/p09321.rpt
+ * p09325   p09320,p09321   P09325 /crrs/chkp /crrs/p09325a.rpt /crrs/p09325b.rpt
+ * </pre>
+ *
+ * A step starts as soon as every step it comes after has ended with
+ * RETURN-CODE 0, so independent steps (P09320 and P09321 above) run at the
+ * same time. When a step ends with anything else, the steps after it are not
+ * run, the same as a COND check in the JCL. Steps are run in file order when
+ * several become ready together.
+ *
+ * Reading a chain only checks job names and argument counts: an input file
+ * may be written by an earlier step, so it is checked when its step starts.
+ */
+public final class JobChain {
+
+	private static final Logger logger = LogManager.getLogger(JobChain.class);
+
+	/** RETURN-CODE reported for a step that did not run because a step before it failed. */
+	public static final int NOT_RUN = -1;
+
+	record Step(String id, List<String> after, String[] args) {
+	}
+
+	private final Map<String, Step> steps;
+
+	private JobChain(Map<String, Step> steps) {
+		this.steps = steps;
+	}
+
+	public static JobChain read(Path file) throws IOException {
+		return parse(Files.readAllLines(file));
+	}
+
+	public static JobChain parse(List<String> lines) {
+		Map<String, Step> steps = new LinkedHashMap<>();
+		for (String raw : lines) {
+			String line = raw.strip();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			String[] cols = line.split("\\s+");
+			if (cols.length < 3) {
+				throw new IllegalStateException("Job chain line needs: id after job [args...]: '" + line + "'");
+			}
+			List<String> after = "-".equals(cols[1]) ? List.of() : List.of(cols[1].split(","));
+			Step step = new Step(cols[0], after, Arrays.copyOfRange(cols, 2, cols.length));
+			List<String> problems = CrrsJob.of(step.args()[0]).parameters().checkCount(step.args());
+			if (!problems.isEmpty()) {
+				throw new IllegalStateException("Job chain step '" + step.id() + "' " + String.join("; ", problems));
+			}
+			if (steps.put(step.id(), step) != null) {
+				throw new IllegalStateException("Job chain step '" + step.id() + "' is defined twice");
+			}
+		}
+		for (Step step : steps.values()) {
+			for (String dep : step.after()) {
+				if (!steps.containsKey(dep)) {
+					throw new IllegalStateException("Job chain step '" + step.id() + "' comes after unknown step '" + dep + "'");
+				}
+			}
+		}
+		JobChain chain = new JobChain(steps);
+		chain.checkAcyclic();
+		return chain;
+	}
+
+	/** A chain of one job, for a plain submission; its arguments are validated now. */
+	public static JobChain single(String... args) {
+		JobRequest.parse(args);
+		Map<String, Step> steps = new LinkedHashMap<>();
+		steps.put(args[0], new Step(args[0], List.of(), args));
+		return new JobChain(steps);
+	}
+
+	public int size() {
+		return steps.size();
+	}
+
+	/**
+	 * Runs the chain and returns the RETURN-CODE of every step by id, in file
+	 * order ({@link #NOT_RUN} for the steps that were skipped).
+	 *
+	 * @param runner   runs one job and returns its RETURN-CODE; must not throw
+	 * @param executor where the jobs run; its size is how many run at once
+	 */
+	public Map<String, Integer> run(ToIntFunction<String[]> runner, ExecutorService executor)
+			throws InterruptedException {
+		Map<String, Integer> pending = new HashMap<>();
+		Map<String, List<String>> successors = new HashMap<>();
+		for (Step step : steps.values()) {
+			pending.put(step.id(), step.after().size());
+			for (String dep : step.after()) {
+				successors.computeIfAbsent(dep, k -> new ArrayList<>()).add(step.id());
+			}
+		}
+
+		Map<String, Integer> rcs = new LinkedHashMap<>();
+		CompletionService<String> done = new ExecutorCompletionService<>(executor);
+		int running = 0;
+		for (Step step : steps.values()) {
+			if (step.after().isEmpty()) {
+				running += submit(step, runner, done, rcs);
+			}
+		}
+		while (running > 0) {
+			String id;
+			try {
+				id = done.take().get();
+			} catch (ExecutionException e) {
+				throw new IllegalStateException("Job chain runner failed", e.getCause());
+			}
+			running--;
+			int rc;
+			synchronized (rcs) {
+				rc = rcs.get(id);
+			}
+			for (String next : successors.getOrDefault(id, List.of())) {
+				if (rc != 0) {
+					skip(next, successors, rcs);
+				} else if (pending.merge(next, -1, Integer::sum) == 0 && !isDone(next, rcs)) {
+					running += submit(steps.get(next), runner, done, rcs);
+				}
+			}
+		}
+
+		Map<String, Integer> ordered = new LinkedHashMap<>();
+		for (String id : steps.keySet()) {
+			ordered.put(id, rcs.getOrDefault(id, NOT_RUN));
+		}
+		return ordered;
+	}
+
+	/** Highest RETURN-CODE of a finished chain, what a scheduler step for the whole chain would get. */
+	public static int maxReturnCode(Map<String, Integer> rcs) {
+		int max = 0;
+		for (int rc : rcs.values()) {
+			max = Math.max(max, rc == NOT_RUN ? 0 : rc);
+		}
+		return max;
+	}
+
+	private static int submit(Step step, ToIntFunction<String[]> runner, CompletionService<String> done,
+			Map<String, Integer> rcs) {
+		logger.info("Job chain: starting {} ({})", step.id(), String.join(" ", step.args()));
+		done.submit(() -> {
+			int rc = runner.applyAsInt(step.args());
+			logger.info("Job chain: {} ended with RETURN-CODE {}", step.id(), rc);
+			synchronized (rcs) {
+				rcs.put(step.id(), rc);
+			}
+			return step.id();
+		});
+		return 1;
+	}
+
+	private static void skip(String id, Map<String, List<String>> successors, Map<String, Integer> rcs) {
+		synchronized (rcs) {
+			if (rcs.putIfAbsent(id, NOT_RUN) != null) {
+				return;
+			}
+		}
+		logger.warn("Job chain: {} not run, a step before it did not end with RETURN-CODE 0", id);
+		for (String next : successors.getOrDefault(id, List.of())) {
+			skip(next, successors, rcs);
+		}
+	}
+
+	private static boolean isDone(String id, Map<String, Integer> rcs) {
+		synchronized (rcs) {
+			return rcs.containsKey(id);
+		}
+	}
+
+	private void checkAcyclic() {
+		Map<String, Integer> state = new HashMap<>();
+		for (String id : steps.keySet()) {
+			visit(id, state, new ArrayList<>());
+		}
+	}
+
+	private void visit(String id, Map<String, Integer> state, List<String> path) {
+		Integer s = state.get(id);
+		if (s != null && s == 2) {
+			return;
+		}
+		path.add(id);
+		if (s != null) {
+			throw new IllegalStateException("Job chain has a cycle: " + String.join(" -> ", path));
+		}
+		state.put(id, 1);
+		for (String dep : steps.get(id).after()) {
+			visit(dep, state, path);
+		}
+		state.put(id, 2);
+		path.remove(path.size() - 1);
+	}
+}
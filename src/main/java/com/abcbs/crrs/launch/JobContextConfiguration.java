@@ -0,0 +1,22 @@
+package com.abcbs.crrs.launch;
+
+import org.springframework.batch.core.configuration.support.ScopeConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+/**
+ * What a job's child context needs on its own: placeholder resolution, the
+ * job/step scopes and @Transactional proxies (P09310, P09320, P09373 writers)
+ * are bean factory post-processors, which a child does not inherit.
+ */
+@Import(ScopeConfiguration.class)
+@EnableTransactionManagement
+class JobContextConfiguration {
+
+	@Bean
+	static PropertySourcesPlaceholderConfigurer propertySourcesPlaceholderConfigurer() {
+		return new PropertySourcesPlaceholderConfigurer();
+	}
+}
@@ -0,0 +1,87 @@
+package com.abcbs.crrs.launch;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.abcbs.crrs.config.JobLauncherRunner;
+
+/**
+ * Launch mode JOB: boots only what the requested job needs.
+ *
+ * The parent context holds the shared infrastructure, which for file-only jobs
+ * is an in-memory job repository and nothing else ({@link FileJobInfrastructure});
+ * database jobs get the usual DataSource / JPA / repositories
+ * ({@link DatabaseJobInfrastructure}). The child context holds the job's
+ * P09xxxConfig and the components of its jobs package, plus a
+ * JobLauncherRunner that runs it with the same arguments as a FULL launch.
+ *
+ * The classes that configure these contexts carry no @Configuration, so the
+ * FULL context's scan of com.abcbs.crrs does not pick them up.
+ */
+public final class JobContextLauncher {
+
+	private static final Logger logger = LogManager.getLogger(JobContextLauncher.class);
+
+	private JobContextLauncher() {
+	}
+
+	/**
+	 * Runs the jobs in the arguments (several separated by a lone +), each in
+	 * its own child context over one parent, and exits with the first
+	 * RETURN-CODE that is not 0. The arguments are validated before anything
+	 * is booted.
+	 */
+	public static void launch(String... args) throws Exception {
+		List<JobRequest> requests = JobRequest.parseAll(args);
+		if (requests.isEmpty()) {
+			throw new IllegalArgumentException("JOB NOT FOUND");
+		}
+		boolean database = requests.stream().anyMatch(r -> r.job().needsDatabase());
+		long start = System.nanoTime();
+		int rc = 0;
+
+		try (ConfigurableApplicationContext parent = infrastructure(database, args)) {
+			for (JobRequest request : requests) {
+				try (AnnotationConfigApplicationContext child = jobContext(request.job(), parent)) {
+					logger.info("{}: {} context ready in {} ms", request.job(), database ? "database" : "file-only",
+							TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+					rc = JobLauncherRunner.returnCode(child.getBean(JobLauncherRunner.class).launch(request));
+				}
+				if (rc != 0) {
+					break;
+				}
+				start = System.nanoTime();
+			}
+		}
+		if (rc != 0) {
+			logger.warn("Exiting with RETURN-CODE {}", rc);
+			System.exit(rc);
+		}
+	}
+
+	/** Shared infrastructure; without the database it skips auto-configuration entirely. */
+	static ConfigurableApplicationContext infrastructure(boolean database, String... args) {
+		Class<?> source = database ? DatabaseJobInfrastructure.class : FileJobInfrastructure.class;
+		return new SpringApplicationBuilder(source).web(WebApplicationType.NONE).run(args);
+	}
+
+	/** Child context with only the job's configuration and components. */
+	static AnnotationConfigApplicationContext jobContext(CrrsJob job, ConfigurableApplicationContext parent) {
+		AnnotationConfigApplicationContext child = new AnnotationConfigApplicationContext();
+		child.setId(job.name());
+		child.setParent(parent);
+		child.setEnvironment(parent.getEnvironment());
+		child.getBeanFactory().setConversionService(parent.getBeanFactory().getConversionService());
+		child.register(JobContextConfiguration.class, job.configClass(), JobLauncherRunner.class);
+		child.scan(job.jobPackage());
+		child.refresh();
+		return child;
+	}
+}
@@ -0,0 +1,145 @@
+package com.abcbs.crrs.launch;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+
+/**
+ * The command-line arguments of one job (after the job name) and the
+ * JobParameters they become. Each P09xxxConfig declares its own as
+ * {@code PARAMETERS}; {@link CrrsJob} ties it to the job name.
+ *
+ * Arguments are positional, in declaration order. Optional arguments can
+ * only come last. Extra arguments are ignored, as the old launcher did.
+ * Every job also gets a run.id, so each launch is a new JobInstance.
+ */
+public final class JobParameterSpec {
+
+	private enum Kind {
+		/** Read by the job: the file must exist at launch. */
+		INPUT,
+		REQUIRED,
+		OPTIONAL,
+		/** Not an argument; always the same value. */
+		FIXED
+	}
+
+	private record Param(String name, Kind kind, String value) {
+	}
+
+	/** Last run.id handed out: launches in the same millisecond still get distinct ids. */
+	private static final AtomicLong LAST_RUN_ID = new AtomicLong();
+
+	private final List<Param> positional;
+	private final List<Param> fixed;
+	private final int required;
+
+	private JobParameterSpec(List<Param> positional, List<Param> fixed) {
+		this.positional = List.copyOf(positional);
+		this.fixed = List.copyOf(fixed);
+		this.required = (int) positional.stream().filter(p -> p.kind() != Kind.OPTIONAL).count();
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/** e.g. {@code P09320 <input> <reportOut>}, optional arguments in brackets. */
+	public String usage(String jobName) {
+		StringBuilder sb = new StringBuilder(jobName);
+		for (Param p : positional) {
+			sb.append(p.kind() == Kind.OPTIONAL ? " [" + p.name() + "]" : " <" + p.name() + ">");
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Problems with the argument count only (args[0] is the job name). Used for
+	 * job chains, where an input may be written by an earlier step.
+	 */
+	public List<String> checkCount(String... args) {
+		List<String> problems = new ArrayList<>();
+		if (args.length - 1 < required) {
+			problems.add("requires " + usage(args[0]));
+		}
+		return problems;
+	}
+
+	/** Problems with the arguments: their count and every input file that is not there. */
+	public List<String> validate(String... args) {
+		List<String> problems = checkCount(args);
+		for (int i = 0; i < positional.size() && i + 1 < args.length; i++) {
+			Param p = positional.get(i);
+			if (p.kind() == Kind.INPUT && !Files.isRegularFile(Path.of(args[i + 1]))) {
+				problems.add(p.name() + " not found: " + args[i + 1]);
+			}
+		}
+		return problems;
+	}
+
+	/** The job's JobParameters, with a new run.id. Call {@link #validate} first. */
+	public JobParameters toJobParameters(String... args) {
+		JobParametersBuilder builder = new JobParametersBuilder();
+		for (int i = 0; i < positional.size(); i++) {
+			Param p = positional.get(i);
+			builder.addString(p.name(), (i + 1 < args.length) ? args[i + 1] : p.value());
+		}
+		for (Param p : fixed) {
+			builder.addString(p.name(), p.value());
+		}
+		return builder.addLong("run.id", nextRunId()).toJobParameters();
+	}
+
+	private static long nextRunId() {
+		long now = System.currentTimeMillis();
+		return LAST_RUN_ID.updateAndGet(last -> Math.max(now, last + 1));
+	}
+
+	public static final class Builder {
+
+		private final List<Param> positional = new ArrayList<>();
+		private final List<Param> fixed = new ArrayList<>();
+
+		private Builder() {
+		}
+
+		/** Next argument: a file the job reads, checked before anything is booted or locked. */
+		public Builder input(String name) {
+			return add(new Param(name, Kind.INPUT, null));
+		}
+
+		/** Next argument, required (output paths, labels, files the job may create). */
+		public Builder required(String name) {
+			return add(new Param(name, Kind.REQUIRED, null));
+		}
+
+		/** Next argument, {@code defaultValue} when it is not given. */
+		public Builder optional(String name, String defaultValue) {
+			return add(new Param(name, Kind.OPTIONAL, defaultValue));
+		}
+
+		/** A job parameter that is not taken from the arguments. */
+		public Builder fixed(String name, String value) {
+			fixed.add(new Param(name, Kind.FIXED, value));
+			return this;
+		}
+
+		public JobParameterSpec build() {
+			return new JobParameterSpec(positional, fixed);
+		}
+
+		private Builder add(Param p) {
+			if (p.kind() != Kind.OPTIONAL && !positional.isEmpty()
+					&& positional.get(positional.size() - 1).kind() == Kind.OPTIONAL) {
+				throw new IllegalStateException("Job parameter " + p.name() + " follows an optional one");
+			}
+			positional.add(p);
+			return this;
+		}
+	}
+}
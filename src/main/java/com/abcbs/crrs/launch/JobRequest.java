@@ -0,0 +1,70 @@
+package com.abcbs.crrs.launch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.batch.core.JobParameters;
+
+/**
+ * One job to launch: the job and its command-line arguments (args[0] is the
+ * job name). Several jobs can be given in one invocation, separated by a lone
+ * {@code +}; they run one after another and stop at the first RETURN-CODE
+ * that is not 0.
+ */
+public record JobRequest(CrrsJob job, String[] args) {
+
+	public static final String SEPARATOR = "+";
+
+	/** A single job, validated. */
+	public static JobRequest parse(String... args) {
+		List<JobRequest> requests = parseAll(args);
+		if (requests.size() != 1) {
+			throw new IllegalArgumentException("Expected one job, got " + requests.size());
+		}
+		return requests.get(0);
+	}
+
+	/**
+	 * Every job in the arguments, validated up front: an unknown job, a missing
+	 * argument or a missing input file fails the whole invocation before any
+	 * context is booted, any table is locked or any job has run. All problems
+	 * are reported together.
+	 */
+	public static List<JobRequest> parseAll(String... args) {
+		List<JobRequest> requests = new ArrayList<>();
+		List<String> problems = new ArrayList<>();
+		int from = 0;
+		for (int i = 0; i <= args.length; i++) {
+			if (i < args.length && !SEPARATOR.equals(args[i])) {
+				continue;
+			}
+			if (i > from) {
+				String[] jobArgs = Arrays.copyOfRange(args, from, i);
+				try {
+					CrrsJob job = CrrsJob.of(jobArgs[0]);
+					for (String p : job.parameters().validate(jobArgs)) {
+						problems.add(job + ": " + p);
+					}
+					requests.add(new JobRequest(job, jobArgs));
+				} catch (IllegalArgumentException e) {
+					problems.add(e.getMessage());
+				}
+			}
+			from = i + 1;
+		}
+		if (!problems.isEmpty()) {
+			throw new IllegalArgumentException("Invalid job arguments: " + String.join("; ", problems));
+		}
+		return requests;
+	}
+
+	public JobParameters parameters() {
+		return job.parameters().toJobParameters(args);
+	}
+
+	@Override
+	public String toString() {
+		return String.join(" ", args);
+	}
+}
@@ -0,0 +1,272 @@
+package com.abcbs.crrs.launch;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.Environment;
+
+import com.abcbs.crrs.config.JobLauncherRunner;
+
+/**
+ * Launch mode SERVER: one JVM that stays up and runs jobs on request.
+ *
+ * The database infrastructure (DataSource pool, JPA, job repository) is booted
+ * once and kept warm. Each job still gets a fresh child context with its own
+ * P09xxxConfig ({@link JobContextLauncher#jobContext}), so nothing a job keeps
+ * in its singletons carries over to the next run, and jobs running at the same
+ * time get their own writer instances. A child context does not isolate static
+ * fields, so job classes keep run state (report labels, formatters) in
+ * instance fields.
+ *
+ * Work comes in two ways:
+ * <ul>
+ * <li>the local port (crrs.server.port, loopback only): one request line per
+ * connection, either the job and its arguments as for a FULL launch,
+ * {@code CHAIN <file>} for a {@link JobChain}, or {@code STOP}. The reply is
+ * one {@code RC <step> <code>} line per job and a final {@code END <code>}
+ * line; {@link JobServerClient} turns that into the process exit code;</li>
+ * <li>the spool directory (crrs.server.spool-dir): {@code *.job} files hold
+ * one job line, {@code *.chain} files a JobChain. A file is renamed to
+ * {@code .running} when picked up and to {@code .done} when finished, after
+ * the same RC / END lines are written to {@code <file>.rc}.</li>
+ * </ul>
+ *
+ * crrs.server.parallelism is how many jobs run at once over all requests.
+ */
+public final class JobServer implements AutoCloseable {
+
+	private static final Logger logger = LogManager.getLogger(JobServer.class);
+
+	public static final int DEFAULT_PORT = 4042;
+
+	private final ConfigurableApplicationContext parent;
+	private final ExecutorService jobs;
+	private final ExecutorService requests = Executors.newCachedThreadPool();
+	private final ScheduledExecutorService spoolPoller = Executors.newSingleThreadScheduledExecutor();
+	private final CountDownLatch stopped = new CountDownLatch(1);
+	private final int port;
+	private final Path spoolDir;
+	private final long pollMs;
+	private ServerSocket socket;
+
+	JobServer(ConfigurableApplicationContext parent) {
+		this.parent = parent;
+		Environment env = parent.getEnvironment();
+		int parallelism = env.getProperty("crrs.server.parallelism", Integer.class, 4);
+		if (parallelism <= 0) {
+			throw new IllegalStateException("crrs.server.parallelism must be positive: " + parallelism);
+		}
+		this.jobs = Executors.newFixedThreadPool(parallelism);
+		this.port = env.getProperty("crrs.server.port", Integer.class, DEFAULT_PORT);
+		String spool = env.getProperty("crrs.server.spool-dir", "");
+		this.spoolDir = spool.isBlank() ? null : Path.of(spool);
+		this.pollMs = env.getProperty("crrs.server.poll-ms", Long.class, 2000L);
+		logger.info("Job server: parallelism={}, port={}, spool-dir={}", parallelism, port, spoolDir);
+	}
+
+	/** Boots the warm infrastructure and serves until a STOP request. */
+	public static void serve(String... args) throws Exception {
+		ConfigurableApplicationContext parent = JobContextLauncher.infrastructure(true, args);
+		try (JobServer server = new JobServer(parent)) {
+			server.start();
+			server.stopped.await();
+		}
+	}
+
+	void start() throws IOException {
+		if (port > 0) {
+			socket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+			requests.execute(this::accept);
+		}
+		if (spoolDir != null) {
+			Files.createDirectories(spoolDir);
+			spoolPoller.scheduleWithFixedDelay(this::pollSpool, 0, pollMs, TimeUnit.MILLISECONDS);
+		}
+		if (socket == null && spoolDir == null) {
+			throw new IllegalStateException("Job server has neither crrs.server.port nor crrs.server.spool-dir");
+		}
+	}
+
+	void stop() {
+		stopped.countDown();
+	}
+
+	/**
+	 * Runs one job in a fresh child context over the warm parent and returns
+	 * its RETURN-CODE. The arguments (input files included) are checked before
+	 * the child is built. A job that cannot be started or throws gets
+	 * RC_FAILED, the code a FULL launch exits with in that case.
+	 */
+	int runJob(String... args) {
+		long start = System.nanoTime();
+		try {
+			JobRequest request = JobRequest.parse(args);
+			try (AnnotationConfigApplicationContext child = JobContextLauncher.jobContext(request.job(), parent)) {
+				JobExecution execution = child.getBean(JobLauncherRunner.class).launch(request);
+				int rc = JobLauncherRunner.returnCode(execution);
+				logger.info("Job server: {} RETURN-CODE {} in {} ms", request.job(), rc,
+						TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+				return rc;
+			}
+		} catch (Exception e) {
+			logger.error("Job server: {} failed", String.join(" ", args), e);
+			return JobLauncherRunner.RC_FAILED;
+		}
+	}
+
+	/** Runs a request line (job, CHAIN file or STOP) and returns the reply lines. */
+	List<String> handle(String line) throws IOException, InterruptedException {
+		String[] cmd = split(line);
+		List<String> reply = new ArrayList<>();
+		if (cmd.length == 0) {
+			reply.add("ERROR empty request");
+			return reply;
+		}
+		if ("STOP".equals(cmd[0])) {
+			stop();
+			reply.add("END 0");
+			return reply;
+		}
+		JobChain chain;
+		try {
+			chain = "CHAIN".equals(cmd[0]) ? JobChain.read(Path.of(cmd[1])) : JobChain.single(cmd);
+		} catch (IllegalArgumentException | IllegalStateException | IndexOutOfBoundsException e) {
+			reply.add("ERROR " + e.getMessage());
+			return reply;
+		}
+		Map<String, Integer> rcs = chain.run(this::runJob, jobs);
+		rcs.forEach((id, rc) -> reply.add("RC " + id + " " + rc));
+		reply.add("END " + JobChain.maxReturnCode(rcs));
+		return reply;
+	}
+
+	/** Arguments are tab separated when a path may hold blanks (JobServerClient), else blank separated. */
+	static String[] split(String line) {
+		String s = line.strip();
+		if (s.isEmpty()) {
+			return new String[0];
+		}
+		return line.indexOf('\t') >= 0 ? s.split("\t") : s.split("\\s+");
+	}
+
+	private void accept() {
+		while (!socket.isClosed()) {
+			try {
+				Socket client = socket.accept();
+				requests.execute(() -> serve(client));
+			} catch (SocketException e) {
+				return; // closed by close()
+			} catch (IOException e) {
+				logger.warn("Job server: accept failed", e);
+			}
+		}
+	}
+
+	private void serve(Socket client) {
+		try (client;
+				BufferedReader in = new BufferedReader(
+						new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+				PrintWriter out = new PrintWriter(client.getOutputStream(), true, StandardCharsets.UTF_8)) {
+			String line = in.readLine();
+			if (line != null) {
+				for (String r : handle(line)) {
+					out.println(r);
+				}
+			}
+		} catch (IOException e) {
+			logger.warn("Job server: request failed", e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void pollSpool() {
+		List<Path> files = new ArrayList<>();
+		try (DirectoryStream<Path> ds = Files.newDirectoryStream(spoolDir, "*.{job,chain}")) {
+			ds.forEach(files::add);
+		} catch (IOException e) {
+			logger.warn("Job server: cannot list {}", spoolDir, e);
+			return;
+		}
+		files.sort(null);
+		for (Path file : files) {
+			Path running = file.resolveSibling(file.getFileName() + ".running");
+			try {
+				Files.move(file, running, StandardCopyOption.ATOMIC_MOVE);
+			} catch (IOException e) {
+				continue; // still being written, or gone
+			}
+			requests.execute(() -> runSpooled(file, running));
+		}
+	}
+
+	private void runSpooled(Path file, Path running) {
+		List<String> reply;
+		try {
+			String request;
+			if (file.getFileName().toString().endsWith(".chain")) {
+				request = "CHAIN\t" + running;
+			} else {
+				request = Files.readAllLines(running).stream().filter(l -> !l.isBlank()).findFirst().orElse("");
+			}
+			reply = handle(request);
+		} catch (IOException e) {
+			reply = List.of("ERROR " + e.getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		}
+		try {
+			Path rc = file.resolveSibling(file.getFileName() + ".rc");
+			Path tmp = file.resolveSibling(file.getFileName() + ".rc.tmp");
+			Files.write(tmp, reply);
+			Files.move(tmp, rc, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			Files.move(running, file.resolveSibling(file.getFileName() + ".done"), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			logger.error("Job server: cannot write the result of {}", file, e);
+		}
+	}
+
+	/** Stops taking work, lets the running jobs finish, then closes the infrastructure. */
+	@Override
+	public void close() throws InterruptedException {
+		logger.info("Job server: stopping");
+		spoolPoller.shutdownNow();
+		if (socket != null) {
+			try {
+				socket.close();
+			} catch (IOException ignore) {
+				// not accepting any more either way
+			}
+		}
+		jobs.shutdown();
+		jobs.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+		requests.shutdown();
+		requests.awaitTermination(1, TimeUnit.MINUTES);
+		parent.close();
+	}
+}
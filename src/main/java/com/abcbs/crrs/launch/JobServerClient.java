@@ -0,0 +1,49 @@
+package com.abcbs.crrs.launch;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Launch mode SUBMIT: hands the arguments to a running {@link JobServer} and
+ * returns the RETURN-CODE it reports, so a scheduler step keeps getting 0 /
+ * 55 / ... from the process exit code. No Spring context is started.
+ *
+ * The port is the system property crrs.server.port, the CRRS_SERVER_PORT
+ * environment variable or {@link JobServer#DEFAULT_PORT}.
+ */
+public final class JobServerClient {
+
+	private JobServerClient() {
+	}
+
+	public static int submit(String... args) throws IOException {
+		try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port());
+				PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+				BufferedReader in = new BufferedReader(
+						new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+			out.println(String.join("\t", args));
+			int rc = 1;
+			String line;
+			while ((line = in.readLine()) != null) {
+				System.out.println(line);
+				if (line.startsWith("END ")) {
+					rc = Integer.parseInt(line.substring(4).trim());
+				}
+			}
+			return rc;
+		}
+	}
+
+	private static int port() {
+		String port = System.getProperty("crrs.server.port");
+		if (port == null || port.isBlank()) {
+			port = System.getenv("CRRS_SERVER_PORT");
+		}
+		return (port == null || port.isBlank()) ? JobServer.DEFAULT_PORT : Integer.parseInt(port.trim());
+	}
+}
@@ -0,0 +1,46 @@
+package com.abcbs.crrs.launch;
+
+import java.util.Locale;
+
+/**
+ * How CrrsBatchApplication starts (system property crrs.launch.mode or the
+ * CRRS_LAUNCH_MODE environment variable). It is read before Spring starts, so
+ * it cannot be set in application.properties.
+ */
+public enum LaunchMode {
+
+	/** One context with every P09xxxConfig; JobLauncherRunner runs as a CommandLineRunner. */
+	FULL,
+
+	/**
+	 * Only the requested job: shared infrastructure in a parent context and the
+	 * job's configuration in a child context ({@link JobContextLauncher}).
+	 */
+	JOB,
+
+	/**
+	 * Resident job server: one warm infrastructure context, jobs and job chains
+	 * submitted through the spool directory or the local port ({@link JobServer}).
+	 */
+	SERVER,
+
+	/** Client for SERVER: sends the arguments to the local port and exits with the job's RETURN-CODE. */
+	SUBMIT;
+
+	public static final String PROPERTY = "crrs.launch.mode";
+
+	public static LaunchMode current() {
+		String mode = System.getProperty(PROPERTY);
+		if (mode == null || mode.isBlank()) {
+			mode = System.getenv("CRRS_LAUNCH_MODE");
+		}
+		if (mode == null || mode.isBlank()) {
+			return FULL;
+		}
+		try {
+			return valueOf(mode.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalStateException("Unknown " + PROPERTY + ": '" + mode + "'", e);
+		}
+	}
+}
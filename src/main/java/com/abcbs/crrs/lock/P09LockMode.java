@@ -0,0 +1,25 @@
+package com.abcbs.crrs.lock;
+
+/**
+ * How {@link P09TableLocker} protects the P09 tables while a job works on them
+ * (property crrs.lock.mode).
+ */
+public enum P09LockMode {
+
+    /** Exclusive table locks on all three tables; nobody else reads or writes until COMMIT. */
+    EXCLUSIVE,
+
+    /**
+     * Shared table locks; other readers go on, writers wait until COMMIT.
+     * P09_CONTROL, which the job updates, gets an update-intent table lock, so
+     * a second run waits instead of deadlocking.
+     */
+    SHARED,
+
+    /**
+     * Update row / key-range locks on the rows of the refund type being
+     * processed; other refund types stay open. Falls back to SHARED when no
+     * refund type is given.
+     */
+    REFUND_TYPE
+}
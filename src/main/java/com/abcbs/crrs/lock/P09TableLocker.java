@@ -1,28 +1,46 @@
 package com.abcbs.crrs.lock;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.LockModeType;
 import jakarta.persistence.Query;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Locks the P09 tables for the rest of the current transaction. The lock
+ * strategy is {@link P09LockMode} (crrs.lock.mode); every acquisition is timed
+ * so contention with other jobs and online users shows in the log.
+ *
+ * The locker is shared by every job in the server, so wait totals are kept by
+ * the caller in a {@link WaitStats} of its own run, not here.
+ */
 @Component
 @Slf4j
 public class P09TableLocker {
 
     private final EntityManager entityManager;
     private final String dialect;
+    private final P09LockMode mode;
+    private final long waitWarnMillis;
 
-    public P09TableLocker(EntityManager entityManager) {
+    public P09TableLocker(EntityManager entityManager,
+                          @Value("${crrs.lock.mode:SHARED}") P09LockMode mode,
+                          @Value("${crrs.lock.wait-warn-ms:1000}") long waitWarnMillis) {
         this.entityManager = entityManager;
+        this.mode = mode;
+        this.waitWarnMillis = waitWarnMillis;
         this.dialect = entityManager.getEntityManagerFactory()
                 .getProperties()
                 .getOrDefault("hibernate.dialect", "")
                 .toString()
                 .toLowerCase();
 
-        log.info("P09TableLocker initialized. Detected DB dialect={}", dialect);
+        log.info("P09TableLocker initialized. Detected DB dialect={}, lock mode={}", dialect, mode);
     }
 
     // =========================================================================
@@ -30,8 +48,104 @@ public class P09TableLocker {
     // =========================================================================
     @Transactional
     public void lockP09Tables() {
-        log.info("=== BEGIN TABLE LOCKING for P09 tables ===");
+        lockP09Tables(null);
+    }
+
+    /**
+     * @param refundType refund type being processed; used by
+     *                   {@link P09LockMode#REFUND_TYPE}, ignored otherwise
+     */
+    @Transactional
+    public void lockP09Tables(String refundType) {
+        lockP09Tables(refundType, null);
+    }
 
+    /**
+     * @param refundType refund type being processed; used by
+     *                   {@link P09LockMode#REFUND_TYPE}, ignored otherwise
+     * @param waits      lock waits of the calling run, or null
+     */
+    @Transactional
+    public void lockP09Tables(String refundType, WaitStats waits) {
+        P09LockMode effective = mode;
+        if (effective == P09LockMode.REFUND_TYPE && (refundType == null || refundType.isBlank())) {
+            log.warn("REFUND_TYPE lock mode without a refund type – using SHARED table locks.");
+            effective = P09LockMode.SHARED;
+        }
+        log.info("=== BEGIN {} LOCKING for P09 tables{} ===", effective,
+                effective == P09LockMode.REFUND_TYPE ? " refundType=" + refundType : "");
+
+        long start = System.nanoTime();
+        switch (effective) {
+            case EXCLUSIVE -> lockExclusive();
+            case SHARED -> lockShared();
+            case REFUND_TYPE -> lockRefundType(refundType.trim());
+        }
+        recordWait(effective, refundType, System.nanoTime() - start, waits);
+
+        log.info("=== TABLE LOCKING COMPLETE ===");
+    }
+
+    @Transactional
+    public void unlockP09Tables() {
+        log.info("=== BEGIN TABLE UNLOCK for P09 tables ===");
+
+        if (isMySql()) {
+            unlockMySql();
+        } else {
+            log.info("Unlock handled implicitly by COMMIT for this DB.");
+        }
+
+        log.info("=== TABLE UNLOCK COMPLETE ===");
+    }
+
+    public P09LockMode getMode() {
+        return mode;
+    }
+
+    private void recordWait(P09LockMode effective, String refundType, long waitNanos, WaitStats waits) {
+        if (waits != null) {
+            waits.record(waitNanos);
+        }
+
+        long waitMs = TimeUnit.NANOSECONDS.toMillis(waitNanos);
+        if (waitMs >= waitWarnMillis && waits != null) {
+            log.warn("P09 {} locks for refundType={} waited {} ms (run so far: {})", effective, refundType, waitMs, waits);
+        } else if (waitMs >= waitWarnMillis) {
+            log.warn("P09 {} locks for refundType={} waited {} ms", effective, refundType, waitMs);
+        } else {
+            log.info("P09 {} locks for refundType={} waited {} ms", effective, refundType, waitMs);
+        }
+    }
+
+    /**
+     * Lock acquisitions, total and max wait of one run (one step-scoped
+     * writer), for end-of-step logging.
+     */
+    public static final class WaitStats {
+
+        private final AtomicLong acquisitions = new AtomicLong();
+        private final AtomicLong totalWaitNanos = new AtomicLong();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+
+        void record(long waitNanos) {
+            acquisitions.incrementAndGet();
+            totalWaitNanos.addAndGet(waitNanos);
+            maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("acquisitions=%d totalWaitMs=%d maxWaitMs=%d", acquisitions.get(),
+                    TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get()),
+                    TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()));
+        }
+    }
+
+    // =========================================================================
+    // STRATEGIES
+    // =========================================================================
+    private void lockExclusive() {
         if (isSqlServer()) {
             lockSqlServer();
         } else if (isOracle()) {
@@ -44,21 +158,83 @@ public class P09TableLocker {
             log.warn("Unknown dialect – using JPA pessimistic lock fallback.");
             lockJpaFallback();
         }
-
-        log.info("=== TABLE LOCKING COMPLETE ===");
     }
 
-    @Transactional
-    public void unlockP09Tables() {
-        log.info("=== BEGIN TABLE UNLOCK for P09 tables ===");
+    /**
+     * Shared table locks held to COMMIT on P09_CASH_RECEIPT and P09_ACTIVITY,
+     * which the jobs only read. P09_CONTROL, which they update, is taken with an
+     * update-intent lock instead (UPDLOCK / SHARE ROW EXCLUSIVE): readers still
+     * go on, but a second run waits for the first to commit rather than both
+     * holding S and deadlocking on the conversion to write.
+     */
+    private void lockShared() {
+        if (isSqlServer()) {
+            log.info("Locking using SQL Server TABLOCK + HOLDLOCK (P09_CONTROL with UPDLOCK)");
+            lockNative("SELECT TOP (1) 1 FROM P09_CASH_RECEIPT WITH (TABLOCK, HOLDLOCK)");
+            lockNative("SELECT TOP (1) 1 FROM P09_ACTIVITY     WITH (TABLOCK, HOLDLOCK)");
+            lockNative("SELECT TOP (1) 1 FROM P09_CONTROL      WITH (TABLOCK, UPDLOCK, HOLDLOCK)");
+        } else if (isOracle() || isPostgres()) {
+            log.info("Locking using LOCK TABLE IN SHARE MODE (P09_CONTROL IN SHARE ROW EXCLUSIVE MODE)");
+            executeNative("LOCK TABLE P09_CASH_RECEIPT IN SHARE MODE");
+            executeNative("LOCK TABLE P09_ACTIVITY     IN SHARE MODE");
+            executeNative("LOCK TABLE P09_CONTROL      IN SHARE ROW EXCLUSIVE MODE");
+        } else if (isMySql()) {
+            // READ would stop this session updating P09_CONTROL
+            log.info("Locking using MySQL LOCK TABLES READ");
+            executeNative("LOCK TABLES P09_CASH_RECEIPT READ, P09_ACTIVITY READ, P09_CONTROL WRITE");
+        } else {
+            log.warn("Unknown dialect – using JPA pessimistic read lock fallback.");
+            pessimisticLock("P09CashReceipt", LockModeType.PESSIMISTIC_READ);
+            pessimisticLock("P09Activity", LockModeType.PESSIMISTIC_READ);
+            pessimisticLock("P09Control", LockModeType.PESSIMISTIC_WRITE);
+        }
+    }
 
-        if (isMySql()) {
-            unlockMySql();
+    /**
+     * Update (intent-to-write) row / key-range locks on one refund type, the
+     * leading key column of all three tables. Two runs for the same refund
+     * type queue behind each other instead of deadlocking on an S to X
+     * conversion; other refund types stay open. The rows are locked in the
+     * database and only a count comes back.
+     *
+     * On SQL Server a refund type past ~5000 row locks in one statement can
+     * still escalate to a table lock, which then blocks the other refund
+     * types as well until COMMIT.
+     */
+    private void lockRefundType(String refundType) {
+        if (isSqlServer()) {
+            log.info("Locking refundType={} using SQL Server UPDLOCK + ROWLOCK + HOLDLOCK", refundType);
+            lockRows("SELECT COUNT(*) FROM P09_CASH_RECEIPT WITH (UPDLOCK, ROWLOCK, HOLDLOCK) WHERE CR_REFUND_TYPE = ?1",
+                    refundType);
+            lockRows("SELECT COUNT(*) FROM P09_ACTIVITY WITH (UPDLOCK, ROWLOCK, HOLDLOCK) WHERE CR_REFUND_TYPE = ?1",
+                    refundType);
+            lockRows("SELECT COUNT(*) FROM P09_CONTROL WITH (UPDLOCK, ROWLOCK, HOLDLOCK) WHERE CNTRL_REFUND_TYPE = ?1",
+                    refundType);
+        } else if (isPostgres() || isMySql()) {
+            log.info("Locking refundType={} using SELECT ... FOR UPDATE", refundType);
+            lockRows(countForUpdate("P09_CASH_RECEIPT", "CR_REFUND_TYPE"), refundType);
+            lockRows(countForUpdate("P09_ACTIVITY", "CR_REFUND_TYPE"), refundType);
+            lockRows(countForUpdate("P09_CONTROL", "CNTRL_REFUND_TYPE"), refundType);
+        } else if (isOracle()) {
+            // FOR UPDATE cannot sit under an aggregate in Oracle; opening the cursor locks every row
+            log.info("Locking refundType={} using an Oracle FOR UPDATE cursor", refundType);
+            executeNative(openForUpdate("P09_CASH_RECEIPT", "CR_REFUND_TYPE"), refundType);
+            executeNative(openForUpdate("P09_ACTIVITY", "CR_REFUND_TYPE"), refundType);
+            executeNative(openForUpdate("P09_CONTROL", "CNTRL_REFUND_TYPE"), refundType);
         } else {
-            log.info("Unlock handled implicitly by COMMIT for this DB.");
+            log.warn("Unknown dialect – using SHARED table locks for refundType={}.", refundType);
+            lockShared();
         }
+    }
 
-        log.info("=== TABLE UNLOCK COMPLETE ===");
+    private static String countForUpdate(String table, String column) {
+        return "SELECT COUNT(*) FROM (SELECT 1 AS LOCKED FROM " + table + " WHERE " + column
+                + " = ?1 FOR UPDATE) L";
+    }
+
+    private static String openForUpdate(String table, String column) {
+        return "DECLARE CURSOR C IS SELECT 1 FROM " + table + " WHERE " + column
+                + " = ?1 FOR UPDATE; BEGIN OPEN C; CLOSE C; END;";
     }
 
     // =========================================================================
@@ -130,17 +306,17 @@ public class P09TableLocker {
     private void lockJpaFallback() {
         log.info("Applying fallback PESSIMISTIC_WRITE locks");
 
-        pessimisticLock("P09CashReceipt");
-        pessimisticLock("P09Activity");
-        pessimisticLock("P09Control");
+        pessimisticLock("P09CashReceipt", LockModeType.PESSIMISTIC_WRITE);
+        pessimisticLock("P09Activity", LockModeType.PESSIMISTIC_WRITE);
+        pessimisticLock("P09Control", LockModeType.PESSIMISTIC_WRITE);
 
         log.info("Fallback JPA pessimistic locks acquired.");
     }
 
-    private void pessimisticLock(String entityName) {
+    private void pessimisticLock(String entityName, LockModeType lockMode) {
         try {
             entityManager.createQuery("SELECT e FROM " + entityName + " e")
-                    .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                    .setLockMode(lockMode)
                     .setMaxResults(1)
                     .getResultList();
 
@@ -167,4 +343,38 @@ public class P09TableLocker {
             throw new RuntimeException("Lock failed: " + e.getMessage(), e);
         }
     }
+
+    // LOCK TABLE returns no result set
+    private void executeNative(String sql) {
+        try {
+            entityManager.createNativeQuery(sql).executeUpdate();
+            log.debug("Executed lock SQL: {}", sql);
+        } catch (Exception e) {
+            log.error("Native SQL failed: {}", sql, e);
+            throw new RuntimeException("Lock failed: " + e.getMessage(), e);
+        }
+    }
+
+    private void executeNative(String sql, String refundType) {
+        try {
+            entityManager.createNativeQuery(sql).setParameter(1, refundType).executeUpdate();
+            log.debug("Executed lock SQL: {} [{}]", sql, refundType);
+        } catch (Exception e) {
+            log.error("Native SQL failed: {} [{}]", sql, refundType, e);
+            throw new RuntimeException("Lock failed: " + e.getMessage(), e);
+        }
+    }
+
+    // the statement returns the number of rows locked, not the rows
+    private void lockRows(String sql, String refundType) {
+        try {
+            Object rows = entityManager.createNativeQuery(sql)
+                    .setParameter(1, refundType)
+                    .getSingleResult();
+            log.debug("Executed lock SQL: {} [{}] rows={}", sql, refundType, rows);
+        } catch (Exception e) {
+            log.error("Native SQL failed: {} [{}]", sql, refundType, e);
+            throw new RuntimeException("Lock failed: " + e.getMessage(), e);
+        }
+    }
 }
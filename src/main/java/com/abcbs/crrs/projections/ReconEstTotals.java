@@ -0,0 +1,35 @@
+package com.abcbs.crrs.projections;
+
+import java.math.BigDecimal;
+
+/**
+ * EST totals for one refund type and report date, as aggregated by
+ * IActivityRepository.sumEstActivities*(). Requested = CR_LETTER_DATE not null.
+ * SUM over no rows comes back null and is read as zero.
+ */
+public record ReconEstTotals(Long totCnt, BigDecimal totAmt, Long reqCnt, BigDecimal reqAmt) {
+
+	public long totalCount() {
+		return totCnt == null ? 0L : totCnt;
+	}
+
+	public BigDecimal totalAmount() {
+		return totAmt == null ? BigDecimal.ZERO : totAmt;
+	}
+
+	public long requestedCount() {
+		return reqCnt == null ? 0L : reqCnt;
+	}
+
+	public BigDecimal requestedAmount() {
+		return reqAmt == null ? BigDecimal.ZERO : reqAmt;
+	}
+
+	public long unrequestedCount() {
+		return totalCount() - requestedCount();
+	}
+
+	public BigDecimal unrequestedAmount() {
+		return totalAmount().subtract(requestedAmount());
+	}
+}
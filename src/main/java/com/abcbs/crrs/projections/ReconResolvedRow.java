@@ -0,0 +1,12 @@
+package com.abcbs.crrs.projections;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One resolved activity with the receipt columns the P09320/P09321 totals
+ * read, as returned by IActivityRepository.findResolvedRows*().
+ */
+public record ReconResolvedRow(String refundType, LocalDate cntrlDate, String cntrlNbr, String activity,
+		BigDecimal amount, BigDecimal receiptBal, String claimType, LocalDate letterDate) {
+}
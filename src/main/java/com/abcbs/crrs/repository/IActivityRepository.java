@@ -3,18 +3,25 @@ package com.abcbs.crrs.repository;
 import java.math.BigDecimal;
 import java.sql.Date;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.QueryHint;
+
 import com.abcbs.crrs.entity.ActivityPK;
 import com.abcbs.crrs.entity.P09Activity;
-import com.abcbs.crrs.jobs.P09315.ActivityAggView;
+import com.abcbs.crrs.jobs.P09315.P09315DailyActivity;
+import com.abcbs.crrs.projections.ReconEstTotals;
+import com.abcbs.crrs.projections.ReconResolvedRow;
 
 public interface IActivityRepository extends JpaRepository<P09Activity, ActivityPK> {
 	// in IActivityRepository
@@ -35,53 +42,75 @@ public interface IActivityRepository extends JpaRepository<P09Activity, Activity
 			@Param("cntrlDate") LocalDate cntrlDate, @Param("cntrlNbr") String cntrlNbr,
 			@Param("activityDate") LocalDate activityDate);
 
+	/**
+	 * EST totals for P09320 in one row: all, and requested (CR_LETTER_DATE not
+	 * null); unrequested is the difference.
+	 */
 	@Query("""
-			    SELECT a, b
+			    SELECT new com.abcbs.crrs.projections.ReconEstTotals(
+			           COUNT(a), SUM(a.actActivityAmt),
+			           COUNT(b.crLetterDate),
+			           SUM(CASE WHEN b.crLetterDate IS NOT NULL THEN a.actActivityAmt END))
 			    FROM P09Activity a
 			    JOIN P09CashReceipt b
 			      ON a.aId.crRefundType = b.crId.crRefundType
 			     AND a.aId.crCntrlDate  = b.crId.crCntrlDate
 			     AND a.aId.crCntrlNbr   = b.crId.crCntrlNbr
 			    WHERE a.aId.crRefundType = :refundType
-			      AND  a.aId.actActivity IN :activities
+			      AND a.aId.actActivity = 'EST'
 			      AND a.actReportDate = :reportDate
 			""")
-	List<Object[]> findActivityReceiptRecords(@Param("refundType") String refundType,
-			@Param("activities") List<String> activities, @Param("reportDate") String reportDate);
+	ReconEstTotals sumEstActivities(@Param("refundType") String refundType,
+			@Param("reportDate") String reportDate);
 
+	/** As sumEstActivities, limited to the receipts of one corp (P09321). */
 	@Query("""
-			    SELECT a, b
+			    SELECT new com.abcbs.crrs.projections.ReconEstTotals(
+			           COUNT(a), SUM(a.actActivityAmt),
+			           COUNT(b.crLetterDate),
+			           SUM(CASE WHEN b.crLetterDate IS NOT NULL THEN a.actActivityAmt END))
 			    FROM P09Activity a
 			    JOIN P09CashReceipt b
 			      ON a.aId.crRefundType = b.crId.crRefundType
 			     AND a.aId.crCntrlDate  = b.crId.crCntrlDate
 			     AND a.aId.crCntrlNbr   = b.crId.crCntrlNbr
-			    WHERE a.aId.crRefundType = :refundType
-			      AND  a.aId.actActivity IN :activities
+			    WHERE b.crCorp = :corpNo
+			      AND a.aId.crRefundType = :refundType
+			      AND a.aId.actActivity = 'EST'
 			      AND a.actReportDate = :reportDate
-			    ORDER BY a.aId.crRefundType, a.aId.crCntrlDate, a.aId.crCntrlNbr, a.aId.actTimestamp DESC
 			""")
-	List<Object[]> findActivityReceiptRecordsOrdered(@Param("refundType") String refundType,
-			@Param("activities") List<String> activities, @Param("reportDate") String reportDate);
-
+	ReconEstTotals sumEstActivitiesWithCorp(@Param("corpNo") String corpNo,
+			@Param("refundType") String refundType, @Param("reportDate") String reportDate);
+
+	/**
+	 * Resolved activities for P09320, narrowed to the columns the totals use.
+	 * Ordered like the COBOL cursor: the first row of each receipt is the one
+	 * that is counted.
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
 	@Query("""
-			    SELECT a, b
+			    SELECT new com.abcbs.crrs.projections.ReconResolvedRow(
+			           a.aId.crRefundType, a.aId.crCntrlDate, a.aId.crCntrlNbr, a.aId.actActivity,
+			           a.actActivityAmt, b.crReceiptBal, b.crClaimType, b.crLetterDate)
 			    FROM P09Activity a
 			    JOIN P09CashReceipt b
 			      ON a.aId.crRefundType = b.crId.crRefundType
 			     AND a.aId.crCntrlDate  = b.crId.crCntrlDate
 			     AND a.aId.crCntrlNbr   = b.crId.crCntrlNbr
-			    WHERE b.crCorp = :corpNo
-			      AND a.aId.crRefundType = :refundType
-			      AND a.aId.actActivity  IN :activities
+			    WHERE a.aId.crRefundType = :refundType
+			      AND a.aId.actActivity IN :activities
 			      AND a.actReportDate = :reportDate
+			    ORDER BY a.aId.crRefundType, a.aId.crCntrlDate, a.aId.crCntrlNbr, a.aId.actTimestamp DESC
 			""")
-	List<Object[]> findActivityReceiptRecordsWithCorp(@Param("corpNo") String corpNo,
-			@Param("refundType") String refundType, @Param("activities") List<String> activities,
-			@Param("reportDate") String reportDate);
+	List<ReconResolvedRow> findResolvedRows(@Param("refundType") String refundType,
+			@Param("activities") List<String> activities, @Param("reportDate") String reportDate);
 
+	/** As findResolvedRows, limited to the receipts of one corp (P09321). */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
 	@Query("""
-			    SELECT a, b
+			    SELECT new com.abcbs.crrs.projections.ReconResolvedRow(
+			           a.aId.crRefundType, a.aId.crCntrlDate, a.aId.crCntrlNbr, a.aId.actActivity,
+			           a.actActivityAmt, b.crReceiptBal, b.crClaimType, b.crLetterDate)
 			    FROM P09Activity a
 			    JOIN P09CashReceipt b
 			      ON a.aId.crRefundType = b.crId.crRefundType
@@ -93,7 +122,7 @@ public interface IActivityRepository extends JpaRepository<P09Activity, Activity
 			      AND a.actReportDate = :reportDate
 			    ORDER BY a.aId.crRefundType, a.aId.crCntrlDate, a.aId.crCntrlNbr, a.aId.actTimestamp DESC
 			""")
-	List<Object[]> findActivityReceiptRecordsWithCorpOrdered(@Param("corpNo") String corpNo,
+	List<ReconResolvedRow> findResolvedRowsWithCorp(@Param("corpNo") String corpNo,
 			@Param("refundType") String refundType, @Param("activities") List<String> activities,
 			@Param("reportDate") String reportDate);
 
@@ -118,97 +147,64 @@ public interface IActivityRepository extends JpaRepository<P09Activity, Activity
 			@Param("cntrlDate") LocalDate cntrlDate, @Param("cntrlNbr") String cntrlNbr);
 
 	// ================================================================
-	// PX03 UPDATE — JPQL
+	// PX03 SELECT for a whole refund type (P09352 bulk mode) — same
+	// receipts as PX02, same per-receipt ORDER BY as fetchPendingActivities
 	// ================================================================
-	@Modifying
-	@Transactional
 	@Query("""
-			UPDATE P09Activity a
-			SET a.actProcessedInd = :processedInd
-			WHERE a.aId.crRefundType = :refundType
-			  AND a.aId.crCntrlDate = :cntrlDate
-			  AND a.aId.crCntrlNbr = :cntrlNbr
-			  AND a.aId.actActivityDate = :activityDate
-			  AND a.aId.actActivity = :activity
-			  AND a.aId.actTimestamp = :actTimestamp
+			SELECT a FROM P09Activity a
+			JOIN P09CashReceipt c
+			  ON a.aId.crRefundType = c.crId.crRefundType
+			 AND a.aId.crCntrlDate  = c.crId.crCntrlDate
+			 AND a.aId.crCntrlNbr   = c.crId.crCntrlNbr
+			WHERE c.crId.crRefundType = :refundType
+			  AND c.crStatusDate <= :statusDate
+			  AND c.crStatusText = 'PENDED'
+			  AND (c.crPendFinAct = 'PRR' OR c.crPendFinAct = 'FRR')
+			  AND (c.crClaimType = 'FEP ' OR c.crClaimType = 'FEPP')
+			  AND c.crCorp = :corp
+			  AND (a.aId.actActivity = 'PRR' OR a.aId.actActivity = 'FRR')
+			  AND a.actProcessedInd = ' '
+			ORDER BY a.aId.crRefundType,
+			         a.aId.crCntrlDate,
+			         a.aId.crCntrlNbr,
+			         a.actWorkingBal,
+			         a.aId.actActivityDate,
+			         a.aId.actActivity
 			""")
-	int updateProcessedInd(@Param("processedInd") String processedInd, @Param("refundType") String refundType,
-			@Param("cntrlDate") LocalDate cntrlDate, @Param("cntrlNbr") String cntrlNbr,
-			@Param("activityDate") LocalDate activityDate, @Param("activity") String activity,
-			@Param("actTimestamp") LocalDateTime actTimestamp);
+	List<P09Activity> fetchPendingActivitiesForRefundType(@Param("refundType") String refundType,
+			@Param("statusDate") LocalDate statusDate, @Param("corp") String corp);
 
+	/**
+	 * P09315 000100 - 000300: every daily activity of the corp, in one pass.
+	 * Caller must close the Stream and keep the transaction open while reading.
+	 */
+	@Transactional
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
 	@Query("""
-			  SELECT
-			      a.aId.crRefundType AS refundType,
-			      a.aId.actActivity  AS activity,
-			      COUNT(a)       AS count,
-			      SUM(a.actActivityAmt) AS amount
+			  SELECT new com.abcbs.crrs.jobs.P09315.P09315DailyActivity(a.aId, a.actActivityAmt)
 			  FROM P09Activity a
 			  JOIN P09CashReceipt b
 			    ON a.aId.crRefundType = b.crId.crRefundType
-						AND a.aId.crCntrlDate  = b.crId.crCntrlDate
-				           AND a.aId.crCntrlNbr   = b.crId.crCntrlNbr
+			   AND a.aId.crCntrlDate  = b.crId.crCntrlDate
+			   AND a.aId.crCntrlNbr   = b.crId.crCntrlNbr
 			  WHERE b.crCorp = :corp
-			  AND a.actDailyInd = 'Y'
-					AND a.aId.actActivity IN ('ACC','APP','REM','DEL','LOG','FRR','PRR')
-			  GROUP BY a.aId.crRefundType,a.aId.actActivity
-			  ORDER BY a.aId.actActivity, a.aId.crRefundType
-			""")
-	List<ActivityAggView> fetchEstablished(@Param("corp") String corp);
-
-	@Query("""
-			    SELECT
-			        a.aId.crRefundType        AS refundType,
-			        a.aId.actActivity         AS activity,
-			        COUNT(a)              AS count,
-			        SUM(a.actActivityAmt) AS amount
-			    FROM P09Activity a
-			    JOIN P09CashReceipt b
-			      ON a.aId.crRefundType = b.crId.crRefundType
-
-			    WHERE b.crCorp = :corp
-			      AND a.actDailyInd = 'Y'
-			      AND a.aId.actActivity IN ('ACC','APP','REM','DEL','LOG','FRR','PRR')
-			    GROUP BY a.aId.crRefundType, a.aId.actActivity
-			    ORDER BY a.aId.actActivity, a.aId.crRefundType
-			""")
-	List<ActivityAggView> fetchManualRecon(@Param("corp") String corp);
-
-	@Query("""
-			    SELECT
-			        a.aId.crRefundType         AS refundType,
-			        TRIM(a.aId.actActivity)   AS activity,
-			        COUNT(a)              AS count,
-			        SUM(a.actActivityAmt) AS amount
-			    FROM P09Activity a
-			    JOIN P09CashReceipt b
-			      ON a.aId.crRefundType = b.crId.crRefundType
-			     AND a.aId.crCntrlDate  = b.crId.crCntrlDate
-			     AND a.aId.crCntrlNbr    = b.crId.crCntrlNbr
-			    WHERE b.crCorp = :corp
-			      AND a.actDailyInd = 'Y'
-			      AND TRIM(a.aId.actActivity) IN ('FR','PR')
-			    GROUP BY a.aId.crRefundType, TRIM(a.aId.actActivity)
-			    ORDER BY TRIM(a.aId.actActivity), a.aId.crRefundType
+			    AND a.actDailyInd = 'Y'
 			""")
-	List<ActivityAggView> fetchSystemRecon(@Param("corp") String corp);
+	Stream<P09315DailyActivity> streamDailyActivities(@Param("corp") String corp);
 
+	/**
+	 * P09315 000500: reset ACT_DAILY_IND on the rows the report read. Keep the
+	 * slice small enough for the driver's parameter limit (6 per key).
+	 */
 	@Modifying
 	@Transactional
 	@Query("""
 			    UPDATE P09Activity a
 			       SET a.actDailyInd = ' '
 			     WHERE a.actDailyInd = 'Y'
-			       AND EXISTS (
-			            SELECT 1
-			              FROM P09CashReceipt b
-			             WHERE b.crCorp = :corp
-			               AND b.crId.crRefundType = a.aId.crRefundType
-			               AND b.crId.crCntrlDate  = a.aId.crCntrlDate
-			               AND b.crId.crCntrlNbr   = a.aId.crCntrlNbr
-			       )
+			       AND a.aId IN :ids
 			""")
-	int clearDailyFlag(@Param("corp") String corp);
+	int clearDailyFlagFor(@Param("ids") Collection<ActivityPK> ids);
 
 	@Query("SELECT 1 FROM P09Activity a")
 	Integer lockActivityTable();
@@ -1,10 +1,10 @@
 package com.abcbs.crrs.repository;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -31,22 +31,22 @@ public interface IBankReconRepository extends JpaRepository<BankRecon, BankRecon
 			""")
 	Optional<BankRecon> findBankReconRecord(String bankAcctNbr, String checkNbr, LocalDate checkDate);
 
-	// UPDATE (COBOL)
-	@Modifying
+	// SELECT for every PX02 pending receipt of a refund type (P09352 bulk mode)
 	@Query("""
-			    UPDATE BankRecon b
-			    SET b.checkStatusCode  = :checkStatusCode,
-			        b.checkStatusDate  = :checkStatusDate,
-			        b.statusSourceCode = :statusSourceCode,
-			        b.stDaily          = :stDaily,
-			        b.reportDate       = :reportDate
-			    WHERE b.fileIndicator = :fileIndicator
-			      AND b.brId.bankAccountNbr = :bankAccountNbr
-			      AND b.brId.checkNbr = :checkNbr
-			      AND b.brId.checkDate = :checkDate
+			    SELECT b
+			    FROM BankRecon b
+			    JOIN P09CashReceipt c
+			      ON b.brId.bankAccountNbr = c.crBankAcctNbr
+			     AND b.brId.checkNbr = c.crCheckNbr
+			     AND b.brId.checkDate = c.crCheckDate
+			    WHERE c.crId.crRefundType = :refundType
+			      AND c.crStatusDate <= :statusDate
+			      AND c.crStatusText = 'PENDED'
+			      AND (c.crPendFinAct = 'PRR' OR c.crPendFinAct = 'FRR')
+			      AND (c.crClaimType = 'FEP ' OR c.crClaimType = 'FEPP')
+			      AND c.crCorp = :corp
 			""")
-	int updateBankReconRecord(String checkStatusCode, LocalDate checkStatusDate, String statusSourceCode,
-			String stDaily, LocalDate reportDate, String fileIndicator, String bankAccountNbr, String checkNbr,
-			LocalDate checkDate);
+	List<BankRecon> findBankReconForPendingReceipts(@Param("refundType") String refundType,
+			@Param("statusDate") LocalDate statusDate, @Param("corp") String corp);
 
 }
@@ -1,5 +1,6 @@
 package com.abcbs.crrs.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -18,4 +19,11 @@ public interface ICheckControlRepository extends JpaRepository<CheckControl, Che
 			      AND c.ccId.openIndicator = 'O'
 			""")
 	Optional<CheckControl> findOpenCheckControl(String fileIndicator, String bankAccountNbr);
-}
\ No newline at end of file
+
+	@Query("""
+			    SELECT c
+			    FROM CheckControl c
+			    WHERE c.ccId.openIndicator = 'O'
+			""")
+	List<CheckControl> findAllOpenCheckControls();
+}
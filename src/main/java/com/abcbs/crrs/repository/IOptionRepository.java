@@ -43,4 +43,13 @@ public interface IOptionRepository extends JpaRepository<P09Option, OptionPK> {
            """)
     List<P09Option> findP09175Option(@Param("recordType") short recordType,
                                     @Param("likeValue") String likeValue);
-}
\ No newline at end of file
+
+    /** Every row of one record type, for P09OptionCache. */
+    @Query("""
+           SELECT o
+           FROM P09Option o
+           WHERE o.optId.optRecordType = :recordType
+           ORDER BY o.optId.optSeqNbr
+           """)
+    List<P09Option> findByRecordType(@Param("recordType") short recordType);
+}
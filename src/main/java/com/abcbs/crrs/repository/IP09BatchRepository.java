@@ -1,8 +1,8 @@
 package com.abcbs.crrs.repository;
 
+import java.util.Collection;
 import java.util.List;
 
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -16,27 +16,15 @@ import jakarta.transaction.Transactional;
 
 public interface IP09BatchRepository extends JpaRepository<P09Batch, BatchPK> {
 
-	@Query(value = """
-			SELECT
-			    CR_REFUND_TYPE,
-			    BT_BATCH_PREFIX,
-			    BT_BATCH_DATE,
-			    BT_BATCH_SUFFIX,
-			    BT_BATCH_CNT,
-			    BT_BATCH_AMT,
-			    BT_CONTROL_DATE,
-			    BT_RECEIVED_DATE,
-			    BT_DEPOSIT_DATE,
-			    BT_ENTRY_DATE,
-			    BT_STATUS_DATE,
-			    BT_STATUS,
-			    BT_POSTED_IND
-			  FROM P09_BATCH
-			 WHERE (BT_BATCH_PREFIX + BT_BATCH_DATE + BT_BATCH_SUFFIX + CR_REFUND_TYPE) > :ck
-         AND BT_POSTED_IND = ' '
-			 ORDER BY BT_BATCH_PREFIX, BT_BATCH_DATE, BT_BATCH_SUFFIX, CR_REFUND_TYPE
-			""", nativeQuery = true)
-	List<P09Batch> fetchAfterKeyUnposted(@Param("ck") String concatenatedKey, Pageable page);
+	/**
+	 * P09373: deletes a set of batches in one statement; returns the rows
+	 * deleted. Four parameters per key, so callers keep each call to a few
+	 * hundred keys (SQL Server allows 2100 parameters).
+	 */
+	@Modifying
+	@Transactional
+	@Query("DELETE FROM P09Batch b WHERE b.bId IN :ids")
+	int deleteAllByIdIn(@Param("ids") Collection<BatchPK> ids);
 
 	// ************************P09310**************************************************************
 
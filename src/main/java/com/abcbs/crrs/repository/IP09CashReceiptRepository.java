@@ -1,24 +1,29 @@
 package com.abcbs.crrs.repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Stream;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import com.abcbs.crrs.entity.CashReceiptPK;
 import com.abcbs.crrs.entity.P09CashReceipt;
+import com.abcbs.crrs.jobs.P09325.P09325RoutingKey;
 import com.abcbs.crrs.jobs.P09325.P09325RoutingView;
+import com.abcbs.crrs.jobs.P09330.P09330AgingRow;
 import com.abcbs.crrs.jobs.P09345.CarryoverView;
+import com.abcbs.crrs.jobs.P09375.DailyRemittanceKey;
 import com.abcbs.crrs.jobs.P09375.DailyRemittanceView;
+import com.abcbs.crrs.jobs.P09376.P09376DailyRemittanceKey;
 import com.abcbs.crrs.jobs.P09376.P09376DailyRemittanceView;
 
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
 
 public interface IP09CashReceiptRepository extends JpaRepository<P09CashReceipt, CashReceiptPK> {
@@ -27,16 +32,39 @@ public interface IP09CashReceiptRepository extends JpaRepository<P09CashReceipt,
 	@Query("UPDATE P09CashReceipt c SET c.crRemDailyInd = ' '")
 	int clearDailyRemittanceFlag();
 
+	/**
+	 * P09375 000250: reset CR_REM_DAILY_IND on the receipts the label pass read.
+	 * Callers pass a bounded slice (3 parameters per key).
+	 */
+	@Modifying
+	@Transactional
+	@Query("UPDATE P09CashReceipt c SET c.crRemDailyInd = ' ' WHERE c.crRemDailyInd = 'Y' AND c.crId IN :ids")
+	int clearDailyRemittanceFlag(@Param("ids") Collection<CashReceiptPK> ids);
+
 	@Query("SELECT c.crId.crRefundType AS crRefundType, c.crId.crCntrlDate AS crCntrlDate, c.crId.crCntrlNbr AS crCntrlNbr, "
 			+ "c.crRemDailyInd AS crRemDailyInd, c.crRemIdType AS crRemIdType, c.crRemIdNbr AS crRemIdNbr, c.crRemittorName AS crRemittorName, "
 			+ "c.crRemAddressee AS crRemAddressee, c.crRemAddress1 AS crRemAddress1, c.crRemAddress2 AS crRemAddress2, "
 			+ "c.crRemCity AS crRemCity, c.crRemState AS crRemState, c.crRemZip5 AS crRemZip5, c.crRemZip4 AS crRemZip4, "
 			+ "c.crChkAddress1 AS crChkAddress1, c.crChkAddress2 AS crChkAddress2, c.crChkCity AS crChkCity, c.crChkState AS crChkState, "
 			+ "c.crChkZip5 AS crChkZip5, c.crChkZip4 AS crChkZip4, c.crUserId AS crUserId " + "FROM P09CashReceipt c "
-			+ "WHERE CONCAT(FUNCTION('FORMAT', c.crId.crCntrlDate, 'yyyyMMdd'), c.crId.crCntrlNbr, c.crId.crRefundType) > :checkpointKey "
+			+ "WHERE ( (COALESCE(c.crUserId, '') > :lastUserId) "
+			+ " OR (COALESCE(c.crUserId, '') = :lastUserId AND c.crId.crRefundType > :lastType) "
+			+ " OR (COALESCE(c.crUserId, '') = :lastUserId AND c.crId.crRefundType = :lastType AND c.crId.crCntrlDate > :lastDate) "
+			+ " OR (COALESCE(c.crUserId, '') = :lastUserId AND c.crId.crRefundType = :lastType AND c.crId.crCntrlDate = :lastDate "
+			+ "     AND c.crId.crCntrlNbr > :lastNbr) ) "
 			+ "AND c.crRemDailyInd = 'Y' "
-			+ "ORDER BY c.crUserId, c.crId.crRefundType, c.crId.crCntrlDate, c.crId.crCntrlNbr")
-	List<DailyRemittanceView> findDailyRemittances(@Param("checkpointKey") String checkpointKey);
+			+ "ORDER BY COALESCE(c.crUserId, ''), c.crId.crRefundType, c.crId.crCntrlDate, c.crId.crCntrlNbr")
+	List<DailyRemittanceView> findDailyRemittances(@Param("lastUserId") String lastUserId,
+			@Param("lastType") String lastType, @Param("lastDate") LocalDate lastDate, @Param("lastNbr") String lastNbr);
+
+	/**
+	 * P09375 daily remittances after the given key (DailyRemittanceKey.START for
+	 * the first fetch). A NULL user id sorts and compares as blank.
+	 */
+	default List<DailyRemittanceView> findDailyRemittances(DailyRemittanceKey after) {
+		return findDailyRemittances(after.userId() == null ? "" : after.userId(), after.refundType(),
+				after.cntrlDate(), after.cntrlNbr());
+	}
 
 	@Query("""
 			    SELECT r
@@ -73,58 +101,33 @@ public interface IP09CashReceiptRepository extends JpaRepository<P09CashReceipt,
 			""")
 	List<P09CashReceipt> findPendingCashReceipts(String refundType, LocalDate statusDate, String corp);
 
-	// DB-MODIFY V_P09_CASH_RECEIPT (COBOL UPDATE block)
-	@Modifying
-	@Query("""
-			    UPDATE P09CashReceipt c
-			    SET c.crReceiptBal = :receiptBal,
-			        c.crStatusText = :statusText,
-			        c.crStatusDate = :statusDate,
-			        c.crPendFinAct = :pendFinAct,
-			        c.crRemDailyInd = :remDailyInd,
-			        c.crRemIdType = :remIdType,
-			        c.crRemIdNbr = :remIdNbr,
-			        c.crRemNationalId = :remNationalId,
-			        c.crRemTaxIdNbr = :remTaxIdNbr,
-			        c.crRemAddressee = :remAddressee,
-			        c.crRemAddress1 = :remAddress1,
-			        c.crRemAddress2 = :remAddress2,
-			        c.crRemCity = :remCity,
-			        c.crRemState = :remState,
-			        c.crRemZip5 = :remZip5,
-			        c.crRemZip4 = :remZip4
-			    WHERE c.crId.crRefundType = :refundType
-			      AND c.crId.crCntrlDate = :cntrlDate
-			      AND c.crId.crCntrlNbr = :cntrlNbr
-			""")
-	int updateCashReceiptRecord(BigDecimal receiptBal, String statusText, LocalDate statusDate, String pendFinAct,
-			String remDailyInd, String remIdType, String remIdNbr, String remNationalId, String remTaxIdNbr,
-			String remAddressee, String remAddress1, String remAddress2, String remCity, String remState,
-			String remZip5, String remZip4, String refundType, LocalDate cntrlDate, String cntrlNbr);
+	String AGING_ROW = "SELECT new com.abcbs.crrs.jobs.P09330.P09330AgingRow(c.crId.crRefundType, "
+			+ "c.crId.crCntrlDate, c.crId.crCntrlNbr, c.crReceiptBal, c.crReceiptType, c.crRemDailyInd, "
+			+ "c.crReasonCode) FROM P09CashReceipt c ";
 
 	/**
-	 * Stream RET rows for a given receipt type up to the cutoff date. Caller must
-	 * ensure the returned Stream is closed (try-with-resources) and a transactional
-	 * context remains open while consuming the stream.
+	 * P09330: RET rows for a given receipt type up to the cutoff date, as
+	 * detached aging rows (nothing is added to the persistence context). Caller
+	 * must close the Stream and keep a transaction open while consuming it.
 	 */
 	@Transactional
-	@Query("SELECT c " + "FROM P09CashReceipt c " + "WHERE c.crId.crRefundType = 'RET' "
-			+ " AND c.crReceiptType = :rType "
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query(AGING_ROW + "WHERE c.crId.crRefundType = 'RET' " + " AND c.crReceiptType = :rType "
 			+ " AND (TRIM(c.crStatusText) = 'OPEN' OR TRIM(c.crStatusText) = 'PENDED') "
-			+ " AND c.crId.crCntrlDate <= :cutoff "
-			+ "ORDER BY c.crId.crRefundType, c.crReceiptType, c.crId.crCntrlDate, c.crId.crCntrlNbr")
-	Stream<P09CashReceipt> streamByReceiptTypeNative(@Param("rType") String rType, @Param("cutoff") LocalDate cutoff);
+			+ " AND c.crId.crCntrlDate <= :cutoff")
+	Stream<P09330AgingRow> streamAgingByReceiptType(@Param("rType") String rType, @Param("cutoff") LocalDate cutoff);
 
 	/**
-	 * Stream rows for a given refund type (UND/OFF/SPO) up to the cutoff date.
+	 * P09330: rows for a given refund type (UND/OFF/SPO) up to the cutoff date.
 	 */
 	@Transactional
-	@Query("SELECT c " + "FROM P09CashReceipt c " + "WHERE c.crId.crRefundType = :refundType "
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query(AGING_ROW + "WHERE c.crId.crRefundType = :refundType "
 			+ " AND (TRIM(c.crStatusText) = 'OPEN' OR TRIM(c.crStatusText) = 'PENDED') "
-			+ " AND c.crId.crCntrlDate <= :cutoff "
-			+ "ORDER BY c.crId.crRefundType, c.crReceiptType, c.crId.crCntrlDate, c.crId.crCntrlNbr")
-
-	Stream<P09CashReceipt> streamByRefundTypeNative(@Param("refundType") String refundType,
+			+ " AND c.crId.crCntrlDate <= :cutoff")
+	Stream<P09330AgingRow> streamAgingByRefundType(@Param("refundType") String refundType,
 			@Param("cutoff") LocalDate cutoff);
 
 	/**
@@ -150,6 +153,19 @@ public interface IP09CashReceiptRepository extends JpaRepository<P09CashReceipt,
 			+ "ORDER BY c.Id.crCntrlDate, c.Id.crCntrlNbr, c.Id.crRefundType")
 	List<P09376DailyRemittanceView> findDailyRemittancesAfter(@Param("lastDate") LocalDate lastDate,
 			@Param("lastNbr") String lastNbr, @Param("lastType") String lastType);
+
+	default List<P09376DailyRemittanceView> findDailyRemittancesAfter(P09376DailyRemittanceKey after) {
+		return findDailyRemittancesAfter(after.cntrlDate(), after.cntrlNbr(), after.refundType());
+	}
+
+	/**
+	 * P09325 routing rows after the given key, in restart-key order. Forward-only
+	 * cursor: the caller must close the Stream and keep a transaction open while
+	 * consuming it.
+	 */
+	@Transactional
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
 	@Query("""
 			SELECT
 			    c.crLocationClerk  AS clerk,
@@ -170,14 +186,16 @@ public interface IP09CashReceiptRepository extends JpaRepository<P09CashReceipt,
 			    c.crLocationDate   AS locationDate
 			FROM P09CashReceipt c
 			WHERE
-			    CONCAT(
-			        c.crLocationNbr,
-			        c.crLocationClerk,
-			        FUNCTION('FORMAT', c.crReceivedDate, 'yyyy-MM-dd'),
-			        c.crId.crRefundType,
-			        c.crId.crCntrlNbr,
-			        FUNCTION('FORMAT', c.crId.crCntrlDate, 'yyyy-MM-dd')
-			    ) > :checkpointKey
+			    (   (c.crLocationNbr > :area)
+			     OR (c.crLocationNbr = :area AND c.crLocationClerk > :clerk)
+			     OR (c.crLocationNbr = :area AND c.crLocationClerk = :clerk AND c.crReceivedDate > :recvDate)
+			     OR (c.crLocationNbr = :area AND c.crLocationClerk = :clerk AND c.crReceivedDate = :recvDate
+			         AND c.crId.crRefundType > :refundType)
+			     OR (c.crLocationNbr = :area AND c.crLocationClerk = :clerk AND c.crReceivedDate = :recvDate
+			         AND c.crId.crRefundType = :refundType AND c.crId.crCntrlNbr > :controlNbr)
+			     OR (c.crLocationNbr = :area AND c.crLocationClerk = :clerk AND c.crReceivedDate = :recvDate
+			         AND c.crId.crRefundType = :refundType AND c.crId.crCntrlNbr = :controlNbr
+			         AND c.crId.crCntrlDate > :cntrlDate) )
 			AND c.crStatusText IN ('OPEN','PENDED')
 			ORDER BY
 			    c.crLocationNbr,
@@ -187,7 +205,15 @@ public interface IP09CashReceiptRepository extends JpaRepository<P09CashReceipt,
 			    c.crId.crCntrlNbr,
 			    c.crId.crCntrlDate
 			""")
-	List<P09325RoutingView> fetchRoutingPage(@Param("checkpointKey") String checkpointKey);
+	Stream<P09325RoutingView> streamRouting(@Param("area") String area, @Param("clerk") String clerk,
+			@Param("recvDate") LocalDate recvDate, @Param("refundType") String refundType,
+			@Param("controlNbr") String controlNbr, @Param("cntrlDate") LocalDate cntrlDate);
+
+	/** P09325 routing rows after the given key (P09325RoutingKey.START for a fresh run). */
+	default Stream<P09325RoutingView> streamRouting(P09325RoutingKey after) {
+		return streamRouting(after.area(), after.clerk(), after.recvDate(), after.refundType(),
+				after.controlNbr(), after.cntrlDate());
+	}
 
 	@Query("""
 			SELECT
@@ -218,26 +244,5 @@ public interface IP09CashReceiptRepository extends JpaRepository<P09CashReceipt,
 			""")
 	List<CarryoverView> fetchCashReceiptCursor(@Param("corpNo") String corpNo, @Param("refundType") String refundType,
 			@Param("toDate") LocalDate toDate);
-	
-	@Query("""
-		    SELECT r
-		    FROM P09CashReceipt r
-		    WHERE r.crId.crRefundType = 'OFF'
-		      AND r.crRemittorTitle IN ('OF1','OF2','OF3','OF4','OF5')
-		""")
-		Page<P09CashReceipt> findOffCashReceipts(Pageable pageable);
-
-
-	@Modifying
-	@Transactional
-	@Query("""
-			    UPDATE P09CashReceipt c
-			       SET c.crRemittorTitle = ' '
-			     WHERE c.crId.crRefundType = :refundType
-			       AND c.crId.crCntrlDate  = :cntrlDate
-			       AND c.crId.crCntrlNbr   = :cntrlNbr
-			""")
-	int clearRemittorTitle(@Param("refundType") String refundType, @Param("cntrlDate") LocalDate cntrlDate,
-			@Param("cntrlNbr") String cntrlNbr);
 
 }
@@ -1,6 +1,5 @@
 package com.abcbs.crrs.repository;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,7 +10,6 @@ import org.springframework.data.repository.query.Param;
 
 import com.abcbs.crrs.entity.P09Summary;
 import com.abcbs.crrs.entity.SummaryPK;
-import com.abcbs.crrs.jobs.P09325.P09325RoutingView;
 import com.abcbs.crrs.jobs.P09325.P09325SummaryView;
 import com.abcbs.crrs.jobs.P09325.P09325kHeaderView;
 
@@ -27,20 +25,6 @@ public interface IP09SummaryRepository extends JpaRepository<P09Summary, Summary
 			""")
 	Optional<P09Summary> findSummary(String locationId, String clerkId);
 
-	// UPDATE (COBOL)
-	@Modifying
-	@Query("""
-			    UPDATE P09Summary s
-			    SET s.sumDeletionsCnt = :sumDelCnt,
-			        s.sumDeletionsAmt = :sumDelAmt,
-			        s.sumEndingCnt    = :sumEndCnt,
-			        s.sumEndingAmt    = :sumEndAmt
-			    WHERE s.sId.sumLocationID = :locationId
-			      AND s.sId.sumClerkId = :clerkId
-			""")
-	int updateSummary(Integer sumDelCnt, BigDecimal sumDelAmt, Integer sumEndCnt, BigDecimal sumEndAmt,
-			String locationId, String clerkId);
-
 	@Query("""
 			    SELECT
 			        s.sId.sumLocationID     AS area,
@@ -75,6 +59,23 @@ public interface IP09SummaryRepository extends JpaRepository<P09Summary, Summary
 			""")
 	Optional<P09325kHeaderView> fetchHeader(@Param("area") String area, @Param("clerk") String clerk);
 
+	/** Every P09325 section header, loaded once per run instead of per area/clerk break. */
+	@Query("""
+			    SELECT
+			        s.sId.sumLocationID      AS area,
+			        s.sId.sumClerkId        AS clerk,
+			        s.sumBeginningCnt     AS beginCnt,
+			        s.sumBeginningAmt     AS beginAmt,
+			        s.sumAdditionsCnt     AS recvCnt,
+			        s.sumAdditionsAmt     AS recvAmt,
+			        s.sumDeletionsCnt     AS fwdCnt,
+			        s.sumDeletionsAmt     AS fwdAmt,
+			        s.sumEndingCnt        AS endCnt,
+			        s.sumEndingAmt        AS endAmt
+			    FROM P09Summary s
+			""")
+	List<P09325kHeaderView> fetchAllHeaders();
+
 	@Modifying
 	@Transactional
 	@Query("""
@@ -104,17 +105,4 @@ public interface IP09SummaryRepository extends JpaRepository<P09Summary, Summary
 			    GROUP BY s.sId.sumLocationID
 			""")
 	List<P09325SummaryView> fetchControllerSummary();
-
-	// composite key exactly matches ORDER BY (L1199-1216)
-	public static String makeKey(P09325RoutingView r) {
-		return String.join("|", nz(r.getArea()), nz(r.getClerk()),
-				r.getRecvDate() == null ? "" : r.getRecvDate().toString().replace("-", ""), nz(r.getRefundType()),
-				nz(r.getControlNbr()), "00000000" // control date placeholder if not available in fetch; include if
-													// present.
-		);
-	}
-
-	private static String nz(String s) {
-		return s == null ? "" : s.trim();
-	}
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package com.abcbs.crrs.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -36,6 +37,13 @@ public interface IP09SuspenseRepository extends JpaRepository<P09Suspense, Suspe
 	P09Suspense findSuspense(@Param("refundType") String refundType, @Param("cntrlDate") LocalDate cntrlDate,
 			@Param("cntrlNbr") String cntrlNbr);
 
+	/**
+	 * P09372: the suspense rows of a whole chunk of cash receipts. Three
+	 * parameters per key; callers slice the keys to stay under 2100.
+	 */
+	@Query("SELECT s FROM P09Suspense s WHERE s.spId IN :ids")
+	List<P09Suspense> findSuspenseIn(@Param("ids") Collection<SuspensePK> ids);
+
 	@Query("""
 			SELECT
 			    s.spId.crCntrlDate     AS cntrlDate,
@@ -0,0 +1,105 @@
+package com.abcbs.crrs.utilities;
+
+import java.nio.charset.Charset;
+
+import org.springframework.batch.item.ParseException;
+
+/**
+ * The current record of a {@link BinaryRecordReader}: the bytes of one RECFM=FB
+ * record, with fields taken by their 1-based copybook positions. The same
+ * instance is refilled for every record, so mappers copy out what they need.
+ *
+ * Text (PIC X) fields go through a 256-entry code page table; COMP-3 and zoned
+ * fields are decoded from the bytes into their unscaled long value.
+ */
+public final class BinaryRecord {
+
+	private final char[] codePage;
+	private final byte[] bytes;
+	private final char[] chars;
+	private int number;
+
+	BinaryRecord(char[] codePage, int length) {
+		this.codePage = codePage;
+		this.bytes = new byte[length];
+		this.chars = new char[length];
+	}
+
+	/** byte to char table of a single-byte charset (Cp037, Cp1047, ISO-8859-1 ...). */
+	static char[] codePage(Charset charset) {
+		byte[] all = new byte[256];
+		for (int i = 0; i < 256; i++) {
+			all[i] = (byte) i;
+		}
+		String decoded = new String(all, charset);
+		if (decoded.length() != 256) {
+			throw new IllegalStateException("Not a single-byte code page: " + charset);
+		}
+		return decoded.toCharArray();
+	}
+
+	byte[] bytes() {
+		return bytes;
+	}
+
+	void next(int number) {
+		this.number = number;
+	}
+
+	/** Record number in the file, from 1. */
+	public int number() {
+		return number;
+	}
+
+	public int length() {
+		return bytes.length;
+	}
+
+	/** The whole record as text, untrimmed (all PIC X, e.g. for a FixedWidthLayout). */
+	public String text() {
+		decode(0, bytes.length);
+		return new String(chars);
+	}
+
+	/** PIC X field, trimmed as FixedWidthLayout reads it. */
+	public String text(int from, int to) {
+		int start = from - 1;
+		int end = to;
+		decode(start, end);
+		while (start < end && chars[start] <= ' ') {
+			start++;
+		}
+		while (end > start && chars[end - 1] <= ' ') {
+			end--;
+		}
+		return (start < end) ? new String(chars, start, end - start) : "";
+	}
+
+	/** COMP-3 field, unscaled (S9(9)V99 of -123.45 is -12345). */
+	public long packed(int from, int to) {
+		try {
+			return Utility.unpackLong(bytes, from - 1, to - from + 1);
+		} catch (IllegalArgumentException e) {
+			throw invalid(from, to, e);
+		}
+	}
+
+	/** Zoned decimal (PIC S9 DISPLAY) field, unscaled. */
+	public long zoned(int from, int to) {
+		try {
+			return Utility.unzoneLong(bytes, from - 1, to - from + 1);
+		} catch (IllegalArgumentException e) {
+			throw invalid(from, to, e);
+		}
+	}
+
+	private void decode(int start, int end) {
+		for (int i = start; i < end; i++) {
+			chars[i] = codePage[bytes[i] & 0xFF];
+		}
+	}
+
+	private ParseException invalid(int from, int to, IllegalArgumentException e) {
+		return new ParseException("Record " + number + ", positions " + from + "-" + to + ": " + e.getMessage(), e);
+	}
+}
@@ -0,0 +1,103 @@
+package com.abcbs.crrs.utilities;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Function;
+
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+
+/**
+ * Reads a mainframe dataset as it comes off the host: RECFM=FB, fixed-length
+ * records with no line ends, text in the dataset's code page (EBCDIC Cp037 /
+ * Cp1047, or ISO-8859-1 when only the numeric fields are binary), COMP-3 and
+ * zoned decimal fields as bytes. No conversion to text lines is needed first.
+ *
+ * The file is memory-mapped a window at a time and each record is copied into
+ * one reused {@link BinaryRecord}, which the mapper turns into an item.
+ * Record n starts at byte (n - 1) * recordLength, so a restart seeks straight
+ * to the next record.
+ */
+public class BinaryRecordReader<T> extends AbstractItemCountingItemStreamItemReader<T> {
+
+	/** Bytes mapped at once (rounded down to whole records). */
+	private static final long WINDOW = 64L * 1024 * 1024;
+
+	private final Path path;
+	private final int recordLength;
+	private final char[] codePage;
+	private final Function<BinaryRecord, T> mapper;
+
+	private FileChannel channel;
+	private long records;
+	private long next;
+	private MappedByteBuffer window;
+	private long windowStart;
+	private BinaryRecord record;
+
+	/**
+	 * @param recordLength LRECL
+	 * @param charset      code page of the text fields
+	 */
+	public BinaryRecordReader(String path, int recordLength, Charset charset, Function<BinaryRecord, T> mapper) {
+		if (recordLength <= 0) {
+			throw new IllegalStateException("BinaryRecordReader record length must be positive: " + recordLength);
+		}
+		this.path = Path.of(path);
+		this.recordLength = recordLength;
+		this.codePage = BinaryRecord.codePage(charset);
+		this.mapper = mapper;
+		setName(BinaryRecordReader.class.getSimpleName());
+	}
+
+	@Override
+	protected void doOpen() throws Exception {
+		channel = FileChannel.open(path, StandardOpenOption.READ);
+		long size = channel.size();
+		if (size % recordLength != 0) {
+			channel.close();
+			throw new IllegalStateException(path + " is " + size + " bytes, not a whole number of "
+					+ recordLength + "-byte records");
+		}
+		records = size / recordLength;
+		next = 0;
+		record = new BinaryRecord(codePage, recordLength);
+	}
+
+	@Override
+	protected T doRead() throws Exception {
+		if (next >= records) {
+			return null;
+		}
+		long pos = next * recordLength;
+		if (window == null || pos < windowStart || pos + recordLength > windowStart + window.limit()) {
+			map(pos);
+		}
+		window.get((int) (pos - windowStart), record.bytes());
+		record.next((int) ++next);
+		return mapper.apply(record);
+	}
+
+	@Override
+	protected void jumpToItem(int itemIndex) {
+		next = itemIndex;
+	}
+
+	@Override
+	protected void doClose() throws Exception {
+		window = null;
+		if (channel != null) {
+			channel.close();
+			channel = null;
+		}
+	}
+
+	private void map(long pos) throws IOException {
+		long windowBytes = Math.max(1, WINDOW / recordLength) * recordLength;
+		window = channel.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(windowBytes, records * recordLength - pos));
+		windowStart = pos;
+	}
+}
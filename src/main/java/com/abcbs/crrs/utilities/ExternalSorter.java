@@ -0,0 +1,256 @@
+package com.abcbs.crrs.utilities;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Spill-to-disk sort (the JCL SORT step in front of a COBOL control break).
+ *
+ * Items are added as they arrive. Whenever {@code maxInMemory} items are held,
+ * they are sorted and written to a temp file (a "run"). {@link #sorted()} then
+ * k-way merges the runs (plus whatever is still in memory) into one ordered
+ * iterator, so heap use is bounded by the budget and not by the input size.
+ * If nothing was spilled it is a plain in-memory sort.
+ *
+ * The sort is stable: items that compare equal come out in the order they were
+ * added, the same as List.sort.
+ *
+ * Single use: add, then sorted(), then close() (deletes the run files).
+ */
+public class ExternalSorter<T extends Serializable> implements AutoCloseable {
+
+	private static final Logger logger = LogManager.getLogger(ExternalSorter.class);
+
+	/** Runs merged at once; more than this are first merged into bigger runs. */
+	static final int MAX_FAN_IN = 64;
+
+	private static final int IO_BUFFER = 64 * 1024;
+
+	private final Comparator<? super T> comparator;
+	private final int maxInMemory;
+	private final Path tempDir;
+
+	private final List<T> buffer = new ArrayList<>();
+	private final List<Path> runs = new ArrayList<>();
+	private final List<RunReader<T>> openReaders = new ArrayList<>();
+	private long count;
+	private boolean sorting;
+
+	/**
+	 * @param maxInMemory items held on the heap before a run is spilled
+	 * @param tempDir     directory for run files (null = java.io.tmpdir)
+	 */
+	public ExternalSorter(Comparator<? super T> comparator, int maxInMemory, Path tempDir) {
+		if (maxInMemory <= 0) {
+			throw new IllegalStateException("ExternalSorter maxInMemory must be positive: " + maxInMemory);
+		}
+		this.comparator = comparator;
+		this.maxInMemory = maxInMemory;
+		this.tempDir = (tempDir != null) ? tempDir : Path.of(System.getProperty("java.io.tmpdir"));
+	}
+
+	/**
+	 * Items that fit a heap budget, given a rough per-item size; at least 1000.
+	 */
+	public static int itemsForBudget(long memoryBudgetBytes, int estimatedItemBytes) {
+		long n = memoryBudgetBytes / Math.max(1, estimatedItemBytes);
+		return (int) Math.max(1000L, Math.min(Integer.MAX_VALUE - 8L, n));
+	}
+
+	public void add(T item) {
+		if (sorting) {
+			throw new IllegalStateException("ExternalSorter: add() after sorted()");
+		}
+		buffer.add(item);
+		count++;
+		if (buffer.size() >= maxInMemory) {
+			spill();
+		}
+	}
+
+	public void addAll(Collection<? extends T> items) {
+		for (T item : items) {
+			add(item);
+		}
+	}
+
+	/** Items added so far. */
+	public long size() {
+		return count;
+	}
+
+	/** Runs spilled to disk so far. */
+	public int runCount() {
+		return runs.size();
+	}
+
+	/** All items in comparator order. Call once, after the last add(). */
+	public Iterator<T> sorted() {
+		if (sorting) {
+			throw new IllegalStateException("ExternalSorter: sorted() called twice");
+		}
+		sorting = true;
+
+		if (runs.isEmpty()) {
+			buffer.sort(comparator);
+			return buffer.iterator();
+		}
+		if (!buffer.isEmpty()) {
+			spill();
+		}
+		while (runs.size() > MAX_FAN_IN) {
+			// merge the oldest runs first so equal items keep their input order
+			List<Path> group = new ArrayList<>(runs.subList(0, MAX_FAN_IN));
+			Path merged = writeRun(merge(group));
+			closeReaders();
+			deleteAll(group);
+			runs.subList(0, MAX_FAN_IN).clear();
+			runs.add(0, merged);
+		}
+		logger.info("ExternalSorter: merging {} items from {} runs", count, runs.size());
+		return merge(runs);
+	}
+
+	@Override
+	public void close() {
+		closeReaders();
+		deleteAll(runs);
+		runs.clear();
+		buffer.clear();
+	}
+
+	// ------------------------------------------------------------------
+
+	private void spill() {
+		buffer.sort(comparator);
+		runs.add(writeRun(buffer.iterator()));
+		logger.debug("ExternalSorter: spilled run {} ({} items)", runs.size(), buffer.size());
+		buffer.clear();
+	}
+
+	private Path writeRun(Iterator<T> items) {
+		try {
+			Files.createDirectories(tempDir);
+			Path run = Files.createTempFile(tempDir, "sortrun-", ".tmp");
+			try (ObjectOutputStream oos = new ObjectOutputStream(
+					new BufferedOutputStream(Files.newOutputStream(run), IO_BUFFER))) {
+				while (items.hasNext()) {
+					oos.writeObject(items.next());
+					// no back-references: keeps the stream's handle table from growing
+					oos.reset();
+				}
+			}
+			return run;
+		} catch (IOException e) {
+			throw new UncheckedIOException("ExternalSorter: cannot write run in " + tempDir, e);
+		}
+	}
+
+	private Iterator<T> merge(List<Path> files) {
+		PriorityQueue<RunReader<T>> heads = new PriorityQueue<>(files.size(),
+				Comparator.<RunReader<T>, T>comparing(r -> r.head, comparator).thenComparingInt(r -> r.index));
+		for (int i = 0; i < files.size(); i++) {
+			RunReader<T> r = new RunReader<>(files.get(i), i);
+			openReaders.add(r);
+			if (r.advance()) {
+				heads.add(r);
+			}
+		}
+		return new Iterator<>() {
+			@Override
+			public boolean hasNext() {
+				return !heads.isEmpty();
+			}
+
+			@Override
+			public T next() {
+				RunReader<T> r = heads.poll();
+				if (r == null) {
+					throw new NoSuchElementException();
+				}
+				T item = r.head;
+				if (r.advance()) {
+					heads.add(r);
+				}
+				return item;
+			}
+		};
+	}
+
+	private void closeReaders() {
+		for (RunReader<T> r : openReaders) {
+			r.close();
+		}
+		openReaders.clear();
+	}
+
+	private static void deleteAll(List<Path> files) {
+		for (Path p : files) {
+			try {
+				Files.deleteIfExists(p);
+			} catch (IOException e) {
+				logger.warn("ExternalSorter: could not delete run {}", p, e);
+			}
+		}
+	}
+
+	private static final class RunReader<T> {
+		final int index;
+		final Path file;
+		ObjectInputStream in;
+		T head;
+
+		RunReader(Path file, int index) {
+			this.file = file;
+			this.index = index;
+		}
+
+		@SuppressWarnings("unchecked")
+		boolean advance() {
+			try {
+				if (in == null) {
+					in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file), IO_BUFFER));
+				}
+				head = (T) in.readObject();
+				return true;
+			} catch (EOFException eof) {
+				head = null;
+				close();
+				return false;
+			} catch (IOException e) {
+				throw new UncheckedIOException("ExternalSorter: cannot read run " + file, e);
+			} catch (ClassNotFoundException e) {
+				throw new IllegalStateException("ExternalSorter: cannot read run " + file, e);
+			}
+		}
+
+		void close() {
+			if (in != null) {
+				try {
+					in.close();
+				} catch (IOException ignore) {
+					// run file is deleted next
+				}
+				in = null;
+			}
+		}
+	}
+}
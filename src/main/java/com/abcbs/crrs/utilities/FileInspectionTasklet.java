@@ -0,0 +1,77 @@
+package com.abcbs.crrs.utilities;
+
+import java.nio.file.Path;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+
+/**
+ * Empty-file gate step (P09185, P09186): RETURN-CODE 55 when the input has no
+ * records, 0 otherwise.
+ *
+ * The return code is the step ExitStatus, which becomes the job ExitStatus;
+ * JobLauncherRunner turns it into the process exit code. Without a record
+ * length only the file size is looked at. With one, every record is counted
+ * and a record of any other length fails the step, as the strict fixed-length
+ * tokenizer used to.
+ */
+public class FileInspectionTasklet implements Tasklet {
+
+	private static final Logger log = LogManager.getLogger(FileInspectionTasklet.class);
+
+	public static final ExitStatus EMPTY = new ExitStatus("55");
+
+	private final String inputFile;
+	private final int recordLength;
+
+	/**
+	 * @param recordLength expected bytes per record, or 0 to only test for an
+	 *                     empty file
+	 */
+	public FileInspectionTasklet(String inputFile, int recordLength) {
+		this.inputFile = inputFile;
+		this.recordLength = recordLength;
+	}
+
+	@Override
+	public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+		if (inputFile == null || inputFile.isBlank()) {
+			throw new IllegalStateException("inputFile job parameter is required");
+		}
+		Path path = Path.of(inputFile);
+		ExecutionContext ec = chunkContext.getStepContext().getStepExecution().getExecutionContext();
+
+		boolean empty;
+		if (recordLength <= 0) {
+			long bytes = FileInspector.size(path);
+			ec.putLong("file.bytes", bytes);
+			empty = (bytes == 0);
+			log.info("File {} size={} bytes", inputFile, bytes);
+		} else {
+			FileInspector.Result r = FileInspector.inspect(path, recordLength);
+			ec.putLong("file.bytes", r.bytes());
+			ec.putLong("file.records", r.records());
+			log.info("File {} size={} bytes records={}", inputFile, r.bytes(), r.records());
+			if (r.badLengthRecords() > 0) {
+				throw new IllegalStateException("File " + inputFile + " has " + r.badLengthRecords()
+						+ " record(s) that are not " + recordLength + " bytes long");
+			}
+			empty = (r.records() == 0);
+		}
+
+		if (empty) {
+			log.warn("Input file is empty. Setting RETURN-CODE = 55");
+			contribution.setExitStatus(EMPTY);
+		} else {
+			log.info("Input file is not empty. Setting RETURN-CODE = 0");
+			contribution.setExitStatus(ExitStatus.COMPLETED);
+		}
+		return RepeatStatus.FINISHED;
+	}
+}
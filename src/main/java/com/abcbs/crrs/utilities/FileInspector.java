@@ -0,0 +1,104 @@
+package com.abcbs.crrs.utilities;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Answers "is it empty / how many records / are they all N bytes" for a
+ * line-sequential file without reading it through a Java Reader.
+ *
+ * Emptiness is Files.size(). Records are counted by scanning a read-only
+ * memory mapping of the file for '\n', one window at a time, so heap use is
+ * constant whatever the file size. A last line without a trailing newline
+ * still counts; a trailing '\r' is not part of the record length.
+ *
+ * Lengths are in bytes, which is what the fixed-width (single byte) input
+ * layouts are defined in.
+ */
+public final class FileInspector {
+
+	/** Bytes mapped at a time. */
+	static final long WINDOW = 64L * 1024 * 1024;
+
+	private FileInspector() {
+	}
+
+	/**
+	 * @param bytes            file size
+	 * @param records          lines in the file
+	 * @param badLengthRecords lines whose length is not the expected record
+	 *                         length (0 when no length was checked)
+	 */
+	public record Result(Path path, long bytes, long records, long badLengthRecords) {
+
+		public boolean isEmpty() {
+			return bytes == 0;
+		}
+	}
+
+	/** Size in bytes; IllegalStateException if the file is not there. */
+	public static long size(Path file) {
+		if (!Files.isRegularFile(file)) {
+			throw new IllegalStateException("Input file not found: " + file);
+		}
+		try {
+			return Files.size(file);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot read size of " + file, e);
+		}
+	}
+
+	/**
+	 * Counts records and, when {@code recordLength > 0}, the records that are
+	 * not exactly that many bytes long.
+	 */
+	public static Result inspect(Path file, int recordLength) {
+		long bytes = size(file);
+		if (bytes == 0) {
+			return new Result(file, 0, 0, 0);
+		}
+
+		long records = 0;
+		long badLength = 0;
+		long lineLen = 0;
+		boolean lastWasCr = false;
+
+		try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+			for (long pos = 0; pos < bytes; pos += WINDOW) {
+				MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(WINDOW, bytes - pos));
+				while (buf.hasRemaining()) {
+					byte b = buf.get();
+					if (b == '\n') {
+						records++;
+						long len = lastWasCr ? lineLen - 1 : lineLen;
+						if (recordLength > 0 && len != recordLength) {
+							badLength++;
+						}
+						lineLen = 0;
+						lastWasCr = false;
+					} else {
+						lineLen++;
+						lastWasCr = (b == '\r');
+					}
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot inspect " + file, e);
+		}
+
+		// last record without a newline
+		if (lineLen > 0) {
+			records++;
+			long len = lastWasCr ? lineLen - 1 : lineLen;
+			if (recordLength > 0 && len != recordLength) {
+				badLength++;
+			}
+		}
+		return new Result(file, bytes, records, badLength);
+	}
+}
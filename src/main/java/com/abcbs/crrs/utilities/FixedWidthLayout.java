@@ -0,0 +1,221 @@
+package com.abcbs.crrs.utilities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.batch.item.file.transform.IncorrectLineLengthException;
+import org.springframework.batch.item.file.transform.LineAggregator;
+
+/**
+ * A fixed-width record layout (the copybook of one file), built once and
+ * shared. It is both the reader's LineMapper and the writer's LineAggregator,
+ * so a record read and a record written use the same columns.
+ *
+ * Fields are declared with 1-based inclusive columns, as in the copybook and
+ * the old {@code Range}s, plus a setter and/or getter method reference:
+ *
+ * <pre>
+ * FixedWidthLayout.of(P09320Record::new)
+ *         .strict()
+ *         .field("controlId", 1, 2, P09320Record::setControlId, P09320Record::getControlId)
+ *         ...
+ *         .build();
+ * </pre>
+ *
+ * Reading takes each field straight out of the line by its offsets and trims
+ * it, which is what FixedLengthTokenizer with BeanWrapperFieldSetMapper gave:
+ * no FieldSet, no per-line token list and no property lookup by name. Columns
+ * past the end of a short line read as "".
+ *
+ * Writing fills a record of spaces and copies each getter's value in at its
+ * column, left-justified and cut to the field width (COBOL MOVE to PIC X).
+ * Numeric formatting (zero fill, implied decimals) is up to the getter.
+ * Columns with no getter are left as spaces.
+ */
+public final class FixedWidthLayout<T> implements LineMapper<T>, LineAggregator<T> {
+
+	private final Supplier<T> factory;
+	private final int length;
+	private final boolean strict;
+
+	private final int[] readFrom;
+	private final int[] readTo;
+	private final BiConsumer<T, String>[] setters;
+
+	private final int[] writeAt;
+	private final int[] writeWidth;
+	private final Function<T, String>[] getters;
+
+	private final List<Field<T>> fields;
+	private final String description;
+
+	@SuppressWarnings("unchecked")
+	private FixedWidthLayout(Builder<T> b, int length, List<Field<T>> fields) {
+		this.factory = b.factory;
+		this.length = length;
+		this.strict = b.strict;
+
+		List<Field<T>> readable = fields.stream().filter(f -> f.setter() != null).toList();
+		this.readFrom = readable.stream().mapToInt(f -> f.from() - 1).toArray();
+		this.readTo = readable.stream().mapToInt(Field::to).toArray();
+		this.setters = readable.stream().map(Field::setter).toArray(BiConsumer[]::new);
+
+		List<Field<T>> writable = fields.stream().filter(f -> f.getter() != null).toList();
+		this.writeAt = writable.stream().mapToInt(f -> f.from() - 1).toArray();
+		this.writeWidth = writable.stream().mapToInt(f -> f.to() - f.from() + 1).toArray();
+		this.getters = writable.stream().map(Field::getter).toArray(Function[]::new);
+
+		this.fields = List.copyOf(fields);
+		this.description = "FixedWidthLayout" + (b.type == null ? "" : "<" + b.type.getSimpleName() + ">")
+				+ "[" + length + (strict ? ", strict" : "") + ": "
+				+ String.join(" ", fields.stream().map(f -> f.name() + "(" + f.from() + "-" + f.to() + ")").toList())
+				+ "]";
+	}
+
+	/** Start a layout whose records are created by {@code factory}. */
+	public static <T> Builder<T> of(Supplier<T> factory) {
+		return new Builder<>(factory, null);
+	}
+
+	/** Start a layout that only writes {@code type} records (named in its description and errors). */
+	public static <T> Builder<T> writer(Class<T> type) {
+		return new Builder<>(null, type);
+	}
+
+	/** Record length: the last column, or what {@link Builder#length} set. */
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public T mapLine(String line, int lineNumber) {
+		int n = line.length();
+		if (strict && n != length) {
+			throw new IncorrectLineLengthException(
+					(n < length ? "Line is shorter than max range " : "Line is longer than max range ") + length,
+					length, n, line);
+		}
+		if (factory == null) {
+			throw new IllegalStateException("Write-only layout cannot map lines: " + description);
+		}
+		T item = factory.get();
+		for (int i = 0; i < setters.length; i++) {
+			setters[i].accept(item, slice(line, n, readFrom[i], readTo[i]));
+		}
+		return item;
+	}
+
+	@Override
+	public String aggregate(T item) {
+		char[] record = new char[length];
+		Arrays.fill(record, ' ');
+		for (int i = 0; i < getters.length; i++) {
+			String value = getters[i].apply(item);
+			if (value != null) {
+				value.getChars(0, Math.min(value.length(), writeWidth[i]), record, writeAt[i]);
+			}
+		}
+		return new String(record);
+	}
+
+	/** Fields in declaration order (for the benchmarks, which rebuild the layout with Spring Batch). */
+	List<Field<T>> fields() {
+		return fields;
+	}
+
+	@Override
+	public String toString() {
+		return description;
+	}
+
+	/** line[from, to) trimmed, as DefaultFieldSet.readString would return it. */
+	private static String slice(String line, int n, int from, int to) {
+		if (to > n) {
+			to = n;
+		}
+		while (from < to && line.charAt(from) <= ' ') {
+			from++;
+		}
+		while (to > from && line.charAt(to - 1) <= ' ') {
+			to--;
+		}
+		return (from < to) ? line.substring(from, to) : "";
+	}
+
+	record Field<T>(String name, int from, int to, BiConsumer<T, String> setter, Function<T, String> getter) {
+	}
+
+	public static final class Builder<T> {
+
+		private final Supplier<T> factory;
+		private final Class<T> type;
+		private final List<Field<T>> fields = new ArrayList<>();
+		private boolean strict;
+		private int length;
+
+		private Builder(Supplier<T> factory, Class<T> type) {
+			this.factory = factory;
+			this.type = type;
+		}
+
+		/** Field read into {@code setter}; written as spaces. */
+		public Builder<T> field(String name, int from, int to, BiConsumer<T, String> setter) {
+			return field(name, from, to, setter, null);
+		}
+
+		/** Field written from {@code getter}; not read. */
+		public Builder<T> output(String name, int from, int to, Function<T, String> getter) {
+			return field(name, from, to, null, getter);
+		}
+
+		/** Field read into {@code setter} and written from {@code getter}; either may be null. */
+		public Builder<T> field(String name, int from, int to, BiConsumer<T, String> setter,
+				Function<T, String> getter) {
+			if (from < 1 || to < from) {
+				throw new IllegalStateException("Field " + name + " has bad columns " + from + "-" + to);
+			}
+			fields.add(new Field<>(name, from, to, setter, getter));
+			return this;
+		}
+
+		/** Every line must be exactly the record length (FixedLengthTokenizer's strict mode). */
+		public Builder<T> strict() {
+			this.strict = true;
+			return this;
+		}
+
+		/** Record length when it runs past the last field (trailing filler written as spaces). */
+		public Builder<T> length(int length) {
+			this.length = length;
+			return this;
+		}
+
+		public FixedWidthLayout<T> build() {
+			List<Field<T>> sorted = new ArrayList<>(fields);
+			sorted.sort(Comparator.comparingInt(Field::from));
+			int end = 0;
+			Field<T> prev = null;
+			for (Field<T> f : sorted) {
+				if (f.from() <= end) {
+					throw new IllegalStateException("Field " + f.name() + " overlaps " + prev.name());
+				}
+				end = f.to();
+				prev = f;
+			}
+			if (length != 0 && length < end) {
+				throw new IllegalStateException("Record length " + length + " is shorter than its fields (" + end + ")");
+			}
+			if (factory == null && fields.stream().anyMatch(f -> f.setter() != null)) {
+				throw new IllegalStateException("Layout " + (type == null ? "" : "of " + type.getSimpleName() + " ")
+						+ "reads fields but has no record factory");
+			}
+			return new FixedWidthLayout<>(this, (length != 0) ? length : end, fields);
+		}
+	}
+}
@@ -66,47 +66,98 @@ public class Utility {
 	
 	  /** Unpack COMP-3 signed numeric of given total digits and scale (implied decimals). */
     public static BigDecimal unpack(byte[] src, int offset, int byteLen, int totalDigits, int scale) {
-        StringBuilder digits = new StringBuilder(totalDigits + 1);
-        for (int i = 0; i < byteLen; i++) {
-            int b = src[offset + i] & 0xFF;
-            int hi = (b >> 4) & 0x0F;
-            int lo = b & 0x0F;
-
-            if (i < byteLen - 1) {
-                digits.append(hi).append(lo);
-            } else {
-                // last byte hi is digit; low nibble is sign (C/F pos, D neg)
-                digits.append(hi);
-                boolean negative = (lo == 0x0D);
-                BigDecimal v = new BigDecimal(digits.toString()).movePointLeft(scale);
-                return negative ? v.negate() : v;
-            }
+        return BigDecimal.valueOf(unpackLong(src, offset, byteLen), scale);
+    }
+
+    /**
+     * COMP-3 field as its unscaled value: 2 digits a byte, the last byte's low nibble
+     * is the sign (D or B negative, C / F / A / E positive). Up to 10 bytes (S9(18)).
+     */
+    public static long unpackLong(byte[] src, int offset, int byteLen) {
+        if (byteLen < 1 || byteLen > 10) {
+            throw new IllegalArgumentException("COMP-3 length must be 1-10 bytes: " + byteLen);
+        }
+        if (byteLen == 10 && (src[offset] & 0xF0) != 0) {
+            throw new IllegalArgumentException("COMP-3 value over 18 digits: " + hex(src, offset, byteLen));
+        }
+        long v = 0;
+        int end = offset + byteLen - 1;
+        for (int i = offset; i < end; i++) {
+            int b = src[i] & 0xFF;
+            v = v * 100 + digit(b >> 4, src, offset, byteLen) * 10 + digit(b & 0x0F, src, offset, byteLen);
+        }
+        int last = src[end] & 0xFF;
+        v = v * 10 + digit(last >> 4, src, offset, byteLen);
+        int sign = last & 0x0F;
+        if (sign < 0x0A) {
+            throw new IllegalArgumentException("Invalid COMP-3 sign: " + hex(src, offset, byteLen));
+        }
+        return (sign == 0x0D || sign == 0x0B) ? -v : v;
+    }
+
+    /**
+     * Zoned decimal (PIC S9 DISPLAY) as its unscaled value: one digit a byte in the low
+     * nibble, sign in the last byte's zone (EBCDIC D, or 7 for ASCII p-y, is negative).
+     */
+    public static long unzoneLong(byte[] src, int offset, int byteLen) {
+        if (byteLen < 1 || byteLen > 18) {
+            throw new IllegalArgumentException("Zoned decimal length must be 1-18 bytes: " + byteLen);
+        }
+        long v = 0;
+        for (int i = offset; i < offset + byteLen; i++) {
+            v = v * 10 + digit(src[i] & 0x0F, src, offset, byteLen);
         }
-        return BigDecimal.ZERO;
+        int zone = (src[offset + byteLen - 1] & 0xF0) >> 4;
+        return (zone == 0x0D || zone == 0x07) ? -v : v;
     }
 
     /** Pack BigDecimal into COMP-3 (used only if you ever need to write packed). */
     public static void pack(BigDecimal value, byte[] dest, int offset, int byteLen, int totalDigits, int scale) {
         if (value == null) value = BigDecimal.ZERO;
-        boolean negative = value.signum() < 0;
-        String digits = value.abs().setScale(scale).movePointRight(scale).toPlainString();
-
-        // Left pad or trim to totalDigits
-        if (digits.length() > totalDigits) {
-            digits = digits.substring(digits.length() - totalDigits);
-        } else {
-            digits = "0".repeat(totalDigits - digits.length()) + digits;
+        long unscaled = value.setScale(scale).unscaledValue().longValueExact();
+        // keep the low-order totalDigits, as a COBOL MOVE does
+        long limit = 1;
+        for (int i = 0; i < totalDigits && limit <= Long.MAX_VALUE / 10; i++) limit *= 10;
+        packLong(unscaled % limit, dest, offset, byteLen);
+    }
+
+    /** Unscaled value into a COMP-3 field of byteLen bytes; high-order digits that do not fit are cut. */
+    public static void packLong(long unscaled, byte[] dest, int offset, int byteLen) {
+        boolean negative = unscaled < 0;
+        long v = Math.abs(unscaled);
+        int end = offset + byteLen - 1;
+        dest[end] = (byte) ((int) (v % 10) << 4 | (negative ? 0x0D : 0x0C));
+        v /= 10;
+        for (int i = end - 1; i >= offset; i--) {
+            int lo = (int) (v % 10);
+            v /= 10;
+            int hi = (int) (v % 10);
+            v /= 10;
+            dest[i] = (byte) (hi << 4 | lo);
+        }
+    }
+
+    /** Unscaled value as text: zero-filled to width, a leading '-' when negative (as %0{width}d). */
+    public static String zeroPad(long v, int width) {
+        String digits = Long.toString(Math.abs(v));
+        int pad = width - digits.length() - (v < 0 ? 1 : 0);
+        if (pad <= 0) return (v < 0) ? "-" + digits : digits;
+        return (v < 0 ? "-" : "") + "0".repeat(pad) + digits;
+    }
+
+    private static int digit(int nibble, byte[] src, int offset, int byteLen) {
+        if (nibble > 9) {
+            throw new IllegalArgumentException("Invalid decimal digit: " + hex(src, offset, byteLen));
         }
+        return nibble;
+    }
 
-        int di = 0;
-        for (int i = 0; i < byteLen - 1; i++) {
-            int hi = digits.charAt(di++) - '0';
-            int lo = digits.charAt(di++) - '0';
-            dest[offset + i] = (byte)((hi << 4) | lo);
+    private static String hex(byte[] src, int offset, int byteLen) {
+        StringBuilder b = new StringBuilder(byteLen * 2);
+        for (int i = offset; i < offset + byteLen; i++) {
+            b.append(Character.forDigit((src[i] >> 4) & 0x0F, 16)).append(Character.forDigit(src[i] & 0x0F, 16));
         }
-        int last = digits.charAt(di++) - '0';
-        int signNibble = negative ? 0x0D : 0x0C;
-        dest[offset + byteLen - 1] = (byte)((last << 4) | signNibble);
+        return "X'" + b.toString().toUpperCase() + "'";
     }
     
     public static String safeTrimUpper(String val) {